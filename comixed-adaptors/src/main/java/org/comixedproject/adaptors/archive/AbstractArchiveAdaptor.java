@@ -22,11 +22,13 @@ import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.*;
+import java.util.function.Predicate;
 import lombok.Getter;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.compress.utils.IOUtils;
+import org.comixedproject.adaptors.archive.model.ArchiveEntryRegion;
 import org.comixedproject.adaptors.archive.model.ArchiveEntryType;
 import org.comixedproject.adaptors.archive.model.ArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.ArchiveWriteHandle;
@@ -48,6 +50,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 public abstract class AbstractArchiveAdaptor<
         R extends ArchiveReadHandle, W extends ArchiveWriteHandle>
     implements ArchiveAdaptor {
+  /** The number of bytes read from the start of an entry to determine its content type. */
+  public static final int ENTRY_HEADER_LENGTH = 64 * 1024;
+
   @Autowired @Getter private FileTypeAdaptor fileTypeAdaptor;
 
   @Getter @NonNull private ArchiveType archiveType;
@@ -90,6 +95,52 @@ public abstract class AbstractArchiveAdaptor<
 
   protected abstract List<ComicArchiveEntry> doGetEntries(final R archiveHandle) throws Exception;
 
+  @Override
+  public void processEntries(
+      @NonNull final ArchiveReadHandle archiveHandle,
+      @NonNull final ArchiveEntryProcessor processor)
+      throws ArchiveAdaptorException {
+    try {
+      this.doProcessEntries((R) archiveHandle, filename -> true, processor);
+    } catch (ArchiveAdaptorException error) {
+      throw error;
+    } catch (Exception error) {
+      throw new ArchiveAdaptorException("Failed to process archive entries", error);
+    }
+  }
+
+  @Override
+  public void readEntries(
+      @NonNull final ArchiveReadHandle archiveHandle,
+      @NonNull final Set<String> filenames,
+      @NonNull final ArchiveEntryProcessor processor)
+      throws ArchiveAdaptorException {
+    if (filenames.isEmpty()) {
+      log.trace("No entries requested");
+      return;
+    }
+    try {
+      this.doProcessEntries((R) archiveHandle, filenames::contains, processor);
+    } catch (ArchiveAdaptorException error) {
+      throw error;
+    } catch (Exception error) {
+      throw new ArchiveAdaptorException("Failed to read archive entries", error);
+    }
+  }
+
+  /**
+   * Reads the entries accepted by the filter in archive order, passing each to the processor.
+   * Entries that are skipped still count towards the index of later entries.
+   *
+   * @param archiveHandle the archive handle
+   * @param filter selects entries by filename
+   * @param processor the entry processor
+   * @throws Exception if an error occurs
+   */
+  protected abstract void doProcessEntries(
+      final R archiveHandle, final Predicate<String> filter, final ArchiveEntryProcessor processor)
+      throws Exception;
+
   @Override
   public byte[] readEntry(
       @NonNull final ArchiveReadHandle archiveHandle, @NonNull final String filename)
@@ -101,11 +152,78 @@ public abstract class AbstractArchiveAdaptor<
     }
   }
 
+  @Override
+  public boolean hasEntry(
+      @NonNull final ArchiveReadHandle archiveHandle, @NonNull final String filename)
+      throws ArchiveAdaptorException {
+    try {
+      return this.doHasEntry((R) archiveHandle, filename);
+    } catch (Exception error) {
+      throw new ArchiveAdaptorException("Failed to find entry", error);
+    }
+  }
+
+  @Override
+  public ArchiveEntryRegion getEntryRegion(
+      @NonNull final ArchiveReadHandle archiveHandle, @NonNull final String filename)
+      throws ArchiveAdaptorException {
+    try {
+      return this.doGetEntryRegion((R) archiveHandle, filename);
+    } catch (ArchiveAdaptorException error) {
+      throw error;
+    } catch (Exception error) {
+      throw new ArchiveAdaptorException("Failed to locate entry", error);
+    }
+  }
+
+  /**
+   * Locates the raw data for an entry. Formats that cannot stream entries directly from the file
+   * return null.
+   *
+   * @param archiveHandle the archive handle
+   * @param filename the entry filename
+   * @return the entry region, or null
+   * @throws Exception if an error occurs
+   */
+  protected ArchiveEntryRegion doGetEntryRegion(final R archiveHandle, final String filename)
+      throws Exception {
+    return null;
+  }
+
+  /**
+   * Creates an archive entry, using only the first {@link #ENTRY_HEADER_LENGTH} bytes of the
+   * entry's content to determine its type. The remainder of the stream is not read.
+   *
+   * @param index the entry index
+   * @param name the entry name
+   * @param size the entry size
+   * @param input the entry content stream
+   * @return the archive entry
+   * @throws IOException if an error occurs reading the entry
+   */
   protected ComicArchiveEntry createArchiveEntry(
       final int index, final String name, final long size, final InputStream input)
       throws IOException {
-    final byte[] content = IOUtils.toByteArray(input);
-    final String mimeType = this.getFileTypeAdaptor().getSubtype(new ByteArrayInputStream(content));
+    return this.createArchiveEntry(index, name, size, input.readNBytes(ENTRY_HEADER_LENGTH));
+  }
+
+  /**
+   * Creates an archive entry from the header bytes of the entry. If the content type can't be
+   * determined from the header then the filename is used instead.
+   *
+   * @param index the entry index
+   * @param name the entry name
+   * @param size the entry size
+   * @param header the entry header
+   * @return the archive entry
+   */
+  protected ComicArchiveEntry createArchiveEntry(
+      final int index, final String name, final long size, final byte[] header) {
+    String mimeType = this.getFileTypeAdaptor().getSubtype(new ByteArrayInputStream(header));
+    if (this.getFileTypeAdaptor().isUnknownSubtype(mimeType)) {
+      log.trace("Determining entry type by filename: {}", name);
+      mimeType = this.getFileTypeAdaptor().getSubtypeForFilename(name);
+    }
     final ArchiveEntryType entryType = this.getFileTypeAdaptor().getArchiveEntryType(mimeType);
     return new ComicArchiveEntry(index, name, size, mimeType, entryType);
   }
@@ -113,7 +231,7 @@ public abstract class AbstractArchiveAdaptor<
   protected ComicArchiveEntry createArchiveEntryForCorruptedPage(
       final int index, final String filename) throws IOException {
     final byte[] content = this.doLoadMissingPageContent();
-    return createArchiveEntry(index, filename, content.length, new ByteArrayInputStream(content));
+    return createArchiveEntry(index, filename, content.length, content);
   }
 
   byte[] doLoadMissingPageContent() throws IOException {
@@ -123,6 +241,9 @@ public abstract class AbstractArchiveAdaptor<
   protected abstract byte[] doGetEntry(final R archiveHandle, final String filename)
       throws Exception;
 
+  protected abstract boolean doHasEntry(final R archiveHandle, final String filename)
+      throws Exception;
+
   @Override
   public ArchiveWriteHandle openArchiveForWrite(@NonNull final String filename)
       throws ArchiveAdaptorException {
@@ -151,6 +272,43 @@ public abstract class AbstractArchiveAdaptor<
   protected abstract void doWriteEntry(
       final W archiveHandle, final String filename, final byte[] content) throws Exception;
 
+  @Override
+  public boolean copyEntry(
+      @NonNull final ArchiveReadHandle sourceHandle,
+      @NonNull final String sourceFilename,
+      @NonNull final ArchiveWriteHandle destinationHandle,
+      @NonNull final String destinationFilename)
+      throws ArchiveAdaptorException {
+    try {
+      return this.doCopyEntry(
+          (R) sourceHandle, sourceFilename, (W) destinationHandle, destinationFilename);
+    } catch (ArchiveAdaptorException error) {
+      throw error;
+    } catch (Exception error) {
+      throw new ArchiveAdaptorException("Failed to copy entry", error);
+    }
+  }
+
+  /**
+   * Copies an entry's raw data between archives. Formats that cannot copy entries without
+   * recompressing them return false.
+   *
+   * @param sourceHandle the source archive handle
+   * @param sourceFilename the source entry filename
+   * @param destinationHandle the destination archive handle
+   * @param destinationFilename the destination entry filename
+   * @return true if the entry was copied
+   * @throws Exception if an error occurs
+   */
+  protected boolean doCopyEntry(
+      final R sourceHandle,
+      final String sourceFilename,
+      final W destinationHandle,
+      final String destinationFilename)
+      throws Exception {
+    return false;
+  }
+
   @Override
   public void closeArchiveForWrite(@NonNull final ArchiveWriteHandle archiveHandle)
       throws ArchiveAdaptorException {
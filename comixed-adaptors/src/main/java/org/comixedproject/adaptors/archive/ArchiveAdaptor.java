@@ -19,6 +19,8 @@
 package org.comixedproject.adaptors.archive;
 
 import java.util.List;
+import java.util.Set;
+import org.comixedproject.adaptors.archive.model.ArchiveEntryRegion;
 import org.comixedproject.adaptors.archive.model.ArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.ArchiveWriteHandle;
 import org.comixedproject.adaptors.archive.model.ComicArchiveEntry;
@@ -64,6 +66,30 @@ public interface ArchiveAdaptor {
   List<ComicArchiveEntry> getEntries(ArchiveReadHandle archiveHandle)
       throws ArchiveAdaptorException;
 
+  /**
+   * Reads every entry in the archive once, in archive order, passing each entry and its content to
+   * the processor.
+   *
+   * @param archiveHandle the archive handle
+   * @param processor the entry processor
+   * @throws ArchiveAdaptorException if an error occurs reading or processing an entry
+   */
+  void processEntries(ArchiveReadHandle archiveHandle, ArchiveEntryProcessor processor)
+      throws ArchiveAdaptorException;
+
+  /**
+   * Reads the named entries in a single pass, in archive order, passing each entry and its content
+   * to the processor. Names that are not in the archive are ignored.
+   *
+   * @param archiveHandle the archive handle
+   * @param filenames the entry filenames
+   * @param processor the entry processor
+   * @throws ArchiveAdaptorException if an error occurs reading or processing an entry
+   */
+  void readEntries(
+      ArchiveReadHandle archiveHandle, Set<String> filenames, ArchiveEntryProcessor processor)
+      throws ArchiveAdaptorException;
+
   /**
    * Returns the entry with the given filename.
    *
@@ -74,6 +100,29 @@ public interface ArchiveAdaptor {
    */
   byte[] readEntry(ArchiveReadHandle archiveHandle, String filename) throws ArchiveAdaptorException;
 
+  /**
+   * Returns if the archive contains an entry with the given filename.
+   *
+   * @param archiveHandle the archive handle
+   * @param filename the entry filename
+   * @return true if the entry exists
+   * @throws ArchiveAdaptorException if an error occurs reading the archive
+   */
+  boolean hasEntry(ArchiveReadHandle archiveHandle, String filename)
+      throws ArchiveAdaptorException;
+
+  /**
+   * Locates the raw data for the named entry within the archive file, so it can be streamed
+   * directly from the file.
+   *
+   * @param archiveHandle the archive handle
+   * @param filename the entry filename
+   * @return the entry region, or null if the entry cannot be streamed directly
+   * @throws ArchiveAdaptorException if an error occurs locating the entry
+   */
+  ArchiveEntryRegion getEntryRegion(ArchiveReadHandle archiveHandle, String filename)
+      throws ArchiveAdaptorException;
+
   /**
    * Opens an archive for write operations. Creates a new file or overwrites any existing file.
    *
@@ -94,6 +143,24 @@ public interface ArchiveAdaptor {
   void writeEntry(ArchiveWriteHandle archiveHandle, String filename, byte[] content)
       throws ArchiveAdaptorException;
 
+  /**
+   * Copies an entry from one archive to another without decompressing and recompressing its
+   * content. Both handles must belong to this adaptor.
+   *
+   * @param sourceHandle the source archive handle
+   * @param sourceFilename the source entry filename
+   * @param destinationHandle the destination archive handle
+   * @param destinationFilename the destination entry filename
+   * @return true if the entry was copied, false if it must be read and written instead
+   * @throws ArchiveAdaptorException if an error occurs
+   */
+  boolean copyEntry(
+      ArchiveReadHandle sourceHandle,
+      String sourceFilename,
+      ArchiveWriteHandle destinationHandle,
+      String destinationFilename)
+      throws ArchiveAdaptorException;
+
   /**
    * Closes an archive for write operations.
    *
@@ -0,0 +1,39 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.archive;
+
+import org.comixedproject.adaptors.archive.model.ComicArchiveEntry;
+
+/**
+ * <code>ArchiveEntryProcessor</code> defines a type that receives the entries of an archive, along
+ * with their content, as the archive is read.
+ *
+ * @author Darryl L. Pierce
+ */
+@FunctionalInterface
+public interface ArchiveEntryProcessor {
+  /**
+   * Processes a single archive entry.
+   *
+   * @param entry the entry
+   * @param content the entry content
+   * @throws ArchiveAdaptorException if an error occurs processing the entry
+   */
+  void process(ComicArchiveEntry entry, byte[] content) throws ArchiveAdaptorException;
+}
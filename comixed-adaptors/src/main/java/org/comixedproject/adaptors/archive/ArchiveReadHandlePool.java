@@ -0,0 +1,317 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.archive;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.adaptors.archive.model.ArchiveReadHandle;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>ArchiveReadHandlePool</code> keeps recently used archives open so that repeated reads from
+ * the same file do not need to reopen and reindex it.
+ *
+ * <p>A handle is used by only one caller at a time, so several handles may be kept for a file that
+ * is read concurrently. Handles are keyed by the file's absolute path and are discarded if the
+ * file's modified time changes, if they are idle for too long, or if the file is explicitly
+ * invalidated.
+ *
+ * <p>The number of handles open at once, whether borrowed or idle, is limited. When the limit is
+ * reached the least recently used idle handle is closed, or if none are idle the caller waits for a
+ * handle to be returned.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class ArchiveReadHandlePool implements DisposableBean {
+  private final Object lock = new Object();
+  private final Deque<PooledReadHandle> idleHandles = new ArrayDeque<>();
+  private final Map<ArchiveReadHandle, PooledReadHandle> borrowedHandles = new IdentityHashMap<>();
+  private int openHandles = 0;
+
+  @Value("${comixed.archive-handles.maximum-idle:32}")
+  int maximumIdleHandles = 32;
+
+  @Value("${comixed.archive-handles.maximum-open:64}")
+  int maximumOpenHandles = 64;
+
+  @Value("${comixed.archive-handles.borrow-timeout:30000}")
+  long borrowTimeout = 30000L;
+
+  @Value("${comixed.archive-handles.idle-timeout:60000}")
+  long idleTimeout = 60000L;
+
+  /**
+   * Returns a read handle for the given file. An idle handle is reused if the file has not changed
+   * since it was opened, otherwise a new handle is opened.
+   *
+   * @param archiveAdaptor the archive adaptor
+   * @param filename the archive filename
+   * @return the read handle
+   * @throws ArchiveAdaptorException if the archive could not be opened, or no handle became
+   *     available in time
+   */
+  public ArchiveReadHandle borrow(final ArchiveAdaptor archiveAdaptor, final String filename)
+      throws ArchiveAdaptorException {
+    final String key = this.getKey(filename);
+    final long lastModified = new File(key).lastModified();
+    PooledReadHandle entry;
+    synchronized (this.lock) {
+      entry = this.doTakeIdleHandle(key);
+    }
+    if (Objects.nonNull(entry)
+        && (entry.getArchiveAdaptor() != archiveAdaptor
+            || entry.getLastModified() != lastModified)) {
+      log.debug("Discarding stale archive handle: {}", key);
+      this.doClose(entry);
+      entry = null;
+    }
+    if (Objects.isNull(entry)) {
+      this.doReserveHandle();
+      try {
+        log.trace("Opening archive for pool: {}", key);
+        entry =
+            new PooledReadHandle(
+                key, archiveAdaptor, archiveAdaptor.openArchiveForRead(filename), lastModified);
+      } catch (ArchiveAdaptorException | RuntimeException error) {
+        this.doReleaseReservation();
+        throw error;
+      }
+    } else {
+      log.trace("Reusing pooled archive handle: {}", key);
+    }
+    synchronized (this.lock) {
+      this.borrowedHandles.put(entry.getReadHandle(), entry);
+    }
+    return entry.getReadHandle();
+  }
+
+  /**
+   * Returns a borrowed handle to the pool. The handle is closed if it was invalidated while
+   * borrowed or if the pool is full.
+   *
+   * @param readHandle the read handle
+   */
+  public void release(final ArchiveReadHandle readHandle) {
+    final List<PooledReadHandle> closing = new ArrayList<>();
+    synchronized (this.lock) {
+      final PooledReadHandle entry = this.borrowedHandles.remove(readHandle);
+      if (Objects.isNull(entry)) {
+        log.debug("Released archive handle was not borrowed from pool");
+        return;
+      }
+      if (entry.isInvalidated() || this.maximumIdleHandles <= 0) {
+        closing.add(entry);
+      } else {
+        entry.setLastUsed(System.currentTimeMillis());
+        this.idleHandles.addLast(entry);
+        while (this.idleHandles.size() > this.maximumIdleHandles) {
+          closing.add(this.idleHandles.removeFirst());
+        }
+        // callers waiting for a handle can now close this one if they need to
+        this.lock.notifyAll();
+      }
+    }
+    closing.forEach(this::doClose);
+  }
+
+  /**
+   * Closes a borrowed handle without returning it to the pool. Used when an error occurs while
+   * reading from the handle.
+   *
+   * @param readHandle the read handle
+   */
+  public void discard(final ArchiveReadHandle readHandle) {
+    final PooledReadHandle entry;
+    synchronized (this.lock) {
+      entry = this.borrowedHandles.remove(readHandle);
+    }
+    if (Objects.nonNull(entry)) {
+      this.doClose(entry);
+    }
+  }
+
+  /**
+   * Closes any idle handles for the given file, and marks any borrowed handle for the file to be
+   * closed when it is released. Must be called before a file is rewritten, moved or deleted.
+   *
+   * @param filename the archive filename
+   */
+  public void invalidate(final String filename) {
+    final String key = this.getKey(filename);
+    final List<PooledReadHandle> closing = new ArrayList<>();
+    synchronized (this.lock) {
+      final Iterator<PooledReadHandle> iterator = this.idleHandles.iterator();
+      while (iterator.hasNext()) {
+        final PooledReadHandle entry = iterator.next();
+        if (entry.getKey().equals(key)) {
+          closing.add(entry);
+          iterator.remove();
+        }
+      }
+      this.borrowedHandles.values().stream()
+          .filter(borrowed -> borrowed.getKey().equals(key))
+          .forEach(borrowed -> borrowed.setInvalidated(true));
+    }
+    if (!closing.isEmpty()) {
+      log.debug("Closing invalidated archive handle(s): {}", key);
+      closing.forEach(this::doClose);
+    }
+  }
+
+  /** Closes any handles that have been idle longer than the idle timeout. */
+  @Scheduled(fixedDelayString = "${comixed.archive-handles.idle-check-period:15000}")
+  public void closeIdleHandles() {
+    final long cutoff = System.currentTimeMillis() - this.idleTimeout;
+    final List<PooledReadHandle> closing = new ArrayList<>();
+    synchronized (this.lock) {
+      final Iterator<PooledReadHandle> iterator = this.idleHandles.iterator();
+      while (iterator.hasNext()) {
+        final PooledReadHandle entry = iterator.next();
+        if (entry.getLastUsed() < cutoff) {
+          closing.add(entry);
+          iterator.remove();
+        }
+      }
+    }
+    if (!closing.isEmpty()) {
+      log.debug("Closing {} idle archive handle(s)", closing.size());
+      closing.forEach(this::doClose);
+    }
+  }
+
+  /**
+   * Returns the number of idle handles currently held open by the pool.
+   *
+   * @return the handle count
+   */
+  public int getIdleHandleCount() {
+    synchronized (this.lock) {
+      return this.idleHandles.size();
+    }
+  }
+
+  /**
+   * Returns the number of handles currently open, whether borrowed or idle.
+   *
+   * @return the handle count
+   */
+  public int getOpenHandleCount() {
+    synchronized (this.lock) {
+      return this.openHandles;
+    }
+  }
+
+  @Override
+  public void destroy() {
+    final List<PooledReadHandle> closing;
+    synchronized (this.lock) {
+      closing = new ArrayList<>(this.idleHandles);
+      this.idleHandles.clear();
+    }
+    log.debug("Closing {} pooled archive handle(s)", closing.size());
+    closing.forEach(this::doClose);
+  }
+
+  private String getKey(final String filename) {
+    return new File(filename).getAbsolutePath();
+  }
+
+  private PooledReadHandle doTakeIdleHandle(final String key) {
+    final Iterator<PooledReadHandle> iterator = this.idleHandles.descendingIterator();
+    while (iterator.hasNext()) {
+      final PooledReadHandle entry = iterator.next();
+      if (entry.getKey().equals(key)) {
+        iterator.remove();
+        return entry;
+      }
+    }
+    return null;
+  }
+
+  private void doReserveHandle() throws ArchiveAdaptorException {
+    PooledReadHandle evicted = null;
+    synchronized (this.lock) {
+      final long deadline = System.currentTimeMillis() + this.borrowTimeout;
+      while (this.maximumOpenHandles > 0 && this.openHandles >= this.maximumOpenHandles) {
+        if (!this.idleHandles.isEmpty()) {
+          log.trace("Closing least recently used archive handle to stay under limit");
+          evicted = this.idleHandles.removeFirst();
+          break;
+        }
+        final long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0L) {
+          throw new ArchiveAdaptorException("Timed out waiting for an archive handle");
+        }
+        try {
+          this.lock.wait(remaining);
+        } catch (InterruptedException error) {
+          Thread.currentThread().interrupt();
+          throw new ArchiveAdaptorException("Interrupted waiting for an archive handle", error);
+        }
+      }
+      this.openHandles++;
+    }
+    if (Objects.nonNull(evicted)) {
+      this.doClose(evicted);
+    }
+  }
+
+  private void doReleaseReservation() {
+    synchronized (this.lock) {
+      this.openHandles--;
+      this.lock.notifyAll();
+    }
+  }
+
+  private void doClose(final PooledReadHandle entry) {
+    try {
+      entry.getArchiveAdaptor().closeArchiveForRead(entry.getReadHandle());
+    } catch (ArchiveAdaptorException error) {
+      log.error("Failed to close pooled archive handle: {}", entry.getKey(), error);
+    } finally {
+      this.doReleaseReservation();
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static class PooledReadHandle {
+    @Getter private final String key;
+    @Getter private final ArchiveAdaptor archiveAdaptor;
+    @Getter private final ArchiveReadHandle readHandle;
+    @Getter private final long lastModified;
+    @Getter @Setter private long lastUsed;
+    @Getter @Setter private boolean invalidated = false;
+  }
+}
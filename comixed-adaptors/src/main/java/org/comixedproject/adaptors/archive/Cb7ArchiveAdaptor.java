@@ -19,10 +19,10 @@
 package org.comixedproject.adaptors.archive;
 
 import java.io.File;
-import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.compress.archivers.sevenz.SevenZArchiveEntry;
 import org.apache.commons.compress.archivers.sevenz.SevenZFile;
@@ -32,6 +32,7 @@ import org.comixedproject.adaptors.archive.model.Cb7ArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.Cb7ArchiveWriteHandle;
 import org.comixedproject.adaptors.archive.model.ComicArchiveEntry;
 import org.comixedproject.model.archives.ArchiveType;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -44,13 +45,17 @@ import org.springframework.stereotype.Component;
 @Log4j2
 public class Cb7ArchiveAdaptor
     extends AbstractArchiveAdaptor<Cb7ArchiveReadHandle, Cb7ArchiveWriteHandle> {
+  @Value("${comixed.archive-handles.cb7-cache-size:8388608}")
+  long maximumCachedBytes = 8388608L;
+
   public Cb7ArchiveAdaptor() {
     super(ArchiveType.CB7);
   }
 
   @Override
   protected Cb7ArchiveReadHandle doOpenArchiveForRead(final String filename) throws Exception {
-    return new Cb7ArchiveReadHandle(new SevenZFile(new File(filename)), filename);
+    return new Cb7ArchiveReadHandle(
+        new SevenZFile(new File(filename)), filename, this.maximumCachedBytes);
   }
 
   @Override
@@ -62,43 +67,116 @@ public class Cb7ArchiveAdaptor
   protected List<ComicArchiveEntry> doGetEntries(final Cb7ArchiveReadHandle archiveHandle)
       throws Exception {
     List<ComicArchiveEntry> result = new ArrayList<>();
-    log.trace("Loading ZIP entries");
+    log.trace("Loading 7Z entries");
+    // entries are listed in order with their own cursor, like processing them, so each block is
+    // decoded once and the pooled handle is left at its position for random reads
+    try (SevenZFile sevenZFile = new SevenZFile(new File(archiveHandle.getFilename()))) {
+      int index = 0;
+      SevenZArchiveEntry archiveEntry = sevenZFile.getNextEntry();
+      while (archiveEntry != null) {
+        log.trace("Creating archive entry");
+        try {
+          result.add(
+              createArchiveEntry(
+                  index,
+                  archiveEntry.getName(),
+                  archiveEntry.getSize(),
+                  this.doReadEntryHeader(sevenZFile, archiveEntry)));
+        } catch (Exception error) {
+          log.error("Could not load archive entry: name={}", archiveEntry.getName(), error);
+          result.add(createArchiveEntryForCorruptedPage(index, archiveEntry.getName()));
+        }
+        index++;
+        archiveEntry = sevenZFile.getNextEntry();
+      }
+    }
+    log.trace("Returning entries");
+    return result;
+  }
+
+  @Override
+  protected void doProcessEntries(
+      final Cb7ArchiveReadHandle archiveHandle,
+      final Predicate<String> filter,
+      final ArchiveEntryProcessor processor)
+      throws Exception {
+    log.trace("Processing 7Z entries");
+    // the sequential cursor cannot be rewound, so each pass uses its own file rather than the
+    // handle's, which may be pooled and shared with later readers
+    try (SevenZFile sevenZFile = new SevenZFile(new File(archiveHandle.getFilename()))) {
+      this.doProcessEntries(sevenZFile, filter, processor);
+    }
+  }
+
+  private void doProcessEntries(
+      final SevenZFile sevenZFile,
+      final Predicate<String> filter,
+      final ArchiveEntryProcessor processor)
+      throws Exception {
     int index = 0;
-    final Iterator<SevenZArchiveEntry> iter =
-        archiveHandle.getArchiveHandle().getEntries().iterator();
-    while (iter.hasNext()) {
-      final SevenZArchiveEntry archiveEntry = iter.next();
-      log.trace("Creating archive entry");
-      final InputStream stream = archiveHandle.getArchiveHandle().getInputStream(archiveEntry);
+    SevenZArchiveEntry archiveEntry = sevenZFile.getNextEntry();
+    while (archiveEntry != null) {
+      if (!filter.test(archiveEntry.getName())) {
+        // skipped entries are decompressed lazily only if a later entry in the block is read
+        index++;
+        archiveEntry = sevenZFile.getNextEntry();
+        continue;
+      }
+      byte[] content = new byte[(int) archiveEntry.getSize()];
       try {
-        result.add(
-            createArchiveEntry(index++, archiveEntry.getName(), archiveEntry.getSize(), stream));
+        int offset = 0;
+        while (offset < content.length) {
+          final int read = sevenZFile.read(content, offset, content.length - offset);
+          if (read < 0) throw new ArchiveAdaptorException("Entry truncated");
+          offset += read;
+        }
       } catch (Exception error) {
         log.error("Could not load archive entry: name={}", archiveEntry.getName(), error);
-        result.add(createArchiveEntryForCorruptedPage(index++, archiveEntry.getName()));
+        content = this.doLoadMissingPageContent();
       }
+      processor.process(
+          this.createArchiveEntry(index++, archiveEntry.getName(), content.length, content),
+          content);
+      archiveEntry = sevenZFile.getNextEntry();
     }
-    log.trace("Returning entries");
-    return result;
+  }
+
+  private byte[] doReadEntryHeader(
+      final SevenZFile sevenZFile, final SevenZArchiveEntry archiveEntry) throws Exception {
+    final byte[] header = new byte[(int) Math.min(archiveEntry.getSize(), ENTRY_HEADER_LENGTH)];
+    int offset = 0;
+    while (offset < header.length) {
+      final int read = sevenZFile.read(header, offset, header.length - offset);
+      if (read < 0) throw new ArchiveAdaptorException("Entry truncated");
+      offset += read;
+    }
+    return header;
+  }
+
+  @Override
+  protected boolean doHasEntry(final Cb7ArchiveReadHandle archiveHandle, final String filename) {
+    return Objects.nonNull(archiveHandle.getEntry(filename));
   }
 
   @Override
   protected byte[] doGetEntry(final Cb7ArchiveReadHandle archiveHandle, final String filename)
       throws Exception {
     log.trace("Loading archive entry: {}", filename);
-    final Iterator<SevenZArchiveEntry> entries =
-        archiveHandle.getArchiveHandle().getEntries().iterator();
-
-    while (entries.hasNext()) {
-      final SevenZArchiveEntry entry = entries.next();
-      if (entry.getName().equals(filename)) {
-        log.trace("Loading file entry content: {} bytes", entry.getSize());
-        final byte[] result = new byte[(int) entry.getSize()];
-        IOUtils.readFully(archiveHandle.getArchiveHandle().getInputStream(entry), result);
-        return result;
-      }
+    byte[] result = archiveHandle.getCachedContent(filename);
+    if (Objects.nonNull(result)) {
+      log.trace("Returning cached entry content: {} bytes", result.length);
+      return result;
     }
-    throw new ArchiveAdaptorException("No such entry: " + filename);
+
+    final SevenZArchiveEntry entry = archiveHandle.getEntry(filename);
+    if (Objects.isNull(entry)) throw new ArchiveAdaptorException("No such entry: " + filename);
+
+    // reads that move forward through a block continue decoding from the previous entry
+    log.trace("Loading file entry content: {} bytes", entry.getSize());
+    result = new byte[(int) entry.getSize()];
+    IOUtils.readFully(archiveHandle.getArchiveHandle().getInputStream(entry), result);
+    archiveHandle.cacheContent(filename, result);
+    return result;
   }
 
   @Override
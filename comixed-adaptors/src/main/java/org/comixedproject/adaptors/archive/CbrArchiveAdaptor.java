@@ -23,10 +23,12 @@ import com.github.junrar.rarfile.FileHeader;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
-import java.util.Optional;
+import java.util.Objects;
+import java.util.function.Predicate;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.compress.utils.IOUtils;
 import org.comixedproject.adaptors.archive.model.CbrArchiveReadHandle;
@@ -69,33 +71,87 @@ public class CbrArchiveAdaptor
     int index = 0;
     while (iter.hasNext()) {
       final FileHeader fileHeader = iter.next();
+      final int entryIndex = index++;
       log.trace("Creating archive entry");
-      final InputStream stream = archiveHandle.getArchiveHandle().getInputStream(fileHeader);
-      try {
-        result.add(
+      try (InputStream stream = archiveHandle.getArchiveHandle().getInputStream(fileHeader)) {
+        final ComicArchiveEntry entry =
             createArchiveEntry(
-                index++, fileHeader.getFileName(), fileHeader.getFullUnpackSize(), stream));
+                entryIndex, fileHeader.getFileName(), fileHeader.getFullUnpackSize(), stream);
+        // RAR entries are extracted sequentially, so drain the rest rather than buffer it
+        log.trace("Skipping remainder of entry");
+        stream.transferTo(OutputStream.nullOutputStream());
+        result.add(entry);
       } catch (Exception error) {
         log.error("Could not load archive entry: name={}", fileHeader.getFileName(), error);
-        result.add(createArchiveEntryForCorruptedPage(index++, fileHeader.getFileName()));
+        result.add(createArchiveEntryForCorruptedPage(entryIndex, fileHeader.getFileName()));
       }
     }
     log.trace("Returning entries");
     return result;
   }
 
+  @Override
+  protected void doProcessEntries(
+      final CbrArchiveReadHandle archiveHandle,
+      final Predicate<String> filter,
+      final ArchiveEntryProcessor processor)
+      throws Exception {
+    log.trace("Processing RAR entries");
+    final Archive archive = archiveHandle.getArchiveHandle();
+    // entries in a solid archive can only be decompressed in order, so none can be skipped
+    final boolean solid =
+        Objects.nonNull(archive.getMainHeader()) && archive.getMainHeader().isSolid();
+    // once every requested entry is delivered there is nothing more to decompress
+    long remaining =
+        archive.getFileHeaders().stream()
+            .filter(fileHeader -> filter.test(fileHeader.getFileName()))
+            .count();
+    final Iterator<FileHeader> iter = archive.getFileHeaders().iterator();
+    int index = 0;
+    while (remaining > 0 && iter.hasNext()) {
+      final FileHeader fileHeader = iter.next();
+      final int entryIndex = index++;
+      if (!filter.test(fileHeader.getFileName())) {
+        if (solid) {
+          log.trace("Skipping solid entry: {}", fileHeader.getFileName());
+          try (InputStream stream = archive.getInputStream(fileHeader)) {
+            stream.transferTo(OutputStream.nullOutputStream());
+          } catch (Exception error) {
+            log.error("Could not skip archive entry: name={}", fileHeader.getFileName(), error);
+          }
+        }
+        continue;
+      }
+      byte[] content;
+      try (InputStream stream = archive.getInputStream(fileHeader)) {
+        content = IOUtils.toByteArray(stream);
+      } catch (Exception error) {
+        log.error("Could not load archive entry: name={}", fileHeader.getFileName(), error);
+        content = this.doLoadMissingPageContent();
+      }
+      processor.process(
+          this.createArchiveEntry(entryIndex, fileHeader.getFileName(), content.length, content),
+          content);
+      remaining--;
+    }
+  }
+
+  @Override
+  protected boolean doHasEntry(final CbrArchiveReadHandle archiveHandle, final String filename) {
+    return Objects.nonNull(archiveHandle.getFileHeader(filename));
+  }
+
   @Override
   protected byte[] doGetEntry(final CbrArchiveReadHandle archiveHandle, final String filename)
       throws Exception {
-    final Optional<FileHeader> fileHeader =
-        archiveHandle.getArchiveHandle().getFileHeaders().stream()
-            .filter(header -> header.getFileName().equals(filename))
-            .findFirst();
+    final FileHeader fileHeader = archiveHandle.getFileHeader(filename);
 
-    if (fileHeader.isEmpty()) throw new ArchiveAdaptorException("No such entry: " + filename);
+    if (Objects.isNull(fileHeader)) throw new ArchiveAdaptorException("No such entry: " + filename);
 
-    byte[] result = new byte[(int) fileHeader.get().getFullUnpackSize()];
-    IOUtils.readFully(archiveHandle.getArchiveHandle().getInputStream(fileHeader.get()), result);
+    byte[] result = new byte[(int) fileHeader.getFullUnpackSize()];
+    try (InputStream stream = archiveHandle.getArchiveHandle().getInputStream(fileHeader)) {
+      IOUtils.readFully(stream, result);
+    }
     return result;
   }
 
@@ -23,11 +23,15 @@ import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Objects;
+import java.util.function.Predicate;
+import java.util.zip.ZipEntry;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
 import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
 import org.apache.commons.compress.archivers.zip.ZipFile;
 import org.apache.commons.compress.utils.IOUtils;
+import org.comixedproject.adaptors.archive.model.ArchiveEntryRegion;
 import org.comixedproject.adaptors.archive.model.CbzArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.CbzArchiveWriteHandle;
 import org.comixedproject.adaptors.archive.model.ComicArchiveEntry;
@@ -70,8 +74,7 @@ public class CbzArchiveAdaptor
     while (iter.hasMoreElements()) {
       final ZipArchiveEntry archiveEntry = iter.nextElement();
       log.trace("Creating archive entry");
-      final InputStream stream = archiveHandle.getArchiveHandle().getInputStream(archiveEntry);
-      try {
+      try (InputStream stream = archiveHandle.getArchiveHandle().getInputStream(archiveEntry)) {
         result.add(
             createArchiveEntry(index++, archiveEntry.getName(), archiveEntry.getSize(), stream));
       } catch (Exception error) {
@@ -83,6 +86,39 @@ public class CbzArchiveAdaptor
     return result;
   }
 
+  @Override
+  protected void doProcessEntries(
+      final CbzArchiveReadHandle archiveHandle,
+      final Predicate<String> filter,
+      final ArchiveEntryProcessor processor)
+      throws Exception {
+    log.trace("Processing ZIP entries");
+    final Enumeration<ZipArchiveEntry> iter = archiveHandle.getArchiveHandle().getEntries();
+    int index = 0;
+    while (iter.hasMoreElements()) {
+      final ZipArchiveEntry archiveEntry = iter.nextElement();
+      if (!filter.test(archiveEntry.getName())) {
+        index++;
+        continue;
+      }
+      byte[] content;
+      try (InputStream stream = archiveHandle.getArchiveHandle().getInputStream(archiveEntry)) {
+        content = IOUtils.toByteArray(stream);
+      } catch (Exception error) {
+        log.error("Could not load archive entry: name={}", archiveEntry.getName(), error);
+        content = this.doLoadMissingPageContent();
+      }
+      processor.process(
+          this.createArchiveEntry(index++, archiveEntry.getName(), content.length, content),
+          content);
+    }
+  }
+
+  @Override
+  protected boolean doHasEntry(final CbzArchiveReadHandle archiveHandle, final String filename) {
+    return Objects.nonNull(archiveHandle.getArchiveHandle().getEntry(filename));
+  }
+
   @Override
   protected byte[] doGetEntry(final CbzArchiveReadHandle archiveHandle, final String filename)
       throws Exception {
@@ -104,6 +140,31 @@ public class CbzArchiveAdaptor
     return result;
   }
 
+  @Override
+  protected ArchiveEntryRegion doGetEntryRegion(
+      final CbzArchiveReadHandle archiveHandle, final String filename) throws Exception {
+    final ZipFile zipFile = archiveHandle.getArchiveHandle();
+    final ZipArchiveEntry zipEntry = zipFile.getEntry(filename);
+    if (Objects.isNull(zipEntry)) throw new ArchiveAdaptorException("No such entry: " + filename);
+
+    if (zipEntry.getGeneralPurposeBit().usesEncryption()
+        || (zipEntry.getMethod() != ZipEntry.STORED && zipEntry.getMethod() != ZipEntry.DEFLATED)) {
+      log.debug("Entry cannot be streamed directly: {}", filename);
+      return null;
+    }
+    // opening the raw stream resolves where the entry's data starts in the file
+    try (InputStream ignored = zipFile.getRawInputStream(zipEntry)) {
+      log.trace("Located entry data: {}@{}", filename, zipEntry.getDataOffset());
+    }
+    return new ArchiveEntryRegion(
+        archiveHandle.getFilename(),
+        filename,
+        zipEntry.getDataOffset(),
+        zipEntry.getCompressedSize(),
+        zipEntry.getSize(),
+        zipEntry.getMethod() == ZipEntry.DEFLATED);
+  }
+
   @Override
   protected CbzArchiveWriteHandle doOpenArchiveForWrite(final String filename) throws Exception {
     return new CbzArchiveWriteHandle(
@@ -123,6 +184,35 @@ public class CbzArchiveAdaptor
     archiveHandle.getArchiveHandle().closeArchiveEntry();
   }
 
+  @Override
+  protected boolean doCopyEntry(
+      final CbzArchiveReadHandle sourceHandle,
+      final String sourceFilename,
+      final CbzArchiveWriteHandle destinationHandle,
+      final String destinationFilename)
+      throws Exception {
+    final ZipFile zipFile = sourceHandle.getArchiveHandle();
+    final ZipArchiveEntry sourceEntry = zipFile.getEntry(sourceFilename);
+    if (Objects.isNull(sourceEntry))
+      throw new ArchiveAdaptorException("No such entry: " + sourceFilename);
+
+    if (sourceEntry.getGeneralPurposeBit().usesEncryption()) {
+      log.debug("Encrypted entry cannot be copied directly: {}", sourceFilename);
+      return false;
+    }
+    log.trace("Copying raw ZIP archive entry: {} => {}", sourceFilename, destinationFilename);
+    final ZipArchiveEntry destinationEntry = new ZipArchiveEntry(destinationFilename);
+    destinationEntry.setMethod(sourceEntry.getMethod());
+    destinationEntry.setCrc(sourceEntry.getCrc());
+    destinationEntry.setSize(sourceEntry.getSize());
+    destinationEntry.setCompressedSize(sourceEntry.getCompressedSize());
+    destinationEntry.setTime(sourceEntry.getTime());
+    try (InputStream input = zipFile.getRawInputStream(sourceEntry)) {
+      destinationHandle.getArchiveHandle().addRawArchiveEntry(destinationEntry, input);
+    }
+    return true;
+  }
+
   @Override
   protected void doCloseArchiveForWrite(final CbzArchiveWriteHandle archiveHandle)
       throws Exception {
@@ -0,0 +1,91 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.archive.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.commons.io.input.BoundedInputStream;
+
+/**
+ * <code>ArchiveEntryRegion</code> locates the raw data for a single entry within an archive file,
+ * so that it can be streamed directly from the file without loading it into memory or keeping the
+ * archive open.
+ *
+ * @author Darryl L. Pierce
+ */
+@AllArgsConstructor
+public class ArchiveEntryRegion {
+  private static final int INFLATER_BUFFER_SIZE = 8192;
+
+  @Getter private String archiveFilename;
+  @Getter private String entryFilename;
+  @Getter private long offset;
+  @Getter private long compressedSize;
+  @Getter private long size;
+  @Getter private boolean deflated;
+
+  /**
+   * Opens a stream that returns the entry's uncompressed content.
+   *
+   * <p>Stored entries are copied through the stream rather than transferred directly from the file.
+   * Spring MVC writes both resource and resource region bodies by copying from an input stream, so
+   * serving the region as a {@link org.springframework.core.io.support.ResourceRegion} would not
+   * avoid the copy either.
+   *
+   * @return the stream
+   * @throws IOException if the archive could not be read
+   */
+  public InputStream openStream() throws IOException {
+    final FileChannel channel =
+        FileChannel.open(Path.of(this.archiveFilename), StandardOpenOption.READ);
+    channel.position(this.offset);
+    final InputStream raw =
+        BoundedInputStream.builder()
+            .setInputStream(Channels.newInputStream(channel))
+            .setMaxCount(this.compressedSize)
+            .get();
+    if (!this.deflated) return raw;
+
+    // raw deflate data needs a trailing dummy byte for the inflater to detect the end of input
+    final Inflater inflater = new Inflater(true);
+    return new InflaterInputStream(
+        new SequenceInputStream(raw, new ByteArrayInputStream(new byte[1])),
+        inflater,
+        INFLATER_BUFFER_SIZE) {
+      @Override
+      public void close() throws IOException {
+        try {
+          super.close();
+        } finally {
+          inflater.end();
+        }
+      }
+    };
+  }
+}
@@ -18,15 +18,77 @@
 
 package org.comixedproject.adaptors.archive.model;
 
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import org.apache.commons.compress.archivers.sevenz.SevenZArchiveEntry;
 import org.apache.commons.compress.archivers.sevenz.SevenZFile;
 
 /**
  * <code>SevenZArchiveReadHandler</code> provides an archive handle for reading CB7 files.
  *
+ * <p>Entries in a solid archive can only be decoded from the start of their block, so the handle
+ * keeps a small cache of recently decoded entries. This lets a reader move back and forth between
+ * nearby pages without decoding the block again.
+ *
  * @author Darryl L. Pierce
  */
 public class Cb7ArchiveReadHandle extends AbstractArchiveReadHandle<SevenZFile> {
-  public Cb7ArchiveReadHandle(final SevenZFile archiveHandle, final String filename) {
+  private final long maximumCachedBytes;
+  private final Map<String, byte[]> cachedContent = new LinkedHashMap<>(16, 0.75f, true);
+  private long cachedBytes = 0L;
+  private Map<String, SevenZArchiveEntry> entries;
+
+  public Cb7ArchiveReadHandle(
+      final SevenZFile archiveHandle, final String filename, final long maximumCachedBytes) {
     super(archiveHandle, filename);
+    this.maximumCachedBytes = maximumCachedBytes;
+  }
+
+  /**
+   * Returns the named entry. The entries are indexed by name the first time this is called.
+   *
+   * @param filename the entry filename
+   * @return the entry, or null if there is no such entry
+   */
+  public synchronized SevenZArchiveEntry getEntry(final String filename) {
+    if (Objects.isNull(this.entries)) {
+      this.entries = new HashMap<>();
+      this.getArchiveHandle()
+          .getEntries()
+          .forEach(entry -> this.entries.putIfAbsent(entry.getName(), entry));
+    }
+    return this.entries.get(filename);
+  }
+
+  /**
+   * Returns the previously decoded content for the named entry.
+   *
+   * @param filename the entry filename
+   * @return the content, or null if it is not cached
+   */
+  public synchronized byte[] getCachedContent(final String filename) {
+    return this.cachedContent.get(filename);
+  }
+
+  /**
+   * Caches the decoded content for the named entry, evicting the least recently used entries to
+   * stay within the cache limit. Content larger than the limit is not cached.
+   *
+   * @param filename the entry filename
+   * @param content the content
+   */
+  public synchronized void cacheContent(final String filename, final byte[] content) {
+    if (content.length > this.maximumCachedBytes) return;
+    final byte[] previous = this.cachedContent.put(filename, content);
+    if (Objects.nonNull(previous)) this.cachedBytes -= previous.length;
+    this.cachedBytes += content.length;
+    final Iterator<byte[]> iterator = this.cachedContent.values().iterator();
+    while (this.cachedBytes > this.maximumCachedBytes && iterator.hasNext()) {
+      this.cachedBytes -= iterator.next().length;
+      iterator.remove();
+    }
   }
 }
@@ -19,9 +19,32 @@
 package org.comixedproject.adaptors.archive.model;
 
 import com.github.junrar.Archive;
+import com.github.junrar.rarfile.FileHeader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 
 public class CbrArchiveReadHandle extends AbstractArchiveReadHandle<Archive> {
+  private Map<String, FileHeader> fileHeaders;
+
   public CbrArchiveReadHandle(final Archive archiveHandle, final String filename) {
     super(archiveHandle, filename);
   }
+
+  /**
+   * Returns the header for the named entry. The headers are indexed by filename the first time this
+   * is called.
+   *
+   * @param filename the entry filename
+   * @return the header, or null if there is no such entry
+   */
+  public synchronized FileHeader getFileHeader(final String filename) {
+    if (Objects.isNull(this.fileHeaders)) {
+      this.fileHeaders = new HashMap<>();
+      this.getArchiveHandle()
+          .getFileHeaders()
+          .forEach(header -> this.fileHeaders.putIfAbsent(header.getFileName(), header));
+    }
+    return this.fileHeaders.get(filename);
+  }
 }
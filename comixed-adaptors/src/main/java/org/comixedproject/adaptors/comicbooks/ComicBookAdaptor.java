@@ -18,12 +18,15 @@
 
 package org.comixedproject.adaptors.comicbooks;
 
-import java.awt.image.BufferedImage;
 import java.io.*;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
-import javax.imageio.ImageIO;
+import java.util.Set;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FileUtils;
@@ -33,6 +36,9 @@ import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.GenericUtilitiesAdaptor;
 import org.comixedproject.adaptors.archive.ArchiveAdaptor;
 import org.comixedproject.adaptors.archive.ArchiveAdaptorException;
+import org.comixedproject.adaptors.archive.ArchiveEntryProcessor;
+import org.comixedproject.adaptors.archive.ArchiveReadHandlePool;
+import org.comixedproject.adaptors.archive.model.ArchiveEntryRegion;
 import org.comixedproject.adaptors.archive.model.ArchiveEntryType;
 import org.comixedproject.adaptors.archive.model.ArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.ArchiveWriteHandle;
@@ -42,6 +48,9 @@ import org.comixedproject.adaptors.content.ContentAdaptor;
 import org.comixedproject.adaptors.content.ContentAdaptorException;
 import org.comixedproject.adaptors.file.FileAdaptor;
 import org.comixedproject.adaptors.file.FileTypeAdaptor;
+import org.comixedproject.adaptors.images.ImageDimensionAdaptor;
+import org.comixedproject.adaptors.images.ImageDimensions;
+import org.comixedproject.adaptors.images.PerceptualHashAdaptor;
 import org.comixedproject.model.archives.ArchiveType;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicbooks.ComicDetail;
@@ -58,12 +67,16 @@ import org.springframework.stereotype.Component;
 @Log4j2
 public class ComicBookAdaptor {
   public static final String COMIC_INFO_XML = "ComicInfo.xml";
+  private static final String IMAGE_MIME_TYPE_PREFIX = "image/";
   @Autowired private FileTypeAdaptor fileTypeAdaptor;
   @Autowired private ComicFileAdaptor comicFileAdaptor;
   @Autowired private ComicPageAdaptor comicPageAdaptor;
   @Autowired private ComicMetadataWriter comicMetadataWriter;
   @Autowired private FileAdaptor fileAdaptor;
   @Autowired private GenericUtilitiesAdaptor genericUtilitiesAdaptor;
+  @Autowired private ArchiveReadHandlePool archiveReadHandlePool;
+  @Autowired private ImageDimensionAdaptor imageDimensionAdaptor;
+  @Autowired private PerceptualHashAdaptor perceptualHashAdaptor;
 
   /**
    * Creates a new comic. Determines the archive type for the underlying file.
@@ -83,7 +96,8 @@ public class ComicBookAdaptor {
   }
 
   /**
-   * Loads the contents of the specified comicBook.
+   * Loads the contents of the specified comicBook. Each entry in the file is read only once, and
+   * the hash and dimensions for any new pages are set as the page is loaded.
    *
    * @param comicBook the comic book
    * @throws AdaptorException if an error occurs while loading the comic book file
@@ -95,39 +109,90 @@ public class ComicBookAdaptor {
       final ArchiveAdaptor archiveAdaptor = this.fileTypeAdaptor.getArchiveAdaptorFor(filename);
       log.trace("Opening comic book file");
       final ArchiveReadHandle readHandle = archiveAdaptor.openArchiveForRead(filename);
-      log.trace("Loading comic book file entries");
-      final List<ComicArchiveEntry> entries = archiveAdaptor.getEntries(readHandle);
-      for (int index = 0; index < entries.size(); index++) {
-        final ComicArchiveEntry entry = entries.get(index);
-        if (entry.getSize() > 0) {
-          log.trace("Loading entry content: {}", entry.getFilename());
-          final byte[] content = archiveAdaptor.readEntry(readHandle, entry.getFilename());
-          if (content.length > 0) {
-            log.trace("Getting content adaptor for entry: {}", entry.getFilename());
-            final ContentAdaptor adaptor =
-                this.fileTypeAdaptor.getContentAdaptorFor(entry.getFilename(), content);
-            if (adaptor != null) {
-              log.trace("Invoking content adaptor");
-              adaptor.loadContent(comicBook, entry.getFilename(), content);
-            }
-          } else {
-            log.trace("Content contains no data");
-          }
-        } else {
-          log.trace("Entry contains no data");
-        }
-      }
+      log.trace("Processing comic book file entries");
+      archiveAdaptor.processEntries(
+          readHandle, (entry, content) -> this.doLoadEntry(comicBook, entry, content));
       log.trace("Closing comic book file");
       archiveAdaptor.closeArchiveForRead(readHandle);
-    } catch (AdaptorException | ArchiveAdaptorException | ContentAdaptorException error) {
+    } catch (AdaptorException | ArchiveAdaptorException error) {
       throw new AdaptorException("Failed to load comic book file", error);
     }
   }
 
+  private void doLoadEntry(
+      final ComicBook comicBook, final ComicArchiveEntry entry, final byte[] content)
+      throws ArchiveAdaptorException {
+    if (content.length == 0) {
+      log.trace("Entry contains no data: {}", entry.getFilename());
+      return;
+    }
+    log.trace("Getting content adaptor for entry: {}", entry.getFilename());
+    final ContentAdaptor adaptor = this.fileTypeAdaptor.getContentAdaptorFor(entry);
+    if (Objects.isNull(adaptor)) {
+      log.trace("No content adaptor for entry");
+      return;
+    }
+    try {
+      log.trace("Invoking content adaptor");
+      adaptor.loadContent(comicBook, entry.getFilename(), content);
+    } catch (ContentAdaptorException error) {
+      throw new ArchiveAdaptorException("Failed to load entry: " + entry.getFilename(), error);
+    }
+    if (adaptor.getArchiveEntryType() == ArchiveEntryType.IMAGE) {
+      comicBook.getPages().stream()
+          .filter(page -> Objects.nonNull(page))
+          .filter(page -> page.getFilename().equals(entry.getFilename()))
+          .filter(page -> StringUtils.isBlank(page.getHash()))
+          .findFirst()
+          .ifPresent(
+              page -> this.doSetPageDetails(page, content, this.doGetImageMimeType(entry)));
+    }
+  }
+
+  private String doGetImageMimeType(final ComicArchiveEntry entry) {
+    if (StringUtils.isBlank(entry.getMimetype())) {
+      return null;
+    }
+    log.trace("Using image mime type from archive entry: {}", entry.getMimetype());
+    return IMAGE_MIME_TYPE_PREFIX + entry.getMimetype();
+  }
+
+  private void doSetPageDetails(final ComicPage page, final byte[] content, final String mimeType) {
+    log.trace("Setting page hash: {}", page.getFilename());
+    page.setHash(this.genericUtilitiesAdaptor.createHash(content));
+    page.setPerceptualHash(this.perceptualHashAdaptor.getPerceptualHash(content));
+    if (StringUtils.isNotBlank(mimeType)) {
+      page.setMimeType(mimeType);
+    } else {
+      log.trace("Detecting page mime type");
+      page.setMimeType(this.fileTypeAdaptor.getMimeTypeFor(new ByteArrayInputStream(content)));
+    }
+    log.trace("Setting page dimensions");
+    final ImageDimensions dimensions = this.imageDimensionAdaptor.getDimensions(content);
+    if (Objects.nonNull(dimensions)) {
+      page.setWidth(dimensions.getWidth());
+      page.setHeight(dimensions.getHeight());
+    }
+  }
+
+  /**
+   * Sets the hash, perceptual hash, mime type, and dimensions for a page from its content.
+   *
+   * @param page the page
+   * @param content the page content
+   */
+  public void setPageDetails(final ComicPage page, final byte[] content) {
+    this.doSetPageDetails(page, content, null);
+  }
+
   /**
    * Saves the comic book using the supplied archive format. Removes deleted pages if the flag is
    * set. Renames pages if the flag is set.
    *
+   * <p>When the archive format is unchanged, pages are copied without being decompressed, and the
+   * hash and dimensions already stored on each page are reused. Page content is only read when
+   * those details are missing.
+   *
    * @param comicBook the comic book
    * @param targetArchiveType the target format
    * @param pageRenamingRule the page renaming rule
@@ -159,45 +224,53 @@ public class ComicBookAdaptor {
       final ArchiveWriteHandle writeHandle =
           destinationArchive.openArchiveForWrite(temporaryFilename);
 
-      final List<ComicArchiveEntry> sourceEntries = sourceArchive.getEntries(readHandle);
       final int length = String.valueOf(comicBook.getPages().size()).length();
+      final List<ComicPage> pages =
+          comicBook.getPages().stream().filter(page -> !page.isDeleted()).toList();
+      // capture the filenames up front since they change as pages are renamed
+      final List<String> pageFilenames = pages.stream().map(ComicPage::getFilename).toList();
+      if (sourceArchive == destinationArchive) {
+        log.trace("Copying pages without recompressing");
+        this.doCopyPages(
+            sourceArchive, readHandle, writeHandle, pages, pageFilenames, pageRenamingRule, length);
+      } else {
+        final Map<String, ComicArchiveEntry> readEntries = new HashMap<>();
+        final Map<String, byte[]> readContent = new HashMap<>();
+        final int[] nextPage = {0};
 
-      for (int index = 0; index < comicBook.getPages().size(); index++) {
-        final ComicPage page = comicBook.getPages().get(index);
-        // only process if it's not deleted
-        if (!page.isDeleted()) {
-          final Optional<ComicArchiveEntry> sourceEntry =
-              sourceEntries.stream()
-                  .filter(entry -> entry.getFilename().equals(page.getFilename()))
-                  .findFirst();
-          if (sourceEntry.isPresent()) {
-            final String entryFilename = sourceEntry.get().getFilename();
-            final byte[] entryContent = sourceArchive.readEntry(readHandle, entryFilename);
-            log.debug(
-                "Getting content adaptor for file: {}#{}",
-                comicBook.getComicDetail().getFilename(),
-                entryFilename);
-            final ContentAdaptor contentAdaptor =
-                this.fileTypeAdaptor.getContentAdaptorFor(entryFilename, entryContent);
-            if (Objects.nonNull(contentAdaptor)) {
-              log.debug("Generating page details");
-              page.setHash(this.genericUtilitiesAdaptor.createHash(entryContent));
-              final BufferedImage image = ImageIO.read(new ByteArrayInputStream(entryContent));
-              page.setWidth(image.getWidth());
-              page.setHeight(image.getHeight());
-              if (!StringUtils.isBlank((pageRenamingRule))) {
-                final String pageFilename =
-                    this.comicPageAdaptor.createFilenameFromRule(
-                        FilenameUtils.getExtension(entryFilename),
-                        pageRenamingRule,
-                        page.getPageNumber(),
-                        length);
-                log.debug("Setting new filename: {} => {}", page.getFilename(), pageFilename);
-                page.setFilename(pageFilename);
+        log.trace("Copying pages in archive order");
+        sourceArchive.readEntries(
+            readHandle,
+            new HashSet<>(pageFilenames),
+            (entry, content) -> {
+              readEntries.put(entry.getFilename(), entry);
+              readContent.put(entry.getFilename(), content);
+              // pages are written in comic order, holding only those read ahead of their turn
+              while (nextPage[0] < pages.size()
+                  && readContent.containsKey(pageFilenames.get(nextPage[0]))) {
+                final String filename = pageFilenames.get(nextPage[0]);
+                this.doWritePage(
+                    destinationArchive,
+                    writeHandle,
+                    pages.get(nextPage[0]),
+                    readEntries.remove(filename),
+                    readContent.remove(filename),
+                    pageRenamingRule,
+                    length);
+                nextPage[0]++;
               }
-            }
-            log.trace("Writing page: {}", entryFilename);
-            destinationArchive.writeEntry(writeHandle, page.getFilename(), entryContent);
+            });
+        for (int index = nextPage[0]; index < pages.size(); index++) {
+          final String filename = pageFilenames.get(index);
+          if (readContent.containsKey(filename)) {
+            this.doWritePage(
+                destinationArchive,
+                writeHandle,
+                pages.get(index),
+                readEntries.remove(filename),
+                readContent.remove(filename),
+                pageRenamingRule,
+                length);
           }
         }
       }
@@ -221,6 +294,8 @@ public class ComicBookAdaptor {
           temporaryDeleteFilename);
       final String targetDirectory =
           comicBook.getComicDetail().getFile().getAbsoluteFile().getParent();
+      log.trace("Closing any pooled handles for original file");
+      this.archiveReadHandlePool.invalidate(sourceFilename);
       this.fileAdaptor.moveFile(
           comicBook.getComicDetail().getFile(), new File(temporaryDeleteFilename));
       log.trace("Replacing original file");
@@ -248,6 +323,88 @@ public class ComicBookAdaptor {
     }
   }
 
+  private void doCopyPages(
+      final ArchiveAdaptor archiveAdaptor,
+      final ArchiveReadHandle readHandle,
+      final ArchiveWriteHandle writeHandle,
+      final List<ComicPage> pages,
+      final List<String> pageFilenames,
+      final String pageRenamingRule,
+      final int length)
+      throws ArchiveAdaptorException {
+    for (int index = 0; index < pages.size(); index++) {
+      final ComicPage page = pages.get(index);
+      final String entryFilename = pageFilenames.get(index);
+      if (!archiveAdaptor.hasEntry(readHandle, entryFilename)) {
+        log.debug("Page not found in archive, skipping: {}", entryFilename);
+        continue;
+      }
+      if (!this.hasPageDetails(page)) {
+        log.trace("Reading page to generate details: {}", entryFilename);
+        final byte[] content = archiveAdaptor.readEntry(readHandle, entryFilename);
+        this.setPageDetails(page, content);
+        this.doRenamePage(page, entryFilename, pageRenamingRule, length);
+        archiveAdaptor.writeEntry(writeHandle, page.getFilename(), content);
+        continue;
+      }
+      this.doRenamePage(page, entryFilename, pageRenamingRule, length);
+      log.trace("Copying page: {}", entryFilename);
+      if (!archiveAdaptor.copyEntry(readHandle, entryFilename, writeHandle, page.getFilename())) {
+        log.trace("Page could not be copied, rewriting: {}", entryFilename);
+        archiveAdaptor.writeEntry(
+            writeHandle, page.getFilename(), archiveAdaptor.readEntry(readHandle, entryFilename));
+      }
+    }
+  }
+
+  private void doWritePage(
+      final ArchiveAdaptor destinationArchive,
+      final ArchiveWriteHandle writeHandle,
+      final ComicPage page,
+      final ComicArchiveEntry sourceEntry,
+      final byte[] entryContent,
+      final String pageRenamingRule,
+      final int length)
+      throws ArchiveAdaptorException {
+    final String entryFilename = sourceEntry.getFilename();
+    log.debug("Getting content adaptor for entry: {}", entryFilename);
+    final ContentAdaptor contentAdaptor = this.fileTypeAdaptor.getContentAdaptorFor(sourceEntry);
+    if (Objects.nonNull(contentAdaptor)) {
+      if (!this.hasPageDetails(page)) {
+        log.debug("Generating page details");
+        this.setPageDetails(page, entryContent);
+      }
+      this.doRenamePage(page, entryFilename, pageRenamingRule, length);
+    }
+    log.trace("Writing page: {}", entryFilename);
+    destinationArchive.writeEntry(writeHandle, page.getFilename(), entryContent);
+  }
+
+  private boolean hasPageDetails(final ComicPage page) {
+    return StringUtils.isNotBlank(page.getHash())
+        && Objects.nonNull(page.getWidth())
+        && page.getWidth() >= 0
+        && Objects.nonNull(page.getHeight())
+        && page.getHeight() >= 0;
+  }
+
+  private void doRenamePage(
+      final ComicPage page,
+      final String entryFilename,
+      final String pageRenamingRule,
+      final int length) {
+    if (!StringUtils.isBlank((pageRenamingRule))) {
+      final String pageFilename =
+          this.comicPageAdaptor.createFilenameFromRule(
+              FilenameUtils.getExtension(entryFilename),
+              pageRenamingRule,
+              page.getPageNumber(),
+              length);
+      log.debug("Setting new filename: {} => {}", page.getFilename(), pageFilename);
+      page.setFilename(pageFilename);
+    }
+  }
+
   /**
    * Writes the comic's metadata to a separate file. The file's name is based on that of the comic,
    * but with an extension of ".xml".
@@ -320,12 +477,19 @@ public class ComicBookAdaptor {
       log.trace("Getting archive adaptor for comic book file");
       final ArchiveAdaptor archiveAdaptor =
           this.fileTypeAdaptor.getArchiveAdaptorFor(comicFilename);
-      log.trace("Opening archive");
-      final ArchiveReadHandle readHandle = archiveAdaptor.openArchiveForRead(comicFilename);
-      log.trace("Loading page content");
-      final byte[] content = archiveAdaptor.readEntry(readHandle, pageFilename);
-      log.trace("Closing archive");
-      archiveAdaptor.closeArchiveForRead(readHandle);
+      log.trace("Borrowing archive handle");
+      final ArchiveReadHandle readHandle =
+          this.archiveReadHandlePool.borrow(archiveAdaptor, comicFilename);
+      final byte[] content;
+      try {
+        log.trace("Loading page content");
+        content = archiveAdaptor.readEntry(readHandle, pageFilename);
+      } catch (ArchiveAdaptorException error) {
+        this.archiveReadHandlePool.discard(readHandle);
+        throw error;
+      }
+      log.trace("Releasing archive handle");
+      this.archiveReadHandlePool.release(readHandle);
       log.trace("Returning {} bytes", content.length);
       return content;
     } catch (AdaptorException | ArchiveAdaptorException error) {
@@ -333,6 +497,112 @@ public class ComicBookAdaptor {
     }
   }
 
+  /**
+   * Locates the raw data for a page within the comic book file so that it can be streamed directly
+   * from the file.
+   *
+   * @param comicFilename the comic book filename
+   * @param pageFilename the page filename
+   * @return the page region, or null if the page cannot be streamed directly
+   * @throws AdaptorException if an error occurs locating the page
+   */
+  public ArchiveEntryRegion getPageRegion(final String comicFilename, final String pageFilename)
+      throws AdaptorException {
+    try {
+      log.trace("Getting archive adaptor for comic book file");
+      final ArchiveAdaptor archiveAdaptor =
+          this.fileTypeAdaptor.getArchiveAdaptorFor(comicFilename);
+      log.trace("Borrowing archive handle");
+      final ArchiveReadHandle readHandle =
+          this.archiveReadHandlePool.borrow(archiveAdaptor, comicFilename);
+      final ArchiveEntryRegion result;
+      try {
+        log.trace("Locating page data");
+        result = archiveAdaptor.getEntryRegion(readHandle, pageFilename);
+      } catch (ArchiveAdaptorException error) {
+        this.archiveReadHandlePool.discard(readHandle);
+        throw error;
+      }
+      log.trace("Releasing archive handle");
+      this.archiveReadHandlePool.release(readHandle);
+      return result;
+    } catch (AdaptorException | ArchiveAdaptorException error) {
+      throw new AdaptorException("Failed to locate page content", error);
+    }
+  }
+
+  /**
+   * Retrieves the content for several pages in a single pass over the archive. Pages are passed to
+   * the processor in archive order, which may differ from the page order.
+   *
+   * @param comicBook the comic book
+   * @param pages the pages to load
+   * @param processor the page content processor
+   * @throws AdaptorException if an error occurs loading the pages
+   */
+  public void loadPageContents(
+      final ComicBook comicBook,
+      final List<ComicPage> pages,
+      final ComicPageContentProcessor processor)
+      throws AdaptorException {
+    if (pages.isEmpty()) {
+      log.trace("No pages to load");
+      return;
+    }
+    final Map<String, List<ComicPage>> pagesByFilename = new HashMap<>();
+    pages.forEach(
+        page ->
+            pagesByFilename
+                .computeIfAbsent(page.getFilename(), filename -> new ArrayList<>())
+                .add(page));
+    this.loadPageContents(
+        comicBook.getComicDetail().getFilename(),
+        pagesByFilename.keySet(),
+        (entry, content) ->
+            pagesByFilename
+                .get(entry.getFilename())
+                .forEach(page -> processor.process(page, content)));
+  }
+
+  /**
+   * Retrieves the content for several entries of a comic book file in a single pass over the
+   * archive. Entries are passed to the processor in archive order.
+   *
+   * @param comicFilename the comic book filename
+   * @param pageFilenames the page filenames
+   * @param processor the entry processor
+   * @throws AdaptorException if an error occurs loading the pages
+   */
+  public void loadPageContents(
+      final String comicFilename,
+      final Set<String> pageFilenames,
+      final ArchiveEntryProcessor processor)
+      throws AdaptorException {
+    if (pageFilenames.isEmpty()) {
+      log.trace("No pages to load");
+      return;
+    }
+    try {
+      log.trace("Getting archive adaptor for comic book file");
+      final ArchiveAdaptor archiveAdaptor =
+          this.fileTypeAdaptor.getArchiveAdaptorFor(comicFilename);
+      log.trace("Borrowing archive handle");
+      final ArchiveReadHandle readHandle =
+          this.archiveReadHandlePool.borrow(archiveAdaptor, comicFilename);
+      try {
+        log.trace("Loading content for {} page(s)", pageFilenames.size());
+        archiveAdaptor.readEntries(readHandle, pageFilenames, processor);
+      } catch (ArchiveAdaptorException error) {
+        this.archiveReadHandlePool.discard(readHandle);
+        throw error;
+      }
+      log.trace("Releasing archive handle");
+      this.archiveReadHandlePool.release(readHandle);
+    } catch (AdaptorException | ArchiveAdaptorException error) {
+      throw new AdaptorException("Failed to load page contents", error);
+    }
+  }
+
   /**
    * Loads the first image from the specified file.
    *
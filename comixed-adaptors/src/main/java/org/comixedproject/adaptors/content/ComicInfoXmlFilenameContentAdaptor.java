@@ -51,7 +51,8 @@ import tools.jackson.databind.DeserializationFeature;
 public class ComicInfoXmlFilenameContentAdaptor implements FilenameContentAdaptor {
   @Getter private ArchiveEntryType archiveEntryType = ArchiveEntryType.FILE;
 
-  private SimpleDateFormat dateFormat = new SimpleDateFormat("yyyy-MM-dd");
+  private static final String LAST_SCRAPED_DATE_FORMAT = "yyyy-MM-dd";
+
   private final JacksonXmlHttpMessageConverter xmlConverter;
 
   public ComicInfoXmlFilenameContentAdaptor() {
@@ -94,7 +95,9 @@ public class ComicInfoXmlFilenameContentAdaptor implements FilenameContentAdapto
         comicBook.setMetadataReferenceId(trim(comicInfo.getMetadata().getReferenceId()));
         if (StringUtils.hasLength(comicInfo.getMetadata().getLastScrapedDate())) {
           comicBook.setLastScrapedDate(
-              this.dateFormat.parse(comicInfo.getMetadata().getLastScrapedDate()));
+              // SimpleDateFormat is not thread safe and this adaptor is shared
+              new SimpleDateFormat(LAST_SCRAPED_DATE_FORMAT)
+                  .parse(comicInfo.getMetadata().getLastScrapedDate()));
         }
       }
       final ComicDetail detail = comicBook.getComicDetail();
@@ -157,9 +160,16 @@ public class ComicInfoXmlFilenameContentAdaptor implements FilenameContentAdapto
             if (Objects.nonNull(pageInfo.getImageType())) {
               page.setPageType(pageInfo.getImageType().getComicPageType());
             }
-            page.setWidth(pageInfo.getImageWidth());
-            page.setHeight(pageInfo.getImageHeight());
-            page.setHash(pageInfo.getImageHash());
+            // keep any details already read from the page itself
+            if (Objects.nonNull(pageInfo.getImageWidth())) {
+              page.setWidth(pageInfo.getImageWidth());
+            }
+            if (Objects.nonNull(pageInfo.getImageHeight())) {
+              page.setHeight(pageInfo.getImageHeight());
+            }
+            if (StringUtils.hasLength(pageInfo.getImageHash())) {
+              page.setHash(pageInfo.getImageHash());
+            }
           } else {
             log.warn("No comic page found for comic page: " + pageInfo.getPageNumber());
           }
@@ -30,10 +30,11 @@ import lombok.extern.log4j.Log4j2;
 @Log4j2
 public class ComicInfoXmlFilenameContentAdaptorProvider implements FilenameContentAdaptorProvider {
   private Pattern pattern = Pattern.compile(".*ComicInfo.xml", Pattern.CASE_INSENSITIVE);
+  private ComicInfoXmlFilenameContentAdaptor adaptor = new ComicInfoXmlFilenameContentAdaptor();
 
   @Override
   public FilenameContentAdaptor create() {
-    return new ComicInfoXmlFilenameContentAdaptor();
+    return adaptor;
   }
 
   @Override
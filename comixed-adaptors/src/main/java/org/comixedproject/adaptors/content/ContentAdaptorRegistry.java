@@ -19,58 +19,104 @@
 package org.comixedproject.adaptors.content;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.ServiceLoader;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.InitializingBean;
 import org.springframework.stereotype.Component;
 
 /**
  * <code>ContentAdaptorRegistry</code> provides a means of finding the correct {@link
  * ContentAdaptor} for an content entry.
  *
+ * <p>Providers are loaded once at startup, and each adaptor is created once and then shared, so
+ * adaptors must be thread safe. Lookups by content type are remembered since there are only a few
+ * distinct content types. Call {@link #reload()} if new providers are added at runtime.
+ *
  * @author Darryl L. Pierce
  */
 @Component
 @Log4j2
-public class ContentAdaptorRegistry {
-  public ContentAdaptor getContentAdaptorForFilename(final String filename) {
-    log.debug("Looking for a filename adaptor for {}", filename);
-    final List<FilenameContentAdaptorProvider> loaders =
+public class ContentAdaptorRegistry implements InitializingBean {
+  private static final Optional<ContentAdaptor> NO_ADAPTOR = Optional.empty();
+
+  private volatile List<FilenameContentAdaptorEntry> filenameAdaptors = List.of();
+  private volatile List<FileTypeContentAdaptorEntry> fileTypeAdaptors = List.of();
+  private final Map<String, Optional<ContentAdaptor>> contentTypeAdaptors =
+      new ConcurrentHashMap<>();
+
+  @Override
+  public void afterPropertiesSet() {
+    this.reload();
+  }
+
+  /** Loads the registered content adaptor providers, replacing any that were loaded before. */
+  public synchronized void reload() {
+    log.debug("Loading content adaptor providers");
+    this.filenameAdaptors =
         ServiceLoader.load(FilenameContentAdaptorProvider.class).stream()
             .map(ServiceLoader.Provider::get)
+            .map(provider -> new FilenameContentAdaptorEntry(provider, provider.create()))
             .toList();
+    this.fileTypeAdaptors =
+        ServiceLoader.load(FileTypeContentAdaptorProvider.class).stream()
+            .map(ServiceLoader.Provider::get)
+            .map(provider -> new FileTypeContentAdaptorEntry(provider, provider.create()))
+            .toList();
+    this.contentTypeAdaptors.clear();
+    log.debug(
+        "Loaded {} filename and {} content type adaptor(s)",
+        this.filenameAdaptors.size(),
+        this.fileTypeAdaptors.size());
+  }
 
-    final Optional<FilenameContentAdaptorProvider> provider =
-        loaders.stream().filter(entry -> entry.supports(filename)).findFirst();
+  public ContentAdaptor getContentAdaptorForFilename(final String filename) {
+    log.trace("Looking for a filename adaptor for {}", filename);
+    final Optional<FilenameContentAdaptorEntry> entry =
+        this.filenameAdaptors.stream()
+            .filter(adaptor -> adaptor.getProvider().supports(filename))
+            .findFirst();
 
-    if (provider.isPresent()) {
-      final FilenameContentAdaptor adaptor = provider.get().create();
-      log.debug("Returning an instance of {}", adaptor.getClass().getSimpleName());
+    if (entry.isPresent()) {
+      final FilenameContentAdaptor adaptor = entry.get().getAdaptor();
+      log.trace("Returning an instance of {}", adaptor.getClass().getSimpleName());
       return adaptor;
     }
 
-    log.debug("No filename adaptor found");
+    log.trace("No filename adaptor found");
     return null;
   }
 
   public ContentAdaptor getContentAdaptorForContentType(final String contentType) {
-    log.debug("Looking for a content type adaptor for {}", contentType);
-    final List<FileTypeContentAdaptorProvider> loaders =
-        ServiceLoader.load(FileTypeContentAdaptorProvider.class).stream()
-            .map(ServiceLoader.Provider::get)
-            .toList();
+    if (Objects.isNull(contentType)) {
+      log.trace("No content type provided");
+      return null;
+    }
+    return this.contentTypeAdaptors
+        .computeIfAbsent(contentType, this::doFindContentTypeAdaptor)
+        .orElse(null);
+  }
 
-    final Optional<FileTypeContentAdaptorProvider> provider =
-        loaders.stream().filter(entry -> entry.supports(contentType)).findFirst();
+  private Optional<ContentAdaptor> doFindContentTypeAdaptor(final String contentType) {
+    log.debug("Looking for a content type adaptor for {}", contentType);
+    final Optional<FileTypeContentAdaptorEntry> entry =
+        this.fileTypeAdaptors.stream()
+            .filter(adaptor -> adaptor.getProvider().supports(contentType))
+            .findFirst();
 
-    if (provider.isPresent()) {
-      final FileTypeContentAdaptor adaptor = provider.get().create();
-      log.debug("Returning an instance of {}", adaptor.getClass().getSimpleName());
-      return adaptor;
+    if (entry.isPresent()) {
+      final FileTypeContentAdaptor adaptor = entry.get().getAdaptor();
+      log.debug("Using an instance of {}", adaptor.getClass().getSimpleName());
+      return Optional.of(adaptor);
     }
 
-    log.debug("No filename adaptor found");
-    return null;
+    log.debug("No content type adaptor found");
+    return NO_ADAPTOR;
   }
 
   public ContentAdaptor getContentAdaptor(final String filename, final String contentType) {
@@ -80,4 +126,16 @@ public class ContentAdaptorRegistry {
     }
     return result;
   }
+
+  @AllArgsConstructor
+  private static class FilenameContentAdaptorEntry {
+    @Getter private final FilenameContentAdaptorProvider provider;
+    @Getter private final FilenameContentAdaptor adaptor;
+  }
+
+  @AllArgsConstructor
+  private static class FileTypeContentAdaptorEntry {
+    @Getter private final FileTypeContentAdaptorProvider provider;
+    @Getter private final FileTypeContentAdaptor adaptor;
+  }
 }
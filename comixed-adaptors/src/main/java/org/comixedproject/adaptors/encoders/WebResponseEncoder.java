@@ -18,10 +18,34 @@
 
 package org.comixedproject.adaptors.encoders;
 
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
+import org.springframework.util.MimeTypeUtils;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * <code>WebResponseEncoder</code> provides methods to encode response content for HTTP requests.
@@ -52,31 +76,197 @@ public class WebResponseEncoder {
   }
 
   /**
-   * Returns an encoded response body for partial content with the specified status code.
+   * Returns a response that streams the content of a file, honoring any byte ranges requested.
    *
-   * @param start the start index
-   * @param finish the finish index
-   * @param length the content length
-   * @param content the content
+   * <p>The file is never loaded into memory: each requested region is copied directly from the
+   * file channel to the response. A single range is returned as partial content, several ranges are
+   * returned as a multipart/byteranges body, and a range that can not be satisfied returns the
+   * status along with the length of the file. If the client provides an <code>If-Range</code>
+   * validator that no longer matches the file then the whole file is returned.
+   *
+   * @param range the range header, or null
+   * @param ifRange the if-range header, or null
+   * @param file the file
    * @param filename the filename
    * @param mediaType the MIME type
-   * @param <T> the content type
    * @return the response body
+   * @throws IOException if the file can not be read
    */
-  public <T> ResponseEntity<T> encode(
-      final int start,
-      final int finish,
-      final int length,
-      final T content,
+  public ResponseEntity<StreamingResponseBody> encodeFile(
+      final String range,
+      final String ifRange,
+      final File file,
       final String filename,
-      final MediaType mediaType) {
-    log.trace("Encoding web content from file: {}", filename);
-    return ResponseEntity.status(206)
-        .contentLength(length)
+      final MediaType mediaType)
+      throws IOException {
+    log.trace("Encoding streamed content from file: {}", filename);
+    final long length = Files.size(file.toPath());
+    final long lastModified = file.lastModified();
+    final String entityTag = String.format("\"%x-%x\"", lastModified, length);
+
+    final List<FileRegion> regions = new ArrayList<>();
+    if (StringUtils.hasText(range)
+        && this.doIsRangeValid(ifRange, entityTag, lastModified)
+        && !this.doParseRanges(range, length, regions)) {
+      log.debug("Range not satisfiable: {} length={}", range, length);
+      return ResponseEntity.status(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE)
+          .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+          .header(HttpHeaders.CONTENT_RANGE, "bytes */" + length)
+          .build();
+    }
+
+    final ResponseEntity.BodyBuilder response =
+        regions.isEmpty() ? ResponseEntity.ok() : ResponseEntity.status(HttpStatus.PARTIAL_CONTENT);
+    response
         .header("Content-Disposition", "attachment; filename=\"" + filename + "\"")
-        .header("Accept-Ranges", "bytes")
-        .header("Content-Range", String.format("bytes %d-%d/%d", start, finish, length))
-        .contentType(mediaType)
-        .body(content);
+        .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+        .eTag(entityTag)
+        .lastModified(lastModified);
+
+    if (regions.isEmpty()) {
+      log.trace("Streaming entire file: length={}", length);
+      return response
+          .contentLength(length)
+          .contentType(mediaType)
+          .body(
+              outputStream ->
+                  this.doTransfer(
+                      file, List.of(new FileRegion(0, length - 1)), null, outputStream));
+    }
+
+    if (regions.size() == 1) {
+      final FileRegion region = regions.get(0);
+      log.trace("Streaming file region: {}-{}", region.getStart(), region.getEnd());
+      return response
+          .header(
+              HttpHeaders.CONTENT_RANGE,
+              String.format("bytes %d-%d/%d", region.getStart(), region.getEnd(), length))
+          .contentLength(region.getLength())
+          .contentType(mediaType)
+          .body(outputStream -> this.doTransfer(file, regions, null, outputStream));
+    }
+
+    log.trace("Streaming {} file regions", regions.size());
+    final String boundary = MimeTypeUtils.generateMultipartBoundaryString();
+    regions.forEach(region -> region.createPartHeader(boundary, mediaType, length));
+    final byte[] trailer =
+        String.format("\r\n--%s--\r\n", boundary).getBytes(StandardCharsets.US_ASCII);
+    final long contentLength =
+        regions.stream()
+                .mapToLong(region -> region.getPartHeader().length + region.getLength())
+                .sum()
+            + trailer.length;
+    return response
+        .contentLength(contentLength)
+        .contentType(MediaType.parseMediaType("multipart/byteranges; boundary=" + boundary))
+        .body(outputStream -> this.doTransfer(file, regions, trailer, outputStream));
+  }
+
+  private boolean doIsRangeValid(
+      final String ifRange, final String entityTag, final long lastModified) {
+    if (!StringUtils.hasText(ifRange)) return true;
+    if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+      log.trace("Comparing if-range entity tag: {} to {}", ifRange, entityTag);
+      return ifRange.equals(entityTag);
+    }
+    try {
+      log.trace("Comparing if-range date: {}", ifRange);
+      return ZonedDateTime.parse(ifRange, DateTimeFormatter.RFC_1123_DATE_TIME)
+              .toInstant()
+              .toEpochMilli()
+          == lastModified / 1000L * 1000L;
+    } catch (DateTimeParseException error) {
+      log.debug("Invalid if-range date: {}", ifRange);
+      return false;
+    }
+  }
+
+  private boolean doParseRanges(
+      final String range, final long length, final List<FileRegion> regions) {
+    final List<HttpRange> ranges;
+    try {
+      ranges = HttpRange.parseRanges(range);
+    } catch (IllegalArgumentException error) {
+      log.debug("Ignoring invalid range: {}", range);
+      return true;
+    }
+
+    final List<FileRegion> requested = new ArrayList<>();
+    for (HttpRange entry : ranges) {
+      try {
+        final long start = entry.getRangeStart(length);
+        final long end = entry.getRangeEnd(length);
+        if (start <= end) requested.add(new FileRegion(start, end));
+      } catch (IllegalArgumentException error) {
+        log.trace("Skipping unsatisfiable range: {}", entry);
+      }
+    }
+    if (requested.isEmpty()) return false;
+
+    requested.sort(Comparator.comparingLong(FileRegion::getStart));
+    FileRegion current = null;
+    for (FileRegion region : requested) {
+      if (Objects.nonNull(current) && region.getStart() <= current.getEnd() + 1) {
+        current.setEnd(Math.max(current.getEnd(), region.getEnd()));
+      } else {
+        current = region;
+        regions.add(current);
+      }
+    }
+    return true;
+  }
+
+  private void doTransfer(
+      final File file,
+      final List<FileRegion> regions,
+      final byte[] trailer,
+      final OutputStream output)
+      throws IOException {
+    try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+      final WritableByteChannel target = Channels.newChannel(output);
+      for (FileRegion region : regions) {
+        if (Objects.nonNull(region.getPartHeader())) output.write(region.getPartHeader());
+        long position = region.getStart();
+        long remaining = region.getLength();
+        while (remaining > 0) {
+          final long sent = channel.transferTo(position, remaining, target);
+          if (sent <= 0) throw new IOException("File truncated while streaming: " + file);
+          position += sent;
+          remaining -= sent;
+        }
+      }
+      if (Objects.nonNull(trailer)) output.write(trailer);
+      output.flush();
+    }
+  }
+
+  @Getter
+  private static class FileRegion {
+    private final long start;
+    @Setter private long end;
+    private byte[] partHeader;
+
+    FileRegion(final long start, final long end) {
+      this.start = start;
+      this.end = end;
+    }
+
+    long getLength() {
+      return this.end - this.start + 1;
+    }
+
+    void createPartHeader(final String boundary, final MediaType mediaType, final long length) {
+      this.partHeader =
+          String.format(
+                  "\r\n--%s\r\n%s: %s\r\n%s: bytes %d-%d/%d\r\n\r\n",
+                  boundary,
+                  HttpHeaders.CONTENT_TYPE,
+                  mediaType,
+                  HttpHeaders.CONTENT_RANGE,
+                  this.start,
+                  this.end,
+                  length)
+              .getBytes(StandardCharsets.US_ASCII);
+    }
   }
 }
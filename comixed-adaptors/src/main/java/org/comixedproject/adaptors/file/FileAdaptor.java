@@ -20,6 +20,11 @@ package org.comixedproject.adaptors.file;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
@@ -36,6 +41,9 @@ import org.springframework.stereotype.Component;
 @Component
 @Log4j2
 public class FileAdaptor {
+  /** The number of bytes sampled from the start and end of a file for its fingerprint. */
+  public static final int FINGERPRINT_SAMPLE_SIZE = 8192;
+
   /**
    * Deletes an disk file file.
    *
@@ -112,4 +120,34 @@ public class FileAdaptor {
         false,
         SystemUtils.IS_OS_WINDOWS ? IOCase.INSENSITIVE : IOCase.SENSITIVE);
   }
+
+  /**
+   * Returns a cheap fingerprint for a file. The fingerprint is generated from the file's size
+   * along with the first and last few kilobytes of content, so the whole file is not read.
+   *
+   * @param file the file
+   * @return the fingerprint
+   * @throws IOException if an error occurs
+   */
+  public String getFingerprint(final File file) throws IOException {
+    log.trace("Generating file fingerprint: {}", file);
+    try (RandomAccessFile input = new RandomAccessFile(file, "r")) {
+      final long length = input.length();
+      final MessageDigest digest = MessageDigest.getInstance("MD5");
+      digest.update(ByteBuffer.allocate(Long.BYTES).putLong(length).array());
+      final byte[] head = new byte[(int) Math.min(length, FINGERPRINT_SAMPLE_SIZE)];
+      input.readFully(head);
+      digest.update(head);
+      final long tailStart = Math.max(head.length, length - FINGERPRINT_SAMPLE_SIZE);
+      if (tailStart < length) {
+        final byte[] tail = new byte[(int) (length - tailStart)];
+        input.seek(tailStart);
+        input.readFully(tail);
+        digest.update(tail);
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException error) {
+      throw new IOException("Failed to generate file fingerprint", error);
+    }
+  }
 }
@@ -20,7 +20,10 @@ package org.comixedproject.adaptors.file;
 
 import java.io.*;
 import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 import lombok.*;
 import lombok.extern.log4j.Log4j2;
@@ -32,11 +35,13 @@ import org.apache.tika.mime.MediaType;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.archive.ArchiveAdaptor;
 import org.comixedproject.adaptors.archive.model.ArchiveEntryType;
+import org.comixedproject.adaptors.archive.model.ComicArchiveEntry;
 import org.comixedproject.adaptors.content.ContentAdaptor;
 import org.comixedproject.adaptors.content.ContentAdaptorRegistry;
 import org.comixedproject.model.archives.ArchiveType;
 import org.springframework.beans.BeansException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.ApplicationContext;
@@ -54,6 +59,29 @@ import org.springframework.stereotype.Component;
 @ConfigurationProperties(prefix = "file-type")
 @Log4j2
 public class FileTypeAdaptor {
+  private static final int ARCHIVE_SIGNATURE_LENGTH = 8;
+  private static final byte[][] ARCHIVE_SIGNATURES = {
+    {'P', 'K', 0x03, 0x04},
+    {'P', 'K', 0x05, 0x06},
+    {'P', 'K', 0x07, 0x08},
+    {'R', 'a', 'r', '!', 0x1a, 0x07},
+    {'7', 'z', (byte) 0xbc, (byte) 0xaf, 0x27, 0x1c}
+  };
+  private static final String[] ARCHIVE_SUBTYPES = {
+    "zip", "zip", "zip", "x-rar-compressed", "x-7z-compressed"
+  };
+  private static final int IMAGE_SIGNATURE_LENGTH = 12;
+  private static final byte[][] IMAGE_SIGNATURES = {
+    {(byte) 0xff, (byte) 0xd8, (byte) 0xff},
+    {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'},
+    {'G', 'I', 'F', '8', '7', 'a'},
+    {'G', 'I', 'F', '8', '9', 'a'}
+  };
+  private static final String[] IMAGE_MIME_TYPES = {
+    "image/jpeg", "image/png", "image/gif", "image/gif"
+  };
+  private static final String WEBP_MIME_TYPE = "image/webp";
+
   @Autowired private ApplicationContext applicationContext;
   @Autowired private ContentAdaptorRegistry contentAdaptorRegistry;
   @Autowired private Tika tika;
@@ -61,25 +89,77 @@ public class FileTypeAdaptor {
 
   @Getter private List<ArchiveAdaptorDefinition> archiveAdaptors = new ArrayList<>();
 
+  @Value("${comixed.file-type.detection-cache-size:4096}")
+  int detectionCacheSize = 4096;
+
+  private final Map<String, DetectedArchiveType> detectedArchiveTypes =
+      new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(final Map.Entry<String, DetectedArchiveType> eldest) {
+          return this.size() > detectionCacheSize;
+        }
+      };
+
   /**
-   * Returns the registered archive adaptor for the type of file specified.
+   * Returns the registered archive adaptor for the type of file specified. The archive type is
+   * determined from the file's signature, falling back to content detection and then the file's
+   * extension. Results are cached until the file's size or modified time changes.
    *
    * @param filename the filename
    * @return the archive adaptor
    * @throws AdaptorException if the file was not found or no archive adaptor was found
    */
   public ArchiveAdaptor getArchiveAdaptorFor(final String filename) throws AdaptorException {
-    log.trace("Determining archive type for stream");
+    final File file = new File(filename);
+    if (!file.isFile()) {
+      throw new AdaptorException(
+          "Failed to determine subtype", new FileNotFoundException(filename));
+    }
+    final String key = file.getAbsolutePath();
+    final long size = file.length();
+    final long lastModified = file.lastModified();
+    DetectedArchiveType detected;
+    synchronized (this.detectedArchiveTypes) {
+      detected = this.detectedArchiveTypes.get(key);
+    }
+    if (Objects.nonNull(detected)
+        && detected.getSize() == size
+        && detected.getLastModified() == lastModified) {
+      log.trace("Using cached archive type for {}: {}", filename, detected.getDefinition().name);
+      return this.getArchiveAdaptor(Optional.of(detected.getDefinition()));
+    }
+    log.trace("Determining archive type for file: {}", filename);
+    final ArchiveAdaptorDefinition definition = this.doDetectArchiveAdaptor(filename);
+    if (Objects.isNull(definition)) {
+      log.info("No archive adaptor found for file: {}", filename);
+      return null;
+    }
+    if (this.detectionCacheSize > 0) {
+      synchronized (this.detectedArchiveTypes) {
+        this.detectedArchiveTypes.put(
+            key, new DetectedArchiveType(definition, size, lastModified));
+      }
+    }
+    return this.getArchiveAdaptor(Optional.of(definition));
+  }
+
+  private ArchiveAdaptorDefinition doDetectArchiveAdaptor(final String filename)
+      throws AdaptorException {
     try (InputStream input = new BufferedInputStream(new FileInputStream(filename))) {
-      final String subtype = this.getSubtype(input);
+      String subtype = this.getArchiveSubtype(input);
+      if (Objects.isNull(subtype)) {
+        log.trace("Archive signature not recognized, detecting content type");
+        subtype = this.getSubtype(input);
+      }
+      final String detectedSubtype = subtype;
       Optional<ArchiveAdaptorDefinition> adaptorOption =
           this.getArchiveAdaptors().stream()
-              .filter(entry -> StringUtils.equals(subtype, entry.getFormat()))
+              .filter(entry -> StringUtils.equals(detectedSubtype, entry.getFormat()))
               .findFirst();
       if (adaptorOption.isPresent()) {
         final ArchiveAdaptorDefinition entry = adaptorOption.get();
         log.debug("Found archive adaptor for {} by mime type: {}", filename, entry.getName());
-        return this.applicationContext.getBean(entry.getName(), ArchiveAdaptor.class);
+        return entry;
       }
       final String extension = FilenameUtils.getExtension(filename);
       adaptorOption =
@@ -90,9 +170,8 @@ public class FileTypeAdaptor {
       if (adaptorOption.isPresent()) {
         final ArchiveAdaptorDefinition entry = adaptorOption.get();
         log.debug("Found archive adaptor for {} by file extension: {}", filename, entry.getName());
-        return this.applicationContext.getBean(entry.getName(), ArchiveAdaptor.class);
+        return entry;
       }
-      log.info("No archive adaptor found for file: {}", filename);
       return null;
     } catch (FileNotFoundException error) {
       throw new AdaptorException("Failed to determine subtype", error);
@@ -101,6 +180,27 @@ public class FileTypeAdaptor {
     }
   }
 
+  private String getArchiveSubtype(final InputStream input) throws IOException {
+    input.mark(ARCHIVE_SIGNATURE_LENGTH);
+    final byte[] header = input.readNBytes(ARCHIVE_SIGNATURE_LENGTH);
+    input.reset();
+    for (int index = 0; index < ARCHIVE_SIGNATURES.length; index++) {
+      if (this.startsWith(header, ARCHIVE_SIGNATURES[index])) {
+        log.trace("Found archive signature: {}", ARCHIVE_SUBTYPES[index]);
+        return ARCHIVE_SUBTYPES[index];
+      }
+    }
+    return null;
+  }
+
+  private boolean startsWith(final byte[] header, final byte[] signature) {
+    if (header.length < signature.length) return false;
+    for (int index = 0; index < signature.length; index++) {
+      if (header[index] != signature[index]) return false;
+    }
+    return true;
+  }
+
   private ArchiveAdaptor getArchiveAdaptor(final Optional<ArchiveAdaptorDefinition> adaptor)
       throws AdaptorException {
     if (adaptor.isPresent()) {
@@ -145,6 +245,18 @@ public class FileTypeAdaptor {
     return this.contentAdaptorRegistry.getContentAdaptor(filename, contentType);
   }
 
+  /**
+   * Returns the content adaptor for the given archive entry, using the content type that was
+   * determined when the entry was loaded.
+   *
+   * @param entry the archive entry
+   * @return the content adaptor
+   */
+  public ContentAdaptor getContentAdaptorFor(@NonNull final ComicArchiveEntry entry) {
+    log.trace("Determining entry loader for archive entry: {}", entry.getFilename());
+    return this.contentAdaptorRegistry.getContentAdaptor(entry.getFilename(), entry.getMimetype());
+  }
+
   <T> T getBean(final String name, final Class<T> clazz) throws AdaptorException {
     try {
       return this.applicationContext.getBean(name, clazz);
@@ -168,6 +280,29 @@ public class FileTypeAdaptor {
     return null;
   }
 
+  /**
+   * Returns the MIME subtype for the given filename, based on its extension.
+   *
+   * @param filename the filename
+   * @return the MIME subtype
+   */
+  public String getSubtypeForFilename(final String filename) {
+    final MediaType result = MediaType.parse(this.tika.detect(filename));
+    return result != null ? result.getSubtype() : null;
+  }
+
+  /**
+   * Returns whether the given MIME subtype is unknown, meaning the content could not be
+   * identified.
+   *
+   * @param subtype the MIME subtype
+   * @return true if the subtype is unknown
+   */
+  public boolean isUnknownSubtype(final String subtype) {
+    return StringUtils.isBlank(subtype)
+        || StringUtils.equals(subtype, MediaType.OCTET_STREAM.getSubtype());
+  }
+
   private MediaType getMimeType(final InputStream input) throws IOException {
     log.trace("Attempting to detect mime type for stream");
     MediaType result = null;
@@ -211,8 +346,19 @@ public class FileTypeAdaptor {
     return null;
   }
 
+  /**
+   * Returns the MIME type for the data in the stream. Common image formats are identified from
+   * their signature, and any other content is detected by examining the content.
+   *
+   * @param input the data stream
+   * @return the MIME type
+   */
   public String getMimeTypeFor(final InputStream input) {
     try {
+      final String imageType = this.getImageMimeType(input);
+      if (Objects.nonNull(imageType)) {
+        return imageType;
+      }
       return this.getMimeType(input).toString();
     } catch (IOException error) {
       log.error("Failed to get mime type for stream", error);
@@ -220,6 +366,36 @@ public class FileTypeAdaptor {
     return null;
   }
 
+  private String getImageMimeType(final InputStream input) throws IOException {
+    if (!input.markSupported()) return null;
+    input.mark(IMAGE_SIGNATURE_LENGTH);
+    final byte[] header = input.readNBytes(IMAGE_SIGNATURE_LENGTH);
+    input.reset();
+    for (int index = 0; index < IMAGE_SIGNATURES.length; index++) {
+      if (this.startsWith(header, IMAGE_SIGNATURES[index])) {
+        log.trace("Found image signature: {}", IMAGE_MIME_TYPES[index]);
+        return IMAGE_MIME_TYPES[index];
+      }
+    }
+    if (header.length == IMAGE_SIGNATURE_LENGTH
+        && this.startsWith(header, new byte[] {'R', 'I', 'F', 'F'})
+        && header[8] == 'W'
+        && header[9] == 'E'
+        && header[10] == 'B'
+        && header[11] == 'P') {
+      log.trace("Found image signature: {}", WEBP_MIME_TYPE);
+      return WEBP_MIME_TYPE;
+    }
+    return null;
+  }
+
+  @AllArgsConstructor
+  private static class DetectedArchiveType {
+    @Getter private final ArchiveAdaptorDefinition definition;
+    @Getter private final long size;
+    @Getter private final long lastModified;
+  }
+
   @NoArgsConstructor
   @RequiredArgsConstructor
   public static class ArchiveAdaptorDefinition {
@@ -0,0 +1,214 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.images;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Objects;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>ImageDimensionAdaptor</code> determines the width and height of an image without decoding
+ * its pixels.
+ *
+ * <p>JPEG, PNG, GIF and WebP dimensions are read directly from the image header. Any other format
+ * falls back to an {@link ImageReader} that only reads the image metadata.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class ImageDimensionAdaptor {
+  private static final byte[] PNG_SIGNATURE = {
+    (byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'
+  };
+
+  /**
+   * Returns the dimensions of the given image.
+   *
+   * @param content the image content
+   * @return the dimensions, or null if they could not be determined
+   */
+  public ImageDimensions getDimensions(final byte[] content) {
+    if (Objects.isNull(content) || content.length == 0) {
+      log.trace("No image content");
+      return null;
+    }
+    ImageDimensions result = null;
+    try {
+      result = this.doReadHeader(content);
+    } catch (IndexOutOfBoundsException error) {
+      log.debug("Image header is truncated", error);
+    }
+    if (Objects.isNull(result)) {
+      log.trace("Reading dimensions from image metadata");
+      result = this.doReadMetadata(content);
+    }
+    return result;
+  }
+
+  private ImageDimensions doReadHeader(final byte[] content) {
+    if (this.isJpeg(content)) {
+      log.trace("Reading JPEG header");
+      return this.doReadJpegHeader(content);
+    }
+    if (this.isPng(content)) {
+      log.trace("Reading PNG header");
+      return new ImageDimensions(this.readIntBE(content, 16), this.readIntBE(content, 20));
+    }
+    if (this.isGif(content)) {
+      log.trace("Reading GIF header");
+      return new ImageDimensions(this.readShortLE(content, 6), this.readShortLE(content, 8));
+    }
+    if (this.isWebP(content)) {
+      log.trace("Reading WebP header");
+      return this.doReadWebPHeader(content);
+    }
+    return null;
+  }
+
+  private boolean isJpeg(final byte[] content) {
+    return content.length > 2
+        && (content[0] & 0xff) == 0xff
+        && (content[1] & 0xff) == 0xd8
+        && (content[2] & 0xff) == 0xff;
+  }
+
+  private boolean isPng(final byte[] content) {
+    if (content.length < 24) return false;
+    for (int index = 0; index < PNG_SIGNATURE.length; index++) {
+      if (content[index] != PNG_SIGNATURE[index]) return false;
+    }
+    return this.matches(content, 12, "IHDR");
+  }
+
+  private boolean isGif(final byte[] content) {
+    return content.length >= 10
+        && (this.matches(content, 0, "GIF87a") || this.matches(content, 0, "GIF89a"));
+  }
+
+  private boolean isWebP(final byte[] content) {
+    return content.length >= 30
+        && this.matches(content, 0, "RIFF")
+        && this.matches(content, 8, "WEBP");
+  }
+
+  private ImageDimensions doReadJpegHeader(final byte[] content) {
+    int offset = 2;
+    while (offset < content.length) {
+      if ((content[offset] & 0xff) != 0xff) {
+        log.debug("Invalid JPEG marker at offset {}", offset);
+        return null;
+      }
+      // markers may be preceded by any number of fill bytes
+      while ((content[offset] & 0xff) == 0xff) offset++;
+      final int marker = content[offset++] & 0xff;
+      if (marker == 0xd8 || marker == 0x01 || (marker >= 0xd0 && marker <= 0xd7)) continue;
+      if (marker == 0xd9 || marker == 0xda) {
+        log.debug("No frame header found before image data");
+        return null;
+      }
+      if (this.isStartOfFrame(marker)) {
+        return new ImageDimensions(
+            this.readShortBE(content, offset + 5), this.readShortBE(content, offset + 3));
+      }
+      offset += this.readShortBE(content, offset);
+    }
+    return null;
+  }
+
+  private boolean isStartOfFrame(final int marker) {
+    return marker >= 0xc0 && marker <= 0xcf && marker != 0xc4 && marker != 0xc8 && marker != 0xcc;
+  }
+
+  private ImageDimensions doReadWebPHeader(final byte[] content) {
+    if (this.matches(content, 12, "VP8 ")) {
+      return new ImageDimensions(
+          this.readShortLE(content, 26) & 0x3fff, this.readShortLE(content, 28) & 0x3fff);
+    }
+    if (this.matches(content, 12, "VP8L")) {
+      final int bits =
+          (content[21] & 0xff)
+              | (content[22] & 0xff) << 8
+              | (content[23] & 0xff) << 16
+              | (content[24] & 0xff) << 24;
+      return new ImageDimensions((bits & 0x3fff) + 1, ((bits >> 14) & 0x3fff) + 1);
+    }
+    if (this.matches(content, 12, "VP8X")) {
+      return new ImageDimensions(
+          this.readInt24LE(content, 24) + 1, this.readInt24LE(content, 27) + 1);
+    }
+    return null;
+  }
+
+  private ImageDimensions doReadMetadata(final byte[] content) {
+    try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+      if (Objects.isNull(input)) return null;
+      final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+      if (!readers.hasNext()) {
+        log.debug("No image reader found for content");
+        return null;
+      }
+      final ImageReader reader = readers.next();
+      try {
+        reader.setInput(input, true, true);
+        return new ImageDimensions(reader.getWidth(0), reader.getHeight(0));
+      } finally {
+        reader.dispose();
+      }
+    } catch (IOException error) {
+      log.debug("Failed to read image metadata", error);
+      return null;
+    }
+  }
+
+  private boolean matches(final byte[] content, final int offset, final String value) {
+    if (content.length < offset + value.length()) return false;
+    for (int index = 0; index < value.length(); index++) {
+      if (content[offset + index] != (byte) value.charAt(index)) return false;
+    }
+    return true;
+  }
+
+  private int readShortBE(final byte[] content, final int offset) {
+    return (content[offset] & 0xff) << 8 | (content[offset + 1] & 0xff);
+  }
+
+  private int readShortLE(final byte[] content, final int offset) {
+    return (content[offset] & 0xff) | (content[offset + 1] & 0xff) << 8;
+  }
+
+  private int readInt24LE(final byte[] content, final int offset) {
+    return (content[offset] & 0xff)
+        | (content[offset + 1] & 0xff) << 8
+        | (content[offset + 2] & 0xff) << 16;
+  }
+
+  private int readIntBE(final byte[] content, final int offset) {
+    return (content[offset] & 0xff) << 24
+        | (content[offset + 1] & 0xff) << 16
+        | (content[offset + 2] & 0xff) << 8
+        | (content[offset + 3] & 0xff);
+  }
+}
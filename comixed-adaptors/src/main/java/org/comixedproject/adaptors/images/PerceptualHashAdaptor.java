@@ -0,0 +1,127 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.images;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.Objects;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReadParam;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import lombok.extern.log4j.Log4j2;
+import org.imgscalr.Scalr;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>PerceptualHashAdaptor</code> computes a 64-bit difference hash (dHash) for an image.
+ *
+ * <p>Unlike the MD5 hash of a page, the difference hash only depends on how the image looks: it is
+ * built from the brightness gradient of a 9x8 grayscale thumbnail. A page that has been
+ * re-encoded, resized or slightly cropped produces a hash that differs from the original in only
+ * a few bits, so similar pages can be found by comparing the Hamming distance between hashes.
+ *
+ * <p>Large images are decoded with subsampling, since only a tiny thumbnail is needed.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class PerceptualHashAdaptor {
+  static final int HASH_WIDTH = 9;
+  static final int HASH_HEIGHT = 8;
+  static final int SAMPLE_SIZE = 64;
+
+  /**
+   * Returns the Hamming distance between two perceptual hashes.
+   *
+   * @param first the first hash
+   * @param second the second hash
+   * @return the number of differing bits
+   */
+  public static int distance(final long first, final long second) {
+    return Long.bitCount(first ^ second);
+  }
+
+  /**
+   * Returns the perceptual hash of the given image.
+   *
+   * @param content the image content
+   * @return the hash, or null if the content is not a readable image
+   */
+  public Long getPerceptualHash(final byte[] content) {
+    if (Objects.isNull(content) || content.length == 0) {
+      log.trace("No image content");
+      return null;
+    }
+    final BufferedImage image = this.doReadImage(content);
+    if (Objects.isNull(image)) {
+      log.debug("Content is not a readable image");
+      return null;
+    }
+    log.trace("Creating hash thumbnail");
+    final BufferedImage thumbnail =
+        Scalr.resize(image, Scalr.Method.BALANCED, Scalr.Mode.FIT_EXACT, HASH_WIDTH, HASH_HEIGHT);
+    long result = 0L;
+    for (int y = 0; y < HASH_HEIGHT; y++) {
+      int left = this.getLuminance(thumbnail.getRGB(0, y));
+      for (int x = 1; x < HASH_WIDTH; x++) {
+        final int right = this.getLuminance(thumbnail.getRGB(x, y));
+        result = (result << 1) | (left < right ? 1L : 0L);
+        left = right;
+      }
+    }
+    image.flush();
+    thumbnail.flush();
+    return result;
+  }
+
+  private BufferedImage doReadImage(final byte[] content) {
+    try (ImageInputStream input =
+        ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+      if (Objects.isNull(input)) return null;
+      final Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+      if (!readers.hasNext()) return null;
+      final ImageReader reader = readers.next();
+      try {
+        reader.setInput(input, true, true);
+        final ImageReadParam param = reader.getDefaultReadParam();
+        final int step =
+            Math.max(1, Math.min(reader.getWidth(0), reader.getHeight(0)) / SAMPLE_SIZE);
+        log.trace("Reading image with subsampling: {}", step);
+        param.setSourceSubsampling(step, step, 0, 0);
+        return reader.read(0, param);
+      } finally {
+        reader.dispose();
+      }
+    } catch (IOException | RuntimeException error) {
+      log.debug("Failed to read image", error);
+      return null;
+    }
+  }
+
+  private int getLuminance(final int rgb) {
+    final int red = (rgb >> 16) & 0xff;
+    final int green = (rgb >> 8) & 0xff;
+    final int blue = rgb & 0xff;
+    return (red * 299 + green * 587 + blue * 114) / 1000;
+  }
+}
@@ -0,0 +1,291 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.archive;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import org.apache.commons.io.FileUtils;
+import org.comixedproject.adaptors.archive.model.ArchiveReadHandle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class ArchiveReadHandlePoolTest {
+  private static final String TEST_ARCHIVE_FILENAME =
+      new File("target/test-classes/pooled-archive.cbz").getAbsolutePath();
+  private static final String TEST_OTHER_ARCHIVE_FILENAME =
+      new File("target/test-classes/other-pooled-archive.cbz").getAbsolutePath();
+
+  @InjectMocks private ArchiveReadHandlePool pool;
+  @Mock private ArchiveAdaptor archiveAdaptor;
+  @Mock private ArchiveAdaptor otherArchiveAdaptor;
+  @Mock private ArchiveReadHandle readHandle;
+  @Mock private ArchiveReadHandle otherReadHandle;
+
+  private final File archiveFile = new File(TEST_ARCHIVE_FILENAME);
+
+  @BeforeEach
+  void setUp() throws ArchiveAdaptorException, IOException {
+    FileUtils.writeStringToFile(archiveFile, "archive content", "UTF-8");
+    Mockito.when(archiveAdaptor.openArchiveForRead(Mockito.anyString()))
+        .thenReturn(readHandle, otherReadHandle);
+    Mockito.when(otherArchiveAdaptor.openArchiveForRead(Mockito.anyString()))
+        .thenReturn(otherReadHandle);
+  }
+
+  @Test
+  void borrow_openFails() throws ArchiveAdaptorException {
+    Mockito.when(archiveAdaptor.openArchiveForRead(Mockito.anyString()))
+        .thenThrow(ArchiveAdaptorException.class);
+
+    assertThrows(
+        ArchiveAdaptorException.class, () -> pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+    assertEquals(0, pool.getOpenHandleCount());
+  }
+
+  @Test
+  void borrow_notPooled() throws ArchiveAdaptorException {
+    final ArchiveReadHandle result = pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME);
+
+    assertSame(readHandle, result);
+
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).openArchiveForRead(TEST_ARCHIVE_FILENAME);
+  }
+
+  @Test
+  void borrow_reusesReleasedHandle() throws ArchiveAdaptorException {
+    pool.release(pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+
+    final ArchiveReadHandle result = pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME);
+
+    assertSame(readHandle, result);
+
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).openArchiveForRead(TEST_ARCHIVE_FILENAME);
+    Mockito.verify(archiveAdaptor, Mockito.never()).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void borrow_whileBorrowedOpensNewHandle() throws ArchiveAdaptorException {
+    final ArchiveReadHandle first = pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME);
+    final ArchiveReadHandle second = pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME);
+
+    assertSame(readHandle, first);
+    assertSame(otherReadHandle, second);
+
+    pool.release(first);
+    pool.release(second);
+
+    assertEquals(2, pool.getIdleHandleCount());
+    assertEquals(2, pool.getOpenHandleCount());
+    Mockito.verify(archiveAdaptor, Mockito.never()).closeArchiveForRead(Mockito.any());
+  }
+
+  @Test
+  void borrow_concurrentReadersReuseHandles() throws ArchiveAdaptorException {
+    final ArchiveReadHandle first = pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME);
+    final ArchiveReadHandle second = pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME);
+    pool.release(first);
+    pool.release(second);
+
+    assertSame(otherReadHandle, pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+    assertSame(readHandle, pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+
+    Mockito.verify(archiveAdaptor, Mockito.times(2)).openArchiveForRead(TEST_ARCHIVE_FILENAME);
+  }
+
+  @Test
+  void borrow_openLimitClosesIdleHandle() throws ArchiveAdaptorException {
+    pool.maximumOpenHandles = 1;
+    pool.release(pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+
+    final ArchiveReadHandle result =
+        pool.borrow(otherArchiveAdaptor, TEST_OTHER_ARCHIVE_FILENAME);
+
+    assertSame(otherReadHandle, result);
+    assertEquals(0, pool.getIdleHandleCount());
+    assertEquals(1, pool.getOpenHandleCount());
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void borrow_openLimitTimesOut() throws ArchiveAdaptorException {
+    pool.maximumOpenHandles = 1;
+    pool.borrowTimeout = 10L;
+    pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME);
+
+    assertThrows(
+        ArchiveAdaptorException.class,
+        () -> pool.borrow(otherArchiveAdaptor, TEST_OTHER_ARCHIVE_FILENAME));
+    assertEquals(1, pool.getOpenHandleCount());
+    Mockito.verify(otherArchiveAdaptor, Mockito.never()).openArchiveForRead(Mockito.anyString());
+  }
+
+  @Test
+  void borrow_openLimitWaitsForRelease() throws Exception {
+    pool.maximumOpenHandles = 1;
+    final ArchiveReadHandle first = pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME);
+    final Thread releaser =
+        new Thread(
+            () -> {
+              try {
+                Thread.sleep(50L);
+              } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+              }
+              pool.release(first);
+            });
+    releaser.start();
+
+    final ArchiveReadHandle result =
+        pool.borrow(otherArchiveAdaptor, TEST_OTHER_ARCHIVE_FILENAME);
+    releaser.join();
+
+    assertSame(otherReadHandle, result);
+    assertEquals(1, pool.getOpenHandleCount());
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void borrow_fileModified() throws ArchiveAdaptorException {
+    pool.release(pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+    archiveFile.setLastModified(archiveFile.lastModified() - 60000L);
+
+    final ArchiveReadHandle result = pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME);
+
+    assertSame(otherReadHandle, result);
+
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void borrow_differentAdaptor() throws ArchiveAdaptorException {
+    pool.release(pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+
+    final ArchiveReadHandle result = pool.borrow(otherArchiveAdaptor, TEST_ARCHIVE_FILENAME);
+
+    assertSame(otherReadHandle, result);
+
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void release_notBorrowed() throws ArchiveAdaptorException {
+    pool.release(readHandle);
+
+    assertEquals(0, pool.getIdleHandleCount());
+    Mockito.verify(archiveAdaptor, Mockito.never()).closeArchiveForRead(Mockito.any());
+  }
+
+  @Test
+  void release_poolFull() throws ArchiveAdaptorException {
+    pool.maximumIdleHandles = 1;
+
+    final ArchiveReadHandle first = pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME);
+    final ArchiveReadHandle second = pool.borrow(otherArchiveAdaptor, TEST_OTHER_ARCHIVE_FILENAME);
+    pool.release(first);
+    pool.release(second);
+
+    assertEquals(1, pool.getIdleHandleCount());
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void release_poolDisabled() throws ArchiveAdaptorException {
+    pool.maximumIdleHandles = 0;
+
+    pool.release(pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+
+    assertEquals(0, pool.getIdleHandleCount());
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void discard() throws ArchiveAdaptorException {
+    pool.discard(pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+
+    assertEquals(0, pool.getIdleHandleCount());
+    assertEquals(0, pool.getOpenHandleCount());
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void invalidate_idle() throws ArchiveAdaptorException {
+    pool.release(pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+
+    pool.invalidate(TEST_ARCHIVE_FILENAME);
+
+    assertEquals(0, pool.getIdleHandleCount());
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void invalidate_borrowed() throws ArchiveAdaptorException {
+    final ArchiveReadHandle handle = pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME);
+
+    pool.invalidate(TEST_ARCHIVE_FILENAME);
+
+    Mockito.verify(archiveAdaptor, Mockito.never()).closeArchiveForRead(readHandle);
+
+    pool.release(handle);
+
+    assertEquals(0, pool.getIdleHandleCount());
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void closeIdleHandles() throws ArchiveAdaptorException {
+    pool.idleTimeout = -1L;
+    pool.release(pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+
+    pool.closeIdleHandles();
+
+    assertEquals(0, pool.getIdleHandleCount());
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void closeIdleHandles_notExpired() throws ArchiveAdaptorException {
+    pool.release(pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+
+    pool.closeIdleHandles();
+
+    assertEquals(1, pool.getIdleHandleCount());
+    Mockito.verify(archiveAdaptor, Mockito.never()).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void destroy() throws ArchiveAdaptorException {
+    pool.release(pool.borrow(archiveAdaptor, TEST_ARCHIVE_FILENAME));
+
+    pool.destroy();
+
+    assertEquals(0, pool.getIdleHandleCount());
+    Mockito.verify(archiveAdaptor, Mockito.times(1)).closeArchiveForRead(readHandle);
+  }
+}
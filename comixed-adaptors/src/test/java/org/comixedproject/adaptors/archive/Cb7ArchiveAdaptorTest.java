@@ -21,12 +21,16 @@ package org.comixedproject.adaptors.archive;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.apache.commons.io.FileUtils;
 import org.comixedproject.AdaptorTestContext;
+import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.archive.model.ArchiveWriteHandle;
 import org.comixedproject.adaptors.archive.model.Cb7ArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.ComicArchiveEntry;
+import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -38,6 +42,8 @@ class Cb7ArchiveAdaptorTest {
   private static final String TEST_SAVE_FILENAME = "target/test-classes/save-example.cb7";
 
   @Autowired private Cb7ArchiveAdaptor adaptor;
+  @Autowired private ArchiveReadHandlePool archiveReadHandlePool;
+  @Autowired private ComicBookAdaptor comicBookAdaptor;
 
   @BeforeEach
   void setUp() {
@@ -70,6 +76,99 @@ class Cb7ArchiveAdaptorTest {
     assertEquals(2881, entries.get(4).getSize());
   }
 
+  @Test
+  void getEntries_thenReadEntry() throws ArchiveAdaptorException {
+    final Cb7ArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
+    final List<ComicArchiveEntry> entries = adaptor.getEntries(archiveHandle);
+    final byte[] result = adaptor.readEntry(archiveHandle, "example.jpeg");
+    adaptor.closeArchiveForRead(archiveHandle);
+
+    assertEquals("example.jpeg", entries.get(0).getFilename());
+    assertEquals(7449985, result.length);
+  }
+
+  @Test
+  void processEntries() throws ArchiveAdaptorException {
+    final Cb7ArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
+    final List<ComicArchiveEntry> entries = new ArrayList<>();
+    final List<byte[]> contents = new ArrayList<>();
+    adaptor.processEntries(
+        archiveHandle,
+        (entry, content) -> {
+          entries.add(entry);
+          contents.add(content);
+        });
+    adaptor.closeArchiveForRead(archiveHandle);
+
+    for (int index = 0; index < entries.size(); index++) {
+      assertEquals(index, entries.get(index).getIndex());
+      assertEquals(entries.get(index).getSize(), contents.get(index).length);
+    }
+    assertEquals("example.jpeg", entries.get(0).getFilename());
+    assertEquals("jpeg", entries.get(0).getMimetype());
+    assertEquals(7449985, contents.get(0).length);
+    assertEquals("example.jpg", entries.get(1).getFilename());
+    assertEquals("jpeg", entries.get(1).getMimetype());
+    assertEquals(7443280, contents.get(1).length);
+  }
+
+  @Test
+  void readEntries() throws ArchiveAdaptorException {
+    final Cb7ArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
+    final List<ComicArchiveEntry> entries = new ArrayList<>();
+    final List<byte[]> contents = new ArrayList<>();
+    adaptor.readEntries(
+        archiveHandle,
+        Set.of("ComicInfo.xml", "exampleCBR.jpg", "farkle.jpg"),
+        (entry, content) -> {
+          entries.add(entry);
+          contents.add(content);
+        });
+    adaptor.closeArchiveForRead(archiveHandle);
+
+    assertEquals(2, entries.size());
+    assertEquals("exampleCBR.jpg", entries.get(0).getFilename());
+    assertEquals(2, entries.get(0).getIndex());
+    assertEquals(58656, contents.get(0).length);
+    assertEquals("ComicInfo.xml", entries.get(1).getFilename());
+    assertEquals(4, entries.get(1).getIndex());
+    assertEquals(2881, contents.get(1).length);
+  }
+
+  @Test
+  void readEntries_afterRandomRead() throws ArchiveAdaptorException {
+    final Cb7ArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
+    adaptor.readEntry(archiveHandle, "example.png");
+    final List<ComicArchiveEntry> entries = new ArrayList<>();
+    adaptor.readEntries(
+        archiveHandle,
+        Set.of("example.jpeg", "ComicInfo.xml"),
+        (entry, content) -> entries.add(entry));
+    adaptor.closeArchiveForRead(archiveHandle);
+
+    assertEquals(2, entries.size());
+    assertEquals("example.jpeg", entries.get(0).getFilename());
+    assertEquals("ComicInfo.xml", entries.get(1).getFilename());
+  }
+
+  @Test
+  void loadPageContents_twiceOnPooledHandle() throws AdaptorException {
+    archiveReadHandlePool.invalidate(TEST_ZIP_FILENAME);
+    final Set<String> filenames = Set.of("exampleCBR.jpg", "ComicInfo.xml");
+    final List<String> first = new ArrayList<>();
+    final List<String> second = new ArrayList<>();
+
+    comicBookAdaptor.loadPageContents(
+        TEST_ZIP_FILENAME, filenames, (entry, content) -> first.add(entry.getFilename()));
+    assertEquals(1, archiveReadHandlePool.getIdleHandleCount());
+    comicBookAdaptor.loadPageContents(
+        TEST_ZIP_FILENAME, filenames, (entry, content) -> second.add(entry.getFilename()));
+    archiveReadHandlePool.invalidate(TEST_ZIP_FILENAME);
+
+    assertEquals(List.of("exampleCBR.jpg", "ComicInfo.xml"), first);
+    assertEquals(first, second);
+  }
+
   @Test
   void readEntry_notFound() throws ArchiveAdaptorException {
     final Cb7ArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
@@ -88,6 +187,34 @@ class Cb7ArchiveAdaptorTest {
     assertEquals(58656, result.length);
   }
 
+  @Test
+  void readEntry_cached() throws ArchiveAdaptorException {
+    final Cb7ArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
+    final byte[] first = adaptor.readEntry(archiveHandle, "example.jpg");
+    final byte[] second = adaptor.readEntry(archiveHandle, "exampleCBR.jpg");
+    final byte[] result = adaptor.readEntry(archiveHandle, "example.jpg");
+    adaptor.closeArchiveForRead(archiveHandle);
+
+    assertSame(first, result);
+    assertEquals(58656, second.length);
+  }
+
+  @Test
+  void readEntry_cacheDisabled() throws ArchiveAdaptorException {
+    adaptor.maximumCachedBytes = 0L;
+    try {
+      final Cb7ArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
+      final byte[] first = adaptor.readEntry(archiveHandle, "exampleCBR.jpg");
+      final byte[] result = adaptor.readEntry(archiveHandle, "exampleCBR.jpg");
+      adaptor.closeArchiveForRead(archiveHandle);
+
+      assertNotSame(first, result);
+      assertArrayEquals(first, result);
+    } finally {
+      adaptor.maximumCachedBytes = 8388608L;
+    }
+  }
+
   @Test
   void save_newFile() throws ArchiveAdaptorException {
     Cb7ArchiveReadHandle readHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
@@ -20,8 +20,11 @@ package org.comixedproject.adaptors.archive;
 
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.comixedproject.AdaptorTestContext;
+import org.comixedproject.adaptors.archive.model.ArchiveEntryRegion;
 import org.comixedproject.adaptors.archive.model.CbrArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.ComicArchiveEntry;
 import org.junit.jupiter.api.Test;
@@ -57,6 +60,83 @@ class CbrArchiveAdaptorTest {
     assertEquals(17303073, entries.get(3).getSize());
   }
 
+  @Test
+  void processEntries() throws ArchiveAdaptorException {
+    final CbrArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_RAR_FILENAME);
+    final List<ComicArchiveEntry> entries = new ArrayList<>();
+    final List<byte[]> contents = new ArrayList<>();
+    adaptor.processEntries(
+        archiveHandle,
+        (entry, content) -> {
+          entries.add(entry);
+          contents.add(content);
+        });
+    adaptor.closeArchiveForRead(archiveHandle);
+
+    for (int index = 0; index < entries.size(); index++) {
+      assertEquals(index, entries.get(index).getIndex());
+      assertEquals(entries.get(index).getSize(), contents.get(index).length);
+    }
+    assertEquals("exampleCBR.jpg", entries.get(0).getFilename());
+    assertEquals("jpeg", entries.get(0).getMimetype());
+    assertEquals(58656, contents.get(0).length);
+    assertEquals("example.jpeg", entries.get(1).getFilename());
+    assertEquals("jpeg", entries.get(1).getMimetype());
+    assertEquals(7449985, contents.get(1).length);
+  }
+
+  @Test
+  void readEntries() throws ArchiveAdaptorException {
+    final CbrArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_RAR_FILENAME);
+    final List<ComicArchiveEntry> entries = new ArrayList<>();
+    final List<byte[]> contents = new ArrayList<>();
+    adaptor.readEntries(
+        archiveHandle,
+        Set.of("example.png", "exampleCBR.jpg", "farkle.jpg"),
+        (entry, content) -> {
+          entries.add(entry);
+          contents.add(content);
+        });
+    adaptor.closeArchiveForRead(archiveHandle);
+
+    assertEquals(2, entries.size());
+    assertEquals("exampleCBR.jpg", entries.get(0).getFilename());
+    assertEquals(0, entries.get(0).getIndex());
+    assertEquals(58656, contents.get(0).length);
+    assertEquals("example.png", entries.get(1).getFilename());
+    assertEquals(3, entries.get(1).getIndex());
+    assertEquals(17303073, contents.get(1).length);
+  }
+
+  @Test
+  void readEntries_stopsAfterLastRequestedEntry() throws Exception {
+    final CbrArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_RAR_FILENAME);
+    final int headerCount = archiveHandle.getArchiveHandle().getFileHeaders().size();
+    final List<String> tested = new ArrayList<>();
+    final List<ComicArchiveEntry> entries = new ArrayList<>();
+    adaptor.doProcessEntries(
+        archiveHandle,
+        filename -> {
+          tested.add(filename);
+          return filename.equals("exampleCBR.jpg");
+        },
+        (entry, content) -> entries.add(entry));
+    adaptor.closeArchiveForRead(archiveHandle);
+
+    assertEquals(1, entries.size());
+    assertEquals("exampleCBR.jpg", entries.get(0).getFilename());
+    assertEquals(headerCount + 1, tested.size());
+  }
+
+  @Test
+  void getEntryRegion() throws ArchiveAdaptorException {
+    final CbrArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_RAR_FILENAME);
+    final ArchiveEntryRegion result = adaptor.getEntryRegion(archiveHandle, "exampleCBR.jpg");
+    adaptor.closeArchiveForRead(archiveHandle);
+
+    assertNull(result);
+  }
+
   @Test
   void getEntry_notFound() throws ArchiveAdaptorException {
     final CbrArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_RAR_FILENAME);
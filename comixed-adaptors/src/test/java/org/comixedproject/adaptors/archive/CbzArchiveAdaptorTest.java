@@ -21,9 +21,14 @@ package org.comixedproject.adaptors.archive;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.apache.commons.io.FileUtils;
 import org.comixedproject.AdaptorTestContext;
+import org.comixedproject.adaptors.archive.model.ArchiveEntryRegion;
 import org.comixedproject.adaptors.archive.model.ArchiveWriteHandle;
 import org.comixedproject.adaptors.archive.model.CbzArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.ComicArchiveEntry;
@@ -72,6 +77,54 @@ class CbzArchiveAdaptorTest {
     assertEquals(58656, entries.get(4).getSize());
   }
 
+  @Test
+  void processEntries() throws ArchiveAdaptorException {
+    final CbzArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
+    final List<ComicArchiveEntry> entries = new ArrayList<>();
+    final List<byte[]> contents = new ArrayList<>();
+    adaptor.processEntries(
+        archiveHandle,
+        (entry, content) -> {
+          entries.add(entry);
+          contents.add(content);
+        });
+    adaptor.closeArchiveForRead(archiveHandle);
+
+    for (int index = 0; index < entries.size(); index++) {
+      assertEquals(index, entries.get(index).getIndex());
+      assertEquals(entries.get(index).getSize(), contents.get(index).length);
+    }
+    assertEquals("ComicInfo.xml", entries.get(0).getFilename());
+    assertEquals("xml", entries.get(0).getMimetype());
+    assertEquals(2881, contents.get(0).length);
+    assertEquals("example.jpeg", entries.get(1).getFilename());
+    assertEquals("jpeg", entries.get(1).getMimetype());
+    assertEquals(7449985, contents.get(1).length);
+  }
+
+  @Test
+  void readEntries() throws ArchiveAdaptorException {
+    final CbzArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
+    final List<ComicArchiveEntry> entries = new ArrayList<>();
+    final List<byte[]> contents = new ArrayList<>();
+    adaptor.readEntries(
+        archiveHandle,
+        Set.of("example.png", "ComicInfo.xml", "farkle.jpg"),
+        (entry, content) -> {
+          entries.add(entry);
+          contents.add(content);
+        });
+    adaptor.closeArchiveForRead(archiveHandle);
+
+    assertEquals(2, entries.size());
+    assertEquals("ComicInfo.xml", entries.get(0).getFilename());
+    assertEquals(0, entries.get(0).getIndex());
+    assertEquals(2881, contents.get(0).length);
+    assertEquals("example.png", entries.get(1).getFilename());
+    assertEquals(3, entries.get(1).getIndex());
+    assertEquals(17303073, contents.get(1).length);
+  }
+
   @Test
   void getEntries_inSubdirs() throws ArchiveAdaptorException {
     final CbzArchiveReadHandle archiveHandle =
@@ -119,6 +172,71 @@ class CbzArchiveAdaptorTest {
     assertEquals(58656, result.length);
   }
 
+  @Test
+  void getEntryRegion_notFound() throws ArchiveAdaptorException {
+    final CbzArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
+    try {
+      assertThrows(
+          ArchiveAdaptorException.class,
+          () -> adaptor.getEntryRegion(archiveHandle, "exampleCBR.gif"));
+    } finally {
+      adaptor.closeArchiveForRead(archiveHandle);
+    }
+  }
+
+  @Test
+  void getEntryRegion() throws ArchiveAdaptorException, IOException {
+    final CbzArchiveReadHandle archiveHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
+    final byte[] expected = adaptor.readEntry(archiveHandle, "exampleCBR.jpg");
+    final ArchiveEntryRegion result = adaptor.getEntryRegion(archiveHandle, "exampleCBR.jpg");
+    adaptor.closeArchiveForRead(archiveHandle);
+
+    assertNotNull(result);
+    assertEquals(expected.length, result.getSize());
+    try (InputStream input = result.openStream()) {
+      assertArrayEquals(expected, input.readAllBytes());
+    }
+  }
+
+  @Test
+  void copyEntry_notFound() throws ArchiveAdaptorException {
+    final CbzArchiveReadHandle readHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
+    final ArchiveWriteHandle writeHandle = adaptor.openArchiveForWrite(TEST_SAVE_FILENAME);
+    try {
+      assertThrows(
+          ArchiveAdaptorException.class,
+          () -> adaptor.copyEntry(readHandle, "exampleCBR.gif", writeHandle, "copied.gif"));
+    } finally {
+      adaptor.closeArchiveForWrite(writeHandle);
+      adaptor.closeArchiveForRead(readHandle);
+    }
+  }
+
+  @Test
+  void copyEntry() throws ArchiveAdaptorException {
+    CbzArchiveReadHandle readHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
+    final ArchiveWriteHandle writeHandle = adaptor.openArchiveForWrite(TEST_SAVE_FILENAME);
+    final byte[] expected = adaptor.readEntry(readHandle, "exampleCBR.jpg");
+
+    final boolean result =
+        adaptor.copyEntry(readHandle, "exampleCBR.jpg", writeHandle, "page-001.jpg");
+
+    adaptor.closeArchiveForWrite(writeHandle);
+    adaptor.closeArchiveForRead(readHandle);
+
+    assertTrue(result);
+
+    readHandle = adaptor.openArchiveForRead(TEST_SAVE_FILENAME);
+    final List<ComicArchiveEntry> entries = adaptor.getEntries(readHandle);
+    final byte[] content = adaptor.readEntry(readHandle, "page-001.jpg");
+    adaptor.closeArchiveForRead(readHandle);
+
+    assertEquals(1, entries.size());
+    assertEquals("page-001.jpg", entries.get(0).getFilename());
+    assertEquals("jpeg", entries.get(0).getMimetype());
+    assertArrayEquals(expected, content);
+  }
+
   @Test
   void save_newFile() throws ArchiveAdaptorException {
     CbzArchiveReadHandle readHandle = adaptor.openArchiveForRead(TEST_ZIP_FILENAME);
@@ -23,14 +23,19 @@ import static org.mockito.Mockito.*;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.FilenameUtils;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.GenericUtilitiesAdaptor;
 import org.comixedproject.adaptors.archive.ArchiveAdaptor;
 import org.comixedproject.adaptors.archive.ArchiveAdaptorException;
+import org.comixedproject.adaptors.archive.ArchiveEntryProcessor;
+import org.comixedproject.adaptors.archive.ArchiveReadHandlePool;
+import org.comixedproject.adaptors.archive.model.ArchiveEntryRegion;
 import org.comixedproject.adaptors.archive.model.ArchiveEntryType;
 import org.comixedproject.adaptors.archive.model.ArchiveReadHandle;
 import org.comixedproject.adaptors.archive.model.ArchiveWriteHandle;
@@ -38,6 +43,9 @@ import org.comixedproject.adaptors.archive.model.ComicArchiveEntry;
 import org.comixedproject.adaptors.content.*;
 import org.comixedproject.adaptors.file.FileAdaptor;
 import org.comixedproject.adaptors.file.FileTypeAdaptor;
+import org.comixedproject.adaptors.images.ImageDimensionAdaptor;
+import org.comixedproject.adaptors.images.ImageDimensions;
+import org.comixedproject.adaptors.images.PerceptualHashAdaptor;
 import org.comixedproject.model.archives.ArchiveType;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicbooks.ComicDetail;
@@ -46,6 +54,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
@@ -53,6 +62,7 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.http.MediaType;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -74,6 +84,13 @@ class ComicBookAdaptorTest {
   private static final byte[] TEST_IMAGE_DATA;
   private static final String TEST_RENAME_RULE = "PAGE-$INDEX";
   private static final String TEST_RENAMED_PAGE = "The renamed page filename";
+  private static final String TEST_OTHER_ENTRY_FILENAME = "Other entry filename.jpg";
+  private static final String TEST_PAGE_HASH = "0123456789ABCDEF0123456789ABCDEF";
+  private static final Long TEST_PERCEPTUAL_HASH = 0x0123456789ABCDEFL;
+  private static final int TEST_PAGE_WIDTH = 338;
+  private static final int TEST_PAGE_HEIGHT = 479;
+  private static final String TEST_PAGE_MIME_TYPE = "image/jpeg";
+  private static final String TEST_PAGE_MIME_SUBTYPE = "jpeg";
 
   static {
     try {
@@ -96,20 +113,29 @@ class ComicBookAdaptorTest {
   @Mock private GenericUtilitiesAdaptor genericUtilitiesAdaptor;
   @Mock private ComicArchiveEntry archiveEntry;
   @Mock private ComicArchiveEntry archiveSubdirEntry;
+  @Mock private ComicArchiveEntry otherArchiveEntry;
+  @Mock private ComicPage otherPage;
+  @Mock private ComicPageContentProcessor comicPageContentProcessor;
+  @Mock private ArchiveEntryProcessor archiveEntryProcessor;
+  @Mock private ArchiveEntryRegion entryRegion;
   @Mock private ComicFileAdaptor comicFileAdaptor;
   @Mock private ComicPageAdaptor comicPageAdaptor;
   @Mock private ComicMetadataWriter comicMetadataWriter;
   @Mock private FileAdaptor fileAdaptor;
+  @Mock private ArchiveReadHandlePool archiveReadHandlePool;
+  @Mock private ImageDimensionAdaptor imageDimensionAdaptor;
+  @Mock private PerceptualHashAdaptor perceptualHashAdaptor;
 
   @Captor private ArgumentCaptor<File> moveSourceFile;
   @Captor private ArgumentCaptor<File> moveDestinationFile;
   @Captor private ArgumentCaptor<String> temporaryArchiveFile;
   @Captor private ArgumentCaptor<File> deleteFileArgumentCaptor;
-  @Captor private ArgumentCaptor<ArchiveReadHandle> archiveReadHandleArgumentCaptor;
+  @Captor private ArgumentCaptor<String> mimeTypeArgumentCaptor;
 
   private File comicFile = new File(TEST_REAL_COMIC_FILE);
   private List<ComicArchiveEntry> archiveEntryList = new ArrayList<>();
   private List<ComicPage> pageList = new ArrayList<>();
+  private byte[] entryContent = TEST_ARCHIVE_ENTRY_CONTENT;
 
   @BeforeEach
   void setUp()
@@ -118,15 +144,48 @@ class ComicBookAdaptorTest {
     when(comicDetail.getFilename()).thenReturn(TEST_COMIC_FILENAME);
     when(comicDetail.getArchiveType()).thenReturn(TEST_ARCHIVE_TYPE);
     when(readableArchiveAdaptor.openArchiveForRead(Mockito.anyString())).thenReturn(readHandle);
+    when(archiveReadHandlePool.borrow(Mockito.any(ArchiveAdaptor.class), Mockito.anyString()))
+        .thenReturn(readHandle);
     when(writeableArchiveAdaptor.openArchiveForWrite(temporaryArchiveFile.capture()))
         .thenReturn(writeHandle);
     when(fileTypeAdaptor.getArchiveAdaptorFor(Mockito.any(ArchiveType.class)))
         .thenReturn(writeableArchiveAdaptor);
     when(readableArchiveAdaptor.getEntries(Mockito.any(ArchiveReadHandle.class)))
         .thenReturn(archiveEntryList);
-    when(fileTypeAdaptor.getContentAdaptorFor(Mockito.anyString(), Mockito.any(byte[].class)))
+    doAnswer(
+            invocation -> {
+              final ArchiveEntryProcessor processor = invocation.getArgument(1);
+              for (ComicArchiveEntry entry : archiveEntryList) {
+                processor.process(entry, entry.getSize() > 0 ? entryContent : new byte[0]);
+              }
+              return null;
+            })
+        .when(readableArchiveAdaptor)
+        .processEntries(Mockito.any(ArchiveReadHandle.class), Mockito.any());
+    doAnswer(
+            invocation -> {
+              final Set<String> filenames = invocation.getArgument(1);
+              final ArchiveEntryProcessor processor = invocation.getArgument(2);
+              for (ComicArchiveEntry entry : archiveEntryList) {
+                if (filenames.contains(entry.getFilename())) {
+                  processor.process(entry, entryContent);
+                }
+              }
+              return null;
+            })
+        .when(readableArchiveAdaptor)
+        .readEntries(Mockito.any(ArchiveReadHandle.class), Mockito.anySet(), Mockito.any());
+    when(genericUtilitiesAdaptor.createHash(Mockito.any(byte[].class))).thenReturn(TEST_PAGE_HASH);
+    when(imageDimensionAdaptor.getDimensions(Mockito.any(byte[].class)))
+        .thenReturn(new ImageDimensions(TEST_PAGE_WIDTH, TEST_PAGE_HEIGHT));
+    when(perceptualHashAdaptor.getPerceptualHash(Mockito.any(byte[].class)))
+        .thenReturn(TEST_PERCEPTUAL_HASH);
+    when(fileTypeAdaptor.getContentAdaptorFor(Mockito.any(ComicArchiveEntry.class)))
         .thenReturn(contentAdaptor);
     when(archiveEntry.getFilename()).thenReturn(TEST_ENTRY_FILENAME);
+    when(archiveEntry.getMimetype()).thenReturn(TEST_PAGE_MIME_SUBTYPE);
+    when(fileTypeAdaptor.getMimeTypeFor(Mockito.any(InputStream.class)))
+        .thenReturn(TEST_PAGE_MIME_TYPE);
     when(archiveEntry.getSize()).thenReturn((long) TEST_ARCHIVE_ENTRY_CONTENT.length);
     when(archiveSubdirEntry.getSize()).thenReturn(0L);
 
@@ -135,6 +194,8 @@ class ComicBookAdaptorTest {
     when(readableArchiveAdaptor.readEntry(
             Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
         .thenReturn(TEST_ARCHIVE_ENTRY_CONTENT);
+    when(readableArchiveAdaptor.hasEntry(Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
+        .thenReturn(true);
     when(comicFileAdaptor.findAvailableFilename(
             Mockito.anyString(), Mockito.anyString(), Mockito.anyInt(), Mockito.anyString()))
         .thenReturn(TEST_FINAL_FILENAME);
@@ -198,44 +259,32 @@ class ComicBookAdaptorTest {
   }
 
   @Test
-  void load_getEntriesThrowsException() throws ArchiveAdaptorException {
-    when(readableArchiveAdaptor.getEntries(Mockito.any(ArchiveReadHandle.class)))
-        .thenThrow(ArchiveAdaptorException.class);
-
-    assertThrows(AdaptorException.class, () -> adaptor.load(comicBook));
-  }
-
-  @Test
-  void load_readEntryThrowsException() throws ArchiveAdaptorException {
-
-    archiveEntryList.add(archiveEntry);
-
-    when(readableArchiveAdaptor.readEntry(
-            Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
-        .thenThrow(ArchiveAdaptorException.class);
+  void load_processEntriesThrowsException() throws ArchiveAdaptorException {
+    doThrow(ArchiveAdaptorException.class)
+        .when(readableArchiveAdaptor)
+        .processEntries(Mockito.any(ArchiveReadHandle.class), Mockito.any());
 
     assertThrows(AdaptorException.class, () -> adaptor.load(comicBook));
   }
 
   @Test
   void load_noAdaptorForContent() throws AdaptorException, ArchiveAdaptorException {
-
     archiveEntryList.add(archiveEntry);
 
-    when(fileTypeAdaptor.getContentAdaptorFor(Mockito.anyString(), Mockito.any(byte[].class)))
+    when(fileTypeAdaptor.getContentAdaptorFor(Mockito.any(ComicArchiveEntry.class)))
         .thenReturn(null);
 
     adaptor.load(comicBook);
 
     verify(readableArchiveAdaptor).openArchiveForRead(TEST_COMIC_FILENAME);
-    verify(readableArchiveAdaptor).getEntries(readHandle);
-    verify(readableArchiveAdaptor).readEntry(readHandle, TEST_ENTRY_FILENAME);
-    verify(fileTypeAdaptor).getContentAdaptorFor(TEST_ENTRY_FILENAME, TEST_ARCHIVE_ENTRY_CONTENT);
+    verify(readableArchiveAdaptor).processEntries(Mockito.eq(readHandle), Mockito.any());
+    verify(fileTypeAdaptor).getContentAdaptorFor(archiveEntry);
+    verify(readableArchiveAdaptor, never()).getEntries(readHandle);
+    verify(readableArchiveAdaptor, never()).readEntry(readHandle, TEST_ENTRY_FILENAME);
   }
 
   @Test
   void load_contentAdaptorThrowsException() throws ContentAdaptorException {
-
     archiveEntryList.add(archiveEntry);
 
     doThrow(ContentAdaptorException.class)
@@ -247,17 +296,14 @@ class ComicBookAdaptorTest {
 
   @Test
   void load_noContent() throws AdaptorException, ArchiveAdaptorException, ContentAdaptorException {
-    when(readableArchiveAdaptor.readEntry(
-            Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
-        .thenReturn(new byte[0]);
+    entryContent = new byte[0];
 
     archiveEntryList.add(archiveEntry);
 
     adaptor.load(comicBook);
 
     verify(readableArchiveAdaptor).openArchiveForRead(TEST_COMIC_FILENAME);
-    verify(readableArchiveAdaptor).getEntries(readHandle);
-    verify(readableArchiveAdaptor).readEntry(readHandle, TEST_ENTRY_FILENAME);
+    verify(readableArchiveAdaptor).processEntries(Mockito.eq(readHandle), Mockito.any());
     verify(contentAdaptor, never())
         .loadContent(Mockito.any(ComicBook.class), Mockito.anyString(), Mockito.any(byte[].class));
     verify(readableArchiveAdaptor).closeArchiveForRead(readHandle);
@@ -270,13 +316,71 @@ class ComicBookAdaptorTest {
     adaptor.load(comicBook);
 
     verify(readableArchiveAdaptor).openArchiveForRead(TEST_COMIC_FILENAME);
-    verify(readableArchiveAdaptor).getEntries(readHandle);
-    verify(readableArchiveAdaptor).readEntry(readHandle, TEST_ENTRY_FILENAME);
-    verify(fileTypeAdaptor).getContentAdaptorFor(TEST_ENTRY_FILENAME, TEST_ARCHIVE_ENTRY_CONTENT);
+    verify(readableArchiveAdaptor).processEntries(Mockito.eq(readHandle), Mockito.any());
+    verify(fileTypeAdaptor).getContentAdaptorFor(archiveEntry);
     verify(contentAdaptor).loadContent(comicBook, TEST_ENTRY_FILENAME, TEST_ARCHIVE_ENTRY_CONTENT);
+    verify(page, never()).setHash(Mockito.anyString());
     verify(readableArchiveAdaptor).closeArchiveForRead(readHandle);
   }
 
+  @Test
+  void load_imageEntry() throws AdaptorException, ArchiveAdaptorException, ContentAdaptorException {
+    entryContent = TEST_IMAGE_DATA;
+
+    archiveEntryList.add(archiveEntry);
+
+    when(contentAdaptor.getArchiveEntryType()).thenReturn(ArchiveEntryType.IMAGE);
+
+    adaptor.load(comicBook);
+
+    verify(contentAdaptor).loadContent(comicBook, TEST_ENTRY_FILENAME, TEST_IMAGE_DATA);
+    verify(genericUtilitiesAdaptor).createHash(TEST_IMAGE_DATA);
+    verify(page).setHash(TEST_PAGE_HASH);
+    verify(perceptualHashAdaptor).getPerceptualHash(TEST_IMAGE_DATA);
+    verify(page).setPerceptualHash(TEST_PERCEPTUAL_HASH);
+    verify(page).setMimeType(mimeTypeArgumentCaptor.capture());
+    assertEquals(TEST_PAGE_MIME_TYPE, mimeTypeArgumentCaptor.getValue());
+    assertEquals(MediaType.IMAGE_JPEG, MediaType.valueOf(mimeTypeArgumentCaptor.getValue()));
+    verify(fileTypeAdaptor, never()).getMimeTypeFor(Mockito.any(InputStream.class));
+    verify(imageDimensionAdaptor).getDimensions(TEST_IMAGE_DATA);
+    verify(page).setWidth(TEST_PAGE_WIDTH);
+    verify(page).setHeight(TEST_PAGE_HEIGHT);
+    verify(readableArchiveAdaptor, never()).readEntry(readHandle, TEST_ENTRY_FILENAME);
+  }
+
+  @Test
+  void load_imageEntryWithoutDimensions()
+      throws AdaptorException, ArchiveAdaptorException, ContentAdaptorException {
+    entryContent = TEST_IMAGE_DATA;
+
+    archiveEntryList.add(archiveEntry);
+
+    when(contentAdaptor.getArchiveEntryType()).thenReturn(ArchiveEntryType.IMAGE);
+    when(imageDimensionAdaptor.getDimensions(Mockito.any(byte[].class))).thenReturn(null);
+
+    adaptor.load(comicBook);
+
+    verify(page).setHash(TEST_PAGE_HASH);
+    verify(page, never()).setWidth(Mockito.anyInt());
+    verify(page, never()).setHeight(Mockito.anyInt());
+  }
+
+  @Test
+  void load_imageEntryAlreadyHashed()
+      throws AdaptorException, ArchiveAdaptorException, ContentAdaptorException {
+    entryContent = TEST_IMAGE_DATA;
+
+    archiveEntryList.add(archiveEntry);
+
+    when(contentAdaptor.getArchiveEntryType()).thenReturn(ArchiveEntryType.IMAGE);
+    when(page.getHash()).thenReturn(TEST_PAGE_HASH);
+
+    adaptor.load(comicBook);
+
+    verify(genericUtilitiesAdaptor, never()).createHash(Mockito.any(byte[].class));
+    verify(page, never()).setHash(Mockito.anyString());
+  }
+
   @Test
   void load_comicWithSubdirs()
       throws AdaptorException, ArchiveAdaptorException, ContentAdaptorException {
@@ -286,9 +390,9 @@ class ComicBookAdaptorTest {
     adaptor.load(comicBook);
 
     verify(readableArchiveAdaptor).openArchiveForRead(TEST_COMIC_FILENAME);
-    verify(readableArchiveAdaptor).getEntries(readHandle);
-    verify(readableArchiveAdaptor).readEntry(readHandle, TEST_ENTRY_FILENAME);
-    verify(fileTypeAdaptor).getContentAdaptorFor(TEST_ENTRY_FILENAME, TEST_ARCHIVE_ENTRY_CONTENT);
+    verify(readableArchiveAdaptor).processEntries(Mockito.eq(readHandle), Mockito.any());
+    verify(fileTypeAdaptor, never()).getContentAdaptorFor(archiveSubdirEntry);
+    verify(fileTypeAdaptor).getContentAdaptorFor(archiveEntry);
     verify(contentAdaptor).loadContent(comicBook, TEST_ENTRY_FILENAME, TEST_ARCHIVE_ENTRY_CONTENT);
     verify(readableArchiveAdaptor).closeArchiveForRead(readHandle);
   }
@@ -321,30 +425,23 @@ class ComicBookAdaptorTest {
   void save() throws AdaptorException, ArchiveAdaptorException {
     archiveEntryList.add(archiveEntry);
 
-    when(readableArchiveAdaptor.getEntries(archiveReadHandleArgumentCaptor.capture()))
-        .thenReturn(archiveEntryList);
-    when(readableArchiveAdaptor.readEntry(
-            Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
-        .thenReturn(TEST_IMAGE_DATA);
-    when(fileTypeAdaptor.getContentAdaptorFor(Mockito.anyString(), Mockito.any()))
+    entryContent = TEST_IMAGE_DATA;
+    when(fileTypeAdaptor.getContentAdaptorFor(Mockito.any(ComicArchiveEntry.class)))
         .thenReturn(contentAdaptor);
     when(contentAdaptor.getArchiveEntryType()).thenReturn(ArchiveEntryType.FILE);
 
     adaptor.save(comicBook, TEST_ARCHIVE_TYPE, "");
 
     verify(writeableArchiveAdaptor).writeEntry(writeHandle, TEST_ENTRY_FILENAME, TEST_IMAGE_DATA);
+    verify(archiveReadHandlePool).invalidate(comicFile.getAbsolutePath());
   }
 
   @Test
   void save_imageData() throws AdaptorException, ArchiveAdaptorException {
     archiveEntryList.add(archiveEntry);
 
-    when(readableArchiveAdaptor.getEntries(archiveReadHandleArgumentCaptor.capture()))
-        .thenReturn(archiveEntryList);
-    when(readableArchiveAdaptor.readEntry(
-            Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
-        .thenReturn(TEST_IMAGE_DATA);
-    when(fileTypeAdaptor.getContentAdaptorFor(Mockito.anyString(), Mockito.any()))
+    entryContent = TEST_IMAGE_DATA;
+    when(fileTypeAdaptor.getContentAdaptorFor(Mockito.any(ComicArchiveEntry.class)))
         .thenReturn(contentAdaptor);
     when(contentAdaptor.getArchiveEntryType()).thenReturn(ArchiveEntryType.IMAGE);
 
@@ -357,12 +454,8 @@ class ComicBookAdaptorTest {
   void save_imageData_withRenameRule() throws AdaptorException, ArchiveAdaptorException {
     archiveEntryList.add(archiveEntry);
 
-    when(readableArchiveAdaptor.getEntries(archiveReadHandleArgumentCaptor.capture()))
-        .thenReturn(archiveEntryList);
-    when(readableArchiveAdaptor.readEntry(
-            Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
-        .thenReturn(TEST_IMAGE_DATA);
-    when(fileTypeAdaptor.getContentAdaptorFor(Mockito.anyString(), Mockito.any()))
+    entryContent = TEST_IMAGE_DATA;
+    when(fileTypeAdaptor.getContentAdaptorFor(Mockito.any(ComicArchiveEntry.class)))
         .thenReturn(contentAdaptor);
     when(page.getFilename()).thenReturn(TEST_ENTRY_FILENAME, TEST_RENAMED_PAGE);
     when(contentAdaptor.getArchiveEntryType()).thenReturn(ArchiveEntryType.IMAGE);
@@ -375,6 +468,178 @@ class ComicBookAdaptorTest {
     verify(writeableArchiveAdaptor).writeEntry(writeHandle, TEST_RENAMED_PAGE, TEST_IMAGE_DATA);
   }
 
+  @Test
+  void save_pagesOutOfArchiveOrder() throws AdaptorException, ArchiveAdaptorException {
+    entryContent = TEST_IMAGE_DATA;
+    archiveEntryList.add(otherArchiveEntry);
+    archiveEntryList.add(archiveEntry);
+    pageList.add(otherPage);
+
+    when(otherArchiveEntry.getFilename()).thenReturn(TEST_OTHER_ENTRY_FILENAME);
+    when(otherPage.getFilename()).thenReturn(TEST_OTHER_ENTRY_FILENAME);
+    when(contentAdaptor.getArchiveEntryType()).thenReturn(ArchiveEntryType.IMAGE);
+
+    adaptor.save(comicBook, TEST_ARCHIVE_TYPE, "");
+
+    final InOrder inOrder = Mockito.inOrder(writeableArchiveAdaptor);
+    inOrder
+        .verify(writeableArchiveAdaptor)
+        .writeEntry(writeHandle, TEST_ENTRY_FILENAME, TEST_IMAGE_DATA);
+    inOrder
+        .verify(writeableArchiveAdaptor)
+        .writeEntry(writeHandle, TEST_OTHER_ENTRY_FILENAME, TEST_IMAGE_DATA);
+    verify(readableArchiveAdaptor)
+        .readEntries(
+            Mockito.eq(readHandle),
+            Mockito.eq(Set.of(TEST_ENTRY_FILENAME, TEST_OTHER_ENTRY_FILENAME)),
+            Mockito.any());
+    verify(readableArchiveAdaptor, never()).readEntry(Mockito.any(), Mockito.anyString());
+  }
+
+  @Test
+  void save_deletedPage() throws AdaptorException, ArchiveAdaptorException {
+    entryContent = TEST_IMAGE_DATA;
+    archiveEntryList.add(archiveEntry);
+
+    when(page.isDeleted()).thenReturn(true);
+
+    adaptor.save(comicBook, TEST_ARCHIVE_TYPE, "");
+
+    verify(writeableArchiveAdaptor, never())
+        .writeEntry(writeHandle, TEST_ENTRY_FILENAME, TEST_IMAGE_DATA);
+  }
+
+  @Test
+  void save_pageDetailsAlreadySet() throws AdaptorException, ArchiveAdaptorException {
+    entryContent = TEST_IMAGE_DATA;
+    archiveEntryList.add(archiveEntry);
+
+    when(contentAdaptor.getArchiveEntryType()).thenReturn(ArchiveEntryType.IMAGE);
+    when(page.getHash()).thenReturn(TEST_PAGE_HASH);
+    when(page.getWidth()).thenReturn(TEST_PAGE_WIDTH);
+    when(page.getHeight()).thenReturn(TEST_PAGE_HEIGHT);
+
+    adaptor.save(comicBook, TEST_ARCHIVE_TYPE, "");
+
+    verify(writeableArchiveAdaptor).writeEntry(writeHandle, TEST_ENTRY_FILENAME, TEST_IMAGE_DATA);
+    verify(genericUtilitiesAdaptor, never()).createHash(Mockito.any(byte[].class));
+    verify(imageDimensionAdaptor, never()).getDimensions(Mockito.any(byte[].class));
+  }
+
+  @Test
+  void save_sameArchiveType() throws AdaptorException, ArchiveAdaptorException {
+    when(fileTypeAdaptor.getArchiveAdaptorFor(Mockito.any(ArchiveType.class)))
+        .thenReturn(readableArchiveAdaptor);
+    when(readableArchiveAdaptor.openArchiveForWrite(Mockito.anyString())).thenReturn(writeHandle);
+    when(readableArchiveAdaptor.copyEntry(
+            Mockito.any(ArchiveReadHandle.class),
+            Mockito.anyString(),
+            Mockito.any(ArchiveWriteHandle.class),
+            Mockito.anyString()))
+        .thenReturn(true);
+    when(page.getHash()).thenReturn(TEST_PAGE_HASH);
+    when(page.getWidth()).thenReturn(TEST_PAGE_WIDTH);
+    when(page.getHeight()).thenReturn(TEST_PAGE_HEIGHT);
+
+    adaptor.save(comicBook, TEST_ARCHIVE_TYPE, "");
+
+    verify(readableArchiveAdaptor)
+        .copyEntry(readHandle, TEST_ENTRY_FILENAME, writeHandle, TEST_ENTRY_FILENAME);
+    verify(readableArchiveAdaptor, never())
+        .readEntries(Mockito.any(), Mockito.anySet(), Mockito.any());
+    verify(readableArchiveAdaptor, never()).readEntry(Mockito.any(), Mockito.anyString());
+    verify(readableArchiveAdaptor)
+        .writeEntry(writeHandle, ComicBookAdaptor.COMIC_INFO_XML, TEST_COMICINFO_XML_CONTENT);
+    verify(genericUtilitiesAdaptor, never()).createHash(Mockito.any(byte[].class));
+  }
+
+  @Test
+  void save_sameArchiveType_withRenameRule() throws AdaptorException, ArchiveAdaptorException {
+    when(fileTypeAdaptor.getArchiveAdaptorFor(Mockito.any(ArchiveType.class)))
+        .thenReturn(readableArchiveAdaptor);
+    when(readableArchiveAdaptor.openArchiveForWrite(Mockito.anyString())).thenReturn(writeHandle);
+    when(readableArchiveAdaptor.copyEntry(
+            Mockito.any(ArchiveReadHandle.class),
+            Mockito.anyString(),
+            Mockito.any(ArchiveWriteHandle.class),
+            Mockito.anyString()))
+        .thenReturn(true);
+    when(page.getFilename()).thenReturn(TEST_ENTRY_FILENAME, TEST_RENAMED_PAGE);
+    when(page.getHash()).thenReturn(TEST_PAGE_HASH);
+    when(page.getWidth()).thenReturn(TEST_PAGE_WIDTH);
+    when(page.getHeight()).thenReturn(TEST_PAGE_HEIGHT);
+    when(comicPageAdaptor.createFilenameFromRule(
+            Mockito.anyString(), Mockito.anyString(), Mockito.anyInt(), Mockito.anyInt()))
+        .thenReturn(TEST_RENAMED_PAGE);
+
+    adaptor.save(comicBook, TEST_ARCHIVE_TYPE, TEST_RENAME_RULE);
+
+    verify(page).setFilename(TEST_RENAMED_PAGE);
+    verify(readableArchiveAdaptor)
+        .copyEntry(readHandle, TEST_ENTRY_FILENAME, writeHandle, TEST_RENAMED_PAGE);
+  }
+
+  @Test
+  void save_sameArchiveType_pageDetailsMissing() throws AdaptorException, ArchiveAdaptorException {
+    when(fileTypeAdaptor.getArchiveAdaptorFor(Mockito.any(ArchiveType.class)))
+        .thenReturn(readableArchiveAdaptor);
+    when(readableArchiveAdaptor.openArchiveForWrite(Mockito.anyString())).thenReturn(writeHandle);
+
+    adaptor.save(comicBook, TEST_ARCHIVE_TYPE, "");
+
+    verify(readableArchiveAdaptor).readEntry(readHandle, TEST_ENTRY_FILENAME);
+    verify(page).setHash(TEST_PAGE_HASH);
+    verify(page).setMimeType(TEST_PAGE_MIME_TYPE);
+    verify(page).setWidth(TEST_PAGE_WIDTH);
+    verify(page).setHeight(TEST_PAGE_HEIGHT);
+    verify(readableArchiveAdaptor)
+        .writeEntry(writeHandle, TEST_ENTRY_FILENAME, TEST_ARCHIVE_ENTRY_CONTENT);
+    verify(readableArchiveAdaptor, never())
+        .copyEntry(Mockito.any(), Mockito.anyString(), Mockito.any(), Mockito.anyString());
+  }
+
+  @Test
+  void save_sameArchiveType_entryMissing() throws AdaptorException, ArchiveAdaptorException {
+    when(fileTypeAdaptor.getArchiveAdaptorFor(Mockito.any(ArchiveType.class)))
+        .thenReturn(readableArchiveAdaptor);
+    when(readableArchiveAdaptor.openArchiveForWrite(Mockito.anyString())).thenReturn(writeHandle);
+    when(readableArchiveAdaptor.hasEntry(Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
+        .thenReturn(false);
+
+    adaptor.save(comicBook, TEST_ARCHIVE_TYPE, "");
+
+    verify(readableArchiveAdaptor).hasEntry(readHandle, TEST_ENTRY_FILENAME);
+    verify(readableArchiveAdaptor, never()).readEntry(Mockito.any(), Mockito.anyString());
+    verify(readableArchiveAdaptor, never())
+        .copyEntry(Mockito.any(), Mockito.anyString(), Mockito.any(), Mockito.anyString());
+    verify(readableArchiveAdaptor, never())
+        .writeEntry(writeHandle, TEST_ENTRY_FILENAME, TEST_ARCHIVE_ENTRY_CONTENT);
+    verify(readableArchiveAdaptor)
+        .writeEntry(writeHandle, ComicBookAdaptor.COMIC_INFO_XML, TEST_COMICINFO_XML_CONTENT);
+  }
+
+  @Test
+  void save_sameArchiveType_copyNotSupported() throws AdaptorException, ArchiveAdaptorException {
+    when(fileTypeAdaptor.getArchiveAdaptorFor(Mockito.any(ArchiveType.class)))
+        .thenReturn(readableArchiveAdaptor);
+    when(readableArchiveAdaptor.openArchiveForWrite(Mockito.anyString())).thenReturn(writeHandle);
+    when(readableArchiveAdaptor.copyEntry(
+            Mockito.any(ArchiveReadHandle.class),
+            Mockito.anyString(),
+            Mockito.any(ArchiveWriteHandle.class),
+            Mockito.anyString()))
+        .thenReturn(false);
+    when(page.getHash()).thenReturn(TEST_PAGE_HASH);
+    when(page.getWidth()).thenReturn(TEST_PAGE_WIDTH);
+    when(page.getHeight()).thenReturn(TEST_PAGE_HEIGHT);
+
+    adaptor.save(comicBook, TEST_ARCHIVE_TYPE, "");
+
+    verify(readableArchiveAdaptor)
+        .writeEntry(writeHandle, TEST_ENTRY_FILENAME, TEST_ARCHIVE_ENTRY_CONTENT);
+    verify(genericUtilitiesAdaptor, never()).createHash(Mockito.any(byte[].class));
+  }
+
   @Test
   void saveMetadataFile_metadataAdaptorException() throws ContentAdaptorException {
     when(comicBook.getComicDetail()).thenReturn(comicDetail);
@@ -424,12 +689,24 @@ class ComicBookAdaptorTest {
 
   @Test
   void loadPage_exceptionOnOpenArchive() throws ArchiveAdaptorException {
-    when(readableArchiveAdaptor.openArchiveForRead(Mockito.anyString()))
+    when(archiveReadHandlePool.borrow(Mockito.any(ArchiveAdaptor.class), Mockito.anyString()))
         .thenThrow(ArchiveAdaptorException.class);
 
     assertThrows(AdaptorException.class, () -> adaptor.loadPageContent(comicBook, TEST_PAGE_INDEX));
   }
 
+  @Test
+  void loadPage_exceptionOnReadEntry() throws ArchiveAdaptorException {
+    when(readableArchiveAdaptor.readEntry(
+            Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
+        .thenThrow(ArchiveAdaptorException.class);
+
+    assertThrows(AdaptorException.class, () -> adaptor.loadPageContent(comicBook, TEST_PAGE_INDEX));
+
+    verify(archiveReadHandlePool).discard(readHandle);
+    verify(archiveReadHandlePool, never()).release(readHandle);
+  }
+
   @Test
   void loadPage() throws AdaptorException, ArchiveAdaptorException {
     final byte[] result = adaptor.loadPageContent(comicBook, TEST_PAGE_INDEX);
@@ -438,9 +715,95 @@ class ComicBookAdaptorTest {
     assertSame(TEST_ARCHIVE_ENTRY_CONTENT, result);
 
     verify(fileTypeAdaptor).getArchiveAdaptorFor(TEST_COMIC_FILENAME);
-    verify(readableArchiveAdaptor).openArchiveForRead(TEST_COMIC_FILENAME);
+    verify(archiveReadHandlePool).borrow(readableArchiveAdaptor, TEST_COMIC_FILENAME);
     verify(readableArchiveAdaptor).readEntry(readHandle, TEST_ENTRY_FILENAME);
-    verify(readableArchiveAdaptor).closeArchiveForRead(readHandle);
+    verify(archiveReadHandlePool).release(readHandle);
+    verify(readableArchiveAdaptor, never()).closeArchiveForRead(readHandle);
+  }
+
+  @Test
+  void getPageRegion_exceptionOnGetEntryRegion() throws ArchiveAdaptorException {
+    when(readableArchiveAdaptor.getEntryRegion(
+            Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
+        .thenThrow(ArchiveAdaptorException.class);
+
+    assertThrows(
+        AdaptorException.class,
+        () -> adaptor.getPageRegion(TEST_COMIC_FILENAME, TEST_ENTRY_FILENAME));
+
+    verify(archiveReadHandlePool).discard(readHandle);
+    verify(archiveReadHandlePool, never()).release(readHandle);
+  }
+
+  @Test
+  void getPageRegion() throws AdaptorException, ArchiveAdaptorException {
+    when(readableArchiveAdaptor.getEntryRegion(
+            Mockito.any(ArchiveReadHandle.class), Mockito.anyString()))
+        .thenReturn(entryRegion);
+
+    final ArchiveEntryRegion result =
+        adaptor.getPageRegion(TEST_COMIC_FILENAME, TEST_ENTRY_FILENAME);
+
+    assertSame(entryRegion, result);
+
+    verify(archiveReadHandlePool).borrow(readableArchiveAdaptor, TEST_COMIC_FILENAME);
+    verify(readableArchiveAdaptor).getEntryRegion(readHandle, TEST_ENTRY_FILENAME);
+    verify(archiveReadHandlePool).release(readHandle);
+  }
+
+  @Test
+  void loadPageContents_noPages() throws AdaptorException, ArchiveAdaptorException {
+    adaptor.loadPageContents(comicBook, List.of(), comicPageContentProcessor);
+
+    verify(archiveReadHandlePool, never()).borrow(Mockito.any(), Mockito.anyString());
+    verify(comicPageContentProcessor, never()).process(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void loadPageContents_exceptionOnReadEntries() throws ArchiveAdaptorException {
+    doThrow(ArchiveAdaptorException.class)
+        .when(readableArchiveAdaptor)
+        .readEntries(Mockito.any(ArchiveReadHandle.class), Mockito.anySet(), Mockito.any());
+
+    assertThrows(
+        AdaptorException.class,
+        () -> adaptor.loadPageContents(comicBook, pageList, comicPageContentProcessor));
+
+    verify(archiveReadHandlePool).discard(readHandle);
+    verify(archiveReadHandlePool, never()).release(readHandle);
+  }
+
+  @Test
+  void loadPageContents() throws AdaptorException, ArchiveAdaptorException {
+    entryContent = TEST_IMAGE_DATA;
+    archiveEntryList.add(archiveEntry);
+
+    adaptor.loadPageContents(comicBook, pageList, comicPageContentProcessor);
+
+    verify(archiveReadHandlePool).borrow(readableArchiveAdaptor, TEST_COMIC_FILENAME);
+    verify(readableArchiveAdaptor)
+        .readEntries(
+            Mockito.eq(readHandle), Mockito.eq(Set.of(TEST_ENTRY_FILENAME)), Mockito.any());
+    verify(comicPageContentProcessor).process(page, TEST_IMAGE_DATA);
+    verify(archiveReadHandlePool).release(readHandle);
+  }
+
+  @Test
+  void loadPageContents_byFilename_noPages() throws AdaptorException, ArchiveAdaptorException {
+    adaptor.loadPageContents(TEST_COMIC_FILENAME, Set.of(), archiveEntryProcessor);
+
+    verify(archiveReadHandlePool, never()).borrow(Mockito.any(), Mockito.anyString());
+  }
+
+  @Test
+  void loadPageContents_byFilename() throws AdaptorException, ArchiveAdaptorException {
+    adaptor.loadPageContents(
+        TEST_COMIC_FILENAME, Set.of(TEST_ENTRY_FILENAME), archiveEntryProcessor);
+
+    verify(archiveReadHandlePool).borrow(readableArchiveAdaptor, TEST_COMIC_FILENAME);
+    verify(readableArchiveAdaptor)
+        .readEntries(readHandle, Set.of(TEST_ENTRY_FILENAME), archiveEntryProcessor);
+    verify(archiveReadHandlePool).release(readHandle);
   }
 
   @Test
@@ -548,6 +911,32 @@ class ComicBookAdaptorTest {
     verify(writeableArchiveAdaptor).readEntry(readHandle, TEST_EXISTING_FILE);
   }
 
+  @Test
+  void setPageDetails_noDimensions() {
+    when(imageDimensionAdaptor.getDimensions(Mockito.any(byte[].class))).thenReturn(null);
+
+    adaptor.setPageDetails(page, TEST_IMAGE_DATA);
+
+    verify(page).setHash(TEST_PAGE_HASH);
+    verify(page, never()).setWidth(Mockito.anyInt());
+    verify(page, never()).setHeight(Mockito.anyInt());
+  }
+
+  @Test
+  void setPageDetails() {
+    adaptor.setPageDetails(page, TEST_IMAGE_DATA);
+
+    verify(genericUtilitiesAdaptor).createHash(TEST_IMAGE_DATA);
+    verify(page).setHash(TEST_PAGE_HASH);
+    verify(perceptualHashAdaptor).getPerceptualHash(TEST_IMAGE_DATA);
+    verify(page).setPerceptualHash(TEST_PERCEPTUAL_HASH);
+    verify(fileTypeAdaptor).getMimeTypeFor(Mockito.any(InputStream.class));
+    verify(page).setMimeType(TEST_PAGE_MIME_TYPE);
+    verify(imageDimensionAdaptor).getDimensions(TEST_IMAGE_DATA);
+    verify(page).setWidth(TEST_PAGE_WIDTH);
+    verify(page).setHeight(TEST_PAGE_HEIGHT);
+  }
+
   @Test
   void sortPages() {
     adaptor.sortPages(comicBook);
@@ -19,6 +19,7 @@
 package org.comixedproject.adaptors.content;
 
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
@@ -35,6 +36,11 @@ class ComicInfoXmlFilenameContentAdaptorProviderTest {
     assertNotNull(provider.create());
   }
 
+  @Test
+  void create_reusesInstance() {
+    assertSame(provider.create(), provider.create());
+  }
+
   @Test
   void supports_simpleFilename() {
     assertTrue(provider.supports("ComicInfo.xml"));
@@ -0,0 +1,105 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.content;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ContentAdaptorRegistryTest {
+  private static final String TEST_COMIC_INFO_FILENAME = "ComicInfo.xml";
+  private static final String TEST_IMAGE_FILENAME = "page.jpg";
+  private static final String TEST_IMAGE_CONTENT_TYPE = "jpeg";
+  private static final String TEST_UNKNOWN_CONTENT_TYPE = "octet-stream";
+
+  @InjectMocks private ContentAdaptorRegistry registry;
+
+  @BeforeEach
+  void setUp() {
+    registry.afterPropertiesSet();
+  }
+
+  @Test
+  void getContentAdaptorForFilename() {
+    final ContentAdaptor result = registry.getContentAdaptorForFilename(TEST_COMIC_INFO_FILENAME);
+
+    assertNotNull(result);
+    assertTrue(result instanceof ComicInfoXmlFilenameContentAdaptor);
+    assertSame(result, registry.getContentAdaptorForFilename(TEST_COMIC_INFO_FILENAME));
+  }
+
+  @Test
+  void getContentAdaptorForFilename_notSupported() {
+    assertNull(registry.getContentAdaptorForFilename(TEST_IMAGE_FILENAME));
+  }
+
+  @Test
+  void getContentAdaptorForContentType() {
+    final ContentAdaptor result = registry.getContentAdaptorForContentType(TEST_IMAGE_CONTENT_TYPE);
+
+    assertNotNull(result);
+    assertTrue(result instanceof ImageFileTypeContentAdaptor);
+    assertSame(result, registry.getContentAdaptorForContentType(TEST_IMAGE_CONTENT_TYPE));
+  }
+
+  @Test
+  void getContentAdaptorForContentType_notSupported() {
+    assertNull(registry.getContentAdaptorForContentType(TEST_UNKNOWN_CONTENT_TYPE));
+    assertNull(registry.getContentAdaptorForContentType(TEST_UNKNOWN_CONTENT_TYPE));
+  }
+
+  @Test
+  void getContentAdaptorForContentType_nullContentType() {
+    assertNull(registry.getContentAdaptorForContentType(null));
+  }
+
+  @Test
+  void getContentAdaptor_byFilename() {
+    final ContentAdaptor result =
+        registry.getContentAdaptor(TEST_COMIC_INFO_FILENAME, TEST_IMAGE_CONTENT_TYPE);
+
+    assertTrue(result instanceof ComicInfoXmlFilenameContentAdaptor);
+  }
+
+  @Test
+  void getContentAdaptor_byContentType() {
+    final ContentAdaptor result =
+        registry.getContentAdaptor(TEST_IMAGE_FILENAME, TEST_IMAGE_CONTENT_TYPE);
+
+    assertTrue(result instanceof ImageFileTypeContentAdaptor);
+  }
+
+  @Test
+  void reload() {
+    final ContentAdaptor adaptor =
+        registry.getContentAdaptorForContentType(TEST_IMAGE_CONTENT_TYPE);
+
+    registry.reload();
+
+    final ContentAdaptor result =
+        registry.getContentAdaptorForContentType(TEST_IMAGE_CONTENT_TYPE);
+    assertNotNull(result);
+    assertNotSame(adaptor, result);
+  }
+}
@@ -0,0 +1,235 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.encoders;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@ExtendWith(MockitoExtension.class)
+class WebResponseEncoderTest {
+  private static final String TEST_FILENAME = "example.jpg";
+  private static final MediaType TEST_MEDIA_TYPE = MediaType.IMAGE_JPEG;
+
+  @InjectMocks private WebResponseEncoder encoder;
+
+  private final File file = new File("src/test/resources/" + TEST_FILENAME);
+  private byte[] content;
+  private long length;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    content = FileUtils.readFileToByteArray(file);
+    length = content.length;
+  }
+
+  @Test
+  void encodeFile_missingFile() {
+    assertThrows(
+        IOException.class,
+        () ->
+            encoder.encodeFile(
+                null, null, new File("src/test/resources/missing.jpg"), TEST_FILENAME, null));
+  }
+
+  @Test
+  void encodeFile_noRange() throws IOException {
+    final ResponseEntity<StreamingResponseBody> result =
+        encoder.encodeFile(null, null, file, TEST_FILENAME, TEST_MEDIA_TYPE);
+
+    assertEquals(HttpStatus.OK, result.getStatusCode());
+    assertEquals(length, result.getHeaders().getContentLength());
+    assertEquals(TEST_MEDIA_TYPE, result.getHeaders().getContentType());
+    assertEquals("bytes", result.getHeaders().getFirst(HttpHeaders.ACCEPT_RANGES));
+    assertNotNull(result.getHeaders().getETag());
+    assertArrayEquals(content, this.doReadBody(result));
+  }
+
+  @Test
+  void encodeFile_invalidRange() throws IOException {
+    final ResponseEntity<StreamingResponseBody> result =
+        encoder.encodeFile("bytes=abc", null, file, TEST_FILENAME, TEST_MEDIA_TYPE);
+
+    assertEquals(HttpStatus.OK, result.getStatusCode());
+    assertArrayEquals(content, this.doReadBody(result));
+  }
+
+  @Test
+  void encodeFile_unsatisfiableRange() throws IOException {
+    final ResponseEntity<StreamingResponseBody> result =
+        encoder.encodeFile(
+            String.format("bytes=%d-", length), null, file, TEST_FILENAME, TEST_MEDIA_TYPE);
+
+    assertEquals(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE, result.getStatusCode());
+    assertEquals("bytes */" + length, result.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    assertNull(result.getBody());
+  }
+
+  @Test
+  void encodeFile_singleRange() throws IOException {
+    final ResponseEntity<StreamingResponseBody> result =
+        encoder.encodeFile("bytes=10-19", null, file, TEST_FILENAME, TEST_MEDIA_TYPE);
+
+    assertEquals(HttpStatus.PARTIAL_CONTENT, result.getStatusCode());
+    assertEquals(10L, result.getHeaders().getContentLength());
+    assertEquals(
+        String.format("bytes 10-19/%d", length),
+        result.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    assertArrayEquals(Arrays.copyOfRange(content, 10, 20), this.doReadBody(result));
+  }
+
+  @Test
+  void encodeFile_openEndedRange() throws IOException {
+    final int start = (int) (length / 2);
+
+    final ResponseEntity<StreamingResponseBody> result =
+        encoder.encodeFile(
+            String.format("bytes=%d-", start), null, file, TEST_FILENAME, TEST_MEDIA_TYPE);
+
+    assertEquals(HttpStatus.PARTIAL_CONTENT, result.getStatusCode());
+    assertArrayEquals(Arrays.copyOfRange(content, start, (int) length), this.doReadBody(result));
+  }
+
+  @Test
+  void encodeFile_suffixRange() throws IOException {
+    final ResponseEntity<StreamingResponseBody> result =
+        encoder.encodeFile("bytes=-25", null, file, TEST_FILENAME, TEST_MEDIA_TYPE);
+
+    assertEquals(HttpStatus.PARTIAL_CONTENT, result.getStatusCode());
+    assertEquals(
+        String.format("bytes %d-%d/%d", length - 25, length - 1, length),
+        result.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    assertArrayEquals(
+        Arrays.copyOfRange(content, (int) length - 25, (int) length), this.doReadBody(result));
+  }
+
+  @Test
+  void encodeFile_overlappingRanges() throws IOException {
+    final ResponseEntity<StreamingResponseBody> result =
+        encoder.encodeFile("bytes=5-14,0-9", null, file, TEST_FILENAME, TEST_MEDIA_TYPE);
+
+    assertEquals(HttpStatus.PARTIAL_CONTENT, result.getStatusCode());
+    assertEquals(
+        String.format("bytes 0-14/%d", length),
+        result.getHeaders().getFirst(HttpHeaders.CONTENT_RANGE));
+    assertArrayEquals(Arrays.copyOfRange(content, 0, 15), this.doReadBody(result));
+  }
+
+  @Test
+  void encodeFile_multipleRanges() throws IOException {
+    final ResponseEntity<StreamingResponseBody> result =
+        encoder.encodeFile("bytes=0-4,100-109", null, file, TEST_FILENAME, TEST_MEDIA_TYPE);
+
+    assertEquals(HttpStatus.PARTIAL_CONTENT, result.getStatusCode());
+    final MediaType contentType = result.getHeaders().getContentType();
+    assertNotNull(contentType);
+    assertEquals("multipart", contentType.getType());
+    assertEquals("byteranges", contentType.getSubtype());
+
+    final byte[] body = this.doReadBody(result);
+    assertEquals(result.getHeaders().getContentLength(), body.length);
+
+    final String text = new String(body, StandardCharsets.ISO_8859_1);
+    final String boundary = contentType.getParameter("boundary");
+    assertTrue(text.contains(String.format("Content-Range: bytes 0-4/%d", length)));
+    assertTrue(text.contains(String.format("Content-Range: bytes 100-109/%d", length)));
+    assertTrue(
+        text.contains(new String(Arrays.copyOfRange(content, 0, 5), StandardCharsets.ISO_8859_1)));
+    assertTrue(
+        text.contains(
+            new String(Arrays.copyOfRange(content, 100, 110), StandardCharsets.ISO_8859_1)));
+    assertTrue(text.endsWith("--" + boundary + "--\r\n"));
+  }
+
+  @Test
+  void encodeFile_ifRangeMatchesEntityTag() throws IOException {
+    final String entityTag =
+        encoder.encodeFile(null, null, file, TEST_FILENAME, TEST_MEDIA_TYPE).getHeaders().getETag();
+
+    final ResponseEntity<StreamingResponseBody> result =
+        encoder.encodeFile("bytes=10-19", entityTag, file, TEST_FILENAME, TEST_MEDIA_TYPE);
+
+    assertEquals(HttpStatus.PARTIAL_CONTENT, result.getStatusCode());
+  }
+
+  @Test
+  void encodeFile_ifRangeStaleEntityTag() throws IOException {
+    final ResponseEntity<StreamingResponseBody> result =
+        encoder.encodeFile("bytes=10-19", "\"stale\"", file, TEST_FILENAME, TEST_MEDIA_TYPE);
+
+    assertEquals(HttpStatus.OK, result.getStatusCode());
+    assertArrayEquals(content, this.doReadBody(result));
+  }
+
+  @Test
+  void encodeFile_ifRangeMatchesDate() throws IOException {
+    final ResponseEntity<StreamingResponseBody> result =
+        encoder.encodeFile(
+            "bytes=10-19",
+            this.doFormatDate(file.lastModified()),
+            file,
+            TEST_FILENAME,
+            TEST_MEDIA_TYPE);
+
+    assertEquals(HttpStatus.PARTIAL_CONTENT, result.getStatusCode());
+  }
+
+  @Test
+  void encodeFile_ifRangeStaleDate() throws IOException {
+    final ResponseEntity<StreamingResponseBody> result =
+        encoder.encodeFile(
+            "bytes=10-19",
+            this.doFormatDate(file.lastModified() - 60000L),
+            file,
+            TEST_FILENAME,
+            TEST_MEDIA_TYPE);
+
+    assertEquals(HttpStatus.OK, result.getStatusCode());
+  }
+
+  private String doFormatDate(final long timestamp) {
+    return DateTimeFormatter.RFC_1123_DATE_TIME.format(
+        Instant.ofEpochMilli(timestamp).atZone(ZoneOffset.UTC));
+  }
+
+  private byte[] doReadBody(final ResponseEntity<StreamingResponseBody> response)
+      throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    response.getBody().writeTo(output);
+    return output.toByteArray();
+  }
+}
@@ -18,7 +18,9 @@
 
 package org.comixedproject.adaptors.file;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
@@ -78,4 +80,32 @@ class FileAdaptorTest {
       assertFalse(result);
     }
   }
+
+  @Test
+  void testGetFingerprint() throws IOException {
+    final String result = adaptor.getFingerprint(TEST_DELETABLE_FILE);
+
+    assertEquals(32, result.length());
+    assertEquals(result, adaptor.getFingerprint(TEST_DELETABLE_FILE));
+  }
+
+  @Test
+  void testGetFingerprintContentChanged() throws IOException {
+    final String original = adaptor.getFingerprint(TEST_DELETABLE_FILE);
+
+    FileWriter output = new FileWriter(TEST_DELETABLE_FILE);
+    output.write("Here is some other content");
+    output.close();
+
+    assertNotEquals(original, adaptor.getFingerprint(TEST_DELETABLE_FILE));
+  }
+
+  @Test
+  void testGetFingerprintLargeFile() throws IOException {
+    FileWriter output = new FileWriter(TEST_DELETABLE_FILE);
+    for (int index = 0; index < FileAdaptor.FINGERPRINT_SAMPLE_SIZE; index++) output.write("xyz");
+    output.close();
+
+    assertEquals(32, adaptor.getFingerprint(TEST_DELETABLE_FILE).length());
+  }
 }
@@ -21,8 +21,10 @@ package org.comixedproject.adaptors.file;
 import static org.junit.jupiter.api.Assertions.*;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import org.apache.commons.io.FileUtils;
 import org.apache.tika.Tika;
 import org.apache.tika.detect.Detector;
 import org.apache.tika.metadata.Metadata;
@@ -30,6 +32,7 @@ import org.apache.tika.mime.MediaType;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.archive.ArchiveAdaptor;
 import org.comixedproject.adaptors.archive.model.ArchiveEntryType;
+import org.comixedproject.adaptors.archive.model.ComicArchiveEntry;
 import org.comixedproject.adaptors.content.ContentAdaptor;
 import org.comixedproject.adaptors.content.ContentAdaptorRegistry;
 import org.comixedproject.model.archives.ArchiveType;
@@ -54,6 +57,9 @@ class FileTypeAdaptorTest {
   private static final String TEST_EXTENSION = "cbz";
   private static final String TEST_FORMAT = "zip";
   private static final String TEST_ENTRY_FILENAME = "filename.ext";
+  private static final String TEST_SIGNATURE_FILENAME = "target/test-classes/signature.cbz";
+  private static final String TEST_JPEG_FILENAME = "src/test/resources/example.jpg";
+  private static final String TEST_GIF_FILENAME = "src/test/resources/example.gif";
 
   @InjectMocks private FileTypeAdaptor adaptor;
   @Mock private ApplicationContext applicationContext;
@@ -63,6 +69,7 @@ class FileTypeAdaptorTest {
   @Mock private ArchiveAdaptor archiveAdaptor;
   @Mock private ContentAdaptorRegistry contentAdaptorRegistry;
   @Mock private ContentAdaptor contentAdaptor;
+  @Mock private ComicArchiveEntry comicArchiveEntry;
 
   @Captor private ArgumentCaptor<? extends InputStream> argumentCaptorInputStream;
 
@@ -70,6 +77,7 @@ class FileTypeAdaptorTest {
       new FileTypeAdaptor.ArchiveAdaptorDefinition(
           TEST_MEDIA_TYPE.getSubtype(), TEST_BEAN_NAME, TEST_ARCHIVE_TYPE, TEST_EXTENSION);
   private ByteArrayInputStream inputStream = new ByteArrayInputStream(TEST_CONTENT);
+  private File signatureFile = new File(TEST_SIGNATURE_FILENAME);
 
   @BeforeEach
   void setUp() {
@@ -125,6 +133,69 @@ class FileTypeAdaptorTest {
     assertSame(archiveAdaptor, result);
   }
 
+  @Test
+  void getArchiveAdaptorFor_filenameSignatureMatch() throws AdaptorException, IOException {
+    FileUtils.writeByteArrayToFile(
+        signatureFile, new byte[] {'P', 'K', 0x03, 0x04, 0x14, 0x00, 0x00, 0x00});
+    Mockito.when(applicationContext.getBean(TEST_BEAN_NAME, ArchiveAdaptor.class))
+        .thenReturn(archiveAdaptor);
+
+    final ArchiveAdaptor result = adaptor.getArchiveAdaptorFor(TEST_SIGNATURE_FILENAME);
+
+    assertNotNull(result);
+    assertSame(archiveAdaptor, result);
+
+    Mockito.verify(detector, Mockito.never()).detect(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void getArchiveAdaptorFor_filenameCached() throws AdaptorException, IOException {
+    FileUtils.writeByteArrayToFile(signatureFile, TEST_CONTENT);
+    Mockito.when(detector.detect(Mockito.any(InputStream.class), Mockito.any(Metadata.class)))
+        .thenReturn(TEST_MEDIA_TYPE);
+    Mockito.when(applicationContext.getBean(TEST_BEAN_NAME, ArchiveAdaptor.class))
+        .thenReturn(archiveAdaptor);
+
+    adaptor.getArchiveAdaptorFor(TEST_SIGNATURE_FILENAME);
+    final ArchiveAdaptor result = adaptor.getArchiveAdaptorFor(TEST_SIGNATURE_FILENAME);
+
+    assertSame(archiveAdaptor, result);
+
+    Mockito.verify(detector, Mockito.times(1)).detect(Mockito.any(), Mockito.any());
+    Mockito.verify(applicationContext, Mockito.times(1))
+        .getBean(TEST_BEAN_NAME, ArchiveAdaptor.class);
+  }
+
+  @Test
+  void getArchiveAdaptorFor_filenameCachedButModified() throws AdaptorException, IOException {
+    FileUtils.writeByteArrayToFile(signatureFile, TEST_CONTENT);
+    Mockito.when(detector.detect(Mockito.any(InputStream.class), Mockito.any(Metadata.class)))
+        .thenReturn(TEST_MEDIA_TYPE);
+    Mockito.when(applicationContext.getBean(TEST_BEAN_NAME, ArchiveAdaptor.class))
+        .thenReturn(archiveAdaptor);
+
+    adaptor.getArchiveAdaptorFor(TEST_SIGNATURE_FILENAME);
+    signatureFile.setLastModified(signatureFile.lastModified() - 60000L);
+    adaptor.getArchiveAdaptorFor(TEST_SIGNATURE_FILENAME);
+
+    Mockito.verify(detector, Mockito.times(2)).detect(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void getArchiveAdaptorFor_filenameCacheDisabled() throws AdaptorException, IOException {
+    adaptor.detectionCacheSize = 0;
+    FileUtils.writeByteArrayToFile(signatureFile, TEST_CONTENT);
+    Mockito.when(detector.detect(Mockito.any(InputStream.class), Mockito.any(Metadata.class)))
+        .thenReturn(TEST_MEDIA_TYPE);
+    Mockito.when(applicationContext.getBean(TEST_BEAN_NAME, ArchiveAdaptor.class))
+        .thenReturn(archiveAdaptor);
+
+    adaptor.getArchiveAdaptorFor(TEST_SIGNATURE_FILENAME);
+    adaptor.getArchiveAdaptorFor(TEST_SIGNATURE_FILENAME);
+
+    Mockito.verify(detector, Mockito.times(2)).detect(Mockito.any(), Mockito.any());
+  }
+
   @Test
   void GetArchiveAdaptorFor_archiveTypeNotFound() {
     assertThrows(AdaptorException.class, () -> adaptor.getArchiveAdaptorFor(ArchiveType.CB7));
@@ -210,6 +281,38 @@ class FileTypeAdaptorTest {
     Mockito.verify(detector, Mockito.times(1)).detect(inputStream, metadata);
   }
 
+  @Test
+  void getMimeTypeFor_jpegSignature() throws IOException {
+    final String result =
+        adaptor.getMimeTypeFor(
+            new ByteArrayInputStream(FileUtils.readFileToByteArray(new File(TEST_JPEG_FILENAME))));
+
+    assertEquals("image/jpeg", result);
+
+    Mockito.verify(detector, Mockito.never()).detect(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void getMimeTypeFor_gifSignature() throws IOException {
+    final String result =
+        adaptor.getMimeTypeFor(
+            new ByteArrayInputStream(FileUtils.readFileToByteArray(new File(TEST_GIF_FILENAME))));
+
+    assertEquals("image/gif", result);
+
+    Mockito.verify(detector, Mockito.never()).detect(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void getMimeTypeFor_webpSignature() throws IOException {
+    final String result =
+        adaptor.getMimeTypeFor(new ByteArrayInputStream("RIFF\0\0\0\0WEBPVP8 ".getBytes()));
+
+    assertEquals("image/webp", result);
+
+    Mockito.verify(detector, Mockito.never()).detect(Mockito.any(), Mockito.any());
+  }
+
   @Test
   void getContentAdaptorFor_unknownMimeType() throws IOException, AdaptorException {
     Mockito.when(detector.detect(Mockito.any(InputStream.class), Mockito.any(Metadata.class)))
@@ -237,4 +340,40 @@ class FileTypeAdaptorTest {
     Mockito.verify(contentAdaptorRegistry, Mockito.times(1))
         .getContentAdaptor(TEST_ENTRY_FILENAME, TEST_MEDIA_TYPE.getSubtype());
   }
+
+  @Test
+  void getContentAdaptorFor_archiveEntry() throws IOException {
+    Mockito.when(comicArchiveEntry.getFilename()).thenReturn(TEST_ENTRY_FILENAME);
+    Mockito.when(comicArchiveEntry.getMimetype()).thenReturn(TEST_MEDIA_TYPE.getSubtype());
+    Mockito.when(contentAdaptorRegistry.getContentAdaptor(Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(contentAdaptor);
+
+    final ContentAdaptor result = adaptor.getContentAdaptorFor(comicArchiveEntry);
+
+    assertNotNull(result);
+    assertSame(contentAdaptor, result);
+
+    Mockito.verify(detector, Mockito.never())
+        .detect(Mockito.any(InputStream.class), Mockito.any(Metadata.class));
+    Mockito.verify(contentAdaptorRegistry, Mockito.times(1))
+        .getContentAdaptor(TEST_ENTRY_FILENAME, TEST_MEDIA_TYPE.getSubtype());
+  }
+
+  @Test
+  void getSubtypeForFilename() {
+    Mockito.when(tika.detect(Mockito.anyString())).thenReturn(TEST_MEDIA_TYPE.toString());
+
+    final String result = adaptor.getSubtypeForFilename(TEST_ENTRY_FILENAME);
+
+    assertEquals(TEST_MEDIA_TYPE.getSubtype(), result);
+
+    Mockito.verify(tika, Mockito.times(1)).detect(TEST_ENTRY_FILENAME);
+  }
+
+  @Test
+  void isUnknownSubtype() {
+    assertTrue(adaptor.isUnknownSubtype(null));
+    assertTrue(adaptor.isUnknownSubtype(MediaType.OCTET_STREAM.getSubtype()));
+    assertFalse(adaptor.isUnknownSubtype(TEST_MEDIA_TYPE.getSubtype()));
+  }
 }
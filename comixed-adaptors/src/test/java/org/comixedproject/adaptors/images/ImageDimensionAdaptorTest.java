@@ -0,0 +1,163 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.images;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class ImageDimensionAdaptorTest {
+  private static final String TEST_JPEG_FILENAME = "src/test/resources/example.jpg";
+  private static final String TEST_GIF_FILENAME = "src/test/resources/example.gif";
+  private static final int TEST_WIDTH = 1987;
+  private static final int TEST_HEIGHT = 3011;
+
+  @InjectMocks private ImageDimensionAdaptor adaptor;
+
+  @Test
+  void getDimensions_noContent() {
+    assertNull(adaptor.getDimensions(new byte[0]));
+  }
+
+  @Test
+  void getDimensions_notAnImage() {
+    assertNull(adaptor.getDimensions("This is not an image".getBytes()));
+  }
+
+  @Test
+  void getDimensions_truncatedJpeg() throws IOException {
+    final byte[] content = FileUtils.readFileToByteArray(new File(TEST_JPEG_FILENAME));
+
+    assertNull(adaptor.getDimensions(Arrays.copyOf(content, 32)));
+  }
+
+  @Test
+  void getDimensions_jpeg() throws IOException {
+    final ImageDimensions result =
+        adaptor.getDimensions(FileUtils.readFileToByteArray(new File(TEST_JPEG_FILENAME)));
+
+    assertNotNull(result);
+    assertEquals(338, result.getWidth());
+    assertEquals(479, result.getHeight());
+  }
+
+  @Test
+  void getDimensions_gif() throws IOException {
+    final ImageDimensions result =
+        adaptor.getDimensions(FileUtils.readFileToByteArray(new File(TEST_GIF_FILENAME)));
+
+    assertNotNull(result);
+    assertEquals(18, result.getWidth());
+    assertEquals(18, result.getHeight());
+  }
+
+  @Test
+  void getDimensions_png() throws IOException {
+    final ImageDimensions result = adaptor.getDimensions(this.createImage("png", 21, 34));
+
+    assertNotNull(result);
+    assertEquals(21, result.getWidth());
+    assertEquals(34, result.getHeight());
+  }
+
+  @Test
+  void getDimensions_fallsBackToImageReader() throws IOException {
+    final ImageDimensions result = adaptor.getDimensions(this.createImage("bmp", 13, 8));
+
+    assertNotNull(result);
+    assertEquals(13, result.getWidth());
+    assertEquals(8, result.getHeight());
+  }
+
+  @Test
+  void getDimensions_webpLossy() {
+    final byte[] content = this.createWebP("VP8 ");
+    content[23] = (byte) 0x9d;
+    content[24] = 0x01;
+    content[25] = 0x2a;
+    content[26] = (byte) (TEST_WIDTH & 0xff);
+    content[27] = (byte) (TEST_WIDTH >> 8);
+    content[28] = (byte) (TEST_HEIGHT & 0xff);
+    content[29] = (byte) (TEST_HEIGHT >> 8);
+
+    final ImageDimensions result = adaptor.getDimensions(content);
+
+    assertNotNull(result);
+    assertEquals(TEST_WIDTH, result.getWidth());
+    assertEquals(TEST_HEIGHT, result.getHeight());
+  }
+
+  @Test
+  void getDimensions_webpLossless() {
+    final byte[] content = this.createWebP("VP8L");
+    final int bits = (TEST_WIDTH - 1) | (TEST_HEIGHT - 1) << 14;
+    content[20] = 0x2f;
+    content[21] = (byte) (bits & 0xff);
+    content[22] = (byte) (bits >> 8);
+    content[23] = (byte) (bits >> 16);
+    content[24] = (byte) (bits >> 24);
+
+    final ImageDimensions result = adaptor.getDimensions(content);
+
+    assertNotNull(result);
+    assertEquals(TEST_WIDTH, result.getWidth());
+    assertEquals(TEST_HEIGHT, result.getHeight());
+  }
+
+  @Test
+  void getDimensions_webpExtended() {
+    final byte[] content = this.createWebP("VP8X");
+    content[24] = (byte) ((TEST_WIDTH - 1) & 0xff);
+    content[25] = (byte) ((TEST_WIDTH - 1) >> 8);
+    content[27] = (byte) ((TEST_HEIGHT - 1) & 0xff);
+    content[28] = (byte) ((TEST_HEIGHT - 1) >> 8);
+
+    final ImageDimensions result = adaptor.getDimensions(content);
+
+    assertNotNull(result);
+    assertEquals(TEST_WIDTH, result.getWidth());
+    assertEquals(TEST_HEIGHT, result.getHeight());
+  }
+
+  private byte[] createImage(final String format, final int width, final int height)
+      throws IOException {
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ImageIO.write(new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB), format, output);
+    return output.toByteArray();
+  }
+
+  private byte[] createWebP(final String chunk) {
+    final byte[] result = new byte[64];
+    System.arraycopy("RIFF".getBytes(), 0, result, 0, 4);
+    System.arraycopy("WEBP".getBytes(), 0, result, 8, 4);
+    System.arraycopy(chunk.getBytes(), 0, result, 12, 4);
+    return result;
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.adaptors.images;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import javax.imageio.ImageIO;
+import org.apache.commons.io.FileUtils;
+import org.imgscalr.Scalr;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PerceptualHashAdaptorTest {
+  private static final String TEST_JPEG_FILENAME = "src/test/resources/example.jpg";
+  private static final int TEST_MAXIMUM_DISTANCE = 6;
+
+  @InjectMocks private PerceptualHashAdaptor adaptor;
+
+  private byte[] content;
+
+  @BeforeEach
+  void setUp() throws IOException {
+    content = FileUtils.readFileToByteArray(new File(TEST_JPEG_FILENAME));
+  }
+
+  @Test
+  void getPerceptualHash_noContent() {
+    assertNull(adaptor.getPerceptualHash(new byte[0]));
+  }
+
+  @Test
+  void getPerceptualHash_notAnImage() {
+    assertNull(adaptor.getPerceptualHash("This is not an image".getBytes()));
+  }
+
+  @Test
+  void getPerceptualHash_isRepeatable() {
+    final Long result = adaptor.getPerceptualHash(content);
+
+    assertNotNull(result);
+    assertEquals(result, adaptor.getPerceptualHash(content));
+  }
+
+  @Test
+  void getPerceptualHash_reencodedImage() throws IOException {
+    final BufferedImage image = ImageIO.read(new ByteArrayInputStream(content));
+    final BufferedImage resized =
+        Scalr.resize(image, Scalr.Mode.FIT_TO_WIDTH, image.getWidth() / 3);
+    final ByteArrayOutputStream output = new ByteArrayOutputStream();
+    ImageIO.write(resized, "png", output);
+
+    final Long original = adaptor.getPerceptualHash(content);
+    final Long reencoded = adaptor.getPerceptualHash(output.toByteArray());
+
+    assertNotNull(original);
+    assertNotNull(reencoded);
+    assertTrue(PerceptualHashAdaptor.distance(original, reencoded) <= TEST_MAXIMUM_DISTANCE);
+  }
+
+  @Test
+  void distance() {
+    assertEquals(0, PerceptualHashAdaptor.distance(0x0fL, 0x0fL));
+    assertEquals(4, PerceptualHashAdaptor.distance(0x0fL, 0x00L));
+    assertEquals(64, PerceptualHashAdaptor.distance(-1L, 0L));
+  }
+}
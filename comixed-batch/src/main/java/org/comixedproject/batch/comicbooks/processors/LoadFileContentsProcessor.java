@@ -33,6 +33,7 @@ import org.comixedproject.metadata.adaptors.MetadataAdaptor;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicbooks.ComicMetadataSource;
 import org.comixedproject.model.metadata.MetadataSource;
+import org.comixedproject.service.comicbooks.ComicDetailService;
 import org.comixedproject.service.metadata.MetadataService;
 import org.comixedproject.service.metadata.MetadataSourceService;
 import org.springframework.batch.core.configuration.annotation.StepScope;
@@ -55,6 +56,7 @@ public class LoadFileContentsProcessor implements ItemProcessor<ComicBook, Comic
   @Autowired private MetadataService metadataService;
   @Autowired private MetadataSourceService metadataSourceService;
   @Autowired private FileTypeAdaptor fileTypeAdaptor;
+  @Autowired private ComicDetailService comicDetailService;
 
   @Override
   public ComicBook process(final ComicBook comicBook) {
@@ -75,6 +77,8 @@ public class LoadFileContentsProcessor implements ItemProcessor<ComicBook, Comic
       this.comicBookAdaptor.load(comicBook);
       log.trace("Sorting comicBook pages");
       this.comicBookAdaptor.sortPages(comicBook);
+      log.trace("Recording comic file fingerprint");
+      this.comicDetailService.updateFileFingerprint(comicBook.getComicDetail());
       final File metadataFile =
           new File(
               this.comicBookAdaptor.getMetadataFilename(comicBook.getComicDetail().getFilename()));
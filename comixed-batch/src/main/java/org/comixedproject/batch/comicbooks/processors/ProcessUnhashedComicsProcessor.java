@@ -18,14 +18,13 @@
 
 package org.comixedproject.batch.comicbooks.processors;
 
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
+import java.util.List;
 import java.util.Objects;
-import javax.imageio.ImageIO;
 import lombok.extern.log4j.Log4j2;
-import org.comixedproject.adaptors.GenericUtilitiesAdaptor;
+import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.model.comicpages.ComicPage;
 import org.springframework.batch.infrastructure.item.ItemProcessor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -41,7 +40,6 @@ import org.springframework.util.StringUtils;
 @Log4j2
 public class ProcessUnhashedComicsProcessor implements ItemProcessor<ComicBook, ComicBook> {
   @Autowired private ComicBookAdaptor comicBookAdaptor;
-  @Autowired private GenericUtilitiesAdaptor genericUtilitiesAdaptor;
 
   @Override
   public ComicBook process(final ComicBook comicBook) {
@@ -51,24 +49,26 @@ public class ProcessUnhashedComicsProcessor implements ItemProcessor<ComicBook,
     }
     log.debug(
         "Loading page hashes for comic book: {}", comicBook.getComicDetail().getBaseFilename());
-    comicBook.getPages().stream()
-        .filter(page -> Objects.nonNull(page))
-        .filter(page -> !StringUtils.hasLength(page.getHash()))
-        .forEach(
-            page -> {
-              try {
-                final byte[] content =
-                    this.comicBookAdaptor.loadPageContent(comicBook, page.getPageNumber());
-                log.trace("Setting page hash");
-                page.setHash(this.genericUtilitiesAdaptor.createHash(content));
-                log.trace("Setting page dimensions");
-                final BufferedImage image = ImageIO.read(new ByteArrayInputStream(content));
-                page.setWidth(image.getWidth());
-                page.setHeight(image.getHeight());
-              } catch (Exception error) {
-                log.error("Failed to set page details", error);
-              }
-            });
+    final List<ComicPage> pages =
+        comicBook.getPages().stream()
+            .filter(page -> Objects.nonNull(page))
+            .filter(page -> !StringUtils.hasLength(page.getHash()))
+            .toList();
+    try {
+      this.comicBookAdaptor.loadPageContents(
+          comicBook,
+          pages,
+          (page, content) -> {
+            try {
+              log.trace("Setting page details");
+              this.comicBookAdaptor.setPageDetails(page, content);
+            } catch (Exception error) {
+              log.error("Failed to set page details", error);
+            }
+          });
+    } catch (AdaptorException error) {
+      log.error("Failed to load page content", error);
+    }
 
     return comicBook;
   }
@@ -41,7 +41,7 @@ import org.springframework.stereotype.Component;
 @Log4j2
 @RequiredArgsConstructor
 public abstract class AbstractComicBookWriter implements ItemWriter<ComicBook> {
-  @Autowired private ComicBookStateAdaptor comicBookStateAdaptor;
+  @Autowired protected ComicBookStateAdaptor comicBookStateAdaptor;
 
   @NonNull private ComicEvent comicEvent;
 
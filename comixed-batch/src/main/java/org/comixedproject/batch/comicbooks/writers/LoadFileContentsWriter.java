@@ -18,22 +18,57 @@
 
 package org.comixedproject.batch.comicbooks.writers;
 
+import java.util.ArrayList;
+import java.util.List;
+import lombok.extern.log4j.Log4j2;
 import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.service.comicpages.BlockedHashService;
+import org.comixedproject.service.comicpages.CoverCacheWarmingService;
 import org.comixedproject.state.comicbooks.ComicEvent;
 import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.infrastructure.item.Chunk;
 import org.springframework.batch.infrastructure.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
  * <code>LoadFileContentsWriter</code> provides an {@link ItemWriter} for instances of {@link
- * ComicBook} that have had their contents loaded.
+ * ComicBook} that have had their contents loaded. Pages with a blocked hash are marked for deletion
+ * before the comic is saved, and once a comic is saved its cover is queued to be added to the
+ * image cache.
  *
  * @author Darryl L. Pierce
  */
 @Component
 @StepScope
+@Log4j2
 public class LoadFileContentsWriter extends AbstractComicBookWriter {
+  @Autowired private CoverCacheWarmingService coverCacheWarmingService;
+  @Autowired private BlockedHashService blockedHashService;
+
   public LoadFileContentsWriter() {
     super(ComicEvent.comicFileContentsLoaded);
   }
+
+  @Override
+  public void write(final Chunk<? extends ComicBook> comics) {
+    final List<ComicBook> blocked = new ArrayList<>();
+    comics.forEach(
+        comic -> {
+          if (this.blockedHashService.markBlockedPages(comic) > 0) {
+            blocked.add(comic);
+          }
+        });
+    super.write(comics);
+    blocked.forEach(
+        comic -> {
+          log.trace("Firing comic event: blocked pages marked");
+          this.comicBookStateAdaptor.fireEvent(comic, ComicEvent.comicPageMarkedForRemoval);
+        });
+    comics.forEach(
+        comic -> {
+          log.trace("Queueing comic cover to be cached");
+          this.coverCacheWarmingService.queueCover(comic);
+        });
+  }
 }
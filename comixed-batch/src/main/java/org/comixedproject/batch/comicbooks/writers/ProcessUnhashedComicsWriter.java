@@ -18,19 +18,45 @@
 
 package org.comixedproject.batch.comicbooks.writers;
 
+import java.util.ArrayList;
+import java.util.List;
 import lombok.extern.log4j.Log4j2;
+import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.service.comicpages.BlockedHashService;
 import org.comixedproject.state.comicbooks.ComicEvent;
+import org.springframework.batch.infrastructure.item.Chunk;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 /**
- * <code>ProcessUnhashedComicsWriter</code> writes a page after its hash has been set.
+ * <code>ProcessUnhashedComicsWriter</code> writes a page after its hash has been set. Pages whose
+ * new hash is blocked are marked for deletion before the comic is saved.
  *
  * @author Darryl L. Pierce
  */
 @Component
 @Log4j2
 public class ProcessUnhashedComicsWriter extends AbstractComicBookWriter {
+  @Autowired private BlockedHashService blockedHashService;
+
   public ProcessUnhashedComicsWriter() {
     super(ComicEvent.comicPageHashesLoaded);
   }
+
+  @Override
+  public void write(final Chunk<? extends ComicBook> comics) {
+    final List<ComicBook> blocked = new ArrayList<>();
+    comics.forEach(
+        comic -> {
+          if (this.blockedHashService.markBlockedPages(comic) > 0) {
+            blocked.add(comic);
+          }
+        });
+    super.write(comics);
+    blocked.forEach(
+        comic -> {
+          log.trace("Firing comic event: blocked pages marked");
+          this.comicBookStateAdaptor.fireEvent(comic, ComicEvent.comicPageMarkedForRemoval);
+        });
+  }
 }
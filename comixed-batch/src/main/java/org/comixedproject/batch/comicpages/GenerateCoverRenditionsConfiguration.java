@@ -0,0 +1,94 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+
+package org.comixedproject.batch.comicpages;
+
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.batch.comicpages.readers.GenerateCoverRenditionsReader;
+import org.comixedproject.batch.comicpages.writers.GenerateCoverRenditionsWriter;
+import org.comixedproject.batch.processors.NoopProcessor;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.Step;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * <code>GenerateCoverRenditionsConfiguration</code> defines a batch process that generates scaled
+ * renditions of comic covers ahead of time.
+ *
+ * @author Darryl L. Pierce
+ */
+@Configuration
+@Log4j2
+public class GenerateCoverRenditionsConfiguration {
+  public static final String GENERATE_COVER_RENDITIONS_JOB = "generateCoverRenditionsJob";
+  public static final String PARAM_GENERATE_COVER_RENDITIONS_STARTED =
+      "job.generate-cover-renditions.started";
+
+  @Value("${comixed.batch.cover-renditions.chunk-size:25}")
+  private int chunkSize;
+
+  /**
+   * Returns the generate cover renditions job.
+   *
+   * @param jobRepository the job repository
+   * @param generateCoverRenditionsStep the generate cover renditions step
+   * @return the job
+   */
+  @Bean(name = GENERATE_COVER_RENDITIONS_JOB)
+  public Job generateCoverRenditionsJob(
+      final JobRepository jobRepository,
+      @Qualifier("generateCoverRenditionsStep") final Step generateCoverRenditionsStep) {
+    return new JobBuilder(GENERATE_COVER_RENDITIONS_JOB, jobRepository)
+        .start(generateCoverRenditionsStep)
+        .build();
+  }
+
+  /**
+   * Returns the generate cover renditions step.
+   *
+   * @param jobRepository the job repository
+   * @param platformTransactionManager the transaction manager
+   * @param reader the reader
+   * @param processor the processor
+   * @param writer the writer
+   * @return the step
+   */
+  @Bean(name = "generateCoverRenditionsStep")
+  public Step generateCoverRenditionsStep(
+      final JobRepository jobRepository,
+      final PlatformTransactionManager platformTransactionManager,
+      final GenerateCoverRenditionsReader reader,
+      final NoopProcessor<String> processor,
+      final GenerateCoverRenditionsWriter writer) {
+    return new StepBuilder("generateCoverRenditionsStep", jobRepository)
+        .<String, String>chunk(this.chunkSize)
+        .transactionManager(platformTransactionManager)
+        .reader(reader)
+        .processor(processor)
+        .writer(writer)
+        .build();
+  }
+}
@@ -0,0 +1,92 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.batch.comicpages;
+
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.batch.comicpages.readers.MigrateImageCacheReader;
+import org.comixedproject.batch.comicpages.writers.MigrateImageCacheWriter;
+import org.comixedproject.batch.processors.NoopProcessor;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.Step;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * <code>MigrateImageCacheConfiguration</code> defines a batch process that moves images from the
+ * image cache directory tree into segment files.
+ *
+ * @author Darryl L. Pierce
+ */
+@Configuration
+@Log4j2
+public class MigrateImageCacheConfiguration {
+  public static final String MIGRATE_IMAGE_CACHE_JOB = "migrateImageCacheJob";
+  public static final String PARAM_MIGRATE_IMAGE_CACHE_STARTED = "job.migrate-image-cache.started";
+
+  @Value("${comixed.batch.migrate-image-cache.chunk-size:100}")
+  private int chunkSize;
+
+  /**
+   * Returns the migrate image cache job.
+   *
+   * @param jobRepository the job repository
+   * @param migrateImageCacheStep the migrate image cache step
+   * @return the job
+   */
+  @Bean(name = MIGRATE_IMAGE_CACHE_JOB)
+  public Job migrateImageCacheJob(
+      final JobRepository jobRepository,
+      @Qualifier("migrateImageCacheStep") final Step migrateImageCacheStep) {
+    return new JobBuilder(MIGRATE_IMAGE_CACHE_JOB, jobRepository)
+        .start(migrateImageCacheStep)
+        .build();
+  }
+
+  /**
+   * Returns the migrate image cache step.
+   *
+   * @param jobRepository the job repository
+   * @param platformTransactionManager the transaction manager
+   * @param reader the reader
+   * @param processor the processor
+   * @param writer the writer
+   * @return the step
+   */
+  @Bean(name = "migrateImageCacheStep")
+  public Step migrateImageCacheStep(
+      final JobRepository jobRepository,
+      final PlatformTransactionManager platformTransactionManager,
+      final MigrateImageCacheReader reader,
+      final NoopProcessor<String> processor,
+      final MigrateImageCacheWriter writer) {
+    return new StepBuilder("migrateImageCacheStep", jobRepository)
+        .<String, String>chunk(this.chunkSize)
+        .transactionManager(platformTransactionManager)
+        .reader(reader)
+        .processor(processor)
+        .writer(writer)
+        .build();
+  }
+}
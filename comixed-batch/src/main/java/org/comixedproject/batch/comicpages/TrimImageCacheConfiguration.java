@@ -0,0 +1,90 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.batch.comicpages;
+
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.batch.comicpages.readers.TrimImageCacheReader;
+import org.comixedproject.batch.comicpages.writers.TrimImageCacheWriter;
+import org.comixedproject.batch.processors.NoopProcessor;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.Step;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * <code>TrimImageCacheConfiguration</code> defines a batch process that evicts entries from the
+ * image cache when it grows larger than its maximum size.
+ *
+ * @author Darryl L. Pierce
+ */
+@Configuration
+@Log4j2
+public class TrimImageCacheConfiguration {
+  public static final String TRIM_IMAGE_CACHE_JOB = "trimImageCacheJob";
+  public static final String PARAM_TRIM_IMAGE_CACHE_STARTED = "job.trim-image-cache.started";
+
+  @Value("${comixed.batch.trim-image-cache.chunk-size:100}")
+  private int chunkSize;
+
+  /**
+   * Returns the trim image cache job.
+   *
+   * @param jobRepository the job repository
+   * @param trimImageCacheStep the trim image cache step
+   * @return the job
+   */
+  @Bean(name = TRIM_IMAGE_CACHE_JOB)
+  public Job trimImageCacheJob(
+      final JobRepository jobRepository,
+      @Qualifier("trimImageCacheStep") final Step trimImageCacheStep) {
+    return new JobBuilder(TRIM_IMAGE_CACHE_JOB, jobRepository).start(trimImageCacheStep).build();
+  }
+
+  /**
+   * Returns the trim image cache step.
+   *
+   * @param jobRepository the job repository
+   * @param platformTransactionManager the transaction manager
+   * @param reader the reader
+   * @param processor the processor
+   * @param writer the writer
+   * @return the step
+   */
+  @Bean(name = "trimImageCacheStep")
+  public Step trimImageCacheStep(
+      final JobRepository jobRepository,
+      final PlatformTransactionManager platformTransactionManager,
+      final TrimImageCacheReader reader,
+      final NoopProcessor<String> processor,
+      final TrimImageCacheWriter writer) {
+    return new StepBuilder("trimImageCacheStep", jobRepository)
+        .<String, String>chunk(this.chunkSize)
+        .transactionManager(platformTransactionManager)
+        .reader(reader)
+        .processor(processor)
+        .writer(writer)
+        .build();
+  }
+}
@@ -41,7 +41,7 @@ import org.springframework.stereotype.Component;
 public class CreateImageCacheEntriesReader implements ItemReader<ComicPage> {
   @Autowired private ComicPageService comicPageService;
 
-  @Value("${comixed.batch.add-cover-to-image-cache.chunk-size:1}")
+  @Value("${comixed.batch.add-cover-to-image-cache.chunk-size:25}")
   @Getter
   private int chunkSize;
 
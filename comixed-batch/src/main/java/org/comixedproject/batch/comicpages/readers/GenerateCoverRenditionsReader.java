@@ -0,0 +1,60 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+
+package org.comixedproject.batch.comicpages.readers;
+
+import java.util.List;
+import java.util.Objects;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.service.comicpages.PageRenditionService;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.infrastructure.item.ItemReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>GenerateCoverRenditionsReader</code> loads the hashes of all cover pages that are missing a
+ * rendition once per step and returns them one at a time.
+ *
+ * @author Darryl L. Pierce
+ */
+@StepScope
+@Component
+@Log4j2
+public class GenerateCoverRenditionsReader implements ItemReader<String> {
+  @Autowired private PageRenditionService pageRenditionService;
+
+  List<String> hashList;
+
+  @Override
+  public String read() {
+    if (Objects.isNull(this.hashList)) {
+      log.debug("Loading cover pages without renditions");
+      this.hashList = this.pageRenditionService.findCoverPagesWithoutRenditions();
+    }
+
+    if (this.hashList.isEmpty()) {
+      log.debug("No more cover pages without renditions");
+      return null;
+    }
+
+    log.trace("Returning cover page: {}", this.hashList.get(0));
+    return this.hashList.remove(0);
+  }
+}
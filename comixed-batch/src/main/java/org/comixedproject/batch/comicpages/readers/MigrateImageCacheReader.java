@@ -0,0 +1,77 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.batch.comicpages.readers;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.service.comicpages.PageCacheService;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.infrastructure.item.ItemReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>MigrateImageCacheReader</code> returns the hash of each image in the image cache directory
+ * tree that needs to be moved into segment files.
+ *
+ * <p>Images are removed from the directory tree as they are moved, so each load returns the next
+ * set of images. If a load returns an image from the previous load then that image could not be
+ * moved, and the step ends rather than retrying it.
+ *
+ * @author Darryl L. Pierce
+ */
+@StepScope
+@Component
+@Log4j2
+public class MigrateImageCacheReader implements ItemReader<String> {
+  @Autowired private PageCacheService pageCacheService;
+
+  @Value("${comixed.batch.migrate-image-cache.chunk-size:100}")
+  @Getter
+  private int chunkSize;
+
+  List<String> hashList;
+  Set<String> previousHashes = new HashSet<>();
+
+  @Override
+  public String read() {
+    if (this.hashList == null || this.hashList.isEmpty()) {
+      log.debug("Loading images to move into cache segments");
+      this.hashList = this.pageCacheService.findImageCacheEntriesToMigrate(this.chunkSize);
+      if (this.hashList.stream().anyMatch(this.previousHashes::contains)) {
+        log.warn("Images could not be moved into cache segments");
+        this.hashList.clear();
+      }
+      this.previousHashes = new HashSet<>(this.hashList);
+    }
+
+    if (this.hashList.isEmpty()) {
+      log.debug("No more images to move into cache segments");
+      this.hashList = null;
+      return null;
+    }
+
+    log.trace("Returning image: {}", this.hashList.get(0));
+    return this.hashList.remove(0);
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.batch.comicpages.readers;
+
+import java.util.List;
+import java.util.Objects;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.service.comicpages.PageCacheService;
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.batch.infrastructure.item.ItemReader;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>TrimImageCacheReader</code> scans the image cache once per step and returns the hash of
+ * each entry that needs to be evicted.
+ *
+ * @author Darryl L. Pierce
+ */
+@StepScope
+@Component
+@Log4j2
+public class TrimImageCacheReader implements ItemReader<String> {
+  @Autowired private PageCacheService pageCacheService;
+
+  List<String> hashList;
+
+  @Override
+  public String read() {
+    if (Objects.isNull(this.hashList)) {
+      log.debug("Loading image cache entries to evict");
+      this.hashList = this.pageCacheService.findImageCacheEntriesToEvict();
+    }
+
+    if (this.hashList.isEmpty()) {
+      log.debug("No more image cache entries to evict");
+      return null;
+    }
+
+    log.trace("Returning image cache entry: {}", this.hashList.get(0));
+    return this.hashList.remove(0);
+  }
+}
@@ -59,7 +59,7 @@ public class AddPagesToImageCacheInitiator {
   private JobOperator jobOperator;
 
   /** Starts a batch process to add pages to the image cache. */
-  @Scheduled(cron = "${comixed.batch.add-cover-to-image-cache.schedule:0 0 * * * *}")
+  @Scheduled(cron = "${comixed.batch.add-cover-to-image-cache.schedule:0 0 */6 * * *}")
   public void execute() {
     synchronized (MUTEX) {
       try {
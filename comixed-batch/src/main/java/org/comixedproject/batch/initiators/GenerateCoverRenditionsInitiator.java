@@ -0,0 +1,87 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+
+package org.comixedproject.batch.initiators;
+
+import static org.comixedproject.batch.comicpages.GenerateCoverRenditionsConfiguration.GENERATE_COVER_RENDITIONS_JOB;
+import static org.comixedproject.batch.comicpages.GenerateCoverRenditionsConfiguration.PARAM_GENERATE_COVER_RENDITIONS_STARTED;
+
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.service.batch.BatchProcessesService;
+import org.comixedproject.service.comicpages.PageRenditionService;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.parameters.InvalidJobParametersException;
+import org.springframework.batch.core.job.parameters.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.launch.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.core.launch.JobRestartException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>GenerateCoverRenditionsInitiator</code> starts a job to generate scaled renditions of comic
+ * covers. The job is disabled unless a schedule is configured.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class GenerateCoverRenditionsInitiator {
+  private static final Object MUTEX = new Object();
+
+  @Autowired private PageRenditionService pageRenditionService;
+  @Autowired private BatchProcessesService batchProcessesService;
+
+  @Autowired
+  @Qualifier(value = GENERATE_COVER_RENDITIONS_JOB)
+  private Job generateCoverRenditionsJob;
+
+  @Autowired
+  @Qualifier("batchJobOperator")
+  private JobOperator jobOperator;
+
+  /** Starts a batch process to generate cover renditions. */
+  @Scheduled(cron = "${comixed.batch.cover-renditions.schedule:-}")
+  public void execute() {
+    synchronized (MUTEX) {
+      if (this.pageRenditionService.getCoverWidths().isEmpty()) {
+        log.trace("No cover rendition widths configured");
+        return;
+      }
+      if (!this.batchProcessesService.hasActiveExecutions(GENERATE_COVER_RENDITIONS_JOB)) {
+        try {
+          log.debug("Starting batch job: generate cover renditions");
+          this.jobOperator.start(
+              this.generateCoverRenditionsJob,
+              new JobParametersBuilder()
+                  .addLong(PARAM_GENERATE_COVER_RENDITIONS_STARTED, System.currentTimeMillis())
+                  .toJobParameters());
+        } catch (JobExecutionAlreadyRunningException
+            | JobRestartException
+            | JobInstanceAlreadyCompleteException
+            | InvalidJobParametersException error) {
+          log.error("Failed to run generate cover renditions job", error);
+        }
+      }
+    }
+  }
+}
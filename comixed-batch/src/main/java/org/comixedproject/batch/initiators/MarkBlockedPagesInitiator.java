@@ -22,8 +22,10 @@ import static org.comixedproject.batch.comicpages.MarkBlockedPagesConfiguration.
 import static org.comixedproject.batch.comicpages.MarkBlockedPagesConfiguration.MARK_BLOCKED_PAGES_JOB;
 
 import lombok.extern.log4j.Log4j2;
+import org.comixedproject.model.batch.MarkBlockedPagesEvent;
 import org.comixedproject.service.admin.ConfigurationService;
 import org.comixedproject.service.batch.BatchProcessesService;
+import org.comixedproject.service.comicpages.BlockedHashService;
 import org.comixedproject.service.comicpages.ComicPageService;
 import org.springframework.batch.core.job.Job;
 import org.springframework.batch.core.job.parameters.InvalidJobParametersException;
@@ -34,12 +36,15 @@ import org.springframework.batch.core.launch.JobOperator;
 import org.springframework.batch.core.launch.JobRestartException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 /**
  * <code>MarkBlockedPagesInitiator</code> starts a job to mark pages with a blocked has for
- * deletion.
+ * deletion. Pages are normally marked as their hashes are loaded. When a hash is blocked the job
+ * is started once the change is committed, and the scheduled run only reconciles anything missed.
  *
  * @author Darryl L. Pierce
  */
@@ -51,6 +56,7 @@ public class MarkBlockedPagesInitiator {
   @Autowired private ConfigurationService configurationService;
   @Autowired private ComicPageService comicPageService;
   @Autowired private BatchProcessesService batchProcessesService;
+  @Autowired private BlockedHashService blockedHashService;
 
   @Autowired
   @Qualifier(value = MARK_BLOCKED_PAGES_JOB)
@@ -60,14 +66,33 @@ public class MarkBlockedPagesInitiator {
   @Qualifier("batchJobOperator")
   private JobOperator jobOperator;
 
-  @Scheduled(fixedDelayString = "${comixed.batch.mark-blocked-pages.period:60000}")
+  /** Reconciles pages with a blocked hash on a schedule. */
+  @Scheduled(fixedDelayString = "${comixed.batch.mark-blocked-pages.period:3600000}")
   public void execute() {
+    this.doExecute();
+  }
+
+  /**
+   * Initiates marking blocked pages from an event, once the transaction that blocked the hashes
+   * commits.
+   *
+   * @param event the event
+   */
+  @TransactionalEventListener(fallbackExecution = true)
+  @Async
+  public void execute(MarkBlockedPagesEvent event) {
+    this.doExecute();
+  }
+
+  private void doExecute() {
     synchronized (MUTEX) {
       if (!this.configurationService.isFeatureEnabled(
           ConfigurationService.CFG_MANAGE_BLOCKED_PAGES)) {
         log.trace("Skipping batch since managing blocked pages is disabled");
         return;
       }
+      log.trace("Reloading blocked page hashes");
+      this.blockedHashService.reloadBlockedHashes();
       log.trace("Checking for pages with blocked hash");
       if (this.comicPageService.getUnmarkedWithBlockedHashCount() > 0L
           && !this.batchProcessesService.hasActiveExecutions(MARK_BLOCKED_PAGES_JOB)) {
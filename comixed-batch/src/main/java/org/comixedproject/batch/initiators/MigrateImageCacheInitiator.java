@@ -0,0 +1,84 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.batch.initiators;
+
+import static org.comixedproject.batch.comicpages.MigrateImageCacheConfiguration.PARAM_MIGRATE_IMAGE_CACHE_STARTED;
+import static org.comixedproject.batch.comicpages.MigrateImageCacheConfiguration.MIGRATE_IMAGE_CACHE_JOB;
+
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.service.batch.BatchProcessesService;
+import org.comixedproject.service.comicpages.PageCacheService;
+import org.springframework.batch.core.job.Job;
+import org.springframework.batch.core.job.parameters.InvalidJobParametersException;
+import org.springframework.batch.core.job.parameters.JobParametersBuilder;
+import org.springframework.batch.core.launch.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.launch.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.launch.JobOperator;
+import org.springframework.batch.core.launch.JobRestartException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>MigrateImageCacheInitiator</code> starts a job to move images from the image cache
+ * directory tree into segment files once segment storage is enabled.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class MigrateImageCacheInitiator {
+  private static final Object MUTEX = new Object();
+
+  @Autowired private PageCacheService pageCacheService;
+  @Autowired private BatchProcessesService batchProcessesService;
+
+  @Autowired
+  @Qualifier(value = MIGRATE_IMAGE_CACHE_JOB)
+  private Job migrateImageCacheJob;
+
+  @Autowired
+  @Qualifier("batchJobOperator")
+  private JobOperator jobOperator;
+
+  /** Starts a batch process to move images into cache segments. */
+  @Scheduled(fixedDelayString = "${comixed.batch.migrate-image-cache.period:60000}")
+  public void execute() {
+    synchronized (MUTEX) {
+      log.trace("Checking for images to move into cache segments");
+      if (this.pageCacheService.hasImageCacheEntriesToMigrate()
+          && !this.batchProcessesService.hasActiveExecutions(MIGRATE_IMAGE_CACHE_JOB)) {
+        try {
+          log.debug("Starting batch job: migrate image cache");
+          this.jobOperator.start(
+              this.migrateImageCacheJob,
+              new JobParametersBuilder()
+                  .addLong(PARAM_MIGRATE_IMAGE_CACHE_STARTED, System.currentTimeMillis())
+                  .toJobParameters());
+        } catch (JobExecutionAlreadyRunningException
+            | JobRestartException
+            | JobInstanceAlreadyCompleteException
+            | InvalidJobParametersException error) {
+          log.error("Failed to run migrate image cache job", error);
+        }
+      }
+    }
+  }
+}
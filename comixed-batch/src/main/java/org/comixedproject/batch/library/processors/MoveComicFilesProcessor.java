@@ -25,6 +25,7 @@ import static org.comixedproject.service.admin.ConfigurationService.CFG_DONT_MOV
 import java.io.File;
 import java.util.Objects;
 import lombok.extern.log4j.Log4j2;
+import org.comixedproject.adaptors.archive.ArchiveReadHandlePool;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.adaptors.comicbooks.ComicFileAdaptor;
 import org.comixedproject.adaptors.file.FileAdaptor;
@@ -53,6 +54,7 @@ public class MoveComicFilesProcessor
   @Autowired private FileAdaptor fileAdaptor;
   @Autowired private ComicFileAdaptor comicFileAdaptor;
   @Autowired private ComicBookAdaptor comicBookAdaptor;
+  @Autowired private ArchiveReadHandlePool archiveReadHandlePool;
 
   JobParameters jobParameters;
 
@@ -97,6 +99,8 @@ public class MoveComicFilesProcessor
             "Moving comicBook file: {} => {}",
             comicDetailFile.getAbsolutePath(),
             rebuiltFile.getAbsolutePath());
+        log.trace("Closing any pooled handles for comicBook file");
+        this.archiveReadHandlePool.invalidate(comic.getFilename());
         this.fileAdaptor.moveFile(comicDetailFile, rebuiltFile);
         log.trace("Updating comicBook filename: {}", rebuiltFile.getAbsoluteFile());
         comic.setUpdatedFilename(
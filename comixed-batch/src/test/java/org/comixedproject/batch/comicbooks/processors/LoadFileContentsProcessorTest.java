@@ -36,6 +36,7 @@ import org.comixedproject.model.comicbooks.ComicDetail;
 import org.comixedproject.model.comicbooks.ComicMetadataSource;
 import org.comixedproject.model.comicpages.ComicPage;
 import org.comixedproject.model.metadata.MetadataSource;
+import org.comixedproject.service.comicbooks.ComicDetailService;
 import org.comixedproject.service.metadata.MetadataService;
 import org.comixedproject.service.metadata.MetadataSourceService;
 import org.junit.jupiter.api.BeforeEach;
@@ -63,6 +64,7 @@ class LoadFileContentsProcessorTest {
   @Mock private ContentAdaptorRegistry contentAdaptorRegistry;
   @Mock private ComicInfoXmlFilenameContentAdaptor comicInfoXmlFilenameContentAdaptor;
   @Mock private MetadataService metadataService;
+  @Mock private ComicDetailService comicDetailService;
   @Mock private MetadataSourceService metadataSourceService;
   @Mock private MetadataAdaptor metadataAdaptor;
   @Mock private MetadataAdaptorProvider metadataAdaptorProvider;
@@ -122,6 +124,7 @@ class LoadFileContentsProcessorTest {
     Mockito.verify(fileTypeAdaptor, Mockito.times(1)).getArchiveAdaptorFor(TEST_COMIC_FILENAME);
     Mockito.verify(comicBookAdaptor, Mockito.times(1)).load(comicBook);
     Mockito.verify(comicBookAdaptor, Mockito.times(1)).sortPages(Mockito.any());
+    Mockito.verify(comicDetailService, Mockito.times(1)).updateFileFingerprint(comicDetail);
     Mockito.verify(comicInfoXmlFilenameContentAdaptor, Mockito.times(1))
         .loadContent(comicBook, "", content);
   }
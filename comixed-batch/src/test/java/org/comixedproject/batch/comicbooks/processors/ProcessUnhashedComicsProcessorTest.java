@@ -18,8 +18,9 @@
 
 package org.comixedproject.batch.comicbooks.processors;
 
-import static org.junit.Assert.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.io.IOException;
@@ -27,14 +28,16 @@ import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.io.FileUtils;
 import org.comixedproject.adaptors.AdaptorException;
-import org.comixedproject.adaptors.GenericUtilitiesAdaptor;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
+import org.comixedproject.adaptors.comicbooks.ComicPageContentProcessor;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicbooks.ComicDetail;
 import org.comixedproject.model.comicpages.ComicPage;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
@@ -54,20 +57,26 @@ class ProcessUnhashedComicsProcessorTest {
 
   @InjectMocks private ProcessUnhashedComicsProcessor processor;
   @Mock private ComicBookAdaptor comicBookAdaptor;
-  @Mock private GenericUtilitiesAdaptor genericUtilitiesAdaptor;
   @Mock private ComicPage page;
   @Mock private ComicDetail comicDetail;
   @Mock private ComicBook comicBook;
 
+  @Captor private ArgumentCaptor<List<ComicPage>> pageListArgumentCaptor;
+
   private List<ComicPage> pageList = new ArrayList<>();
 
   @BeforeEach
   public void setUp() throws AdaptorException, IOException {
     imageContent = FileUtils.readFileToByteArray(new File(TEST_IMAGE_PATH));
-    Mockito.when(genericUtilitiesAdaptor.createHash(Mockito.any(byte[].class)))
-        .thenReturn(TEST_PAGE_HASH);
-    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
-        .thenReturn(imageContent);
+    Mockito.doAnswer(
+            invocation -> {
+              final List<ComicPage> pages = invocation.getArgument(1);
+              final ComicPageContentProcessor pageProcessor = invocation.getArgument(2);
+              pages.forEach(entry -> pageProcessor.process(entry, imageContent));
+              return null;
+            })
+        .when(comicBookAdaptor)
+        .loadPageContents(Mockito.any(ComicBook.class), Mockito.anyList(), Mockito.any());
     Mockito.when(comicBook.getPages()).thenReturn(pageList);
     Mockito.when(comicDetail.getBaseFilename()).thenReturn(TEST_BASE_FILENAME);
     Mockito.when(comicDetail.isMissing()).thenReturn(false);
@@ -85,24 +94,43 @@ class ProcessUnhashedComicsProcessorTest {
   }
 
   @Test
-  void process_createHashException() throws Exception {
-    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
-        .thenThrow(AdaptorException.class);
+  void process_loadPageContentsException() throws Exception {
+    Mockito.doThrow(AdaptorException.class)
+        .when(comicBookAdaptor)
+        .loadPageContents(Mockito.any(ComicBook.class), Mockito.anyList(), Mockito.any());
 
     processor.process(comicBook);
 
-    Mockito.verify(genericUtilitiesAdaptor, Mockito.never()).createHash(Mockito.any(byte[].class));
-    Mockito.verify(page, Mockito.never()).setHash(TEST_PAGE_HASH);
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .setPageDetails(Mockito.any(ComicPage.class), Mockito.any(byte[].class));
   }
 
   @Test
-  void process() {
+  void process_setPageDetailsException() {
+    Mockito.doThrow(RuntimeException.class)
+        .when(comicBookAdaptor)
+        .setPageDetails(Mockito.any(ComicPage.class), Mockito.any(byte[].class));
+
+    assertSame(comicBook, processor.process(comicBook));
+  }
+
+  @Test
+  void process_pageAlreadyHashed() throws AdaptorException {
+    Mockito.when(page.getHash()).thenReturn(TEST_PAGE_HASH);
+
     processor.process(comicBook);
 
-    assertNotEquals(-1, page.getWidth().intValue());
-    assertNotEquals(-1, page.getHeight().intValue());
+    Mockito.verify(comicBookAdaptor, Mockito.times(1))
+        .loadPageContents(Mockito.eq(comicBook), pageListArgumentCaptor.capture(), Mockito.any());
+    assertTrue(pageListArgumentCaptor.getValue().isEmpty());
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .setPageDetails(Mockito.any(ComicPage.class), Mockito.any(byte[].class));
+  }
+
+  @Test
+  void process() {
+    processor.process(comicBook);
 
-    Mockito.verify(genericUtilitiesAdaptor, Mockito.times(1)).createHash(imageContent);
-    Mockito.verify(page, Mockito.times(1)).setHash(TEST_PAGE_HASH);
+    Mockito.verify(comicBookAdaptor, Mockito.times(1)).setPageDetails(page, imageContent);
   }
 }
@@ -20,6 +20,8 @@ package org.comixedproject.batch.comicbooks.writers;
 
 import java.util.ArrayList;
 import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.service.comicpages.BlockedHashService;
+import org.comixedproject.service.comicpages.CoverCacheWarmingService;
 import org.comixedproject.state.comicbooks.ComicBookStateAdaptor;
 import org.comixedproject.state.comicbooks.ComicEvent;
 import org.junit.jupiter.api.Test;
@@ -34,6 +36,8 @@ import org.springframework.batch.infrastructure.item.Chunk;
 class LoadFileContentsWriterTest {
   @InjectMocks private LoadFileContentsWriter writer;
   @Mock private ComicBookStateAdaptor comicBookStateAdaptor;
+  @Mock private CoverCacheWarmingService coverCacheWarmingService;
+  @Mock private BlockedHashService blockedHashService;
   @Mock private ComicBook comicBook;
 
   private Chunk<ComicBook> comicBookList = new Chunk<>(new ArrayList<>());
@@ -46,5 +50,25 @@ class LoadFileContentsWriterTest {
 
     Mockito.verify(comicBookStateAdaptor, Mockito.times(comicBookList.size()))
         .fireEvent(comicBook, ComicEvent.comicFileContentsLoaded);
+    Mockito.verify(coverCacheWarmingService, Mockito.times(comicBookList.size()))
+        .queueCover(comicBook);
+    Mockito.verify(comicBookStateAdaptor, Mockito.never())
+        .fireEvent(comicBook, ComicEvent.comicPageMarkedForRemoval);
+  }
+
+  @Test
+  void write_withBlockedPages() {
+    for (int index = 0; index < 25; index++) comicBookList.add(comicBook);
+
+    Mockito.when(blockedHashService.markBlockedPages(Mockito.any(ComicBook.class))).thenReturn(2);
+
+    writer.write(comicBookList);
+
+    Mockito.verify(blockedHashService, Mockito.times(comicBookList.size()))
+        .markBlockedPages(comicBook);
+    Mockito.verify(comicBookStateAdaptor, Mockito.times(comicBookList.size()))
+        .fireEvent(comicBook, ComicEvent.comicFileContentsLoaded);
+    Mockito.verify(comicBookStateAdaptor, Mockito.times(comicBookList.size()))
+        .fireEvent(comicBook, ComicEvent.comicPageMarkedForRemoval);
   }
 }
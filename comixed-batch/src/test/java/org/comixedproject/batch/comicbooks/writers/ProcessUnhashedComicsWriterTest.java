@@ -20,6 +20,7 @@ package org.comixedproject.batch.comicbooks.writers;
 
 import java.util.ArrayList;
 import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.service.comicpages.BlockedHashService;
 import org.comixedproject.state.comicbooks.ComicBookStateAdaptor;
 import org.comixedproject.state.comicbooks.ComicEvent;
 import org.junit.jupiter.api.Test;
@@ -34,6 +35,7 @@ import org.springframework.batch.infrastructure.item.Chunk;
 class ProcessUnhashedComicsWriterTest {
   @InjectMocks private ProcessUnhashedComicsWriter writer;
   @Mock private ComicBookStateAdaptor comicBookStateAdaptor;
+  @Mock private BlockedHashService blockedHashService;
   @Mock private ComicBook comicBook;
 
   private Chunk<ComicBook> comicBookList = new Chunk<>(new ArrayList<>());
@@ -46,5 +48,22 @@ class ProcessUnhashedComicsWriterTest {
 
     Mockito.verify(comicBookStateAdaptor, Mockito.times(comicBookList.size()))
         .fireEvent(comicBook, ComicEvent.comicPageHashesLoaded);
+    Mockito.verify(comicBookStateAdaptor, Mockito.never())
+        .fireEvent(comicBook, ComicEvent.comicPageMarkedForRemoval);
+  }
+
+  @Test
+  void write_withBlockedPages() throws Exception {
+    comicBookList.add(comicBook);
+
+    Mockito.when(blockedHashService.markBlockedPages(Mockito.any(ComicBook.class))).thenReturn(1);
+
+    writer.write(comicBookList);
+
+    Mockito.verify(blockedHashService, Mockito.times(1)).markBlockedPages(comicBook);
+    Mockito.verify(comicBookStateAdaptor, Mockito.times(1))
+        .fireEvent(comicBook, ComicEvent.comicPageHashesLoaded);
+    Mockito.verify(comicBookStateAdaptor, Mockito.times(1))
+        .fireEvent(comicBook, ComicEvent.comicPageMarkedForRemoval);
   }
 }
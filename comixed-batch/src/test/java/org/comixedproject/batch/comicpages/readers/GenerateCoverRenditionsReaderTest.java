@@ -0,0 +1,83 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+
+package org.comixedproject.batch.comicpages.readers;
+
+import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.comixedproject.service.comicpages.PageRenditionService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class GenerateCoverRenditionsReaderTest {
+  private static final String TEST_PAGE_HASH = "0123456789ABCDEF0123456789ABCDEF";
+  private static final int MAX_RECORDS = 25;
+
+  @InjectMocks private GenerateCoverRenditionsReader reader;
+  @Mock private PageRenditionService pageRenditionService;
+
+  private List<String> hashList = new ArrayList<>();
+
+  @Test
+  void read_noneLoaded() {
+    for (int index = 0; index < MAX_RECORDS; index++) hashList.add(TEST_PAGE_HASH);
+
+    Mockito.when(pageRenditionService.findCoverPagesWithoutRenditions()).thenReturn(hashList);
+
+    final String result = reader.read();
+
+    assertEquals(TEST_PAGE_HASH, result);
+    assertEquals(MAX_RECORDS - 1, hashList.size());
+
+    Mockito.verify(pageRenditionService, Mockito.times(1)).findCoverPagesWithoutRenditions();
+  }
+
+  @Test
+  void read_someRemaining() {
+    for (int index = 0; index < MAX_RECORDS; index++) hashList.add(TEST_PAGE_HASH);
+
+    reader.hashList = hashList;
+
+    final String result = reader.read();
+
+    assertEquals(TEST_PAGE_HASH, result);
+    assertEquals(MAX_RECORDS - 1, hashList.size());
+
+    Mockito.verify(pageRenditionService, Mockito.never()).findCoverPagesWithoutRenditions();
+  }
+
+  @Test
+  void read_noneRemaining() {
+    reader.hashList = hashList;
+
+    final String result = reader.read();
+
+    assertNull(result);
+
+    Mockito.verify(pageRenditionService, Mockito.never()).findCoverPagesWithoutRenditions();
+  }
+}
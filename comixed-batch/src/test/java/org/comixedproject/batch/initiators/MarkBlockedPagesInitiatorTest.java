@@ -23,8 +23,10 @@ import static org.comixedproject.batch.comicpages.MarkBlockedPagesConfiguration.
 import static org.comixedproject.service.admin.ConfigurationService.CFG_MANAGE_BLOCKED_PAGES;
 import static org.junit.Assert.*;
 
+import org.comixedproject.model.batch.MarkBlockedPagesEvent;
 import org.comixedproject.service.admin.ConfigurationService;
 import org.comixedproject.service.batch.BatchProcessesService;
+import org.comixedproject.service.comicpages.BlockedHashService;
 import org.comixedproject.service.comicpages.ComicPageService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -50,6 +52,7 @@ class MarkBlockedPagesInitiatorTest {
   @Mock private ConfigurationService configurationService;
   @Mock private ComicPageService comicPageService;
   @Mock private BatchProcessesService batchProcessesService;
+  @Mock private BlockedHashService blockedHashService;
 
   @Mock
   @Qualifier(value = MARK_BLOCKED_PAGES_JOB)
@@ -88,6 +91,7 @@ class MarkBlockedPagesInitiatorTest {
 
     Mockito.verify(configurationService, Mockito.times(1))
         .isFeatureEnabled(CFG_MANAGE_BLOCKED_PAGES);
+    Mockito.verify(blockedHashService, Mockito.never()).reloadBlockedHashes();
     Mockito.verify(jobOperator, Mockito.never()).start(Mockito.any(Job.class), Mockito.any());
   }
 
@@ -129,6 +133,22 @@ class MarkBlockedPagesInitiatorTest {
 
     assertNotNull(jobParameters.getLong(JOB_MARK_BLOCKED_PAGES_STARTED));
 
+    Mockito.verify(blockedHashService, Mockito.times(1)).reloadBlockedHashes();
+    Mockito.verify(jobOperator, Mockito.times(1)).start(loadPageHashesJob, jobParameters);
+  }
+
+  @Test
+  void execute_fromEvent()
+      throws JobInstanceAlreadyCompleteException,
+          JobExecutionAlreadyRunningException,
+          InvalidJobParametersException,
+          JobRestartException {
+    initiator.execute(MarkBlockedPagesEvent.instance);
+
+    final JobParameters jobParameters = jobParametersArgumentCaptor.getValue();
+
+    assertNotNull(jobParameters.getLong(JOB_MARK_BLOCKED_PAGES_STARTED));
+
     Mockito.verify(jobOperator, Mockito.times(1)).start(loadPageHashesJob, jobParameters);
   }
 
@@ -26,6 +26,7 @@ import static org.comixedproject.service.admin.ConfigurationService.CFG_DONT_MOV
 import java.io.File;
 import java.io.IOException;
 import java.util.List;
+import org.comixedproject.adaptors.archive.ArchiveReadHandlePool;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.adaptors.comicbooks.ComicFileAdaptor;
 import org.comixedproject.adaptors.file.FileAdaptor;
@@ -71,6 +72,7 @@ class MoveComicFilesProcessorTest {
   @Mock private FileAdaptor fileAdaptor;
   @Mock private ComicFileAdaptor comicFileAdaptor;
   @Mock private ComicBookAdaptor comicBookAdaptor;
+  @Mock private ArchiveReadHandlePool archiveReadHandlePool;
   @Mock private OrganizingComic organizingComic;
   @Mock private File comicDetailFile;
 
@@ -180,6 +182,7 @@ class MoveComicFilesProcessorTest {
     assertNotNull(rebuiltComicBookFile);
     assertEquals(TEST_REBUILT_FILENAME, rebuiltComicBookFile.getAbsolutePath());
 
+    Mockito.verify(archiveReadHandlePool, Mockito.times(1)).invalidate(TEST_SOURCE_FILENAME);
     Mockito.verify(fileAdaptor, Mockito.times(1)).moveFile(comicDetailFile, rebuiltComicBookFile);
     Mockito.verify(comicFileAdaptor, Mockito.times(1)).standardizeFilename(TEST_REBUILT_FILENAME);
   }
@@ -191,6 +194,7 @@ class MoveComicFilesProcessorTest {
 
     processor.process(organizingComic);
 
+    Mockito.verify(archiveReadHandlePool, Mockito.never()).invalidate(Mockito.anyString());
     Mockito.verify(fileAdaptor, Mockito.never())
         .moveFile(Mockito.any(File.class), Mockito.any(File.class));
   }
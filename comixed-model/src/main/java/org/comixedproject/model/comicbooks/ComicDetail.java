@@ -19,6 +19,7 @@
 package org.comixedproject.model.comicbooks;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonView;
 import jakarta.persistence.*;
@@ -90,6 +91,24 @@ public class ComicDetail implements PublicationDetail {
   @Setter
   private boolean missing = false;
 
+  @Column(name = "file_size", nullable = true, updatable = true)
+  @JsonIgnore
+  @Getter
+  @Setter
+  private Long fileSize;
+
+  @Column(name = "file_modified", nullable = true, updatable = true)
+  @JsonIgnore
+  @Getter
+  @Setter
+  private Long fileModified;
+
+  @Column(name = "file_fingerprint", nullable = true, updatable = true, length = 32)
+  @JsonIgnore
+  @Getter
+  @Setter
+  private String fileFingerprint;
+
   @Column(
       name = "archive_type",
       nullable = false,
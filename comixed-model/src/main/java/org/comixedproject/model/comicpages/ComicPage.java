@@ -78,6 +78,18 @@ public class ComicPage {
   @Setter
   private String hash;
 
+  @Column(name = "mime_type", length = 64, updatable = true, nullable = true)
+  @JsonIgnore
+  @Getter
+  @Setter
+  private String mimeType;
+
+  @Column(name = "perceptual_hash", updatable = true, nullable = true)
+  @JsonIgnore
+  @Getter
+  @Setter
+  private Long perceptualHash;
+
   @Column(name = "page_number", nullable = false, updatable = true)
   @JsonProperty("pageNumber")
   @JsonView({View.ComicDetailsView.class})
@@ -0,0 +1,56 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.model.comicpages;
+
+import java.util.Objects;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <code>PageContentDetails</code> holds the details needed to serve the content of a page: the
+ * comic book file it is in, its filename within that file, its hash and its stored mime type.
+ *
+ * @author Darryl L. Pierce
+ */
+@AllArgsConstructor
+public class PageContentDetails {
+  @Getter private String comicFilename;
+
+  @Getter private String pageFilename;
+
+  @Getter private String hash;
+
+  @Getter private String mimeType;
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) return true;
+    if (o == null || getClass() != o.getClass()) return false;
+    final PageContentDetails that = (PageContentDetails) o;
+    return Objects.equals(comicFilename, that.comicFilename)
+        && Objects.equals(pageFilename, that.pageFilename)
+        && Objects.equals(hash, that.hash)
+        && Objects.equals(mimeType, that.mimeType);
+  }
+
+  @Override
+  public int hashCode() {
+    return Objects.hash(comicFilename, pageFilename, hash, mimeType);
+  }
+}
@@ -40,6 +40,7 @@ public class ProcessComicBooksStatus {
   public static final String MOVE_COMIC_FILES_STEP = "move-comic-files-step";
   public static final String UPDATE_METADATA_STEP = "update-metadata-step";
   public static final String RECREATE_COMIC_FILE_STEP = "recreating-comic-file-step";
+  public static final String RECONCILE_LIBRARY_STEP = "reconcile-library-step";
 
   @JsonProperty("active")
   @JsonView(View.GenericObjectView.class)
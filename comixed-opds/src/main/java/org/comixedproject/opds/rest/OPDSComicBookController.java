@@ -20,15 +20,11 @@ package org.comixedproject.opds.rest;
 
 import io.micrometer.core.annotation.Timed;
 import jakarta.servlet.http.HttpServletRequest;
-import java.awt.image.BufferedImage;
+import jakarta.servlet.http.HttpSession;
 import java.io.*;
-import java.util.Arrays;
+import java.security.Principal;
 import java.util.Objects;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
-import javax.imageio.ImageIO;
 import lombok.extern.log4j.Log4j2;
-import org.apache.commons.io.FileUtils;
 import org.apache.commons.io.IOUtils;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
@@ -38,9 +34,11 @@ import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.opds.OPDSException;
 import org.comixedproject.service.comicbooks.ComicBookException;
 import org.comixedproject.service.comicbooks.ComicBookService;
-import org.imgscalr.Scalr;
+import org.comixedproject.service.comicpages.CachedPageContent;
+import org.comixedproject.service.comicpages.ComicPageException;
+import org.comixedproject.service.comicpages.PageCacheService;
+import org.comixedproject.service.comicpages.PageRenditionService;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -48,6 +46,8 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * <code>OPDSComicController</code> provides REST APIs for retrieving comics via OPDS.
@@ -61,12 +61,15 @@ public class OPDSComicBookController {
   @Autowired private WebResponseEncoder webResponseEncoder;
   @Autowired private ComicBookAdaptor comicBookAdaptor;
   @Autowired private FileTypeAdaptor fileTypeAdaptor;
-
-  private Pattern pattern = Pattern.compile("bytes=([\\d]*)-([\\d]*)");
+  @Autowired private PageCacheService pageCacheService;
+  @Autowired private PageRenditionService pageRenditionService;
 
   /**
    * Retrieves a specific comic by record id.
    *
+   * <p>The file is streamed directly from disk, with any requested byte ranges honored, so that
+   * readers can resume or seek within large archives.
+   *
    * @param request the request
    * @param id the record id
    * @param filename the filename
@@ -75,7 +78,7 @@ public class OPDSComicBookController {
    */
   @GetMapping(value = "/opds/comics/{id}/content/{filename}")
   @Timed(value = "comixed.opds.comic-book.download")
-  public ResponseEntity<InputStreamResource> downloadComic(
+  public ResponseEntity<StreamingResponseBody> downloadComic(
       final HttpServletRequest request,
       @PathVariable("id") Long id,
       @PathVariable("filename") final String filename)
@@ -83,43 +86,11 @@ public class OPDSComicBookController {
     try {
       log.info("Downloading comicBook: id={} filename={}", id, filename);
       ComicBook comicBook = this.comicBookService.getComic(id);
-      long start = 0L;
-      long finish = comicBook.getComicDetail().getFile().length();
-      final long length = finish;
       log.debug("Returning encoded file: {}", comicBook.getComicDetail().getFilename());
-      final String rangeHeader = request.getHeader(HttpHeaders.RANGE);
-      if (Objects.nonNull(rangeHeader)) {
-        final Matcher matches = this.pattern.matcher(rangeHeader);
-        if (matches.matches()) {
-          final String left = matches.group(1);
-          final String right = matches.group(2);
-          if (StringUtils.hasLength(left) && StringUtils.hasLength(right)) {
-            start = Long.valueOf(left);
-            finish = Long.valueOf(right);
-          } else if (StringUtils.hasLength(left)) {
-            start = Long.valueOf(left);
-          } else if (StringUtils.hasLength(right)) {
-            finish = Long.valueOf(right);
-          }
-        }
-      }
-
-      log.debug("Range requested: {}-{}", start, finish);
-
-      if (start > finish || start > length || finish > length) {
-        throw new OPDSException("Asking for more data than the file contains");
-      }
-
-      final byte[] content =
-          Arrays.copyOfRange(
-              FileUtils.readFileToByteArray(comicBook.getComicDetail().getFile()),
-              Math.toIntExact(start),
-              Math.toIntExact(finish));
-      return this.webResponseEncoder.encode(
-          (int) start,
-          (int) finish,
-          content.length,
-          new InputStreamResource(new ByteArrayInputStream(content)),
+      return this.webResponseEncoder.encodeFile(
+          request.getHeader(HttpHeaders.RANGE),
+          request.getHeader(HttpHeaders.IF_RANGE),
+          comicBook.getComicDetail().getFile(),
           comicBook.getComicDetail().getBaseFilename(),
           MediaType.parseMediaType(comicBook.getComicDetail().getArchiveType().getMimeType()));
     } catch (ComicBookException | IOException error) {
@@ -130,6 +101,13 @@ public class OPDSComicBookController {
   /**
    * Loads a single page from a comic.
    *
+   * <p>The page's hash, along with the width when the page is scaled, is used as its entity tag, so
+   * a client that already has the page is sent a not modified response without the content being
+   * loaded.
+   *
+   * @param webRequest the web request
+   * @param request the servlet request
+   * @param principal the user principal
    * @param id the comic id
    * @param index the page index
    * @param maxWidth the max width
@@ -139,6 +117,9 @@ public class OPDSComicBookController {
   @GetMapping(value = "/opds/comics/{id}/pages/{index}/{maxWidth}")
   @Timed(value = "comixed.opds.comic-book.cover")
   public ResponseEntity<byte[]> getPageByComicAndIndexWithMaxWidth(
+      final WebRequest webRequest,
+      final HttpServletRequest request,
+      final Principal principal,
       @PathVariable("id") long id,
       @PathVariable("index") int index,
       @PathVariable("maxWidth") int maxWidth)
@@ -148,39 +129,61 @@ public class OPDSComicBookController {
       var comic = this.comicBookService.getComic(id);
       byte[] content = null;
       String filename = null;
+      String type = null;
       if (index >= comic.getPages().size()) {
         log.trace("Returning page placeholder");
         content =
             IOUtils.toByteArray(this.getClass().getResourceAsStream("/images/pagemissing.png"));
         filename = "missingpage.png";
       } else {
-        log.trace("Loading comic book page content");
         var page = comic.getPages().get(index);
-        content = this.comicBookAdaptor.loadPageContent(comic, index);
-
-        if (maxWidth > 0 && page.getWidth() > maxWidth) {
-          log.trace("Scaling page");
-          ByteArrayInputStream bais = new ByteArrayInputStream(content);
-          BufferedImage originalImage = ImageIO.read(bais);
-          BufferedImage resizedImage =
-              Scalr.resize(
-                  originalImage, Scalr.Method.ULTRA_QUALITY, Scalr.Mode.FIT_TO_WIDTH, maxWidth);
-          ByteArrayOutputStream baos = new ByteArrayOutputStream();
-          ImageIO.write(resizedImage, "jpg", baos);
-          baos.flush();
-          content = baos.toByteArray();
-
-          baos.close();
+        final boolean scaled = this.pageRenditionService.isScaled(page, maxWidth);
+        if (StringUtils.hasLength(page.getHash())
+            && webRequest.checkNotModified(
+                scaled ? page.getHash() + "-" + maxWidth : page.getHash())) {
+          log.debug("Page not modified: id={} index={}", id, index);
+          return null;
+        }
+        if (scaled) {
+          log.trace("Getting scaled page");
+          content = this.pageRenditionService.getRendition(page, maxWidth);
+          type = MediaType.IMAGE_JPEG_VALUE;
+        } else {
+          final CachedPageContent cached = this.pageCacheService.getCachedContent(page.getHash());
+          if (Objects.nonNull(cached)) {
+            log.trace("Using cached page content");
+            content = cached.getContent();
+          } else {
+            log.trace("Loading comic book page content");
+            content = this.comicBookAdaptor.loadPageContent(comic, index);
+          }
+          type = page.getMimeType();
+          // scaled requests include feed thumbnails, which would read ahead every comic listed
+          if (Objects.nonNull(page.getComicPageId())) {
+            this.pageCacheService.readAhead(
+                this.doGetReader(principal, request), page.getComicPageId());
+          }
         }
         filename = page.getFilename();
       }
 
-      final InputStream baos = new ByteArrayInputStream(content);
-      String type = this.fileTypeAdaptor.getMimeTypeFor(baos);
+      if (!StringUtils.hasLength(type)) {
+        log.trace("Detecting page mime type");
+        final InputStream baos = new ByteArrayInputStream(content);
+        type = this.fileTypeAdaptor.getMimeTypeFor(baos);
+      }
       return this.webResponseEncoder.encode(
           content.length, content, filename, MediaType.valueOf(type));
-    } catch (ComicBookException | IOException | AdaptorException error) {
+    } catch (ComicBookException | ComicPageException | IOException | AdaptorException error) {
       throw new OPDSException("Failed to get comic page: id=" + id + " index=" + index, error);
     }
   }
+
+  private String doGetReader(final Principal principal, final HttpServletRequest request) {
+    if (Objects.nonNull(principal)) {
+      return principal.getName();
+    }
+    final HttpSession session = request.getSession(false);
+    return Objects.nonNull(session) ? session.getId() : request.getRemoteAddr();
+  }
 }
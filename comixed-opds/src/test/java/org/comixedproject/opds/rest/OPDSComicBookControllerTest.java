@@ -19,6 +19,7 @@
 package org.comixedproject.opds.rest;
 
 import static junit.framework.TestCase.assertNotNull;
+import static junit.framework.TestCase.assertNull;
 import static junit.framework.TestCase.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -27,6 +28,7 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.security.Principal;
 import java.util.ArrayList;
 import java.util.List;
 import org.apache.commons.io.IOUtils;
@@ -42,6 +44,10 @@ import org.comixedproject.opds.OPDSException;
 import org.comixedproject.opds.OPDSUtils;
 import org.comixedproject.service.comicbooks.ComicBookException;
 import org.comixedproject.service.comicbooks.ComicBookService;
+import org.comixedproject.service.comicpages.CachedPageContent;
+import org.comixedproject.service.comicpages.ComicPageException;
+import org.comixedproject.service.comicpages.PageCacheService;
+import org.comixedproject.service.comicpages.PageRenditionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -49,10 +55,11 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
-import org.springframework.core.io.InputStreamResource;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -65,7 +72,15 @@ class OPDSComicBookControllerTest {
   private static final String TEST_IMAGE_FILE = "src/test/resources/" + TEST_PAGE_NAME;
   private static final String TEST_MIME_TYPE = "image";
   private static final String TEST_MIME_SUBTYPE = "png";
+  private static final String TEST_STORED_MIME_TYPE = "image/webp";
   private static final int TEST_PAGE_WIDTH = 1024;
+  private static final String TEST_PAGE_HASH = "0123456789ABCDEF0123456789ABCDEF";
+  private static final byte[] TEST_RENDITION_CONTENT = "The rendition content".getBytes();
+  private static final long TEST_PAGE_ID = 129L;
+  private static final String TEST_EMAIL = "comixedreader@comixedproject.org";
+  private static final String TEST_REMOTE_ADDRESS = "192.168.1.17";
+  private static final String TEST_RANGE = "bytes=0-99,200-";
+  private static final String TEST_IF_RANGE = "\"etag-value\"";
 
   @InjectMocks private OPDSComicBookController controller;
   @Mock private ComicBookService comicBookService;
@@ -75,15 +90,16 @@ class OPDSComicBookControllerTest {
   @Mock private WebResponseEncoder webResponseEncoder;
   @Mock private ComicBook comicBook;
   @Mock private ComicDetail comicDetail;
-  @Mock private ResponseEntity<InputStreamResource> encodedInputStreamResourceResponse;
+  @Mock private ResponseEntity<StreamingResponseBody> encodedStreamingResponse;
   @Mock private ComicPage page;
   @Mock private ResponseEntity<byte[]> encodedByteArrayResponse;
   @Mock private HttpServletRequest request;
-
-  @Captor private ArgumentCaptor<InputStreamResource> inputStreamResourceArgumentCaptor;
+  @Mock private PageCacheService pageCacheService;
+  @Mock private WebRequest webRequest;
+  @Mock private PageRenditionService pageRenditionService;
+  @Mock private Principal principal;
 
   private File comicFile = new File("src/test/resources/example.cbz");
-  private long fileLength = 0L;
   private List<ComicPage> pageList = new ArrayList<>();
   private byte[] imageContent;
 
@@ -96,12 +112,13 @@ class OPDSComicBookControllerTest {
     Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
     Mockito.when(page.getFilename()).thenReturn(TEST_PAGE_NAME);
     Mockito.when(page.getWidth()).thenReturn(TEST_PAGE_WIDTH);
+    Mockito.when(page.getComicPageId()).thenReturn(TEST_PAGE_ID);
+    Mockito.when(principal.getName()).thenReturn(TEST_EMAIL);
+    Mockito.when(request.getRemoteAddr()).thenReturn(TEST_REMOTE_ADDRESS);
     pageList.add(page);
 
     final File imageFile = new File(TEST_IMAGE_FILE);
     this.imageContent = IOUtils.readFully(new FileInputStream(imageFile), (int) imageFile.length());
-
-    this.fileLength = comicFile.length();
   }
 
   @Test
@@ -116,9 +133,16 @@ class OPDSComicBookControllerTest {
   }
 
   @Test
-  void downloadComic_invalidRange() {
-    Mockito.when(request.getHeader(HttpHeaders.RANGE))
-        .thenReturn(String.format("bytes=%d-%d", this.fileLength, 0));
+  void downloadComic_encodingFails() throws IOException {
+    Mockito.when(comicDetail.getArchiveType()).thenReturn(TEST_ARCHIVE_TYPE);
+    Mockito.when(
+            webResponseEncoder.encodeFile(
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.any(File.class),
+                Mockito.anyString(),
+                Mockito.any(MediaType.class)))
+        .thenThrow(IOException.class);
 
     assertThrows(
         OPDSException.class,
@@ -128,178 +152,191 @@ class OPDSComicBookControllerTest {
   }
 
   @Test
-  void downloadComic_withRange() throws ComicBookException, OPDSException {
-    final int start = (int) (this.fileLength / 2);
-
-    Mockito.when(request.getHeader(HttpHeaders.RANGE))
-        .thenReturn(String.format("bytes=%d-%d", start, this.fileLength));
-
-    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
+  void downloadComic() throws ComicBookException, OPDSException, IOException {
+    Mockito.when(request.getHeader(HttpHeaders.RANGE)).thenReturn(TEST_RANGE);
+    Mockito.when(request.getHeader(HttpHeaders.IF_RANGE)).thenReturn(TEST_IF_RANGE);
     Mockito.when(comicDetail.getArchiveType()).thenReturn(TEST_ARCHIVE_TYPE);
-
     Mockito.when(
-            webResponseEncoder.encode(
-                Mockito.anyInt(),
-                Mockito.anyInt(),
-                Mockito.anyInt(),
-                inputStreamResourceArgumentCaptor.capture(),
+            webResponseEncoder.encodeFile(
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.any(File.class),
                 Mockito.anyString(),
                 Mockito.any(MediaType.class)))
-        .thenReturn(encodedInputStreamResourceResponse);
+        .thenReturn(encodedStreamingResponse);
 
-    final ResponseEntity<InputStreamResource> result =
+    final ResponseEntity<StreamingResponseBody> result =
         controller.downloadComic(
             request, TEST_COMIC_ID, opdsUtils.urlEncodeString(TEST_COMIC_FILENAME));
 
     assertNotNull(result);
-    assertSame(encodedInputStreamResourceResponse, result);
-
-    final InputStreamResource inputStreamResource = inputStreamResourceArgumentCaptor.getValue();
-    assertNotNull(inputStreamResource);
+    assertSame(encodedStreamingResponse, result);
 
     Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
     Mockito.verify(webResponseEncoder, Mockito.times(1))
-        .encode(
-            start,
-            (int) this.fileLength,
-            (int) this.fileLength - start,
-            inputStreamResource,
+        .encodeFile(
+            TEST_RANGE,
+            TEST_IF_RANGE,
+            comicFile,
             TEST_COMIC_FILENAME,
             MediaType.parseMediaType(TEST_ARCHIVE_TYPE.getMimeType()));
   }
 
   @Test
-  void downloadComic_withRangeStart() throws ComicBookException, OPDSException {
-    final int start = (int) (this.fileLength / 2);
+  void getPageByComicAndIndexWithMaxWidthInvalidId() throws ComicBookException {
+    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenThrow(ComicBookException.class);
 
-    Mockito.when(request.getHeader(HttpHeaders.RANGE))
-        .thenReturn(String.format("bytes=%d-", start));
+    assertThrows(
+        OPDSException.class,
+        () ->
+            controller.getPageByComicAndIndexWithMaxWidth(
+                webRequest, request, principal, TEST_COMIC_ID, TEST_PAGE_INDEX, TEST_PAGE_WIDTH));
+  }
 
+  @Test
+  void getPageByComicAndIndexWithMaxWidthInvalidPageIndex()
+      throws ComicBookException, OPDSException {
     Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
-    Mockito.when(comicDetail.getArchiveType()).thenReturn(TEST_ARCHIVE_TYPE);
-
+    Mockito.when(fileTypeAdaptor.getMimeTypeFor(Mockito.any()))
+        .thenReturn(String.format("%s/%s", TEST_MIME_TYPE, TEST_MIME_SUBTYPE));
     Mockito.when(
             webResponseEncoder.encode(
                 Mockito.anyInt(),
-                Mockito.anyInt(),
-                Mockito.anyInt(),
-                inputStreamResourceArgumentCaptor.capture(),
+                Mockito.any(byte[].class),
                 Mockito.anyString(),
                 Mockito.any(MediaType.class)))
-        .thenReturn(encodedInputStreamResourceResponse);
+        .thenReturn(encodedByteArrayResponse);
 
-    final ResponseEntity<InputStreamResource> result =
-        controller.downloadComic(
-            request, TEST_COMIC_ID, opdsUtils.urlEncodeString(TEST_COMIC_FILENAME));
+    final ResponseEntity<byte[]> result =
+        controller.getPageByComicAndIndexWithMaxWidth(
+            webRequest, request, principal, TEST_COMIC_ID, pageList.size() + 1, TEST_PAGE_WIDTH);
 
     assertNotNull(result);
-    assertSame(encodedInputStreamResourceResponse, result);
-
-    final InputStreamResource inputStreamResource = inputStreamResourceArgumentCaptor.getValue();
-    assertNotNull(inputStreamResource);
+    assertSame(encodedByteArrayResponse, result);
 
     Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
-    Mockito.verify(webResponseEncoder, Mockito.times(1))
-        .encode(
-            start,
-            (int) this.fileLength,
-            (int) this.fileLength - start,
-            inputStreamResource,
-            TEST_COMIC_FILENAME,
-            MediaType.parseMediaType(TEST_ARCHIVE_TYPE.getMimeType()));
   }
 
   @Test
-  void downloadComic_withRangeEnd() throws ComicBookException, OPDSException {
-    Mockito.when(request.getHeader(HttpHeaders.RANGE))
-        .thenReturn(String.format("bytes=-%d", this.fileLength));
-
+  void getPageByComicAndIndexWithMaxWidth()
+      throws ComicBookException, OPDSException, AdaptorException {
     Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
-    Mockito.when(comicDetail.getArchiveType()).thenReturn(TEST_ARCHIVE_TYPE);
-
+    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
+        .thenReturn(imageContent);
+    Mockito.when(fileTypeAdaptor.getMimeTypeFor(Mockito.any(InputStream.class)))
+        .thenReturn(String.format("%s/%s", TEST_MIME_TYPE, TEST_MIME_SUBTYPE));
     Mockito.when(
             webResponseEncoder.encode(
                 Mockito.anyInt(),
-                Mockito.anyInt(),
-                Mockito.anyInt(),
-                inputStreamResourceArgumentCaptor.capture(),
+                Mockito.any(byte[].class),
                 Mockito.anyString(),
                 Mockito.any(MediaType.class)))
-        .thenReturn(encodedInputStreamResourceResponse);
+        .thenReturn(encodedByteArrayResponse);
 
-    final ResponseEntity<InputStreamResource> result =
-        controller.downloadComic(
-            request, TEST_COMIC_ID, opdsUtils.urlEncodeString(TEST_COMIC_FILENAME));
+    final ResponseEntity<byte[]> result =
+        controller.getPageByComicAndIndexWithMaxWidth(
+            webRequest, request, principal, TEST_COMIC_ID, 0, TEST_PAGE_WIDTH + 1);
 
     assertNotNull(result);
-    assertSame(encodedInputStreamResourceResponse, result);
-
-    final InputStreamResource inputStreamResource = inputStreamResourceArgumentCaptor.getValue();
-    assertNotNull(inputStreamResource);
+    assertSame(encodedByteArrayResponse, result);
 
     Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
-    Mockito.verify(webResponseEncoder, Mockito.times(1))
-        .encode(
-            0,
-            (int) this.fileLength,
-            (int) this.fileLength,
-            inputStreamResource,
-            TEST_COMIC_FILENAME,
-            MediaType.parseMediaType(TEST_ARCHIVE_TYPE.getMimeType()));
+    Mockito.verify(comicBookAdaptor, Mockito.times(1)).loadPageContent(comicBook, 0);
+    Mockito.verify(pageRenditionService, Mockito.never())
+        .getRendition(Mockito.any(ComicPage.class), Mockito.anyInt());
+    Mockito.verify(pageCacheService, Mockito.times(1)).readAhead(TEST_EMAIL, TEST_PAGE_ID);
   }
 
   @Test
-  void downloadComic() throws ComicBookException, OPDSException {
+  void getPageByComicAndIndexWithMaxWidth_noPrincipal()
+      throws ComicBookException, OPDSException, AdaptorException {
     Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
-    Mockito.when(comicDetail.getArchiveType()).thenReturn(TEST_ARCHIVE_TYPE);
-
+    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
+        .thenReturn(imageContent);
+    Mockito.when(fileTypeAdaptor.getMimeTypeFor(Mockito.any(InputStream.class)))
+        .thenReturn(String.format("%s/%s", TEST_MIME_TYPE, TEST_MIME_SUBTYPE));
+    Mockito.when(request.getSession(Mockito.anyBoolean())).thenReturn(null);
     Mockito.when(
             webResponseEncoder.encode(
                 Mockito.anyInt(),
-                Mockito.anyInt(),
-                Mockito.anyInt(),
-                inputStreamResourceArgumentCaptor.capture(),
+                Mockito.any(byte[].class),
                 Mockito.anyString(),
                 Mockito.any(MediaType.class)))
-        .thenReturn(encodedInputStreamResourceResponse);
+        .thenReturn(encodedByteArrayResponse);
 
-    final ResponseEntity<InputStreamResource> result =
-        controller.downloadComic(
-            request, TEST_COMIC_ID, opdsUtils.urlEncodeString(TEST_COMIC_FILENAME));
+    final ResponseEntity<byte[]> result =
+        controller.getPageByComicAndIndexWithMaxWidth(
+            webRequest, request, null, TEST_COMIC_ID, 0, TEST_PAGE_WIDTH + 1);
 
     assertNotNull(result);
-    assertSame(encodedInputStreamResourceResponse, result);
+    assertSame(encodedByteArrayResponse, result);
 
-    final InputStreamResource inputStreamResource = inputStreamResourceArgumentCaptor.getValue();
-    assertNotNull(inputStreamResource);
+    Mockito.verify(request, Mockito.times(1)).getSession(false);
+    Mockito.verify(pageCacheService, Mockito.times(1)).readAhead(TEST_REMOTE_ADDRESS, TEST_PAGE_ID);
+  }
 
-    Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
+  @Test
+  void getPageByComicAndIndexWithMaxWidth_scaled()
+      throws ComicBookException, OPDSException, ComicPageException, AdaptorException {
+    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
+    Mockito.when(pageRenditionService.isScaled(Mockito.any(ComicPage.class), Mockito.anyInt()))
+        .thenReturn(true);
+    Mockito.when(pageRenditionService.getRendition(Mockito.any(ComicPage.class), Mockito.anyInt()))
+        .thenReturn(TEST_RENDITION_CONTENT);
+    Mockito.when(
+            webResponseEncoder.encode(
+                Mockito.anyInt(),
+                Mockito.any(byte[].class),
+                Mockito.anyString(),
+                Mockito.any(MediaType.class)))
+        .thenReturn(encodedByteArrayResponse);
+
+    final ResponseEntity<byte[]> result =
+        controller.getPageByComicAndIndexWithMaxWidth(
+            webRequest, request, principal, TEST_COMIC_ID, 0, TEST_PAGE_WIDTH - 1);
+
+    assertNotNull(result);
+    assertSame(encodedByteArrayResponse, result);
+
+    Mockito.verify(pageRenditionService, Mockito.times(1)).isScaled(page, TEST_PAGE_WIDTH - 1);
+    Mockito.verify(pageRenditionService, Mockito.times(1)).getRendition(page, TEST_PAGE_WIDTH - 1);
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt());
+    Mockito.verify(pageCacheService, Mockito.never()).readAhead(Mockito.any(), Mockito.anyLong());
     Mockito.verify(webResponseEncoder, Mockito.times(1))
         .encode(
-            0,
-            (int) this.fileLength,
-            (int) this.fileLength,
-            inputStreamResource,
-            TEST_COMIC_FILENAME,
-            MediaType.parseMediaType(TEST_ARCHIVE_TYPE.getMimeType()));
+            TEST_RENDITION_CONTENT.length,
+            TEST_RENDITION_CONTENT,
+            TEST_PAGE_NAME,
+            MediaType.IMAGE_JPEG);
   }
 
   @Test
-  void getPageByComicAndIndexWithMaxWidthInvalidId() throws ComicBookException {
-    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenThrow(ComicBookException.class);
+  void getPageByComicAndIndexWithMaxWidth_scalingFails()
+      throws ComicBookException, ComicPageException {
+    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
+    Mockito.when(pageRenditionService.isScaled(Mockito.any(ComicPage.class), Mockito.anyInt()))
+        .thenReturn(true);
+    Mockito.when(pageRenditionService.getRendition(Mockito.any(ComicPage.class), Mockito.anyInt()))
+        .thenThrow(ComicPageException.class);
 
     assertThrows(
         OPDSException.class,
         () ->
             controller.getPageByComicAndIndexWithMaxWidth(
-                TEST_COMIC_ID, TEST_PAGE_INDEX, TEST_PAGE_WIDTH));
+                webRequest, request, principal, TEST_COMIC_ID, 0, TEST_PAGE_WIDTH - 1));
   }
 
   @Test
-  void getPageByComicAndIndexWithMaxWidthInvalidPageIndex()
-      throws ComicBookException, OPDSException {
+  void getPageByComicAndIndexWithMaxWidth_cached()
+      throws ComicBookException, OPDSException, AdaptorException {
     Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
-    Mockito.when(fileTypeAdaptor.getMimeTypeFor(Mockito.any()))
+    Mockito.when(page.getHash()).thenReturn(TEST_PAGE_HASH);
+    Mockito.when(pageCacheService.getCachedContent(Mockito.anyString()))
+        .thenReturn(
+            new CachedPageContent(
+                imageContent, String.format("%s/%s", TEST_MIME_TYPE, TEST_MIME_SUBTYPE)));
+    Mockito.when(fileTypeAdaptor.getMimeTypeFor(Mockito.any(InputStream.class)))
         .thenReturn(String.format("%s/%s", TEST_MIME_TYPE, TEST_MIME_SUBTYPE));
     Mockito.when(
             webResponseEncoder.encode(
@@ -311,22 +348,29 @@ class OPDSComicBookControllerTest {
 
     final ResponseEntity<byte[]> result =
         controller.getPageByComicAndIndexWithMaxWidth(
-            TEST_COMIC_ID, pageList.size() + 1, TEST_PAGE_WIDTH);
+            webRequest, request, principal, TEST_COMIC_ID, 0, TEST_PAGE_WIDTH + 1);
 
     assertNotNull(result);
     assertSame(encodedByteArrayResponse, result);
 
-    Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
+    Mockito.verify(pageCacheService, Mockito.times(1)).getCachedContent(TEST_PAGE_HASH);
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt());
+    Mockito.verify(webResponseEncoder, Mockito.times(1))
+        .encode(
+            Mockito.eq(imageContent.length),
+            Mockito.eq(imageContent),
+            Mockito.anyString(),
+            Mockito.any(MediaType.class));
   }
 
   @Test
-  void getPageByComicAndIndexWithMaxWidth()
+  void getPageByComicAndIndexWithMaxWidth_storedMimeType()
       throws ComicBookException, OPDSException, AdaptorException {
     Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
+    Mockito.when(page.getMimeType()).thenReturn(TEST_STORED_MIME_TYPE);
     Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
         .thenReturn(imageContent);
-    Mockito.when(fileTypeAdaptor.getMimeTypeFor(Mockito.any(InputStream.class)))
-        .thenReturn(String.format("%s/%s", TEST_MIME_TYPE, TEST_MIME_SUBTYPE));
     Mockito.when(
             webResponseEncoder.encode(
                 Mockito.anyInt(),
@@ -336,12 +380,57 @@ class OPDSComicBookControllerTest {
         .thenReturn(encodedByteArrayResponse);
 
     final ResponseEntity<byte[]> result =
-        controller.getPageByComicAndIndexWithMaxWidth(TEST_COMIC_ID, 0, TEST_PAGE_WIDTH - 1);
+        controller.getPageByComicAndIndexWithMaxWidth(
+            webRequest, request, principal, TEST_COMIC_ID, 0, TEST_PAGE_WIDTH + 1);
 
-    assertNotNull(result);
     assertSame(encodedByteArrayResponse, result);
 
-    Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
-    Mockito.verify(comicBookAdaptor, Mockito.times(1)).loadPageContent(comicBook, 0);
+    Mockito.verify(fileTypeAdaptor, Mockito.never()).getMimeTypeFor(Mockito.any());
+    Mockito.verify(webResponseEncoder, Mockito.times(1))
+        .encode(
+            Mockito.eq(imageContent.length),
+            Mockito.eq(imageContent),
+            Mockito.anyString(),
+            Mockito.eq(MediaType.valueOf(TEST_STORED_MIME_TYPE)));
+  }
+
+  @Test
+  void getPageByComicAndIndexWithMaxWidth_notModified()
+      throws ComicBookException, OPDSException, AdaptorException {
+    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
+    Mockito.when(page.getHash()).thenReturn(TEST_PAGE_HASH);
+    Mockito.when(webRequest.checkNotModified(Mockito.anyString())).thenReturn(true);
+
+    final ResponseEntity<byte[]> result =
+        controller.getPageByComicAndIndexWithMaxWidth(
+            webRequest, request, principal, TEST_COMIC_ID, 0, TEST_PAGE_WIDTH + 1);
+
+    assertNull(result);
+
+    Mockito.verify(webRequest, Mockito.times(1)).checkNotModified(TEST_PAGE_HASH);
+    Mockito.verify(pageCacheService, Mockito.never()).getCachedContent(Mockito.anyString());
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt());
+  }
+
+  @Test
+  void getPageByComicAndIndexWithMaxWidth_scaledNotModified()
+      throws ComicBookException, OPDSException, ComicPageException {
+    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
+    Mockito.when(pageRenditionService.isScaled(Mockito.any(ComicPage.class), Mockito.anyInt()))
+        .thenReturn(true);
+    Mockito.when(page.getHash()).thenReturn(TEST_PAGE_HASH);
+    Mockito.when(webRequest.checkNotModified(Mockito.anyString())).thenReturn(true);
+
+    final ResponseEntity<byte[]> result =
+        controller.getPageByComicAndIndexWithMaxWidth(
+            webRequest, request, principal, TEST_COMIC_ID, 0, TEST_PAGE_WIDTH - 1);
+
+    assertNull(result);
+
+    Mockito.verify(webRequest, Mockito.times(1))
+        .checkNotModified(TEST_PAGE_HASH + "-" + (TEST_PAGE_WIDTH - 1));
+    Mockito.verify(pageRenditionService, Mockito.never())
+        .getRendition(Mockito.any(ComicPage.class), Mockito.anyInt());
   }
 }
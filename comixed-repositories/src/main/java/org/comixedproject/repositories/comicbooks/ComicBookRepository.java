@@ -621,6 +621,56 @@ public interface ComicBookRepository extends JpaRepository<ComicBook, Long> {
   @Query("SELECT d.filename FROM ComicDetail d WHERE d.missing = :missing")
   Set<String> getComicFilenames(@Param("missing") boolean missing);
 
+  /**
+   * Clears the missing flag for the comic books with the given filenames.
+   *
+   * @param filenames the filenames
+   * @return the number of comic books updated
+   */
+  @Modifying
+  @Query(
+      "UPDATE ComicDetail d SET d.missing = false WHERE d.missing = true AND d.filename IN (:filenames)")
+  int markFilenamesAsFound(@Param("filenames") List<String> filenames);
+
+  /**
+   * Sets the missing flag for the comic books with the given filenames. Comic books waiting to have
+   * their file recreated are skipped.
+   *
+   * @param filenames the filenames
+   * @return the number of comic books updated
+   */
+  @Modifying
+  @Query(
+      "UPDATE ComicDetail d SET d.missing = true WHERE d.missing = false AND d.filename IN (:filenames) AND d.comicBook.comicBookId IN (SELECT c.comicBookId FROM ComicBook c WHERE c.targetArchiveType IS NULL)")
+  int markFilenamesAsMissing(@Param("filenames") List<String> filenames);
+
+  /**
+   * Updates the last modified date for the missing comic books with the given filenames.
+   *
+   * @param filenames the filenames
+   * @param modifiedOn the modified date
+   * @return the number of comic books updated
+   */
+  @Modifying
+  @Query(
+      "UPDATE ComicBook c SET c.lastModifiedOn = :modifiedOn WHERE c.comicDetail.comicDetailId IN (SELECT d.comicDetailId FROM ComicDetail d WHERE d.missing = true AND d.filename IN (:filenames))")
+  int touchMissingFilenames(
+      @Param("filenames") List<String> filenames, @Param("modifiedOn") Date modifiedOn);
+
+  /**
+   * Updates the last modified date for the comic books with the given filenames that are not
+   * missing. Comic books waiting to have their file recreated are skipped.
+   *
+   * @param filenames the filenames
+   * @param modifiedOn the modified date
+   * @return the number of comic books updated
+   */
+  @Modifying
+  @Query(
+      "UPDATE ComicBook c SET c.lastModifiedOn = :modifiedOn WHERE c.targetArchiveType IS NULL AND c.comicDetail.comicDetailId IN (SELECT d.comicDetailId FROM ComicDetail d WHERE d.missing = false AND d.filename IN (:filenames))")
+  int touchPresentFilenames(
+      @Param("filenames") List<String> filenames, @Param("modifiedOn") Date modifiedOn);
+
   /**
    * Returns the number of comic books that are marked for an can be batch scraped.
    *
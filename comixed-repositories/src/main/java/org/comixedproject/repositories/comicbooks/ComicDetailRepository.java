@@ -400,6 +400,38 @@ public interface ComicDetailRepository extends JpaRepository<ComicDetail, Long>
    */
   boolean existsByFilenameIgnoreCase(@Param("filename") String filename);
 
+  /**
+   * Returns those of the provided filenames that have an existing entry.
+   *
+   * @param filenames the filenames
+   * @return the filenames found
+   * @see #getExistingFilenamesIgnoreCase(List)
+   */
+  @Query("SELECT d.filename FROM ComicDetail d WHERE d.filename IN (:filenames)")
+  Set<String> getExistingFilenames(@Param("filenames") List<String> filenames);
+
+  /**
+   * Returns those of the provided filenames that have an existing entry, ignoring casing. The
+   * filenames must be passed in and are returned in lower case.
+   *
+   * @param filenames the lower case filenames
+   * @return the lower case filenames found
+   * @see #getExistingFilenames(List)
+   */
+  @Query("SELECT LOWER(d.filename) FROM ComicDetail d WHERE LOWER(d.filename) IN (:filenames)")
+  Set<String> getExistingFilenamesIgnoreCase(@Param("filenames") List<String> filenames);
+
+  /**
+   * Returns comics whose file is missing, that have a recorded fingerprint, and whose file size is
+   * one of the given sizes.
+   *
+   * @param fileSizes the file sizes
+   * @return the comics
+   */
+  @Query(
+      "SELECT d FROM ComicDetail d WHERE d.missing = true AND d.fileFingerprint IS NOT NULL AND d.fileSize IN (:fileSizes)")
+  List<ComicDetail> findMissingWithFingerprintBySize(@Param("fileSizes") Set<Long> fileSizes);
+
   @Query(
       "SELECT COUNT(DISTINCT t.comicDetail.comicDetailId) FROM ComicTag t WHERE t.type = :tagType AND t.value = :tagValue")
   long getComicCountForTagTypeAndValue(
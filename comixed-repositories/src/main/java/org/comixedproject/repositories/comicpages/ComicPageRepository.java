@@ -18,10 +18,13 @@
 
 package org.comixedproject.repositories.comicpages;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Set;
 import org.comixedproject.model.comicpages.ComicPage;
 import org.comixedproject.model.comicpages.DeletedPageAndComic;
+import org.comixedproject.model.comicpages.PageContentDetails;
+import org.comixedproject.model.comicpages.PerceptualHashEntry;
 import org.comixedproject.model.library.DuplicatePage;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -129,6 +132,16 @@ public interface ComicPageRepository extends JpaRepository<ComicPage, Long> {
       "SELECT DISTINCT p.hash FROM ComicPage p WHERE p.pageNumber = 0 AND p.hash IS NOT NULL AND length(p.hash) > 0")
   Set<String> findAllCoverPageHashes();
 
+  /**
+   * Returns the hashes for all cover pages wider than the given width.
+   *
+   * @param width the width
+   * @return the page hashes
+   */
+  @Query(
+      "SELECT DISTINCT p.hash FROM ComicPage p WHERE p.pageNumber = 0 AND p.hash IS NOT NULL AND length(p.hash) > 0 AND p.width > :width")
+  Set<String> findAllCoverPageHashesWiderThan(@Param("width") int width);
+
   /**
    * Marks all pages with a given hash to have an image cache entry created.
    *
@@ -138,6 +151,15 @@ public interface ComicPageRepository extends JpaRepository<ComicPage, Long> {
   @Query("UPDATE ComicPage p SET p.addingToCache = true WHERE p.hash = :hash")
   void markCoverPagesToHaveCacheEntryCreated(@Param("hash") String hash);
 
+  /**
+   * Marks all pages with any of the given hashes to have an image cache entry created.
+   *
+   * @param hashes the page hashes
+   */
+  @Modifying
+  @Query("UPDATE ComicPage p SET p.addingToCache = true WHERE p.hash IN :hashes")
+  void markAllCoverPagesToHaveCacheEntryCreated(@Param("hashes") Collection<String> hashes);
+
   /**
    * Returns the number of pages without a hash.
    *
@@ -167,6 +189,16 @@ public interface ComicPageRepository extends JpaRepository<ComicPage, Long> {
       "SELECT p.comicPageId FROM ComicPage p WHERE p.comicBook.comicBookId = :comicBookId AND p.pageNumber = 0")
   Long getPageIdForComicBookCover(@Param("comicBookId") long comicBookId);
 
+  /**
+   * Returns the hash for the cover page of a comic book.
+   *
+   * @param comicBookId the comic book id
+   * @return the page hash
+   */
+  @Query(
+      "SELECT p.hash FROM ComicPage p WHERE p.comicBook.comicBookId = :comicBookId AND p.pageNumber = 0")
+  String getHashForComicBookCover(@Param("comicBookId") long comicBookId);
+
   @Query("SELECT p.comicBook.comicDetail.filename FROM ComicPage p WHERE p.comicPageId = :pageId")
   String getComicFilenameForPage(@Param("pageId") Long pageId);
 
@@ -176,10 +208,60 @@ public interface ComicPageRepository extends JpaRepository<ComicPage, Long> {
   @Query("SELECT p.hash FROM ComicPage p WHERE p.comicPageId = :pageId")
   String getHashForPage(@Param("pageId") long pageId);
 
+  /**
+   * Returns the details needed to serve the content of a page.
+   *
+   * @param pageId the page id
+   * @return the page details, or null if the page was not found
+   */
+  @Query(
+      "SELECT new org.comixedproject.model.comicpages.PageContentDetails(p.comicBook.comicDetail.filename, p.filename, p.hash, p.mimeType) FROM ComicPage p WHERE p.comicPageId = :pageId")
+  PageContentDetails getPageContentDetails(@Param("pageId") long pageId);
+
+  /**
+   * Returns the pages that follow the given page in the same comic book, in page order.
+   *
+   * @param pageId the page id
+   * @param pageable the page detail
+   * @return the pages
+   */
+  @Query(
+      "SELECT p FROM ComicPage p, ComicPage q WHERE q.comicPageId = :pageId AND p.comicBook = q.comicBook AND p.pageNumber > q.pageNumber ORDER BY p.pageNumber")
+  List<ComicPage> findPagesFollowing(@Param("pageId") long pageId, Pageable pageable);
+
   @Query(
       "SELECT DISTINCT p.hash FROM ComicPage p WHERE p.hash IN (SELECT d.hash FROM ComicPage d GROUP BY d.hash HAVING COUNT(*) > 1)")
   List<String> getAllDuplicateHashes();
 
+  /**
+   * Returns each distinct page hash along with its perceptual hash.
+   *
+   * @return the hash entries
+   */
+  @Query(
+      "SELECT DISTINCT new org.comixedproject.model.comicpages.PerceptualHashEntry(p.hash, p.perceptualHash) FROM ComicPage p WHERE p.hash IS NOT NULL AND p.perceptualHash IS NOT NULL")
+  List<PerceptualHashEntry> getPerceptualHashes();
+
+  /**
+   * Returns each distinct blocked page hash along with its perceptual hash.
+   *
+   * @return the hash entries
+   */
+  @Query(
+      "SELECT DISTINCT new org.comixedproject.model.comicpages.PerceptualHashEntry(p.hash, p.perceptualHash) FROM ComicPage p WHERE p.perceptualHash IS NOT NULL AND p.hash IN (SELECT b.hash FROM BlockedHash b)")
+  List<PerceptualHashEntry> getBlockedPerceptualHashes();
+
+  /**
+   * Returns the perceptual hashes recorded for pages with the given hash.
+   *
+   * @param hash the page hash
+   * @param pageable the page detail
+   * @return the perceptual hashes
+   */
+  @Query(
+      "SELECT p.perceptualHash FROM ComicPage p WHERE p.hash = :hash AND p.perceptualHash IS NOT NULL")
+  List<Long> getPerceptualHashesForHash(@Param("hash") String hash, Pageable pageable);
+
   /**
    * Returns all pages for the given comic book.
    *
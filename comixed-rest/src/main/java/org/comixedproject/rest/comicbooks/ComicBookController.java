@@ -22,11 +22,14 @@ import static org.comixedproject.rest.comicbooks.ComicBookSelectionController.LI
 
 import com.fasterxml.jackson.annotation.JsonView;
 import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
 import java.security.Principal;
 import java.util.ArrayList;
 import java.util.List;
 import lombok.extern.log4j.Log4j2;
+import org.comixedproject.adaptors.encoders.WebResponseEncoder;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicbooks.ComicBookData;
 import org.comixedproject.model.net.DownloadDocument;
@@ -38,10 +41,14 @@ import org.comixedproject.service.comicpages.PageCacheService;
 import org.comixedproject.service.library.DisplayableComicService;
 import org.comixedproject.views.View.ComicDetailsView;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 /**
  * <code>ComicBookReaderController</code> provides REST endpoints for instances of {@link
@@ -62,6 +69,7 @@ public class ComicBookController {
   @Autowired private ComicPageService comicPageService;
   @Autowired private ComicMetadataSourceService comicMetadataSourceService;
   @Autowired private ComicTagService comicTagService;
+  @Autowired private WebResponseEncoder webResponseEncoder;
 
   /**
    * Retrieves a single comic for a user. The comic is populated with user-specific meta-data.
@@ -193,6 +201,33 @@ public class ComicBookController {
     return this.comicBookService.getComicContent(id);
   }
 
+  /**
+   * Streams the file for a single comic book, identified by record id. Byte ranges are honored so
+   * that large archives can be resumed or fetched in parts.
+   *
+   * @param request the request
+   * @param id the record id
+   * @return the comic book file
+   * @throws ComicBookException if an error occurs
+   */
+  @GetMapping(value = "/api/comics/{id}/file")
+  @Timed(value = "comixed.comic-book.stream")
+  public ResponseEntity<StreamingResponseBody> streamComic(
+      final HttpServletRequest request, @PathVariable("id") long id) throws ComicBookException {
+    log.info("Streaming comic book: id={}", id);
+    final ComicBook comicBook = this.comicBookService.getComic(id);
+    try {
+      return this.webResponseEncoder.encodeFile(
+          request.getHeader(HttpHeaders.RANGE),
+          request.getHeader(HttpHeaders.IF_RANGE),
+          comicBook.getComicDetail().getFile(),
+          comicBook.getComicDetail().getBaseFilename(),
+          MediaType.parseMediaType(comicBook.getComicDetail().getArchiveType().getMimeType()));
+    } catch (IOException error) {
+      throw new ComicBookException("Failed to stream comic book file", error);
+    }
+  }
+
   /**
    * Updates a comicBook with all incoming data.
    *
@@ -229,14 +264,23 @@ public class ComicBookController {
   /**
    * Retrieves the cover page content for a comic.
    *
+   * <p>The cover page's hash is used as its entity tag, so a client that already has the cover is
+   * sent a not modified response without the content being loaded.
+   *
+   * @param webRequest the web request
    * @param id the comic id
    * @return the page content
    * @throws ComicPageException if an error occurs
    */
   @GetMapping(value = "/api/comics/{id}/cover/content")
   @Timed(value = "comixed.comic-book.pages.get-cover")
-  public ResponseEntity<byte[]> getCoverImage(@PathVariable("id") final long id)
-      throws ComicPageException {
+  public ResponseEntity<byte[]> getCoverImage(
+      final WebRequest webRequest, @PathVariable("id") final long id) throws ComicPageException {
+    final String hash = this.comicPageService.getHashForComicBookCover(id);
+    if (StringUtils.hasLength(hash) && webRequest.checkNotModified(hash)) {
+      log.debug("Comic cover not modified: id={}", id);
+      return null;
+    }
     log.info("Getting comic cover content: id={}", id);
     return this.pageCacheService.getCoverPageContent(id, MISSING_COMIC_COVER_FILENAME);
   }
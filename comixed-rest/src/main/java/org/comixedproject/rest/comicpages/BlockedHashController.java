@@ -88,6 +88,22 @@ public class BlockedHashController {
     return this.blockedHashService.getByHash(hash);
   }
 
+  /**
+   * Returns the blocked page hashes whose content looks like the page with the given hash.
+   *
+   * @param hash the page hash
+   * @return the similar blocked page hashes
+   */
+  @GetMapping(
+      value = "/api/pages/blocked/{hash}/similar",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  @PreAuthorize("hasRole('ADMIN')")
+  @Timed(value = "comixed.blocked-hash.get-similar")
+  public List<String> getSimilarBlockedHashes(@PathVariable("hash") final String hash) {
+    log.info("Loading blocked pages similar to page: hash={}", hash);
+    return this.blockedHashService.getBlockedHashesSimilarToPage(hash);
+  }
+
   /**
    * Updates the details for a blocked page.
    *
@@ -21,7 +21,11 @@ package org.comixedproject.rest.comicpages;
 import static org.comixedproject.rest.comicbooks.ComicBookController.MISSING_COMIC_COVER_FILENAME;
 
 import io.micrometer.core.annotation.Timed;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+import java.security.Principal;
 import java.util.List;
+import java.util.Objects;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.model.comicpages.ComicPage;
 import org.comixedproject.model.net.comicpages.UpdatePageDeletionRequest;
@@ -29,10 +33,13 @@ import org.comixedproject.service.comicpages.ComicPageException;
 import org.comixedproject.service.comicpages.ComicPageService;
 import org.comixedproject.service.comicpages.PageCacheService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 /**
  * <code>PageController</code> provides REST APIs for working with instances of {@link ComicPage}.
@@ -48,29 +55,55 @@ public class PageController {
   /**
    * Retrieves the content for a single comic page by comic id and page index.
    *
+   * <p>The page's hash is used as its entity tag, so a client that already has the page is sent a
+   * not modified response without the content being loaded. Otherwise the pages that follow it are
+   * read ahead into the image cache.
+   *
+   * @param webRequest the web request
+   * @param request the servlet request
+   * @param principal the user principal
    * @param pageId the comic id
    * @return the page content
    * @throws ComicPageException if an error occurs
    */
   @GetMapping(value = "/api/pages/{pageId}/content")
   @Timed(value = "comixed.page.get-content")
-  public ResponseEntity<byte[]> getPageContent(@PathVariable("pageId") long pageId)
+  public ResponseEntity<Resource> getPageContent(
+      final WebRequest webRequest,
+      final HttpServletRequest request,
+      final Principal principal,
+      @PathVariable("pageId") long pageId)
       throws ComicPageException {
+    final String hash = this.comicPageService.getHashForPage(pageId);
+    if (StringUtils.hasLength(hash) && webRequest.checkNotModified(hash)) {
+      log.debug("Page not modified: pageId={}", pageId);
+      return null;
+    }
     log.info("Getting image content for page: pageId={}", pageId);
-    return this.pageCacheService.getPageContent(pageId, MISSING_COMIC_COVER_FILENAME);
+    final ResponseEntity<Resource> result =
+        this.pageCacheService.getPageResource(pageId, MISSING_COMIC_COVER_FILENAME);
+    // pages loaded by the web reader's image tags are sent without credentials
+    this.pageCacheService.readAhead(this.doGetReader(principal, request), pageId);
+    return result;
   }
 
   /**
    * Returns the page content for the given hash value.
    *
+   * @param webRequest the web request
    * @param hash the page hash
    * @return the page content
    * @throws ComicPageException if an error occurs
    */
   @GetMapping(value = "/api/pages/hashes/{hash}/content")
   @Timed(value = "comixed.page.get-content-for-hash")
-  public ResponseEntity<byte[]> getPageForHash(@PathVariable("hash") final String hash)
+  public ResponseEntity<byte[]> getPageForHash(
+      final WebRequest webRequest, @PathVariable("hash") final String hash)
       throws ComicPageException {
+    if (webRequest.checkNotModified(hash)) {
+      log.debug("Page not modified: hash={}", hash);
+      return null;
+    }
     log.info("Getting image content for page hash: {}", hash);
     return this.pageCacheService.getPageContent(hash, MISSING_COMIC_COVER_FILENAME);
   }
@@ -102,4 +135,12 @@ public class PageController {
     log.info("Unmarking {} page(s) as deleted", ids.size());
     this.comicPageService.updatePageDeletion(ids, false);
   }
+
+  private String doGetReader(final Principal principal, final HttpServletRequest request) {
+    if (Objects.nonNull(principal)) {
+      return principal.getName();
+    }
+    final HttpSession session = request.getSession(false);
+    return Objects.nonNull(session) ? session.getId() : request.getRemoteAddr();
+  }
 }
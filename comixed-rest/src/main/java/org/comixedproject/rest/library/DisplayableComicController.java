@@ -88,6 +88,20 @@ public class DisplayableComicController implements InitializingBean, ComicStateC
     this.tagAndValueCache.clear();
   }
 
+  @Override
+  public void onComicStatesChanged(final List<ComicBook> comicBooks) {
+    log.debug("Clearing comic caches for {} comic(s)", comicBooks.size());
+    this.filterCache.clear();
+    this.tagAndValueCache.clear();
+  }
+
+  @Override
+  public void onComicsBulkUpdated(final int count) {
+    log.debug("Clearing comic caches for bulk update of {} comic(s)", count);
+    this.filterCache.clear();
+    this.tagAndValueCache.clear();
+  }
+
   /**
    * Loads one page's worth of displayable comics.
    *
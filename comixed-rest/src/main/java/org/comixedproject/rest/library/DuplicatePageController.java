@@ -20,6 +20,7 @@ package org.comixedproject.rest.library;
 
 import com.fasterxml.jackson.annotation.JsonView;
 import io.micrometer.core.annotation.Timed;
+import java.util.List;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.model.library.DuplicatePage;
 import org.comixedproject.model.net.library.LoadDuplicatePageListRequest;
@@ -94,4 +95,20 @@ public class DuplicatePageController {
     log.info("Loading duplicate page detail: hash={}", hash);
     return this.duplicatePageService.getForHash(hash);
   }
+
+  /**
+   * Returns the hashes of pages whose content looks like the page with the given hash.
+   *
+   * @param hash the page hash
+   * @return the similar page hashes
+   */
+  @GetMapping(
+      value = "/api/library/pages/duplicates/{hash}/similar",
+      produces = MediaType.APPLICATION_JSON_VALUE)
+  @PreAuthorize("hasRole('ADMIN')")
+  @Timed(value = "comixed.duplicate-page.get-similar")
+  public List<String> getSimilarPages(@PathVariable("hash") final String hash) {
+    log.info("Loading pages similar to page: hash={}", hash);
+    return this.duplicatePageService.getSimilarPageHashes(hash);
+  }
 }
@@ -22,9 +22,14 @@ import static org.comixedproject.rest.comicbooks.ComicBookController.MISSING_COM
 import static org.comixedproject.rest.comicbooks.ComicBookSelectionController.LIBRARY_SELECTIONS;
 import static org.junit.Assert.*;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
+import java.io.File;
+import java.io.IOException;
 import java.security.Principal;
 import java.util.*;
+import org.comixedproject.adaptors.encoders.WebResponseEncoder;
+import org.comixedproject.model.archives.ArchiveType;
 import org.comixedproject.model.comicbooks.*;
 import org.comixedproject.model.comicpages.ComicPage;
 import org.comixedproject.model.library.DisplayableComic;
@@ -43,12 +48,17 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class ComicBookControllerTest {
   private static final long TEST_COMIC_ID = 129;
+  private static final String TEST_PAGE_HASH = "0123456789ABCDEF0123456789ABCDEF";
   private static final Object TEST_ENCODED_SELECTIONS = "The encoded selection ids";
   private static final String TEST_REENCODED_SELECTIONS = "The re-encoded selection ids";
   private static final String TEST_EMAIL = "user@comixedproject.org";
@@ -62,6 +72,10 @@ class ComicBookControllerTest {
   private static final String TEST_TITLE = "The Title";
   private static final Date TEST_COVER_DATE = new Date();
   private static final Date TEST_STORE_DATE = new Date();
+  private static final String TEST_RANGE = "bytes=1024-";
+  private static final String TEST_IF_RANGE = "\"etag-value\"";
+  private static final String TEST_BASE_FILENAME = "example.cbz";
+  private static final ArchiveType TEST_ARCHIVE_TYPE = ArchiveType.CBZ;
 
   @InjectMocks private ComicBookController controller;
   @Mock private ComicBookService comicBookService;
@@ -80,6 +94,13 @@ class ComicBookControllerTest {
   @Mock private ResponseEntity<byte[]> responseEntity;
   @Mock private ComiXedUser user;
   @Mock private ComicMetadataSource comicMetadataSource;
+  @Mock private WebRequest webRequest;
+  @Mock private WebResponseEncoder webResponseEncoder;
+  @Mock private HttpServletRequest httpServletRequest;
+  @Mock private ComicDetail comicDetail;
+  @Mock private ResponseEntity<StreamingResponseBody> streamingResponse;
+
+  private final File comicFile = new File("src/test/resources/example.cbz");
 
   private final Set<Long> comicBookIdSet = new HashSet<>();
   private List<Long> selectedIdList = new ArrayList<>();
@@ -87,8 +108,22 @@ class ComicBookControllerTest {
   private List<ComicTag> comicTagList = new ArrayList<>();
 
   @BeforeEach
-  void setUp() throws ComicBookSelectionException, ComicBookException {
+  void setUp() throws ComicBookSelectionException, ComicBookException, IOException {
     Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenReturn(comicBook);
+    Mockito.when(comicBook.getComicDetail()).thenReturn(comicDetail);
+    Mockito.when(comicDetail.getFile()).thenReturn(comicFile);
+    Mockito.when(comicDetail.getBaseFilename()).thenReturn(TEST_BASE_FILENAME);
+    Mockito.when(comicDetail.getArchiveType()).thenReturn(TEST_ARCHIVE_TYPE);
+    Mockito.when(httpServletRequest.getHeader(HttpHeaders.RANGE)).thenReturn(TEST_RANGE);
+    Mockito.when(httpServletRequest.getHeader(HttpHeaders.IF_RANGE)).thenReturn(TEST_IF_RANGE);
+    Mockito.when(
+            webResponseEncoder.encodeFile(
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.any(File.class),
+                Mockito.anyString(),
+                Mockito.any(MediaType.class)))
+        .thenReturn(streamingResponse);
     comicBookIdSet.add(TEST_COMIC_ID);
     Mockito.when(httpSession.getAttribute(LIBRARY_SELECTIONS)).thenReturn(TEST_ENCODED_SELECTIONS);
     Mockito.when(principal.getName()).thenReturn(TEST_EMAIL);
@@ -268,12 +303,53 @@ class ComicBookControllerTest {
     Mockito.verify(comicBookService, Mockito.times(1)).getComicContent(TEST_COMIC_ID);
   }
 
+  @Test
+  void streamComic_serviceException() throws ComicBookException {
+    Mockito.when(comicBookService.getComic(Mockito.anyLong())).thenThrow(ComicBookException.class);
+
+    assertThrows(
+        ComicBookException.class, () -> controller.streamComic(httpServletRequest, TEST_COMIC_ID));
+  }
+
+  @Test
+  void streamComic_encodingFails() throws ComicBookException, IOException {
+    Mockito.when(
+            webResponseEncoder.encodeFile(
+                Mockito.any(),
+                Mockito.any(),
+                Mockito.any(File.class),
+                Mockito.anyString(),
+                Mockito.any(MediaType.class)))
+        .thenThrow(IOException.class);
+
+    assertThrows(
+        ComicBookException.class, () -> controller.streamComic(httpServletRequest, TEST_COMIC_ID));
+  }
+
+  @Test
+  void streamComic() throws ComicBookException, IOException {
+    final ResponseEntity<StreamingResponseBody> result =
+        controller.streamComic(httpServletRequest, TEST_COMIC_ID);
+
+    assertNotNull(result);
+    assertSame(streamingResponse, result);
+
+    Mockito.verify(comicBookService, Mockito.times(1)).getComic(TEST_COMIC_ID);
+    Mockito.verify(webResponseEncoder, Mockito.times(1))
+        .encodeFile(
+            TEST_RANGE,
+            TEST_IF_RANGE,
+            comicFile,
+            TEST_BASE_FILENAME,
+            MediaType.parseMediaType(TEST_ARCHIVE_TYPE.getMimeType()));
+  }
+
   @Test
   void getCachedCoverImage() throws ComicPageException {
     Mockito.when(pageCacheService.getCoverPageContent(Mockito.anyLong(), Mockito.anyString()))
         .thenReturn(responseEntity);
 
-    final ResponseEntity<byte[]> result = controller.getCoverImage(TEST_COMIC_ID);
+    final ResponseEntity<byte[]> result = controller.getCoverImage(webRequest, TEST_COMIC_ID);
 
     assertNotNull(result);
     assertSame(responseEntity, result);
@@ -282,6 +358,21 @@ class ComicBookControllerTest {
         .getCoverPageContent(TEST_COMIC_ID, MISSING_COMIC_COVER_FILENAME);
   }
 
+  @Test
+  void getCoverImage_notModified() throws ComicPageException {
+    Mockito.when(comicPageService.getHashForComicBookCover(Mockito.anyLong()))
+        .thenReturn(TEST_PAGE_HASH);
+    Mockito.when(webRequest.checkNotModified(Mockito.anyString())).thenReturn(true);
+
+    final ResponseEntity<byte[]> result = controller.getCoverImage(webRequest, TEST_COMIC_ID);
+
+    assertNull(result);
+
+    Mockito.verify(webRequest, Mockito.times(1)).checkNotModified(TEST_PAGE_HASH);
+    Mockito.verify(pageCacheService, Mockito.never())
+        .getCoverPageContent(Mockito.anyLong(), Mockito.anyString());
+  }
+
   @Test
   void deleteMetadata() throws ComicBookException {
     Mockito.when(comicBookService.deleteMetadata(Mockito.anyLong())).thenReturn(comicBook);
@@ -113,6 +113,20 @@ class BlockedHashControllerTest {
     Mockito.verify(blockedHashService, Mockito.times(1)).getByHash(TEST_PAGE_HASH);
   }
 
+  @Test
+  void getSimilarBlockedHashes() {
+    Mockito.when(blockedHashService.getBlockedHashesSimilarToPage(Mockito.anyString()))
+        .thenReturn(hashList);
+
+    final List<String> result = controller.getSimilarBlockedHashes(TEST_PAGE_HASH);
+
+    assertNotNull(result);
+    assertSame(hashList, result);
+
+    Mockito.verify(blockedHashService, Mockito.times(1))
+        .getBlockedHashesSimilarToPage(TEST_PAGE_HASH);
+  }
+
   @Test
   void blockPageHashes() {
     final List<String> pageHashList = new ArrayList<>();
@@ -21,54 +21,155 @@ package org.comixedproject.rest.comicpages;
 import static org.comixedproject.rest.comicbooks.ComicBookController.MISSING_COMIC_COVER_FILENAME;
 import static org.junit.Assert.*;
 
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
 import java.io.InputStream;
+import java.security.Principal;
 import java.util.List;
 import org.comixedproject.model.net.comicpages.UpdatePageDeletionRequest;
 import org.comixedproject.service.comicpages.ComicPageException;
 import org.comixedproject.service.comicpages.ComicPageService;
 import org.comixedproject.service.comicpages.PageCacheService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.core.io.Resource;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
 class PageControllerTest {
   private static final long TEST_PAGE_ID = 129;
   private static final String TEST_PAGE_HASH = "12345";
+  private static final String TEST_EMAIL = "comixedreader@comixedproject.org";
+  private static final String TEST_SESSION_ID = "717273";
+  private static final String TEST_REMOTE_ADDRESS = "192.168.1.17";
 
   @InjectMocks private PageController controller;
   @Mock private ComicPageService comicPageService;
   @Mock private PageCacheService pageCacheService;
   @Mock private List<Long> idList;
   @Mock private ResponseEntity<byte[]> responseEntity;
+  @Mock private ResponseEntity<Resource> resourceResponseEntity;
+  @Mock private WebRequest webRequest;
+  @Mock private HttpServletRequest request;
+  @Mock private HttpSession session;
+  @Mock private Principal principal;
 
   @Captor private ArgumentCaptor<InputStream> inputStream;
 
+  @BeforeEach
+  void setUp() {
+    Mockito.when(comicPageService.getHashForPage(Mockito.anyLong())).thenReturn(TEST_PAGE_HASH);
+    Mockito.when(webRequest.checkNotModified(Mockito.anyString())).thenReturn(false);
+    Mockito.when(principal.getName()).thenReturn(TEST_EMAIL);
+    Mockito.when(session.getId()).thenReturn(TEST_SESSION_ID);
+    Mockito.when(request.getRemoteAddr()).thenReturn(TEST_REMOTE_ADDRESS);
+  }
+
   @Test
   void getPageContentAdaptorException() throws ComicPageException {
-    Mockito.when(pageCacheService.getPageContent(Mockito.anyLong(), Mockito.anyString()))
+    Mockito.when(pageCacheService.getPageResource(Mockito.anyLong(), Mockito.anyString()))
         .thenThrow(ComicPageException.class);
 
-    assertThrows(ComicPageException.class, () -> controller.getPageContent(TEST_PAGE_ID));
+    assertThrows(
+        ComicPageException.class,
+        () -> controller.getPageContent(webRequest, request, principal, TEST_PAGE_ID));
   }
 
   @Test
   void getPageContent() throws ComicPageException {
-    Mockito.when(pageCacheService.getPageContent(Mockito.anyLong(), Mockito.anyString()))
-        .thenReturn(responseEntity);
+    Mockito.when(pageCacheService.getPageResource(Mockito.anyLong(), Mockito.anyString()))
+        .thenReturn(resourceResponseEntity);
 
-    final ResponseEntity<byte[]> result = controller.getPageContent(TEST_PAGE_ID);
+    final ResponseEntity<Resource> result =
+        controller.getPageContent(webRequest, request, principal, TEST_PAGE_ID);
 
     assertNotNull(result);
-    assertSame(responseEntity, result);
+    assertSame(resourceResponseEntity, result);
 
     Mockito.verify(pageCacheService, Mockito.times(1))
-        .getPageContent(TEST_PAGE_ID, MISSING_COMIC_COVER_FILENAME);
+        .getPageResource(TEST_PAGE_ID, MISSING_COMIC_COVER_FILENAME);
+    Mockito.verify(pageCacheService, Mockito.times(1)).readAhead(TEST_EMAIL, TEST_PAGE_ID);
+  }
+
+  @Test
+  void getPageContent_noPrincipal() throws ComicPageException {
+    Mockito.when(request.getSession(Mockito.anyBoolean())).thenReturn(session);
+    Mockito.when(pageCacheService.getPageResource(Mockito.anyLong(), Mockito.anyString()))
+        .thenReturn(resourceResponseEntity);
+
+    final ResponseEntity<Resource> result =
+        controller.getPageContent(webRequest, request, null, TEST_PAGE_ID);
+
+    assertNotNull(result);
+    assertSame(resourceResponseEntity, result);
+
+    Mockito.verify(request, Mockito.times(1)).getSession(false);
+    Mockito.verify(pageCacheService, Mockito.times(1)).readAhead(TEST_SESSION_ID, TEST_PAGE_ID);
+  }
+
+  @Test
+  void getPageContent_noPrincipalOrSession() throws ComicPageException {
+    Mockito.when(request.getSession(Mockito.anyBoolean())).thenReturn(null);
+    Mockito.when(pageCacheService.getPageResource(Mockito.anyLong(), Mockito.anyString()))
+        .thenReturn(resourceResponseEntity);
+
+    final ResponseEntity<Resource> result =
+        controller.getPageContent(webRequest, request, null, TEST_PAGE_ID);
+
+    assertNotNull(result);
+    assertSame(resourceResponseEntity, result);
+
+    Mockito.verify(pageCacheService, Mockito.times(1)).readAhead(TEST_REMOTE_ADDRESS, TEST_PAGE_ID);
+  }
+
+  @Test
+  void getPageContent_notModified() throws ComicPageException {
+    Mockito.when(webRequest.checkNotModified(Mockito.anyString())).thenReturn(true);
+
+    final ResponseEntity<Resource> result =
+        controller.getPageContent(webRequest, request, principal, TEST_PAGE_ID);
+
+    assertNull(result);
+
+    Mockito.verify(webRequest, Mockito.times(1)).checkNotModified(TEST_PAGE_HASH);
+    Mockito.verify(pageCacheService, Mockito.never())
+        .getPageResource(Mockito.anyLong(), Mockito.anyString());
+    Mockito.verify(pageCacheService, Mockito.never())
+        .readAhead(Mockito.anyString(), Mockito.anyLong());
+  }
+
+  @Test
+  void getPageContent_noHash() throws ComicPageException {
+    Mockito.when(comicPageService.getHashForPage(Mockito.anyLong())).thenReturn(null);
+    Mockito.when(pageCacheService.getPageResource(Mockito.anyLong(), Mockito.anyString()))
+        .thenReturn(resourceResponseEntity);
+
+    final ResponseEntity<Resource> result =
+        controller.getPageContent(webRequest, request, principal, TEST_PAGE_ID);
+
+    assertSame(resourceResponseEntity, result);
+
+    Mockito.verify(webRequest, Mockito.never()).checkNotModified(Mockito.anyString());
+  }
+
+  @Test
+  void getPageForHash_notModified() throws ComicPageException {
+    Mockito.when(webRequest.checkNotModified(Mockito.anyString())).thenReturn(true);
+
+    final ResponseEntity<byte[]> result = controller.getPageForHash(webRequest, TEST_PAGE_HASH);
+
+    assertNull(result);
+
+    Mockito.verify(webRequest, Mockito.times(1)).checkNotModified(TEST_PAGE_HASH);
+    Mockito.verify(pageCacheService, Mockito.never())
+        .getPageContent(Mockito.anyString(), Mockito.anyString());
   }
 
   @Test
@@ -76,7 +177,8 @@ class PageControllerTest {
     Mockito.when(pageCacheService.getPageContent(Mockito.anyString(), Mockito.anyString()))
         .thenThrow(ComicPageException.class);
 
-    assertThrows(ComicPageException.class, () -> controller.getPageForHash(TEST_PAGE_HASH));
+    assertThrows(
+        ComicPageException.class, () -> controller.getPageForHash(webRequest, TEST_PAGE_HASH));
   }
 
   @Test
@@ -84,7 +186,7 @@ class PageControllerTest {
     Mockito.when(pageCacheService.getPageContent(Mockito.anyString(), Mockito.anyString()))
         .thenReturn(responseEntity);
 
-    final ResponseEntity<byte[]> result = controller.getPageForHash(TEST_PAGE_HASH);
+    final ResponseEntity<byte[]> result = controller.getPageForHash(webRequest, TEST_PAGE_HASH);
 
     assertNotNull(result);
     assertSame(responseEntity, result);
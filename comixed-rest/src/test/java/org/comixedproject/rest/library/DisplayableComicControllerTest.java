@@ -169,6 +169,28 @@ class DisplayableComicControllerTest {
     assertTrue(controller.tagAndValueCache.isEmpty());
   }
 
+  @Test
+  void onComicStatesChanged() {
+    controller.filterCache.put(filteredRequest, loadComicsResponse);
+    controller.tagAndValueCache.put(TEST_TAG_VALUE_AND_TYPE_KEY, loadComicsResponse);
+
+    controller.onComicStatesChanged(List.of(comicBook));
+
+    assertTrue(controller.filterCache.isEmpty());
+    assertTrue(controller.tagAndValueCache.isEmpty());
+  }
+
+  @Test
+  void onComicsBulkUpdated() {
+    controller.filterCache.put(filteredRequest, loadComicsResponse);
+    controller.tagAndValueCache.put(TEST_TAG_VALUE_AND_TYPE_KEY, loadComicsResponse);
+
+    controller.onComicsBulkUpdated(3);
+
+    assertTrue(controller.filterCache.isEmpty());
+    assertTrue(controller.tagAndValueCache.isEmpty());
+  }
+
   @Test
   void loadComicsByFilter() {
     Mockito.when(
@@ -48,6 +48,7 @@ class DuplicatePageControllerTest {
   @Mock private DuplicatePage duplicatePage;
   @Mock private List<DuplicatePage> duplicatePageList;
   @Mock private LoadDuplicatePageListResponse duplicatePageListResponse;
+  @Mock private List<String> similarPageHashList;
 
   @Test
   void getDuplicatePageList() {
@@ -90,4 +91,17 @@ class DuplicatePageControllerTest {
 
     Mockito.verify(duplicatePageService, Mockito.times(1)).getForHash(TEST_PAGE_HASH);
   }
+
+  @Test
+  void getSimilarPages() {
+    Mockito.when(duplicatePageService.getSimilarPageHashes(Mockito.anyString()))
+        .thenReturn(similarPageHashList);
+
+    final List<String> result = controller.getSimilarPages(TEST_PAGE_HASH);
+
+    assertNotNull(result);
+    assertSame(similarPageHashList, result);
+
+    Mockito.verify(duplicatePageService, Mockito.times(1)).getSimilarPageHashes(TEST_PAGE_HASH);
+  }
 }
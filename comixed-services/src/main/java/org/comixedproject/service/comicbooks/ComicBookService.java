@@ -69,6 +69,7 @@ public class ComicBookService {
   @Autowired private ComicBookStateAdaptor comicBookStateAdaptor;
   @Autowired private ComicBookRepository comicBookRepository;
   @Autowired private ComicDetailRepository comicDetailRepository;
+  @Autowired private ComicDetailService comicDetailService;
   @Autowired private ComicBookMetadataAdaptor comicBookMetadataAdaptor;
   @Autowired private ComicFileAdaptor comicFileAdaptor;
   @Autowired private ImprintService imprintService;
@@ -207,7 +208,24 @@ public class ComicBookService {
   @Transactional
   public ComicBook save(final ComicBook comicBook) {
     log.debug("Saving comicBook: filename={}", comicBook.getComicDetail().getFilename());
+    this.doPrepareForSave(comicBook);
+    return this.comicBookRepository.saveAndFlush(comicBook);
+  }
 
+  /**
+   * Saves a batch of comic books, flushing them to the database once.
+   *
+   * @param comicBooks the comic books
+   * @return the saved comic books
+   */
+  @Transactional
+  public List<ComicBook> saveAll(final List<ComicBook> comicBooks) {
+    log.debug("Saving {} comic book(s)", comicBooks.size());
+    comicBooks.forEach(this::doPrepareForSave);
+    return this.comicBookRepository.saveAllAndFlush(comicBooks);
+  }
+
+  private void doPrepareForSave(final ComicBook comicBook) {
     log.trace("Updating the imprint");
     this.imprintService.update(comicBook);
 
@@ -221,8 +239,6 @@ public class ComicBookService {
 
     log.trace("Setting last modified date");
     detail.setLastModifiedDate(new Date());
-
-    return this.comicBookRepository.saveAndFlush(comicBook);
   }
 
   /**
@@ -361,7 +377,8 @@ public class ComicBookService {
   }
 
   /**
-   * Prepares a set of comic books for rescanning.
+   * Prepares a set of comic books for rescanning. Comics whose file fingerprint is unchanged are
+   * skipped.
    *
    * @param ids the comic ids
    */
@@ -371,6 +388,10 @@ public class ComicBookService {
           try {
             log.trace("Loading comicBook: id={}", id);
             final ComicBook comicBook = this.doGetComic(id);
+            if (this.comicDetailService.isFileUnchanged(comicBook.getComicDetail())) {
+              log.debug("Comic file unchanged, skipping rescan: id={}", id);
+              return;
+            }
             log.trace("Firing event: rescan comicBook");
             this.comicBookStateAdaptor.fireEvent(comicBook, ComicEvent.rescanComicBookFile);
           } catch (ComicBookException error) {
@@ -958,6 +979,34 @@ public class ComicBookService {
     }
   }
 
+  /**
+   * Marks the comic books with the given filenames as found with bulk updates. Listeners are not
+   * notified, so callers should notify them once all changes are made.
+   *
+   * @param filenames the filenames
+   * @return the number of comic books updated
+   */
+  @Transactional
+  public int markComicsAsFound(final List<String> filenames) {
+    log.debug("Marking {} comic book(s) as found", filenames.size());
+    this.comicBookRepository.touchMissingFilenames(filenames, new Date());
+    return this.comicBookRepository.markFilenamesAsFound(filenames);
+  }
+
+  /**
+   * Marks the comic books with the given filenames as missing with bulk updates. Listeners are not
+   * notified, so callers should notify them once all changes are made.
+   *
+   * @param filenames the filenames
+   * @return the number of comic books updated
+   */
+  @Transactional
+  public int markComicsAsMissing(final List<String> filenames) {
+    log.debug("Marking {} comic book(s) as missing", filenames.size());
+    this.comicBookRepository.touchPresentFilenames(filenames, new Date());
+    return this.comicBookRepository.markFilenamesAsMissing(filenames);
+  }
+
   private ComicBook doFindComicByFilename(final String filename) {
     final String standardizedFilename = this.comicFileAdaptor.standardizeFilename(filename);
     return this.comicFileAdaptor.isCaseSensitiveFilenames()
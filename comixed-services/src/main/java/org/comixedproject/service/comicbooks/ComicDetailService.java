@@ -20,6 +20,8 @@ package org.comixedproject.service.comicbooks;
 
 import static org.comixedproject.model.comicbooks.ComicTagType.STORY;
 
+import java.io.File;
+import java.io.IOException;
 import java.text.ParseException;
 import java.text.SimpleDateFormat;
 import java.time.LocalDate;
@@ -29,6 +31,7 @@ import java.util.*;
 import java.util.stream.Collectors;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.adaptors.comicbooks.ComicFileAdaptor;
+import org.comixedproject.adaptors.file.FileAdaptor;
 import org.comixedproject.model.collections.CollectionEntry;
 import org.comixedproject.model.comicbooks.*;
 import org.comixedproject.repositories.comicbooks.ComicDetailRepository;
@@ -51,6 +54,7 @@ import org.springframework.util.StringUtils;
 public class ComicDetailService {
   @Autowired private ComicDetailRepository comicDetailRepository;
   @Autowired private ComicFileAdaptor comicFileAdaptor;
+  @Autowired private FileAdaptor fileAdaptor;
 
   SimpleDateFormat coverDateFormat = new SimpleDateFormat("yyyy-MM-dd");
 
@@ -64,6 +68,143 @@ public class ComicDetailService {
     }
   }
 
+  /**
+   * Returns those of the provided filenames that already belong to a comic book, checking them all
+   * with a single query.
+   *
+   * @param filenames the filenames
+   * @return the filenames found, as they were provided
+   */
+  @Transactional
+  public Set<String> filenamesFound(final List<String> filenames) {
+    if (filenames.isEmpty()) {
+      return new HashSet<>();
+    }
+    final boolean caseSensitive = this.comicFileAdaptor.isCaseSensitiveFilenames();
+    final Map<String, String> lookup = new HashMap<>();
+    filenames.forEach(
+        filename -> {
+          final String standardizedFilename = this.comicFileAdaptor.standardizeFilename(filename);
+          lookup.put(
+              caseSensitive ? standardizedFilename : standardizedFilename.toLowerCase(), filename);
+        });
+    log.debug("Checking for {} existing filename(s)", lookup.size());
+    final List<String> keys = new ArrayList<>(lookup.keySet());
+    final Set<String> existing =
+        caseSensitive
+            ? this.comicDetailRepository.getExistingFilenames(keys)
+            : this.comicDetailRepository.getExistingFilenamesIgnoreCase(keys);
+    return existing.stream().map(lookup::get).collect(Collectors.toSet());
+  }
+
+  /**
+   * Records the size, last modified time, and fingerprint of a comic's file. The caller is
+   * responsible for saving the comic.
+   *
+   * @param comicDetail the comic detail
+   */
+  public void updateFileFingerprint(final ComicDetail comicDetail) {
+    final File file = new File(comicDetail.getFilename());
+    log.trace("Updating file fingerprint: {}", file);
+    try {
+      comicDetail.setFileSize(file.length());
+      comicDetail.setFileModified(file.lastModified());
+      comicDetail.setFileFingerprint(this.fileAdaptor.getFingerprint(file));
+    } catch (IOException error) {
+      log.error("Failed to fingerprint comic file", error);
+      comicDetail.setFileFingerprint(null);
+    }
+  }
+
+  /**
+   * Returns if a comic's file is unchanged since its fingerprint was last recorded. The size and
+   * last modified time are compared before the file is read.
+   *
+   * @param comicDetail the comic detail
+   * @return true if the file is unchanged
+   */
+  public boolean isFileUnchanged(final ComicDetail comicDetail) {
+    if (Objects.isNull(comicDetail.getFileFingerprint())) {
+      log.trace("No fingerprint recorded: {}", comicDetail.getFilename());
+      return false;
+    }
+    final File file = new File(comicDetail.getFilename());
+    if (!file.isFile()
+        || !Objects.equals(file.length(), comicDetail.getFileSize())
+        || !Objects.equals(file.lastModified(), comicDetail.getFileModified())) {
+      log.trace("File size or modified time changed: {}", file);
+      return false;
+    }
+    try {
+      return comicDetail.getFileFingerprint().equals(this.fileAdaptor.getFingerprint(file));
+    } catch (IOException error) {
+      log.error("Failed to fingerprint comic file", error);
+      return false;
+    }
+  }
+
+  /**
+   * Looks for missing comics whose recorded fingerprint matches one of the given files, which
+   * indicates that the file was moved outside of the application. The candidates for all files are
+   * loaded with a single query, and only files whose size matches a candidate are fingerprinted.
+   *
+   * @param filenames the filenames
+   * @return the missing comics, keyed by the filename they were moved to
+   */
+  @Transactional
+  public Map<String, ComicDetail> findMovedComics(final List<String> filenames) {
+    final Map<Long, List<String>> filenamesBySize = new HashMap<>();
+    for (int index = 0; index < filenames.size(); index++) {
+      final File file = new File(filenames.get(index));
+      if (file.isFile()) {
+        filenamesBySize
+            .computeIfAbsent(file.length(), size -> new ArrayList<>())
+            .add(filenames.get(index));
+      }
+    }
+    if (filenamesBySize.isEmpty()) {
+      return Collections.emptyMap();
+    }
+    log.trace("Looking for moved comics: {} file size(s)", filenamesBySize.size());
+    final List<ComicDetail> candidates =
+        this.comicDetailRepository.findMissingWithFingerprintBySize(filenamesBySize.keySet());
+    final Map<String, ComicDetail> result = new HashMap<>();
+    final Map<String, String> fingerprints = new HashMap<>();
+    for (int index = 0; index < candidates.size(); index++) {
+      final ComicDetail comicDetail = candidates.get(index);
+      if (new File(comicDetail.getFilename()).exists()) {
+        log.trace("Missing comic file exists: {}", comicDetail.getFilename());
+        continue;
+      }
+      for (String filename : filenamesBySize.get(comicDetail.getFileSize())) {
+        if (!result.containsKey(filename)
+            && comicDetail
+                .getFileFingerprint()
+                .equals(fingerprints.computeIfAbsent(filename, this::doGetFingerprint))) {
+          log.trace("Found moved comic: {} => {}", comicDetail.getFilename(), filename);
+          result.put(filename, comicDetail);
+          break;
+        }
+      }
+    }
+    return result;
+  }
+
+  /**
+   * Points a missing comic at the new location of its file. The comic is still marked as missing
+   * until the found event is processed for it.
+   *
+   * @param comicDetail the comic detail
+   * @param filename the new filename
+   */
+  @Transactional
+  public void relinkComic(final ComicDetail comicDetail, final String filename) {
+    log.debug("Relinking comic file: {} => {}", comicDetail.getFilename(), filename);
+    comicDetail.setFilename(this.comicFileAdaptor.standardizeFilename(filename));
+    comicDetail.setFileModified(new File(filename).lastModified());
+    this.comicDetailRepository.save(comicDetail);
+  }
+
   /**
    * Returns the set of all cover dates. Filters out comics read by the user if the flag is set.
    *
@@ -551,4 +692,13 @@ public class ComicDetailService {
     log.debug("Getting the list of all comic detail ids");
     return this.comicDetailRepository.getAllIds();
   }
+
+  private String doGetFingerprint(final String filename) {
+    try {
+      return this.fileAdaptor.getFingerprint(new File(filename));
+    } catch (IOException error) {
+      log.error("Failed to fingerprint comic file: " + filename, error);
+      return null;
+    }
+  }
 }
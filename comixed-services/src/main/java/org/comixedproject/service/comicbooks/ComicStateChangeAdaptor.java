@@ -18,6 +18,7 @@
 
 package org.comixedproject.service.comicbooks;
 
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 import java.util.Set;
@@ -80,4 +81,28 @@ public class ComicStateChangeAdaptor implements InitializingBean, ComicStateChan
       log.error("Failed to publish comic state change", error);
     }
   }
+
+  /**
+   * Saves a batch of updated comics with a single flush. Individual update messages are not
+   * published for a batch; listeners that publish the library state announce the change once.
+   *
+   * @param comicBooks the comic books
+   */
+  @Override
+  public void onComicStatesChanged(final List<ComicBook> comicBooks) {
+    final List<ComicBook> updated = new ArrayList<>();
+    comicBooks.forEach(
+        comicBook -> {
+          if (comicBook.getState().equals(ComicState.REMOVED)) {
+            this.onComicStateChanged(comicBook);
+          } else {
+            comicBook.setLastModifiedOn(new Date());
+            updated.add(comicBook);
+          }
+        });
+    if (!updated.isEmpty()) {
+      log.debug("Saving {} updated comic book(s)", updated.size());
+      this.comicBookService.saveAll(updated);
+    }
+  }
 }
@@ -20,9 +20,9 @@ package org.comixedproject.service.comicfiles;
 
 import java.io.File;
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FilenameUtils;
 import org.apache.commons.lang3.StringUtils;
@@ -31,14 +31,17 @@ import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.adaptors.comicbooks.ComicFileAdaptor;
 import org.comixedproject.model.batch.LoadComicBooksEvent;
 import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.model.comicbooks.ComicDetail;
 import org.comixedproject.model.comicfiles.ComicFile;
 import org.comixedproject.model.comicfiles.ComicFileGroup;
 import org.comixedproject.model.metadata.FilenameMetadata;
+import org.comixedproject.model.metadata.FilenameScrapingRule;
 import org.comixedproject.service.comicbooks.ComicDetailService;
 import org.comixedproject.service.metadata.FilenameScrapingRuleService;
 import org.comixedproject.state.comicbooks.ComicBookStateAdaptor;
 import org.comixedproject.state.comicbooks.ComicEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
@@ -60,6 +63,12 @@ public class ComicFileService {
   @Autowired private FilenameScrapingRuleService filenameScrapingRuleService;
   @Autowired private ApplicationEventPublisher applicationEventPublisher;
 
+  @Value("${comixed.import.scan.lookup-batch-size:1000}")
+  int lookupBatchSize = 1000;
+
+  @Value("${comixed.import.batch-size:100}")
+  int importBatchSize = 100;
+
   public byte[] getImportFileCover(final String comicArchive) throws AdaptorException {
     log.debug("Getting first image from archive: {}", comicArchive);
     return this.comicBookAdaptor.loadCover(comicArchive);
@@ -70,6 +79,9 @@ public class ComicFileService {
    * absolute directory. Returns only files that have a comic extension and which do not already
    * appear in the database.
    *
+   * <p>The directory tree is walked once. Candidate files are checked against the database in
+   * batches rather than one query per file.
+   *
    * @param rootDirectory the root directory
    * @param maximum the maximum number of files
    * @return the comic files
@@ -80,11 +92,10 @@ public class ComicFileService {
     log.debug("Getting {} comics below root: {}", maximum == 0 ? "all" : maximum, rootDirectory);
 
     final File rootFile = new File(rootDirectory);
-    final List<ComicFileGroup> result = new ArrayList<>();
 
     if (rootFile.exists()) {
       if (rootFile.isDirectory()) {
-        this.loadFilesUnder(result, rootFile, maximum);
+        return this.loadFilesUnder(rootFile.toPath(), maximum);
       } else {
         log.debug("Cannot process a file");
       }
@@ -92,77 +103,117 @@ public class ComicFileService {
       log.debug("Directory not found");
     }
 
-    return result;
+    return new ArrayList<>();
   }
 
-  private void loadFilesUnder(
-      final List<ComicFileGroup> entries, final File directory, final int maximum)
+  private List<ComicFileGroup> loadFilesUnder(final Path root, final int maximum)
       throws IOException {
-    log.debug("Loading files in directory: {}", directory);
-    if (directory.listFiles() != null) {
-      for (File file : directory.listFiles()) {
-        if (!entries.isEmpty()) {
-          final int total =
-              entries.stream()
-                  .map(comicFileGroup -> comicFileGroup.getFiles().size())
-                  .reduce((runningTotal, entry) -> runningTotal += entry)
-                  .get();
-          if (maximum > 0 && total == maximum) {
-            log.trace("Finished loading comics");
-            return;
-          }
-        }
-        if (file.isDirectory()) {
-          this.loadFilesUnder(entries, file, maximum);
-        } else {
-          if (canBeImported(file)) {
-            final String filePath = file.getCanonicalPath();
-            final long fileSize = file.length();
-
-            final String parentPath = FilenameUtils.getPath(filePath);
-            final Optional<ComicFileGroup> entry =
-                entries.stream()
-                    .filter(comicFileGroup -> comicFileGroup.getDirectory().equals(parentPath))
-                    .findFirst();
-            ComicFileGroup group = null;
-            if (entry.isPresent()) {
-              group = entry.get();
-            } else {
-              log.debug("Creating new grouping");
-              group = new ComicFileGroup(parentPath);
-              entries.add(group);
+    final Map<String, ComicFileGroup> groups = new LinkedHashMap<>();
+    final Map<String, ComicFile> candidates = new LinkedHashMap<>();
+    final int[] count = {0};
+    Files.walkFileTree(
+        root,
+        EnumSet.of(FileVisitOption.FOLLOW_LINKS),
+        Integer.MAX_VALUE,
+        new SimpleFileVisitor<>() {
+          @Override
+          public FileVisitResult visitFile(final Path path, final BasicFileAttributes attrs)
+              throws IOException {
+            final File file = path.toFile();
+            if (!attrs.isRegularFile() || !comicFileAdaptor.isComicFile(file)) {
+              log.trace("Not a comic file: {}", path);
+              return FileVisitResult.CONTINUE;
+            }
+            final ComicFile comicFile = new ComicFile(file.getCanonicalPath(), attrs.size());
+            candidates.put(comicFile.getFilename(), comicFile);
+            final int remaining = maximum > 0 ? maximum - count[0] : lookupBatchSize;
+            if (candidates.size() >= Math.min(lookupBatchSize, remaining)) {
+              count[0] += doAddImportableFiles(groups, candidates, maximum - count[0]);
             }
-            log.debug("Adding comic file");
-            group.getFiles().add(new ComicFile(filePath, fileSize));
+            return maximum > 0 && count[0] >= maximum
+                ? FileVisitResult.TERMINATE
+                : FileVisitResult.CONTINUE;
           }
-        }
-      }
+
+          @Override
+          public FileVisitResult visitFileFailed(final Path path, final IOException error) {
+            log.debug("Cannot read file: {}", path, error);
+            return FileVisitResult.CONTINUE;
+          }
+        });
+    if (maximum <= 0 || count[0] < maximum) {
+      doAddImportableFiles(groups, candidates, maximum - count[0]);
     }
+    log.trace("Finished loading comics");
+    return new ArrayList<>(groups.values());
   }
 
-  private boolean canBeImported(final File file) throws IOException {
-    if (!this.comicFileAdaptor.isComicFile(file)) {
-      log.debug("Not a comic file: {}", file.getAbsolutePath());
-      return false;
+  private int doAddImportableFiles(
+      final Map<String, ComicFileGroup> groups,
+      final Map<String, ComicFile> candidates,
+      final int remaining) {
+    if (candidates.isEmpty()) {
+      return 0;
     }
-
-    final String filename = file.getCanonicalPath().replace("\\", "/");
-    log.debug("Checking if comicBook file is already in the database: {}", filename);
-    return !this.comicDetailService.filenameFound(filename);
+    log.debug("Checking if {} comic file(s) are already in the database", candidates.size());
+    final Set<String> existing =
+        this.comicDetailService.filenamesFound(new ArrayList<>(candidates.keySet()));
+    int added = 0;
+    for (ComicFile comicFile : candidates.values()) {
+      if (remaining > 0 && added >= remaining) {
+        break;
+      }
+      if (existing.contains(comicFile.getFilename())) {
+        log.trace("Comic file already in the database: {}", comicFile.getFilename());
+      } else {
+        log.trace("Adding comic file: {}", comicFile.getFilename());
+        groups
+            .computeIfAbsent(
+                FilenameUtils.getPath(comicFile.getFilename()), ComicFileGroup::new)
+            .getFiles()
+            .add(comicFile);
+        added++;
+      }
+    }
+    candidates.clear();
+    return added;
   }
 
   /**
-   * Creates records to initiate import comic files.
+   * Creates records to initiate import comic files. Files are imported in batches: each batch is
+   * checked against the database with a single query, and its comics are saved together and
+   * announced with a single notification.
    *
    * @param filenames the comic filenames
    */
   @Async
   @Transactional
   public void importComicFiles(final List<String> filenames) {
-    for (int index = 0; index < filenames.size(); index++) {
-      final String filename = filenames.get(index);
-      if (!this.comicDetailService.filenameFound(filename)) {
-        doImportComicFile(filename, ComicEvent.comicBookImported);
+    final List<String> unique = new ArrayList<>(new LinkedHashSet<>(filenames));
+    log.trace("Loading filename scraping rules");
+    final List<FilenameScrapingRule> rules = this.filenameScrapingRuleService.loadRules();
+    for (int start = 0; start < unique.size(); start += this.importBatchSize) {
+      final List<String> batch =
+          unique.subList(start, Math.min(start + this.importBatchSize, unique.size()));
+      final Set<String> existing = this.comicDetailService.filenamesFound(batch);
+      final Map<String, ComicDetail> movedComics =
+          this.comicDetailService.findMovedComics(
+              batch.stream().filter(filename -> !existing.contains(filename)).toList());
+      final List<ComicBook> comicBooks = new ArrayList<>();
+      for (int index = 0; index < batch.size(); index++) {
+        final String filename = batch.get(index);
+        if (existing.contains(filename)) {
+          log.trace("Comic file already in the database: {}", filename);
+        } else {
+          final ComicBook comicBook = this.doCreateComic(filename, rules, movedComics);
+          if (Objects.nonNull(comicBook)) {
+            comicBooks.add(comicBook);
+          }
+        }
+      }
+      if (!comicBooks.isEmpty()) {
+        log.debug("Firing imported event for {} comic book(s)", comicBooks.size());
+        this.comicBookStateAdaptor.fireEvents(comicBooks, ComicEvent.comicBookImported);
       }
     }
     log.debug("Initiating processing");
@@ -172,17 +223,57 @@ public class ComicFileService {
   @Transactional
   public void discoverComicFile(final String filename) {
     log.debug("Adding discovered comic file: {}", filename);
-    this.doImportComicFile(filename, ComicEvent.comicFileDiscovered);
+    this.doImportComicFile(
+        filename,
+        ComicEvent.comicFileDiscovered,
+        this.comicDetailService.findMovedComics(List.of(filename)));
   }
 
-  private void doImportComicFile(final String filename, final ComicEvent event) {
+  /**
+   * Adds a batch of comic files discovered in the library, all within a single transaction.
+   *
+   * @param filenames the comic filenames
+   */
+  @Transactional
+  public void discoverComicFiles(final List<String> filenames) {
+    log.debug("Adding {} discovered comic file(s)", filenames.size());
+    final Map<String, ComicDetail> movedComics = this.comicDetailService.findMovedComics(filenames);
+    for (int index = 0; index < filenames.size(); index++) {
+      this.doImportComicFile(filenames.get(index), ComicEvent.comicFileDiscovered, movedComics);
+    }
+  }
+
+  private void doImportComicFile(
+      final String filename,
+      final ComicEvent event,
+      final Map<String, ComicDetail> movedComics) {
+    final ComicBook comicBook =
+        this.doCreateComic(filename, this.filenameScrapingRuleService.loadRules(), movedComics);
+    if (Objects.nonNull(comicBook)) {
+      log.debug("Firing new comic book event: {}:{}", event, filename);
+      this.comicBookStateAdaptor.fireEvent(comicBook, event);
+    }
+  }
+
+  private ComicBook doCreateComic(
+      final String filename,
+      final List<FilenameScrapingRule> rules,
+      final Map<String, ComicDetail> movedComics) {
+    final ComicDetail movedComic = movedComics.get(filename);
+    if (Objects.nonNull(movedComic)) {
+      log.debug("Comic file was moved, relinking: {}", filename);
+      this.comicDetailService.relinkComic(movedComic, filename);
+      log.trace("Firing comic file found event");
+      this.comicBookStateAdaptor.fireEvent(movedComic.getComicBook(), ComicEvent.comicFileFound);
+      return null;
+    }
     try {
       log.debug("Creating comicBook: filename={}", filename);
       final ComicBook comicBook = this.comicBookAdaptor.createComic(filename);
       log.trace("Scraping comicBook filename");
       final FilenameMetadata metadata =
           this.filenameScrapingRuleService.loadFilenameMetadata(
-              comicBook.getComicDetail().getBaseFilename());
+              comicBook.getComicDetail().getBaseFilename(), rules);
       if (metadata.isFound()) {
         log.trace("Scraping rule applied");
         comicBook.getComicDetail().setSeries(metadata.getSeries());
@@ -190,10 +281,10 @@ public class ComicFileService {
         comicBook.getComicDetail().setIssueNumber(metadata.getIssueNumber());
         comicBook.getComicDetail().setCoverDate(metadata.getCoverDate());
       }
-      log.debug("Firing new comic book event: {}:{}", event, filename);
-      this.comicBookStateAdaptor.fireEvent(comicBook, event);
+      return comicBook;
     } catch (AdaptorException error) {
       log.error("Failed to create comic for file: " + filename, error);
+      return null;
     }
   }
 
@@ -0,0 +1,65 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicpages;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import lombok.RequiredArgsConstructor;
+import org.apache.commons.io.FilenameUtils;
+import org.comixedproject.adaptors.archive.model.ArchiveEntryRegion;
+import org.springframework.core.io.AbstractResource;
+
+/**
+ * <code>ArchiveEntryResource</code> exposes a single archive entry as a {@link
+ * org.springframework.core.io.Resource} whose content is streamed from the comic book file when the
+ * response is written.
+ *
+ * @author Darryl L. Pierce
+ */
+@RequiredArgsConstructor
+public class ArchiveEntryResource extends AbstractResource {
+  private final ArchiveEntryRegion region;
+
+  @Override
+  public boolean exists() {
+    return new File(this.region.getArchiveFilename()).isFile();
+  }
+
+  @Override
+  public long contentLength() {
+    return this.region.getSize();
+  }
+
+  @Override
+  public String getFilename() {
+    return FilenameUtils.getName(this.region.getEntryFilename());
+  }
+
+  @Override
+  public String getDescription() {
+    return String.format(
+        "archive entry [%s#%s]", this.region.getArchiveFilename(), this.region.getEntryFilename());
+  }
+
+  @Override
+  public InputStream getInputStream() throws IOException {
+    return this.region.openStream();
+  }
+}
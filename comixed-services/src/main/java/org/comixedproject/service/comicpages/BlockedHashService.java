@@ -21,8 +21,12 @@ package org.comixedproject.service.comicpages;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.lang.time.DateFormatUtils;
 import org.comixedproject.adaptors.AdaptorException;
@@ -33,17 +37,25 @@ import org.comixedproject.messaging.PublishingException;
 import org.comixedproject.messaging.comicpages.PublishBlockedPageRemovalAction;
 import org.comixedproject.messaging.comicpages.PublishBlockedPageUpdateAction;
 import org.comixedproject.messaging.library.PublishDuplicatePageListUpdateAction;
+import org.comixedproject.model.batch.MarkBlockedPagesEvent;
+import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicpages.BlockedHash;
 import org.comixedproject.model.comicpages.ComicPage;
+import org.comixedproject.model.comicpages.ComicPageType;
 import org.comixedproject.model.library.DuplicatePage;
 import org.comixedproject.model.net.DownloadDocument;
 import org.comixedproject.model.net.library.DuplicatePageUpdate;
 import org.comixedproject.repositories.comicpages.BlockedHashRepository;
+import org.comixedproject.service.admin.ConfigurationService;
 import org.comixedproject.service.library.DuplicatePageException;
 import org.comixedproject.service.library.DuplicatePageService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 /**
  * <code>BlockedHashService</code> applies business rules to instances of {@link BlockedHash}.
@@ -66,6 +78,14 @@ public class BlockedHashService {
   @Autowired private ComicPageService comicPageService;
   @Autowired private ComicBookAdaptor comicBookAdaptor;
   @Autowired private DataEncoder dataEncoder;
+  @Autowired private ConfigurationService configurationService;
+  @Autowired private ApplicationEventPublisher applicationEventPublisher;
+
+  @Value("${comixed.pages.similar.maximum-distance:6}")
+  int maximumDistance = 6;
+
+  private PerceptualHashTree blockedPageIndex;
+  private Set<String> blockedHashes;
 
   /**
    * Returns all blocked pages.
@@ -137,6 +157,7 @@ public class BlockedHashService {
       log.error("Failed to publish blocked page update", error);
     }
     this.doPublishDuplicatePageUpdates(this.duplicatePageService.getForHash(hash), false);
+    this.doMarkBlockedPages();
     return updatedPage;
   }
 
@@ -153,7 +174,13 @@ public class BlockedHashService {
       pageRecord.setLabel(source.getLabel());
     }
     log.trace("Saving updated blocked page");
-    return this.blockedHashRepository.save(pageRecord);
+    final BlockedHash result = this.blockedHashRepository.save(pageRecord);
+    this.doAfterCommit(
+        () -> {
+          this.doResetBlockedPageIndex();
+          this.doGetBlockedHashes().add(hash);
+        });
+    return result;
   }
 
   /**
@@ -178,6 +205,7 @@ public class BlockedHashService {
         log.error("Failed to publish blocked page update", error);
       }
     }
+    this.doMarkBlockedPages();
   }
 
   /**
@@ -211,6 +239,11 @@ public class BlockedHashService {
     }
     log.trace("Deleting record");
     this.blockedHashRepository.delete(entry);
+    this.doAfterCommit(
+        () -> {
+          this.doResetBlockedPageIndex();
+          this.doGetBlockedHashes().remove(hash);
+        });
     return entry;
   }
 
@@ -249,6 +282,7 @@ public class BlockedHashService {
    */
   @Transactional
   public List<BlockedHash> uploadFile(final InputStream inputStream) throws IOException {
+    final List<String> hashes = new ArrayList<>();
     this.csvAdaptor.decodeRecords(
         inputStream,
         new String[] {PAGE_LABEL_HEADER, PAGE_HASH_HEADER, PAGE_SNAPSHOT_HEADER},
@@ -264,8 +298,15 @@ public class BlockedHashService {
               log.debug("Creating new blocked page record");
               this.blockedHashRepository.save(new BlockedHash(label, hash, thumbnail));
             }
+            hashes.add(hash);
           }
         });
+    this.doAfterCommit(
+        () -> {
+          this.doResetBlockedPageIndex();
+          this.doGetBlockedHashes().addAll(hashes);
+        });
+    this.doMarkBlockedPages();
     return this.blockedHashRepository.findAll();
   }
 
@@ -278,7 +319,7 @@ public class BlockedHashService {
   @Transactional
   public List<String> deleteBlockedPages(final List<String> hashes) {
     log.debug("Deleting {} blocked page entr{}", hashes.size(), hashes.size() == 1 ? "y" : "ies");
-    List<String> result = new ArrayList<>();
+    final List<String> result = new ArrayList<>();
     hashes.forEach(
         hash -> {
           log.trace("Loading blocked page for hash: {}", hash);
@@ -294,6 +335,11 @@ public class BlockedHashService {
             }
           }
         });
+    this.doAfterCommit(
+        () -> {
+          this.doResetBlockedPageIndex();
+          this.doGetBlockedHashes().removeAll(result);
+        });
     log.trace("Returning list of deleted blocked pages");
     return result;
   }
@@ -306,7 +352,123 @@ public class BlockedHashService {
    */
   public boolean isHashBlocked(final String hash) {
     log.trace("Finding if hash is blocked: {}", hash);
-    return this.blockedHashRepository.findByHash(hash) != null;
+    return this.doGetBlockedHashes().contains(hash);
+  }
+
+  /**
+   * Marks for deletion every page in the given comic book whose hash is blocked. Nothing is done
+   * if blocked page management is disabled.
+   *
+   * @param comicBook the comic book
+   * @return the number of pages marked
+   */
+  public int markBlockedPages(final ComicBook comicBook) {
+    if (!this.configurationService.isFeatureEnabled(
+        ConfigurationService.CFG_MANAGE_BLOCKED_PAGES)) {
+      log.trace("Blocked page management is disabled");
+      return 0;
+    }
+    final Set<String> hashes = this.doGetBlockedHashes();
+    int result = 0;
+    for (int index = 0; index < comicBook.getPages().size(); index++) {
+      final ComicPage page = comicBook.getPages().get(index);
+      if (!page.isDeleted() && Objects.nonNull(page.getHash()) && hashes.contains(page.getHash())) {
+        log.trace("Marking blocked page for deletion: page number={}", page.getPageNumber());
+        page.setPageType(ComicPageType.DELETED);
+        result++;
+      }
+    }
+    if (result > 0) {
+      log.debug(
+          "Marked {} blocked page{} for deletion: id={}",
+          result,
+          result == 1 ? "" : "s",
+          comicBook.getComicBookId());
+    }
+    return result;
+  }
+
+  /** Discards the in-memory set of blocked hashes so that it is reloaded from the database. */
+  public synchronized void reloadBlockedHashes() {
+    log.debug("Reloading blocked page hashes");
+    this.blockedHashes = null;
+  }
+
+  private synchronized Set<String> doGetBlockedHashes() {
+    if (Objects.isNull(this.blockedHashes)) {
+      log.debug("Loading blocked page hashes");
+      final Set<String> hashes = ConcurrentHashMap.newKeySet();
+      hashes.addAll(this.blockedHashRepository.getHashes());
+      this.blockedHashes = hashes;
+    }
+    return this.blockedHashes;
+  }
+
+  /**
+   * Returns the blocked page hashes whose content looks like the given perceptual hash, so that
+   * re-encoded or slightly altered copies of a blocked page can be found.
+   *
+   * @param perceptualHash the perceptual hash
+   * @return the similar blocked page hashes
+   */
+  @Transactional
+  public List<String> getBlockedHashesSimilarTo(final long perceptualHash) {
+    log.trace("Finding blocked pages similar to perceptual hash: {}", perceptualHash);
+    return new ArrayList<>(
+        this.doGetBlockedPageIndex().search(perceptualHash, this.maximumDistance));
+  }
+
+  /**
+   * Returns the blocked page hashes whose content looks like the page with the given hash.
+   *
+   * @param hash the page hash
+   * @return the similar blocked page hashes
+   */
+  @Transactional
+  public List<String> getBlockedHashesSimilarToPage(final String hash) {
+    log.debug("Finding blocked pages similar to page: hash={}", hash);
+    final Long perceptualHash = this.comicPageService.getPerceptualHashForHash(hash);
+    if (Objects.isNull(perceptualHash)) {
+      log.debug("No perceptual hash recorded for page");
+      return Collections.emptyList();
+    }
+    return this.getBlockedHashesSimilarTo(perceptualHash);
+  }
+
+  private synchronized PerceptualHashTree doGetBlockedPageIndex() {
+    if (Objects.isNull(this.blockedPageIndex)) {
+      log.debug("Building blocked page index");
+      final PerceptualHashTree index = new PerceptualHashTree();
+      this.comicPageService
+          .getBlockedPerceptualHashes()
+          .forEach(entry -> index.add(entry.getPerceptualHash(), entry.getHash()));
+      this.blockedPageIndex = index;
+    }
+    return this.blockedPageIndex;
+  }
+
+  private synchronized void doResetBlockedPageIndex() {
+    this.blockedPageIndex = null;
+  }
+
+  private void doAfterCommit(final Runnable action) {
+    if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+      action.run();
+      return;
+    }
+    log.trace("Updating blocked hashes once the transaction commits");
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            action.run();
+          }
+        });
+  }
+
+  private void doMarkBlockedPages() {
+    log.trace("Firing event to mark blocked pages");
+    this.applicationEventPublisher.publishEvent(MarkBlockedPagesEvent.instance);
   }
 
   /**
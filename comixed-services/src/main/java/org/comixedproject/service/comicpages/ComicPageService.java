@@ -18,18 +18,16 @@
 
 package org.comixedproject.service.comicpages;
 
-import java.awt.image.BufferedImage;
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
-import javax.imageio.ImageIO;
 import lombok.extern.log4j.Log4j2;
-import org.comixedproject.adaptors.GenericUtilitiesAdaptor;
+import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicpages.ComicPage;
 import org.comixedproject.model.comicpages.ComicPageType;
+import org.comixedproject.model.comicpages.PageContentDetails;
+import org.comixedproject.model.comicpages.PerceptualHashEntry;
 import org.comixedproject.repositories.comicpages.ComicPageRepository;
 import org.comixedproject.service.comicbooks.ComicBookException;
 import org.comixedproject.service.comicbooks.ComicBookService;
@@ -48,10 +46,12 @@ import org.springframework.transaction.annotation.Transactional;
 @Service
 @Log4j2
 public class ComicPageService {
+  private static final int MARK_PAGES_BATCH_SIZE = 500;
+
   @Autowired private ComicPageRepository comicPageRepository;
   @Autowired private ComicBookService comicBookService;
   @Autowired private ComicBookStateAdaptor comicBookStateAdaptor;
-  @Autowired private GenericUtilitiesAdaptor genericUtilitiesAdaptor;
+  @Autowired private ComicBookAdaptor comicBookAdaptor;
 
   /**
    * Finds one page with the given hash
@@ -66,6 +66,31 @@ public class ComicPageService {
     return results.isEmpty() ? null : results.get(0);
   }
 
+  /**
+   * Returns the perceptual hash recorded for pages with the given hash.
+   *
+   * @param hash the page hash
+   * @return the perceptual hash, or null if none has been recorded
+   */
+  @Transactional
+  public Long getPerceptualHashForHash(final String hash) {
+    log.trace("Finding perceptual hash for hash: {}", hash);
+    final List<Long> results =
+        this.comicPageRepository.getPerceptualHashesForHash(hash, PageRequest.of(0, 1));
+    return results.isEmpty() ? null : results.get(0);
+  }
+
+  /**
+   * Returns the perceptual hashes of all blocked pages.
+   *
+   * @return the hash entries
+   */
+  @Transactional
+  public List<PerceptualHashEntry> getBlockedPerceptualHashes() {
+    log.trace("Loading perceptual hashes for blocked pages");
+    return this.comicPageRepository.getBlockedPerceptualHashes();
+  }
+
   /**
    * Retrieves the content for a comic page.
    *
@@ -217,6 +242,17 @@ public class ComicPageService {
     return this.comicPageRepository.findAllCoverPageHashes();
   }
 
+  /**
+   * Returns the list of all page hashes for comic covers that are wider than the given width.
+   *
+   * @param width the width
+   * @return the hash list
+   */
+  public Set<String> findAllCoverPageHashesWiderThan(final int width) {
+    log.debug("Getting all page hashes for covers wider than {}", width);
+    return this.comicPageRepository.findAllCoverPageHashesWiderThan(width);
+  }
+
   /**
    * Marks only the cover pages for image cache entry generation.
    *
@@ -227,6 +263,22 @@ public class ComicPageService {
     this.comicPageRepository.markCoverPagesToHaveCacheEntryCreated(hash);
   }
 
+  /**
+   * Marks the cover pages with any of the given hashes for image cache entry generation. The
+   * hashes are updated in batches to keep each statement within database parameter limits.
+   *
+   * @param hashes the page hashes
+   */
+  @Transactional
+  public void markAllCoverPagesToHaveCacheEntryCreated(final List<String> hashes) {
+    for (int start = 0; start < hashes.size(); start += MARK_PAGES_BATCH_SIZE) {
+      final List<String> batch =
+          hashes.subList(start, Math.min(start + MARK_PAGES_BATCH_SIZE, hashes.size()));
+      log.trace("Marking {} cover page hash(es) to be cached", batch.size());
+      this.comicPageRepository.markAllCoverPagesToHaveCacheEntryCreated(batch);
+    }
+  }
+
   /**
    * Updates a page's details based on content.
    *
@@ -236,18 +288,8 @@ public class ComicPageService {
    */
   @Transactional
   public ComicPage updatePageContent(final ComicPage page, final byte[] content) {
-    log.debug("Getting page hash");
-    page.setHash(this.genericUtilitiesAdaptor.createHash(content));
-    try {
-      final BufferedImage image = ImageIO.read(new ByteArrayInputStream(content));
-      if (image != null) {
-        log.debug("Getting page dimensions ");
-        page.setWidth(image.getWidth());
-        page.setHeight(image.getHeight());
-      }
-    } catch (IOException error) {
-      log.error("Failed to load image from content");
-    }
+    log.debug("Getting page details");
+    this.comicBookAdaptor.setPageDetails(page, content);
     log.debug("Saving updated page");
     return this.comicPageRepository.save(page);
   }
@@ -318,6 +360,17 @@ public class ComicPageService {
     return this.comicPageRepository.getPageIdForComicBookCover(comicBookId);
   }
 
+  /**
+   * Returns the hash for the cover page of a comic book.
+   *
+   * @param comicBookId the comic book id
+   * @return the page hash
+   */
+  public String getHashForComicBookCover(final long comicBookId) {
+    log.debug("Loading cover page hash for comic book: id={}", comicBookId);
+    return this.comicPageRepository.getHashForComicBookCover(comicBookId);
+  }
+
   /**
    * Retrieves the filename for the comic that contains the page.
    *
@@ -362,6 +415,37 @@ public class ComicPageService {
     return this.comicPageRepository.getHashForPage(pageId);
   }
 
+  /**
+   * Returns the comic filename, page filename, hash and stored mime type for the given page, loaded
+   * with a single query.
+   *
+   * @param pageId the page id
+   * @return the page details
+   * @throws ComicPageException if the page id is invalid
+   */
+  @Transactional
+  public PageContentDetails getPageContentDetails(final long pageId) throws ComicPageException {
+    log.debug("Loading content details for page: id={}", pageId);
+    final PageContentDetails result = this.comicPageRepository.getPageContentDetails(pageId);
+    if (result == null) {
+      throw new ComicPageException("No such page: id=" + pageId);
+    }
+    return result;
+  }
+
+  /**
+   * Returns the pages that follow the given page in the same comic book, in page order.
+   *
+   * @param pageId the page id
+   * @param maxRecords the maximum number of pages
+   * @return the pages
+   */
+  @Transactional
+  public List<ComicPage> findPagesFollowing(final long pageId, final int maxRecords) {
+    log.debug("Loading {} page(s) following page: id={}", maxRecords, pageId);
+    return this.comicPageRepository.findPagesFollowing(pageId, PageRequest.of(0, maxRecords));
+  }
+
   /**
    * Returns the list of all duplicate page hashes.
    *
@@ -0,0 +1,142 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+
+package org.comixedproject.service.comicpages;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.adaptors.AdaptorException;
+import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
+import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.model.comicpages.ComicPage;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+/**
+ * <code>CoverCacheWarmingService</code> adds the covers of newly loaded comics to the image cache
+ * in the background, so that they are available as soon as the comic is in the library.
+ *
+ * <p>Covers are cached by a fixed number of worker threads fed by a bounded queue. If the queue is
+ * full then the cover is skipped, and is left for the add pages to image cache job to find.
+ *
+ * @author Darryl L. Pierce
+ */
+@Service
+@Log4j2
+public class CoverCacheWarmingService implements InitializingBean, DisposableBean {
+  @Autowired private PageCacheService pageCacheService;
+  @Autowired private ComicBookAdaptor comicBookAdaptor;
+
+  @Value("${comixed.images.cover-cache.workers:2}")
+  int workers = 2;
+
+  @Value("${comixed.images.cover-cache.queue-size:1000}")
+  int queueSize = 1000;
+
+  ExecutorService executor;
+
+  private final Set<String> pendingHashes = ConcurrentHashMap.newKeySet();
+
+  @Override
+  public void afterPropertiesSet() {
+    final int threads = Math.max(1, this.workers);
+    log.debug("Starting {} cover cache worker(s)", threads);
+    final AtomicInteger threadCount = new AtomicInteger();
+    final ThreadPoolExecutor pool =
+        new ThreadPoolExecutor(
+            threads,
+            threads,
+            60L,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(Math.max(1, this.queueSize)),
+            runnable -> {
+              final Thread thread =
+                  new Thread(runnable, "CX-Covers-" + threadCount.incrementAndGet());
+              thread.setDaemon(true);
+              return thread;
+            });
+    pool.allowCoreThreadTimeOut(true);
+    this.executor = pool;
+  }
+
+  @Override
+  public void destroy() {
+    log.debug("Stopping cover cache workers");
+    this.executor.shutdownNow();
+  }
+
+  /**
+   * Queues the cover of a comic book to be added to the image cache. Nothing is queued if the
+   * comic has no pages, if the cover is already cached, or if it is already queued.
+   *
+   * @param comicBook the comic book
+   */
+  public void queueCover(final ComicBook comicBook) {
+    if (Objects.isNull(comicBook.getPages()) || comicBook.getPages().isEmpty()) {
+      log.trace("Comic has no pages to cache");
+      return;
+    }
+    final ComicPage cover = comicBook.getPages().get(0);
+    final String hash = cover.getHash();
+    if (!StringUtils.hasLength(hash) || this.pageCacheService.isCached(hash)) {
+      log.trace("Cover does not need to be cached: hash={}", hash);
+      return;
+    }
+    if (!this.pendingHashes.add(hash)) {
+      log.trace("Cover already queued: hash={}", hash);
+      return;
+    }
+    final String comicFilename = comicBook.getComicDetail().getFilename();
+    final String pageFilename = cover.getFilename();
+    try {
+      log.debug("Queueing cover to be cached: hash={}", hash);
+      this.executor.execute(() -> this.doCacheCover(hash, comicFilename, pageFilename));
+    } catch (RejectedExecutionException error) {
+      log.debug("Cover cache queue is full, skipping cover: hash={}", hash);
+      this.pendingHashes.remove(hash);
+    }
+  }
+
+  private void doCacheCover(
+      final String hash, final String comicFilename, final String pageFilename) {
+    try {
+      if (!this.pageCacheService.isCached(hash)) {
+        log.trace("Caching cover: hash={}", hash);
+        this.pageCacheService.saveByHash(
+            hash, this.comicBookAdaptor.loadPageContent(comicFilename, pageFilename));
+      }
+    } catch (AdaptorException error) {
+      log.error("Failed to cache cover: hash={}", hash, error);
+    } finally {
+      this.pendingHashes.remove(hash);
+    }
+  }
+}
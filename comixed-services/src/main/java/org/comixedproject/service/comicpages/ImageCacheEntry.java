@@ -0,0 +1,46 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicpages;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * <code>ImageCacheEntry</code> describes a single entry in the image cache, and is used when
+ * selecting entries to evict.
+ *
+ * @author Darryl L. Pierce
+ */
+@AllArgsConstructor
+class ImageCacheEntry {
+  @Getter private final String hash;
+  @Getter private final long length;
+  @Getter private final long lastAccessed;
+
+  /**
+   * Returns an entry covering both this entry and another entry for the same hash.
+   *
+   * @param other the other entry
+   * @return the combined entry
+   */
+  ImageCacheEntry combine(final ImageCacheEntry other) {
+    return new ImageCacheEntry(
+        this.hash, this.length + other.length, Math.max(this.lastAccessed, other.lastAccessed));
+  }
+}
@@ -18,22 +18,55 @@
 
 package org.comixedproject.service.comicpages;
 
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
 import java.io.*;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.IOUtils;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.GenericUtilitiesAdaptor;
+import org.comixedproject.adaptors.archive.model.ArchiveEntryRegion;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.adaptors.file.FileTypeAdaptor;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicpages.ComicPage;
+import org.comixedproject.model.comicpages.PageContentDetails;
 import org.comixedproject.service.comicbooks.ComicBookException;
 import org.comixedproject.service.comicbooks.ComicBookService;
 import org.comixedproject.service.comicfiles.ComicFileService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
 import org.springframework.http.CacheControl;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
@@ -44,21 +77,63 @@ import org.springframework.util.StringUtils;
 /**
  * <code>PageCacheService</code> provides methods for working with the page cache.
  *
+ * <p>The image cache on disk is kept within a maximum size. Each entry's modified time is updated
+ * when it is read, and when the cache grows too large the least recently used entries are evicted,
+ * with cover pages being evicted only after all other pages.
+ *
+ * <p>Images are stored either as one file per image in a directory tree, or in segment files by
+ * {@link SegmentImageCacheStore}. Images in the directory tree are moved into segment files once
+ * segment storage is enabled.
+ *
+ * <p>When a reader requests a page, the pages that follow it can be read ahead into the cache with
+ * {@link #readAhead(String, long)}.
+ *
  * @author Darryl L. Pierce
  */
 @Service
 @Log4j2
-public class PageCacheService {
+public class PageCacheService implements MeterBinder {
   @Autowired private ComicPageService comicPageService;
   @Autowired private ComicBookService comicBookService;
   @Autowired private ComicFileService comicFileService;
   @Autowired private ComicBookAdaptor comicBookAdaptor;
   @Autowired private FileTypeAdaptor fileTypeAdaptor;
   @Autowired private GenericUtilitiesAdaptor genericUtilitiesAdaptor;
+  @Autowired private PageMemoryCache pageMemoryCache;
+  @Autowired private SegmentImageCacheStore segmentImageCacheStore;
 
   @Value("${comixed.images.cache.location}")
   String cacheDirectory;
 
+  @Value("${comixed.images.cache.maximum-size:4294967296}")
+  long maximumCacheBytes = 4294967296L;
+
+  @Value("${comixed.images.cache.access-update-period:3600000}")
+  long accessUpdatePeriod = 3600000L;
+
+  @Value("${comixed.images.read-ahead.minimum-pages:2}")
+  int readAheadMinimumPages = 2;
+
+  @Value("${comixed.images.read-ahead.maximum-pages:8}")
+  int readAheadMaximumPages = 8;
+
+  @Value("${comixed.images.read-ahead.maximum-active:4}")
+  int readAheadMaximumActive = 4;
+
+  @Value("${comixed.images.read-ahead.idle-timeout:1800000}")
+  long readAheadIdleTimeout = 1800000L;
+
+  Executor readAheadExecutor =
+      Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("CX-ReadAhead-", 0).factory());
+
+  private final Map<String, ReadAheadState> readAheadStates = new ConcurrentHashMap<>();
+  private final AtomicInteger activeReadAheads = new AtomicInteger();
+  private final AtomicLong readAheadStatesPruned = new AtomicLong();
+  private final AtomicLong cachedBytes = new AtomicLong();
+  private final AtomicLong cachedEntries = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private volatile boolean cacheScanned = false;
+
   /**
    * Returns a cache entry by page hash.
    *
@@ -68,6 +143,11 @@ public class PageCacheService {
   public byte[] findByHash(final String hash) {
     log.debug("Searching for cached image: hash={}", hash);
 
+    if (this.segmentImageCacheStore.isEnabled()) {
+      log.debug("Loading cached image from segments");
+      return this.segmentImageCacheStore.load(hash);
+    }
+
     final File file = this.getFileForHash(hash);
     byte[] result = null;
     if (file != null && file.exists() && !file.isDirectory()) {
@@ -86,6 +166,39 @@ public class PageCacheService {
     return null;
   }
 
+  /**
+   * Returns the content for a page from the memory cache or, failing that, the image cache on disk.
+   * Content read from disk is added to the memory cache.
+   *
+   * @param hash the page hash
+   * @return the cached content, or null
+   */
+  public CachedPageContent getCachedContent(final String hash) {
+    return this.getCachedContent(hash, null);
+  }
+
+  /**
+   * Returns the content for a page as for {@link #getCachedContent(String)}, using the page's
+   * stored mime type rather than detecting it from the content.
+   *
+   * @param hash the page hash
+   * @param mimeType the stored mime type, or null if not known
+   * @return the cached content, or null
+   */
+  public CachedPageContent getCachedContent(final String hash, final String mimeType) {
+    if (Objects.isNull(hash)) return null;
+    CachedPageContent result = this.pageMemoryCache.get(hash);
+    if (Objects.isNull(result)) {
+      final byte[] content = this.findByHash(hash);
+      if (Objects.nonNull(content)) {
+        this.doMarkAccessed(hash);
+        result = new CachedPageContent(content, this.doGetMimeType(content, mimeType));
+        this.pageMemoryCache.put(hash, result);
+      }
+    }
+    return result;
+  }
+
   File getFileForHash(final String hash) {
     if (Objects.isNull(hash) || hash.length() != 32) {
       return null;
@@ -116,14 +229,350 @@ public class PageCacheService {
     }
     try {
       log.debug("Saving image to cache: hash={}", hash);
+      this.pageMemoryCache.remove(hash);
+      if (this.segmentImageCacheStore.isEnabled()) {
+        final boolean replacing = this.segmentImageCacheStore.contains(hash);
+        this.segmentImageCacheStore.save(hash, content);
+        if (!replacing) {
+          this.cachedBytes.addAndGet(content.length);
+          this.cachedEntries.incrementAndGet();
+        }
+        return;
+      }
       final File file = this.getFileForHash(hash);
+      final boolean replacing = file.isFile();
+      final long previousLength = replacing ? file.length() : 0L;
       file.getParentFile().mkdirs();
-      IOUtils.write(content, new FileOutputStream(file, false));
+      try (OutputStream output = new FileOutputStream(file, false)) {
+        IOUtils.write(content, output);
+      }
+      this.cachedBytes.addAndGet(content.length - previousLength);
+      if (!replacing) this.cachedEntries.incrementAndGet();
     } catch (IOException error) {
       log.error("Failed to add page to image cache", error);
     }
   }
 
+  /**
+   * Returns whether the image cache may be larger than its maximum size. Until the cache has been
+   * scanned its size is unknown, so it is assumed to be too large.
+   *
+   * @return true if entries may need to be evicted
+   */
+  public boolean isImageCacheOverBudget() {
+    if (this.maximumCacheBytes <= 0L) {
+      log.trace("Image cache size is unlimited");
+      return false;
+    }
+    return !this.cacheScanned || this.cachedBytes.get() > this.maximumCacheBytes;
+  }
+
+  /**
+   * Scans the image cache and returns the hashes of the entries to evict to bring the cache back
+   * under its maximum size. Entries are evicted in least recently used order, with cover pages
+   * only being evicted once no other entries remain. Enough entries are selected to bring the cache
+   * down to 90% of its maximum size so that eviction does not run after every new entry.
+   *
+   * <p>Renditions of a page are counted as part of that page's entry, since they are evicted along
+   * with it.
+   *
+   * @return the hashes to evict
+   */
+  public List<String> findImageCacheEntriesToEvict() {
+    final List<ImageCacheEntry> renditions = this.doScanRenditions();
+    final List<ImageCacheEntry> pages = this.doScanImageCache();
+    long total = this.doUpdateStatistics(pages, renditions);
+    if (this.maximumCacheBytes <= 0L || total <= this.maximumCacheBytes) {
+      return Collections.emptyList();
+    }
+
+    final long target = this.maximumCacheBytes / 10L * 9L;
+    final Map<String, ImageCacheEntry> entriesByHash = new HashMap<>();
+    Stream.concat(pages.stream(), renditions.stream())
+        .forEach(entry -> entriesByHash.merge(entry.getHash(), entry, ImageCacheEntry::combine));
+    final List<ImageCacheEntry> entries = new ArrayList<>(entriesByHash.values());
+    final Set<String> coverHashes = this.comicPageService.findAllCoverPageHashes();
+    entries.sort(
+        Comparator.comparing((ImageCacheEntry entry) -> coverHashes.contains(entry.getHash()))
+            .thenComparingLong(ImageCacheEntry::getLastAccessed));
+    final List<String> result = new ArrayList<>();
+    for (int index = 0; index < entries.size() && total > target; index++) {
+      final ImageCacheEntry entry = entries.get(index);
+      result.add(entry.getHash());
+      total -= entry.getLength();
+    }
+    log.debug("Selected {} image cache entries to evict", result.size());
+    return result;
+  }
+
+  /**
+   * Removes an entry from the image cache.
+   *
+   * @param hash the page hash
+   */
+  public void evictByHash(final String hash) {
+    if (this.segmentImageCacheStore.isEnabled()) {
+      this.doEvictFromSegments(hash);
+      return;
+    }
+    final File file = this.getFileForHash(hash);
+    if (Objects.isNull(file) || !file.isFile()) {
+      log.trace("No image cache entry to evict: hash={}", hash);
+      return;
+    }
+    final long length = file.length();
+    log.trace("Evicting image cache entry: hash={}", hash);
+    if (file.delete()) {
+      this.cachedBytes.addAndGet(-length);
+      this.cachedEntries.decrementAndGet();
+      this.evictions.incrementAndGet();
+    } else {
+      log.warn("Failed to evict image cache entry: hash={}", hash);
+    }
+  }
+
+  /**
+   * Records a change in the size of the renditions stored in the image cache.
+   *
+   * @param delta the change in bytes
+   */
+  void updateRenditionSize(final long delta) {
+    this.cachedBytes.addAndGet(delta);
+  }
+
+  /**
+   * Returns the size of the image cache, including renditions. The size is estimated until the
+   * cache is scanned.
+   *
+   * @return the size in bytes
+   */
+  public long getImageCacheSize() {
+    return this.cachedBytes.get();
+  }
+
+  /**
+   * Returns the number of entries in the image cache. The count is estimated until the cache is
+   * scanned.
+   *
+   * @return the entry count
+   */
+  public long getImageCacheEntryCount() {
+    return this.cachedEntries.get();
+  }
+
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    FunctionCounter.builder("comixed.image-cache.disk.evictions", this.evictions, AtomicLong::get)
+        .description("Pages evicted from the image cache")
+        .register(registry);
+    Gauge.builder("comixed.image-cache.disk.size", this, PageCacheService::getImageCacheSize)
+        .baseUnit("bytes")
+        .description("The size of the pages and renditions held in the image cache")
+        .register(registry);
+    Gauge.builder(
+            "comixed.image-cache.disk.entries", this, PageCacheService::getImageCacheEntryCount)
+        .description("The number of pages held in the image cache")
+        .register(registry);
+  }
+
+  /**
+   * Returns whether any images remain in the directory tree that need to be moved into segment
+   * files.
+   *
+   * @return true if images need to be migrated
+   */
+  public boolean hasImageCacheEntriesToMigrate() {
+    if (!this.segmentImageCacheStore.isEnabled()) return false;
+    final Path root = new File(this.cacheDirectory).toPath();
+    if (!Files.isDirectory(root)) return false;
+    try (DirectoryStream<Path> paths = Files.newDirectoryStream(root, this::isHashDirectory)) {
+      return paths.iterator().hasNext();
+    } catch (IOException error) {
+      log.error("Failed to read image cache directory", error);
+      return false;
+    }
+  }
+
+  /**
+   * Returns the hashes of images in the directory tree that need to be moved into segment files.
+   *
+   * @param maximum the maximum number of hashes to return
+   * @return the hashes
+   */
+  public List<String> findImageCacheEntriesToMigrate(final int maximum) {
+    final Path root = new File(this.cacheDirectory).toPath();
+    if (!this.hasImageCacheEntriesToMigrate()) return new ArrayList<>();
+    try (Stream<Path> paths = Files.walk(root, 4)) {
+      return paths
+          .filter(path -> !path.startsWith(root.resolve(SegmentImageCacheStore.SEGMENT_DIRECTORY)))
+          .filter(Files::isRegularFile)
+          .map(path -> root.relativize(path).toString().replace(File.separator, ""))
+          .filter(hash -> hash.length() == 32)
+          .limit(maximum)
+          .collect(Collectors.toCollection(ArrayList::new));
+    } catch (IOException | UncheckedIOException error) {
+      log.error("Failed to scan image cache directory", error);
+      return new ArrayList<>();
+    }
+  }
+
+  /**
+   * Moves an image from the directory tree into the segment files. The image file, and any
+   * directories left empty, are then deleted.
+   *
+   * @param hash the page hash
+   */
+  public void migrateImageCacheEntry(final String hash) {
+    final File file = this.getFileForHash(hash);
+    if (Objects.isNull(file) || !file.isFile()) {
+      log.trace("No image to migrate: hash={}", hash);
+      return;
+    }
+    try {
+      log.trace("Moving image into cache segments: hash={}", hash);
+      this.segmentImageCacheStore.save(hash, Files.readAllBytes(file.toPath()));
+      Files.delete(file.toPath());
+      final Path root = new File(this.cacheDirectory).toPath();
+      Path directory = file.toPath().getParent();
+      while (!directory.equals(root) && this.isEmptyDirectory(directory)) {
+        Files.delete(directory);
+        directory = directory.getParent();
+      }
+    } catch (IOException error) {
+      log.error("Failed to move image into cache segments: hash={}", hash, error);
+    }
+  }
+
+  private long doUpdateStatistics(
+      final List<ImageCacheEntry> entries, final List<ImageCacheEntry> renditions) {
+    final long total =
+        Stream.concat(entries.stream(), renditions.stream())
+            .mapToLong(ImageCacheEntry::getLength)
+            .sum();
+    this.cachedBytes.set(total);
+    this.cachedEntries.set(entries.size());
+    this.cacheScanned = true;
+    log.debug(
+        "Image cache contains {} entries and {} renditions: {} bytes",
+        entries.size(),
+        renditions.size(),
+        total);
+    return total;
+  }
+
+  /**
+   * Returns whether the image cache contains an entry for the given hash.
+   *
+   * @param hash the page hash
+   * @return true if the entry exists, or if the hash cannot be cached
+   */
+  public boolean isCached(final String hash) {
+    if (this.segmentImageCacheStore.isEnabled()) {
+      return this.segmentImageCacheStore.contains(hash);
+    }
+    final File file = this.getFileForHash(hash);
+    return Objects.isNull(file) || file.exists();
+  }
+
+  private boolean isHashDirectory(final Path path) {
+    return path.getFileName().toString().length() == 8 && Files.isDirectory(path);
+  }
+
+  private boolean isEmptyDirectory(final Path directory) throws IOException {
+    try (DirectoryStream<Path> paths = Files.newDirectoryStream(directory)) {
+      return !paths.iterator().hasNext();
+    }
+  }
+
+  private void doEvictFromSegments(final String hash) {
+    try {
+      final long length = this.segmentImageCacheStore.remove(hash);
+      if (length < 0L) {
+        log.trace("No image cache entry to evict: hash={}", hash);
+        return;
+      }
+      this.cachedBytes.addAndGet(-length);
+      this.cachedEntries.decrementAndGet();
+      this.evictions.incrementAndGet();
+    } catch (IOException error) {
+      log.warn("Failed to evict image cache entry: hash={}", hash, error);
+    }
+  }
+
+  private List<ImageCacheEntry> doScanImageCache() {
+    if (this.segmentImageCacheStore.isEnabled()) {
+      return this.segmentImageCacheStore.getEntries();
+    }
+    final List<ImageCacheEntry> result = new ArrayList<>();
+    final Path root = new File(this.cacheDirectory).toPath();
+    if (!Files.isDirectory(root)) {
+      log.debug("Image cache directory does not exist: {}", root);
+      return result;
+    }
+    this.doScanDirectory(
+        root, file -> root.relativize(file).toString().replace(File.separator, ""), result);
+    return result;
+  }
+
+  private List<ImageCacheEntry> doScanRenditions() {
+    final List<ImageCacheEntry> result = new ArrayList<>();
+    final Path root =
+        new File(this.cacheDirectory, PageRenditionService.RENDITION_DIRECTORY).toPath();
+    if (!Files.isDirectory(root)) {
+      log.trace("Rendition directory does not exist: {}", root);
+      return result;
+    }
+    // renditions are stored as renditions/[width]/[prefix]/[hash].[format]
+    this.doScanDirectory(
+        root,
+        file -> StringUtils.stripFilenameExtension(file.getFileName().toString()),
+        result);
+    return result;
+  }
+
+  private void doScanDirectory(
+      final Path root,
+      final Function<Path, String> hashForFile,
+      final List<ImageCacheEntry> result) {
+    try {
+      Files.walkFileTree(
+          root,
+          new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(
+                final Path file, final BasicFileAttributes attributes) {
+              final String hash = hashForFile.apply(file);
+              if (attributes.isRegularFile() && hash.length() == 32) {
+                result.add(
+                    new ImageCacheEntry(
+                        hash, attributes.size(), attributes.lastModifiedTime().toMillis()));
+              }
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFileFailed(final Path file, final IOException error) {
+              log.debug("Failed to read image cache entry: {}", file, error);
+              return FileVisitResult.CONTINUE;
+            }
+          });
+    } catch (IOException error) {
+      log.error("Failed to scan image cache: {}", root, error);
+    }
+  }
+
+  private void doMarkAccessed(final String hash) {
+    // access times for images in segment files are tracked as they are loaded
+    if (this.segmentImageCacheStore.isEnabled()) return;
+    final File file = this.getFileForHash(hash);
+    final long now = System.currentTimeMillis();
+    if (Objects.nonNull(file)
+        && now - file.lastModified() > this.accessUpdatePeriod
+        && !file.setLastModified(now)) {
+      log.debug("Failed to update image cache entry access time: {}", file);
+    }
+  }
+
   /**
    * Returns the root directory for the image cache.
    *
@@ -150,20 +599,145 @@ public class PageCacheService {
     }
   }
 
-  /** Prepares pages that do not have cache entries. */
+  /**
+   * Loads the pages that follow a requested page into the image cache in the background, so they
+   * are cached by the time the reader turns to them. The pages are read from the comic book file in
+   * a single pass on a virtual thread.
+   *
+   * <p>The number of pages read starts at the minimum and doubles, up to the maximum, each time the
+   * reader requests a page that was read ahead. Each reader has at most one read-ahead running at a
+   * time, and no read-ahead is started while the maximum number are already running. Only those
+   * checks are done on the calling thread; the pages are looked up in the read-ahead task.
+   *
+   * <p>Readers that have not requested a page within the idle timeout are forgotten.
+   *
+   * @param reader the user, or the session or address of an anonymous client
+   * @param pageId the requested page id
+   */
+  public void readAhead(final String reader, final long pageId) {
+    if (this.readAheadMaximumPages <= 0 || this.readAheadMaximumActive <= 0) {
+      log.trace("Read-ahead is disabled");
+      return;
+    }
+    final long now = System.currentTimeMillis();
+    this.doPruneReadAheadStates(now);
+    final ReadAheadState state =
+        this.readAheadStates.computeIfAbsent(
+            Objects.nonNull(reader) ? reader : "", key -> new ReadAheadState());
+    synchronized (state) {
+      state.setLastRequested(now);
+      if (state.isRunning()) {
+        log.trace("Read-ahead already running for reader: {}", reader);
+        return;
+      }
+      state.setRunning(true);
+    }
+
+    if (this.activeReadAheads.incrementAndGet() > this.readAheadMaximumActive) {
+      log.debug("Too many active read-aheads, skipping: id={}", pageId);
+      this.doFinishReadAhead(state);
+      return;
+    }
+    try {
+      this.readAheadExecutor.execute(() -> this.doReadAhead(state, pageId));
+    } catch (RejectedExecutionException error) {
+      log.debug("Failed to start read-ahead", error);
+      this.doFinishReadAhead(state);
+    }
+  }
+
+  private void doReadAhead(final ReadAheadState state, final long pageId) {
+    String comicFilename = null;
+    try {
+      comicFilename = this.comicPageService.getComicFilenameForPage(pageId);
+      if (!StringUtils.hasLength(comicFilename)) {
+        log.trace("No comic book for page: id={}", pageId);
+        return;
+      }
+      final int pageCount;
+      synchronized (state) {
+        if (comicFilename.equals(state.getComicFilename())
+            && state.getUpcomingPageIds().contains(pageId)) {
+          state.setPageCount(Math.min(state.getPageCount() * 2, this.readAheadMaximumPages));
+        } else {
+          state.setPageCount(
+              Math.max(1, Math.min(this.readAheadMinimumPages, this.readAheadMaximumPages)));
+        }
+        state.setComicFilename(comicFilename);
+        pageCount = state.getPageCount();
+      }
+
+      final List<ComicPage> following = this.comicPageService.findPagesFollowing(pageId, pageCount);
+      final Map<String, String> hashesByFilename = new HashMap<>();
+      following.stream()
+          .filter(page -> StringUtils.hasLength(page.getHash()) && !this.isCached(page.getHash()))
+          .forEach(page -> hashesByFilename.putIfAbsent(page.getFilename(), page.getHash()));
+      synchronized (state) {
+        state.setUpcomingPageIds(
+            following.stream().map(ComicPage::getComicPageId).collect(Collectors.toSet()));
+      }
+      if (hashesByFilename.isEmpty()) {
+        log.trace("Following pages are already cached: id={}", pageId);
+        return;
+      }
+      log.debug("Reading ahead {} page(s): id={}", hashesByFilename.size(), pageId);
+      this.comicBookAdaptor.loadPageContents(
+          comicFilename,
+          hashesByFilename.keySet(),
+          (entry, content) -> this.saveByHash(hashesByFilename.get(entry.getFilename()), content));
+    } catch (AdaptorException error) {
+      log.debug("Failed to read ahead pages: {}", comicFilename, error);
+    } finally {
+      this.doFinishReadAhead(state);
+    }
+  }
+
+  private void doFinishReadAhead(final ReadAheadState state) {
+    this.activeReadAheads.decrementAndGet();
+    synchronized (state) {
+      state.setRunning(false);
+    }
+  }
+
+  private void doPruneReadAheadStates(final long now) {
+    final long lastPruned = this.readAheadStatesPruned.get();
+    if (now - lastPruned < this.readAheadIdleTimeout
+        || !this.readAheadStatesPruned.compareAndSet(lastPruned, now)) {
+      return;
+    }
+    this.readAheadStates
+        .values()
+        .removeIf(
+            state -> {
+              synchronized (state) {
+                return !state.isRunning()
+                    && now - state.getLastRequested() >= this.readAheadIdleTimeout;
+              }
+            });
+  }
+
+  /**
+   * Marks cover pages that do not have cache entries. The image cache is scanned once and its
+   * hashes are compared against the hashes of all cover pages, rather than checking for each cover
+   * individually.
+   */
   @Transactional
   public void prepareCoverPagesWithoutCacheEntries() {
     log.debug("Processing pages without image cache entries");
-    this.comicPageService
-        .findAllCoverPageHashes()
-        .forEach(
-            hash -> {
-              final File file = this.getFileForHash(hash);
-              if (Objects.nonNull(file) && !file.exists()) {
-                log.trace("Marking page to have image cache entry created: {}", hash);
-                this.comicPageService.markCoverPagesToHaveCacheEntryCreated(hash);
-              }
-            });
+    final List<ImageCacheEntry> entries = this.doScanImageCache();
+    this.doUpdateStatistics(entries, this.doScanRenditions());
+    final Set<String> cachedHashes =
+        entries.stream().map(ImageCacheEntry::getHash).collect(Collectors.toSet());
+    final List<String> missing =
+        this.comicPageService.findAllCoverPageHashes().stream()
+            .filter(hash -> !cachedHashes.contains(hash))
+            .toList();
+    if (missing.isEmpty()) {
+      log.debug("All cover pages have image cache entries");
+      return;
+    }
+    log.debug("Marking {} cover page(s) to have image cache entries created", missing.size());
+    this.comicPageService.markAllCoverPagesToHaveCacheEntryCreated(missing);
   }
 
   public ResponseEntity<byte[]> getCoverPageContent(
@@ -204,11 +778,81 @@ public class PageCacheService {
    */
   public ResponseEntity<byte[]> getPageContent(final long pageId, final String missingFilename)
       throws ComicPageException {
-    final String comicFilename = this.comicPageService.getComicFilenameForPage(pageId);
-    final String pageFilename = this.comicPageService.getPageFilename(pageId);
-    final String pageHash = this.comicPageService.getHashForPage(pageId);
+    final PageContentDetails details = this.comicPageService.getPageContentDetails(pageId);
 
-    return this.doGetPageContent(comicFilename, pageFilename, pageHash, missingFilename);
+    return this.doGetPageContent(
+        details.getComicFilename(),
+        details.getPageFilename(),
+        details.getHash(),
+        details.getMimeType(),
+        missingFilename);
+  }
+
+  /**
+   * Returns the content for a page, by record id, as a resource that is streamed to the client
+   * rather than loaded into memory. Cached pages small enough for the memory cache are returned
+   * from there, being loaded into it from the image cache if needed. Larger cached pages are
+   * streamed from the image cache, and pages in formats that support it are streamed directly from
+   * the comic book file. Any other page is loaded as for {@link
+   * #getPageContent(long, String)}.
+   *
+   * @param pageId the page id
+   * @param missingFilename the alternate content file
+   * @return the page content
+   * @throws ComicPageException if the page is not found
+   */
+  public ResponseEntity<Resource> getPageResource(final long pageId, final String missingFilename)
+      throws ComicPageException {
+    final PageContentDetails details = this.comicPageService.getPageContentDetails(pageId);
+    final String comicFilename = details.getComicFilename();
+    final String pageFilename = details.getPageFilename();
+    final String pageHash = details.getHash();
+    final String mimeType = details.getMimeType();
+
+    // images in segment files, and image files small enough to be kept in memory, are loaded into
+    // the memory cache rather than streamed
+    final File file = this.getFileForHash(pageHash);
+    final boolean onDisk = Objects.nonNull(file) && file.isFile();
+    final CachedPageContent cached;
+    if (this.segmentImageCacheStore.isEnabled()
+        || (onDisk && this.pageMemoryCache.isCacheable(file.length()))) {
+      cached = this.getCachedContent(pageHash, mimeType);
+    } else {
+      cached = Objects.nonNull(pageHash) ? this.pageMemoryCache.get(pageHash) : null;
+    }
+    if (Objects.nonNull(cached)) {
+      log.debug("Returning cached image: hash={}", pageHash);
+      return this.doCreateResourceResponse(
+          this.doProcessContent(cached.getContent(), cached.getMimeType(), pageFilename));
+    }
+
+    if (onDisk) {
+      log.debug("Streaming cached image: hash={}", pageHash);
+      this.doMarkAccessed(pageHash);
+      return this.doProcessResource(new FileSystemResource(file), mimeType, pageFilename);
+    }
+
+    try {
+      final ArchiveEntryRegion region =
+          this.comicBookAdaptor.getPageRegion(comicFilename, pageFilename);
+      if (Objects.nonNull(region)) {
+        log.debug("Streaming page from comic book file: {}", pageFilename);
+        return this.doProcessResource(new ArchiveEntryResource(region), mimeType, pageFilename);
+      }
+    } catch (AdaptorException error) {
+      log.error("Failed to locate page in comic book file", error);
+    }
+
+    log.debug("Page cannot be streamed, loading content");
+    return this.doCreateResourceResponse(
+        this.doGetPageContent(comicFilename, pageFilename, pageHash, mimeType, missingFilename));
+  }
+
+  private ResponseEntity<Resource> doCreateResourceResponse(
+      final ResponseEntity<byte[]> response) {
+    return ResponseEntity.status(response.getStatusCode())
+        .headers(response.getHeaders())
+        .body(new ByteArrayResource(response.getBody()));
   }
 
   /**
@@ -231,49 +875,72 @@ public class PageCacheService {
   private ResponseEntity<byte[]> doGetPageContent(ComicPage page, final String missingFilename)
       throws ComicPageException {
     log.debug("creating response entity for page: id={}", page.getComicPageId());
-    byte[] content = this.findByHash(page.getHash());
+    final CachedPageContent cached = this.getCachedContent(page.getHash(), page.getMimeType());
+    if (Objects.nonNull(cached)) {
+      return this.doProcessContent(cached.getContent(), cached.getMimeType(), page.getFilename());
+    }
 
-    if (content == null) {
-      try {
-        log.debug("Fetching content for page");
-        content = this.comicBookAdaptor.loadPageContent(page.getComicBook(), page.getPageNumber());
-        if (!Objects.isNull(content) && Objects.isNull(page.getHash())) {
-          log.debug("Updating page content: id={}", page.getComicPageId());
-          page = this.comicPageService.updatePageContent(page, content);
-          log.debug("Caching image for hash: {} bytes hash={}", content.length, page.getHash());
-          this.saveByHash(page.getHash(), content);
-        }
-      } catch (AdaptorException error) {
-        throw new ComicPageException("Failed to load page content", error);
+    final byte[] content;
+    try {
+      log.debug("Fetching content for page");
+      content = this.comicBookAdaptor.loadPageContent(page.getComicBook(), page.getPageNumber());
+      if (!Objects.isNull(content) && Objects.isNull(page.getHash())) {
+        log.debug("Updating page content: id={}", page.getComicPageId());
+        page = this.comicPageService.updatePageContent(page, content);
+        log.debug("Caching image for hash: {} bytes hash={}", content.length, page.getHash());
+        this.saveByHash(page.getHash(), content);
       }
+    } catch (AdaptorException error) {
+      throw new ComicPageException("Failed to load page content", error);
     }
 
-    return this.doProcessContent(content, page.getFilename(), missingFilename);
+    return this.doProcessLoadedContent(
+        content, page.getHash(), page.getMimeType(), page.getFilename(), missingFilename);
   }
 
   private ResponseEntity<byte[]> doGetPageContent(
       final String comicFilename,
       final String pageFilename,
       final String pageHash,
+      final String mimeType,
       final String missingFilename)
       throws ComicPageException {
     log.debug("Creating response entity for page");
-    byte[] content = this.findByHash(pageHash);
+    final CachedPageContent cached = this.getCachedContent(pageHash, mimeType);
+    if (Objects.nonNull(cached)) {
+      return this.doProcessContent(cached.getContent(), cached.getMimeType(), pageFilename);
+    }
 
-    if (content == null) {
-      try {
-        log.debug("Fetching content for page");
-        content = this.comicBookAdaptor.loadPageContent(comicFilename, pageFilename);
-        if (!Objects.isNull(content) && !Objects.isNull(pageHash)) {
-          log.debug("Caching image for hash: {} bytes hash={}", content.length, pageHash);
-          this.saveByHash(pageHash, content);
-        }
-      } catch (AdaptorException error) {
-        throw new ComicPageException("Failed to load page content", error);
+    final byte[] content;
+    try {
+      log.debug("Fetching content for page");
+      content = this.comicBookAdaptor.loadPageContent(comicFilename, pageFilename);
+      if (!Objects.isNull(content) && !Objects.isNull(pageHash)) {
+        log.debug("Caching image for hash: {} bytes hash={}", content.length, pageHash);
+        this.saveByHash(pageHash, content);
       }
+    } catch (AdaptorException error) {
+      throw new ComicPageException("Failed to load page content", error);
     }
 
-    return this.doProcessContent(content, pageFilename, missingFilename);
+    return this.doProcessLoadedContent(
+        content, pageHash, mimeType, pageFilename, missingFilename);
+  }
+
+  private ResponseEntity<byte[]> doProcessLoadedContent(
+      final byte[] content,
+      final String pageHash,
+      final String mimeType,
+      final String pageFilename,
+      final String missingFilename)
+      throws ComicPageException {
+    if (Objects.isNull(content) || Objects.isNull(pageHash)) {
+      return this.doProcessContent(content, pageFilename, missingFilename);
+    }
+    final CachedPageContent cached =
+        new CachedPageContent(content, this.doGetMimeType(content, mimeType));
+    this.pageMemoryCache.put(pageHash, cached);
+    return this.doProcessContent(cached.getContent(), cached.getMimeType(), pageFilename);
   }
 
   private ResponseEntity<byte[]> doProcessContent(
@@ -283,12 +950,25 @@ public class PageCacheService {
       content = this.doLoadMissingPageImage(missingFilename);
     }
 
-    String type =
-        this.fileTypeAdaptor.getType(new ByteArrayInputStream(content))
-            + "/"
-            + this.fileTypeAdaptor.getSubtype(new ByteArrayInputStream(content));
+    return this.doProcessContent(content, this.doGetMimeType(content), pageFilename);
+  }
+
+  private String doGetMimeType(final byte[] content) {
+    final String type = this.fileTypeAdaptor.getMimeTypeFor(new ByteArrayInputStream(content));
     log.debug("ComicPage type: {}", type);
+    return type;
+  }
+
+  private String doGetMimeType(final byte[] content, final String mimeType) {
+    if (StringUtils.hasText(mimeType)) {
+      log.trace("Using stored page type: {}", mimeType);
+      return mimeType;
+    }
+    return this.doGetMimeType(content);
+  }
 
+  private ResponseEntity<byte[]> doProcessContent(
+      final byte[] content, final String type, final String pageFilename) {
     return ResponseEntity.ok()
         .contentLength(content != null ? content.length : 0)
         .header("Content-Disposition", "attachment; filename=\"" + pageFilename + "\"")
@@ -297,6 +977,32 @@ public class PageCacheService {
         .body(content);
   }
 
+  private ResponseEntity<Resource> doProcessResource(
+      final Resource resource, final String mimeType, final String pageFilename)
+      throws ComicPageException {
+    String type = mimeType;
+    final long length;
+    try {
+      if (!StringUtils.hasText(type)) {
+        // only inflate the start of the page when its type was never stored
+        try (InputStream input = new BufferedInputStream(resource.getInputStream())) {
+          type = this.fileTypeAdaptor.getMimeTypeFor(input);
+        }
+      }
+      length = resource.contentLength();
+    } catch (IOException error) {
+      throw new ComicPageException("Failed to read page content", error);
+    }
+    log.debug("ComicPage type: {}", type);
+
+    return ResponseEntity.ok()
+        .contentLength(length)
+        .header("Content-Disposition", "attachment; filename=\"" + pageFilename + "\"")
+        .contentType(MediaType.valueOf(type))
+        .cacheControl(CacheControl.maxAge(24, TimeUnit.DAYS))
+        .body(resource);
+  }
+
   private byte[] doLoadMissingPageImage(final String missingFilename) throws ComicPageException {
     try (final InputStream input = this.getClass().getResourceAsStream(missingFilename)) {
       return input.readAllBytes();
@@ -305,4 +1011,14 @@ public class PageCacheService {
       throw new ComicPageException("Cannot find image: " + missingFilename, error);
     }
   }
+
+  @Getter
+  @Setter
+  private static class ReadAheadState {
+    private String comicFilename;
+    private Set<Long> upcomingPageIds = Collections.emptySet();
+    private int pageCount;
+    private boolean running;
+    private long lastRequested;
+  }
 }
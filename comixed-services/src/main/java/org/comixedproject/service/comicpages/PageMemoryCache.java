@@ -0,0 +1,174 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicpages;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>PageMemoryCache</code> keeps recently served page content in memory, in front of the image
+ * cache on disk. Entries are keyed by page hash and evicted in least recently used order once the
+ * total size of the cached content exceeds the configured budget.
+ *
+ * <p>Hits, misses, evictions and the cache size are published as metrics.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class PageMemoryCache implements MeterBinder {
+  private final Object lock = new Object();
+  private final Map<String, CachedPageContent> entries = new LinkedHashMap<>(16, 0.75f, true);
+  private final AtomicLong hits = new AtomicLong();
+  private final AtomicLong misses = new AtomicLong();
+  private final AtomicLong evictions = new AtomicLong();
+  private long cachedBytes = 0L;
+
+  @Value("${comixed.images.cache.memory-size:134217728}")
+  long maximumCachedBytes = 134217728L;
+
+  @Value("${comixed.images.cache.memory-entry-size:8388608}")
+  long maximumEntryBytes = 8388608L;
+
+  /**
+   * Returns the cached content for the given page hash.
+   *
+   * @param hash the page hash
+   * @return the content, or null if it is not cached
+   */
+  public CachedPageContent get(final String hash) {
+    final CachedPageContent result;
+    synchronized (this.lock) {
+      result = this.entries.get(hash);
+    }
+    if (Objects.isNull(result)) {
+      this.misses.incrementAndGet();
+    } else {
+      log.trace("Found page in memory cache: hash={}", hash);
+      this.hits.incrementAndGet();
+    }
+    return result;
+  }
+
+  /**
+   * Adds content to the cache. Content larger than the maximum entry size is not cached.
+   *
+   * @param hash the page hash
+   * @param content the content
+   */
+  public void put(final String hash, final CachedPageContent content) {
+    final long length = content.getContent().length;
+    if (!this.isCacheable(length)) {
+      log.trace("Page too large for memory cache: hash={} length={}", hash, length);
+      return;
+    }
+    synchronized (this.lock) {
+      final CachedPageContent previous = this.entries.put(hash, content);
+      if (Objects.nonNull(previous)) {
+        this.cachedBytes -= previous.getContent().length;
+      }
+      this.cachedBytes += length;
+      final Iterator<CachedPageContent> iterator = this.entries.values().iterator();
+      while (this.cachedBytes > this.maximumCachedBytes && iterator.hasNext()) {
+        this.cachedBytes -= iterator.next().getContent().length;
+        iterator.remove();
+        this.evictions.incrementAndGet();
+      }
+    }
+  }
+
+  /**
+   * Returns whether content of the given length is small enough to be cached.
+   *
+   * @param length the content length
+   * @return true if the content can be cached
+   */
+  public boolean isCacheable(final long length) {
+    return length <= this.maximumEntryBytes && length <= this.maximumCachedBytes;
+  }
+
+  /**
+   * Removes any content cached for the given page hash.
+   *
+   * @param hash the page hash
+   */
+  public void remove(final String hash) {
+    synchronized (this.lock) {
+      final CachedPageContent previous = this.entries.remove(hash);
+      if (Objects.nonNull(previous)) {
+        this.cachedBytes -= previous.getContent().length;
+      }
+    }
+  }
+
+  /**
+   * Returns the total size of the cached content.
+   *
+   * @return the size in bytes
+   */
+  public long getCachedBytes() {
+    synchronized (this.lock) {
+      return this.cachedBytes;
+    }
+  }
+
+  /**
+   * Returns the number of cached pages.
+   *
+   * @return the entry count
+   */
+  public int getEntryCount() {
+    synchronized (this.lock) {
+      return this.entries.size();
+    }
+  }
+
+  @Override
+  public void bindTo(final MeterRegistry registry) {
+    FunctionCounter.builder("comixed.image-cache.memory.requests", this.hits, AtomicLong::get)
+        .tag("result", "hit")
+        .description("Page requests served from the memory cache")
+        .register(registry);
+    FunctionCounter.builder("comixed.image-cache.memory.requests", this.misses, AtomicLong::get)
+        .tag("result", "miss")
+        .description("Page requests not found in the memory cache")
+        .register(registry);
+    FunctionCounter.builder(
+            "comixed.image-cache.memory.evictions", this.evictions, AtomicLong::get)
+        .description("Pages evicted from the memory cache")
+        .register(registry);
+    Gauge.builder("comixed.image-cache.memory.size", this, PageMemoryCache::getCachedBytes)
+        .baseUnit("bytes")
+        .description("The size of the pages held in the memory cache")
+        .register(registry);
+    Gauge.builder("comixed.image-cache.memory.entries", this, PageMemoryCache::getEntryCount)
+        .description("The number of pages held in the memory cache")
+        .register(registry);
+  }
+}
@@ -0,0 +1,310 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+
+package org.comixedproject.service.comicpages;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import javax.imageio.ImageIO;
+import lombok.extern.log4j.Log4j2;
+import org.apache.commons.io.FileUtils;
+import org.apache.commons.lang3.StringUtils;
+import org.comixedproject.adaptors.AdaptorException;
+import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
+import org.comixedproject.model.comicpages.ComicPage;
+import org.imgscalr.Scalr;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * <code>PageRenditionService</code> provides scaled copies of page images. Renditions at the
+ * thumbnail, cover and cached widths are generated once and stored under the image cache directory,
+ * keyed by the page hash, the width and the image format. Renditions at any other width are scaled
+ * on each request, so that clients asking for arbitrary widths cannot fill the cache.
+ *
+ * <p>Renditions no wider than the thumbnail width are scaled using a faster method than larger
+ * renditions.
+ *
+ * @author Darryl L. Pierce
+ */
+@Service
+@Log4j2
+public class PageRenditionService {
+  public static final String RENDITION_DIRECTORY = "renditions";
+  public static final String RENDITION_FORMAT = "jpg";
+
+  @Autowired private PageCacheService pageCacheService;
+  @Autowired private ComicPageService comicPageService;
+  @Autowired private ComicBookAdaptor comicBookAdaptor;
+
+  @Value("${comixed.images.renditions.enabled:true}")
+  boolean enabled = true;
+
+  @Value("${comixed.images.renditions.method:ULTRA_QUALITY}")
+  Scalr.Method method = Scalr.Method.ULTRA_QUALITY;
+
+  @Value("${comixed.images.renditions.thumbnail-method:BALANCED}")
+  Scalr.Method thumbnailMethod = Scalr.Method.BALANCED;
+
+  @Value("${comixed.images.renditions.thumbnail-width:320}")
+  int thumbnailWidth = 320;
+
+  @Value("${comixed.images.renditions.cover-widths:160}")
+  String coverWidths = "160";
+
+  @Value("${comixed.images.renditions.cached-widths:}")
+  String cachedWidths = "";
+
+  /**
+   * Returns whether a page needs to be scaled to fit within the given width.
+   *
+   * @param page the page
+   * @param width the maximum width
+   * @return true if the page is wider than the given width
+   */
+  public boolean isScaled(final ComicPage page, final int width) {
+    return width > 0 && page.getWidth() > width;
+  }
+
+  /**
+   * Returns the given page scaled to the given width. The rendition is loaded from the rendition
+   * cache if present, otherwise it is generated from the page and stored in the cache.
+   *
+   * @param page the page
+   * @param width the width
+   * @return the rendition content
+   * @throws ComicPageException if the rendition could not be generated
+   */
+  public byte[] getRendition(final ComicPage page, final int width) throws ComicPageException {
+    final File file =
+        this.isCachedWidth(width) ? this.getFileForRendition(page.getHash(), width) : null;
+    if (Objects.nonNull(file) && file.isFile()) {
+      try {
+        log.debug("Loading cached rendition: hash={} width={}", page.getHash(), width);
+        return FileUtils.readFileToByteArray(file);
+      } catch (IOException error) {
+        log.warn("Failed to load cached rendition: {}", file, error);
+      }
+    }
+
+    final byte[] result = this.doScale(this.doLoadPageContent(page), width);
+    if (Objects.nonNull(file) && this.enabled) {
+      this.doSaveRendition(file, result);
+    }
+    return result;
+  }
+
+  /**
+   * Returns whether a rendition is cached for the given page hash and width.
+   *
+   * @param hash the page hash
+   * @param width the width
+   * @return true if the rendition is cached
+   */
+  public boolean hasRendition(final String hash, final int width) {
+    final File file = this.getFileForRendition(hash, width);
+    return Objects.nonNull(file) && file.isFile();
+  }
+
+  /**
+   * Returns the widths for which renditions of covers are generated ahead of time.
+   *
+   * @return the widths
+   */
+  public List<Integer> getCoverWidths() {
+    return this.doParseWidths(this.coverWidths);
+  }
+
+  /**
+   * Returns whether renditions at the given width are stored in the rendition cache.
+   *
+   * @param width the width
+   * @return true if the width is the thumbnail width, a cover width or a cached width
+   */
+  public boolean isCachedWidth(final int width) {
+    return width > 0
+        && (width == this.thumbnailWidth
+            || this.getCoverWidths().contains(width)
+            || this.doParseWidths(this.cachedWidths).contains(width));
+  }
+
+  /**
+   * Returns the hashes of all cover pages that are missing a rendition for any of the cover widths.
+   *
+   * @return the cover page hashes
+   */
+  public List<String> findCoverPagesWithoutRenditions() {
+    final List<Integer> widths = this.getCoverWidths();
+    if (!this.enabled || widths.isEmpty()) return new ArrayList<>();
+    log.debug("Finding cover pages without renditions");
+    final Set<String> result = new LinkedHashSet<>();
+    for (Integer width : widths) {
+      this.comicPageService.findAllCoverPageHashesWiderThan(width).stream()
+          .filter(hash -> !this.hasRendition(hash, width))
+          .forEach(result::add);
+    }
+    return new ArrayList<>(result);
+  }
+
+  /**
+   * Generates any missing renditions of a cover page for the cover widths.
+   *
+   * @param hash the cover page hash
+   */
+  public void generateCoverRenditions(final String hash) {
+    final ComicPage page = this.comicPageService.getOneForHash(hash);
+    if (Objects.isNull(page)) {
+      log.debug("No page found for cover rendition: hash={}", hash);
+      return;
+    }
+    for (Integer width : this.getCoverWidths()) {
+      if (this.isScaled(page, width) && !this.hasRendition(hash, width)) {
+        try {
+          log.trace("Generating cover rendition: hash={} width={}", hash, width);
+          this.getRendition(page, width);
+        } catch (ComicPageException error) {
+          log.error("Failed to generate cover rendition: hash={} width={}", hash, width, error);
+        }
+      }
+    }
+  }
+
+  /**
+   * Removes all cached renditions for the given page hash.
+   *
+   * @param hash the page hash
+   */
+  public void evictRenditions(final String hash) {
+    final File[] widthDirectories = this.getRenditionRoot().listFiles(File::isDirectory);
+    if (Objects.isNull(widthDirectories) || !this.isValidHash(hash)) return;
+    for (File directory : widthDirectories) {
+      final File file = this.doGetFileForRendition(directory, hash);
+      if (!file.isFile()) continue;
+      final long length = file.length();
+      if (file.delete()) {
+        this.pageCacheService.updateRenditionSize(-length);
+      } else {
+        log.debug("Failed to delete rendition: {}", file);
+      }
+    }
+  }
+
+  File getFileForRendition(final String hash, final int width) {
+    if (!this.isValidHash(hash) || width <= 0) return null;
+    return this.doGetFileForRendition(
+        new File(this.getRenditionRoot(), String.valueOf(width)), hash);
+  }
+
+  private File doGetFileForRendition(final File widthDirectory, final String hash) {
+    return new File(
+        new File(widthDirectory, hash.substring(0, 2)), hash + "." + RENDITION_FORMAT);
+  }
+
+  private File getRenditionRoot() {
+    return new File(this.pageCacheService.getRootDirectory(), RENDITION_DIRECTORY);
+  }
+
+  private boolean isValidHash(final String hash) {
+    return Objects.nonNull(hash) && hash.length() == 32 && StringUtils.isAlphanumeric(hash);
+  }
+
+  private List<Integer> doParseWidths(final String widths) {
+    final List<Integer> result = new ArrayList<>();
+    Arrays.stream(StringUtils.split(StringUtils.defaultString(widths), ','))
+        .map(String::trim)
+        .filter(StringUtils::isNumeric)
+        .map(Integer::valueOf)
+        .filter(width -> width > 0)
+        .forEach(result::add);
+    return result;
+  }
+
+  private byte[] doLoadPageContent(final ComicPage page) throws ComicPageException {
+    final CachedPageContent cached = this.pageCacheService.getCachedContent(page.getHash());
+    if (Objects.nonNull(cached)) {
+      log.trace("Using cached page content");
+      return cached.getContent();
+    }
+    try {
+      log.trace("Loading comic book page content");
+      final byte[] result =
+          this.comicBookAdaptor.loadPageContent(page.getComicBook(), page.getPageNumber());
+      if (Objects.isNull(result)) {
+        throw new ComicPageException("No content for page: " + page.getFilename());
+      }
+      return result;
+    } catch (AdaptorException error) {
+      throw new ComicPageException("Failed to load page content", error);
+    }
+  }
+
+  private byte[] doScale(final byte[] content, final int width) throws ComicPageException {
+    try {
+      final BufferedImage image = ImageIO.read(new ByteArrayInputStream(content));
+      if (Objects.isNull(image)) {
+        throw new ComicPageException("Page content is not a readable image");
+      }
+      final Scalr.Method scalingMethod =
+          width <= this.thumbnailWidth ? this.thumbnailMethod : this.method;
+      log.trace("Scaling page: width={} method={}", width, scalingMethod);
+      final BufferedImage resized =
+          Scalr.resize(image, scalingMethod, Scalr.Mode.FIT_TO_WIDTH, width);
+      final ByteArrayOutputStream output = new ByteArrayOutputStream();
+      if (!ImageIO.write(resized, RENDITION_FORMAT, output)) {
+        throw new ComicPageException("No image writer for rendition format: " + RENDITION_FORMAT);
+      }
+      return output.toByteArray();
+    } catch (IOException error) {
+      throw new ComicPageException("Failed to scale page", error);
+    }
+  }
+
+  private void doSaveRendition(final File file, final byte[] content) {
+    Path temporary = null;
+    try {
+      file.getParentFile().mkdirs();
+      final long previous = file.isFile() ? file.length() : 0L;
+      // renditions are written to a temporary file first so readers never see a partial image
+      temporary = Files.createTempFile(file.getParentFile().toPath(), file.getName(), ".tmp");
+      Files.write(temporary, content);
+      Files.move(
+          temporary,
+          file.toPath(),
+          StandardCopyOption.REPLACE_EXISTING,
+          StandardCopyOption.ATOMIC_MOVE);
+      this.pageCacheService.updateRenditionSize(content.length - previous);
+    } catch (IOException error) {
+      log.error("Failed to save rendition: {}", file, error);
+      FileUtils.deleteQuietly(Objects.nonNull(temporary) ? temporary.toFile() : null);
+    }
+  }
+}
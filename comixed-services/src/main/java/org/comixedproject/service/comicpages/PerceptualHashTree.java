@@ -0,0 +1,115 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicpages;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import lombok.Getter;
+import org.comixedproject.adaptors.images.PerceptualHashAdaptor;
+
+/**
+ * <code>PerceptualHashTree</code> is a BK-tree of page perceptual hashes, used to find the pages
+ * whose content looks like a given page.
+ *
+ * <p>Each node stores one perceptual hash, along with the page hashes that share it, and each
+ * child is keyed by its Hamming distance from the parent. Because the Hamming distance is a
+ * metric, a search only needs to visit the children whose distance is within the search radius of
+ * the distance to the target, which skips almost all of the tree for small radii.
+ *
+ * <p>The tree is not synchronized: it is built first and then shared, read-only, between threads.
+ *
+ * @author Darryl L. Pierce
+ */
+public class PerceptualHashTree {
+  private Node root;
+  @Getter private int size;
+
+  /**
+   * Adds a page hash to the tree.
+   *
+   * @param perceptualHash the perceptual hash
+   * @param hash the page hash
+   */
+  public void add(final long perceptualHash, final String hash) {
+    if (Objects.isNull(this.root)) {
+      this.root = new Node(perceptualHash);
+      this.root.hashes.add(hash);
+      this.size++;
+      return;
+    }
+    Node node = this.root;
+    while (true) {
+      final int distance = PerceptualHashAdaptor.distance(node.value, perceptualHash);
+      if (distance == 0) {
+        node.hashes.add(hash);
+        return;
+      }
+      final Node child = node.children.get(distance);
+      if (Objects.isNull(child)) {
+        final Node entry = new Node(perceptualHash);
+        entry.hashes.add(hash);
+        node.children.put(distance, entry);
+        this.size++;
+        return;
+      }
+      node = child;
+    }
+  }
+
+  /**
+   * Returns the page hashes whose perceptual hash is within the given distance of the target.
+   *
+   * @param perceptualHash the target perceptual hash
+   * @param maximumDistance the largest Hamming distance to match
+   * @return the matching page hashes
+   */
+  public Set<String> search(final long perceptualHash, final int maximumDistance) {
+    final Set<String> result = new HashSet<>();
+    if (Objects.isNull(this.root)) return result;
+    final Deque<Node> pending = new ArrayDeque<>();
+    pending.push(this.root);
+    while (!pending.isEmpty()) {
+      final Node node = pending.pop();
+      final int distance = PerceptualHashAdaptor.distance(node.value, perceptualHash);
+      if (distance <= maximumDistance) result.addAll(node.hashes);
+      final int low = distance - maximumDistance;
+      final int high = distance + maximumDistance;
+      node.children.forEach(
+          (key, child) -> {
+            if (key >= low && key <= high) pending.push(child);
+          });
+    }
+    return result;
+  }
+
+  private static class Node {
+    private final long value;
+    private final Set<String> hashes = new HashSet<>(1);
+    private final Map<Integer, Node> children = new HashMap<>(4);
+
+    Node(final long value) {
+      this.value = value;
+    }
+  }
+}
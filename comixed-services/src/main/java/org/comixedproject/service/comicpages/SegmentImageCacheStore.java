@@ -0,0 +1,464 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicpages;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * <code>SegmentImageCacheStore</code> stores the image cache in a small number of large segment
+ * files rather than as one file per image.
+ *
+ * <p>Images are appended to the current segment, and a new segment is started once it reaches its
+ * maximum size. Each record holds the page hash and the image length followed by the image, and
+ * removing an image appends a record with no content. The index of hashes to records is held in
+ * memory and is rebuilt from the record headers when the application starts. Images are read with
+ * positional reads so that concurrent reads do not block one another.
+ *
+ * <p>Segments that are mostly made up of removed or replaced images are compacted by copying their
+ * remaining images to the current segment and deleting them.
+ *
+ * @author Darryl L. Pierce
+ */
+@Component
+@Log4j2
+public class SegmentImageCacheStore implements InitializingBean, DisposableBean {
+  public static final String STORAGE_SEGMENTS = "segments";
+
+  static final String SEGMENT_DIRECTORY = "segments";
+  private static final String SEGMENT_PREFIX = "segment-";
+  private static final String SEGMENT_SUFFIX = ".dat";
+  private static final int RECORD_MARKER = 0x43584943;
+  private static final int HASH_LENGTH = 32;
+  private static final int HEADER_LENGTH = 4 + HASH_LENGTH + 4;
+  private static final int REMOVED = -1;
+
+  private final Object lock = new Object();
+  private final Map<String, SegmentEntry> index = new HashMap<>();
+  private final TreeMap<Integer, Segment> segments = new TreeMap<>();
+  private Segment activeSegment;
+
+  @Value("${comixed.images.cache.location}")
+  String cacheDirectory;
+
+  @Value("${comixed.images.cache.storage:directory}")
+  String storage = "directory";
+
+  @Value("${comixed.images.cache.segment-size:268435456}")
+  long maximumSegmentBytes = 268435456L;
+
+  @Value("${comixed.images.cache.compaction-threshold:0.5}")
+  double compactionThreshold = 0.5;
+
+  /**
+   * Returns whether the image cache is stored in segment files.
+   *
+   * @return true if segment storage is enabled
+   */
+  public boolean isEnabled() {
+    return STORAGE_SEGMENTS.equals(this.storage);
+  }
+
+  @Override
+  public void afterPropertiesSet() throws IOException {
+    if (!this.isEnabled()) {
+      log.trace("Image cache segment storage is not enabled");
+      return;
+    }
+    this.open();
+  }
+
+  /**
+   * Opens the segment files and rebuilds the index.
+   *
+   * @throws IOException if the segments could not be read
+   */
+  void open() throws IOException {
+    final Path directory = this.getSegmentDirectory();
+    Files.createDirectories(directory);
+    synchronized (this.lock) {
+      try (DirectoryStream<Path> paths =
+          Files.newDirectoryStream(directory, SEGMENT_PREFIX + "*" + SEGMENT_SUFFIX)) {
+        for (Path path : paths) {
+          final Integer id = this.getSegmentId(path);
+          if (Objects.nonNull(id)) {
+            this.segments.put(id, new Segment(id, path, this.doOpenChannel(path)));
+          }
+        }
+      }
+      for (Segment segment : this.segments.values()) {
+        this.doLoadIndex(segment);
+      }
+      if (this.segments.isEmpty()
+          || this.segments.lastEntry().getValue().getLength() >= this.maximumSegmentBytes) {
+        this.activeSegment = this.doCreateSegment();
+      } else {
+        this.activeSegment = this.segments.lastEntry().getValue();
+      }
+      log.info(
+          "Loaded image cache segments: {} segment(s) {} image(s)",
+          this.segments.size(),
+          this.index.size());
+    }
+  }
+
+  /**
+   * Returns the image for the given page hash.
+   *
+   * @param hash the page hash
+   * @return the image, or null if it is not stored
+   */
+  public byte[] load(final String hash) {
+    final SegmentEntry entry;
+    synchronized (this.lock) {
+      entry = this.index.get(hash);
+    }
+    if (Objects.isNull(entry)) {
+      log.trace("Image not found in cache segments: hash={}", hash);
+      return null;
+    }
+    try {
+      final byte[] result = this.doRead(entry);
+      entry.setLastAccessed(System.currentTimeMillis());
+      return result;
+    } catch (IOException error) {
+      // the segment may have been compacted since the entry was found
+      log.debug("Failed to read image from cache segment: hash={}", hash, error);
+      return null;
+    }
+  }
+
+  /**
+   * Returns whether an image is stored for the given page hash.
+   *
+   * @param hash the page hash
+   * @return true if the image is stored
+   */
+  public boolean contains(final String hash) {
+    synchronized (this.lock) {
+      return this.index.containsKey(hash);
+    }
+  }
+
+  /**
+   * Stores the image for the given page hash, replacing any image already stored.
+   *
+   * @param hash the page hash
+   * @param content the image
+   * @throws IOException if the image could not be written
+   */
+  public void save(final String hash, final byte[] content) throws IOException {
+    if (Objects.isNull(hash) || hash.length() != HASH_LENGTH) {
+      throw new IOException("Invalid page hash: " + hash);
+    }
+    synchronized (this.lock) {
+      this.doStore(hash, content, System.currentTimeMillis());
+    }
+  }
+
+  /**
+   * Removes the image for the given page hash.
+   *
+   * @param hash the page hash
+   * @return the length of the removed image, or -1 if no image was stored
+   * @throws IOException if the removal could not be written
+   */
+  public long remove(final String hash) throws IOException {
+    synchronized (this.lock) {
+      final SegmentEntry entry = this.doRemoveFromIndex(hash);
+      if (Objects.isNull(entry)) {
+        log.trace("No image to remove from cache segments: hash={}", hash);
+        return -1L;
+      }
+      this.doAppend(hash, null);
+      return entry.getLength();
+    }
+  }
+
+  /**
+   * Returns the images stored in the segments.
+   *
+   * @return the entries
+   */
+  List<ImageCacheEntry> getEntries() {
+    synchronized (this.lock) {
+      final List<ImageCacheEntry> result = new ArrayList<>(this.index.size());
+      this.index.forEach(
+          (hash, entry) ->
+              result.add(new ImageCacheEntry(hash, entry.getLength(), entry.getLastAccessed())));
+      return result;
+    }
+  }
+
+  /**
+   * Returns the number of segment files.
+   *
+   * @return the segment count
+   */
+  public int getSegmentCount() {
+    synchronized (this.lock) {
+      return this.segments.size();
+    }
+  }
+
+  /**
+   * Compacts any segment whose live images take up less than the compaction threshold of its size.
+   *
+   * <p>Removal records in a compacted segment are discarded, so an image removed from an older
+   * segment can reappear when the application restarts. Since images are keyed by the hash of their
+   * content such an image is still correct, and is simply evicted again when the cache is trimmed.
+   */
+  @Scheduled(fixedDelayString = "${comixed.images.cache.compaction-period:3600000}")
+  public void compact() {
+    if (!this.isEnabled()) return;
+    final List<Segment> candidates;
+    synchronized (this.lock) {
+      candidates =
+          this.segments.values().stream()
+              .filter(segment -> segment != this.activeSegment)
+              .filter(
+                  segment ->
+                      segment.getLiveBytes() < segment.getLength() * this.compactionThreshold)
+              .collect(Collectors.toList());
+    }
+    for (Segment segment : candidates) {
+      try {
+        this.doCompact(segment);
+      } catch (IOException error) {
+        log.error("Failed to compact image cache segment: {}", segment.getPath(), error);
+      }
+    }
+  }
+
+  @Override
+  public void destroy() {
+    synchronized (this.lock) {
+      log.debug("Closing {} image cache segment(s)", this.segments.size());
+      this.segments.values().forEach(this::doClose);
+      this.segments.clear();
+      this.index.clear();
+      this.activeSegment = null;
+    }
+  }
+
+  private void doCompact(final Segment segment) throws IOException {
+    log.debug("Compacting image cache segment: {}", segment.getPath());
+    final List<String> hashes;
+    synchronized (this.lock) {
+      hashes =
+          this.index.entrySet().stream()
+              .filter(entry -> entry.getValue().getSegment() == segment)
+              .map(Map.Entry::getKey)
+              .collect(Collectors.toList());
+    }
+    for (String hash : hashes) {
+      final SegmentEntry entry;
+      synchronized (this.lock) {
+        entry = this.index.get(hash);
+      }
+      if (Objects.isNull(entry) || entry.getSegment() != segment) continue;
+      final byte[] content = this.doRead(entry);
+      synchronized (this.lock) {
+        if (this.index.get(hash) == entry) {
+          this.doStore(hash, content, entry.getLastAccessed());
+        }
+      }
+    }
+    synchronized (this.lock) {
+      this.activeSegment.getChannel().force(false);
+      this.segments.remove(segment.getId());
+    }
+    this.doClose(segment);
+    Files.deleteIfExists(segment.getPath());
+    log.debug("Compacted image cache segment: {} image(s) moved", hashes.size());
+  }
+
+  private void doStore(final String hash, final byte[] content, final long lastAccessed)
+      throws IOException {
+    this.doRemoveFromIndex(hash);
+    final long position = this.doAppend(hash, content);
+    this.index.put(
+        hash, new SegmentEntry(this.activeSegment, position, content.length, lastAccessed));
+    this.activeSegment.setLiveBytes(
+        this.activeSegment.getLiveBytes() + HEADER_LENGTH + content.length);
+  }
+
+  private SegmentEntry doRemoveFromIndex(final String hash) {
+    final SegmentEntry result = this.index.remove(hash);
+    if (Objects.nonNull(result)) {
+      final Segment segment = result.getSegment();
+      segment.setLiveBytes(segment.getLiveBytes() - HEADER_LENGTH - result.getLength());
+    }
+    return result;
+  }
+
+  private long doAppend(final String hash, final byte[] content) throws IOException {
+    final int length = Objects.nonNull(content) ? content.length : REMOVED;
+    final int recordLength = HEADER_LENGTH + Math.max(length, 0);
+    if (this.activeSegment.getLength() > 0L
+        && this.activeSegment.getLength() + recordLength > this.maximumSegmentBytes) {
+      this.activeSegment = this.doCreateSegment();
+    }
+    final ByteBuffer buffer = ByteBuffer.allocate(recordLength);
+    buffer.putInt(RECORD_MARKER);
+    buffer.put(hash.getBytes(StandardCharsets.US_ASCII));
+    buffer.putInt(length);
+    if (length > 0) buffer.put(content);
+    buffer.flip();
+    final long position = this.activeSegment.getLength();
+    while (buffer.hasRemaining()) {
+      this.activeSegment.getChannel().write(buffer, position + buffer.position());
+    }
+    this.activeSegment.setLength(position + recordLength);
+    return position;
+  }
+
+  private byte[] doRead(final SegmentEntry entry) throws IOException {
+    final ByteBuffer buffer = ByteBuffer.allocate(entry.getLength());
+    this.doReadFully(entry.getSegment().getChannel(), buffer, entry.getOffset() + HEADER_LENGTH);
+    return buffer.array();
+  }
+
+  private void doLoadIndex(final Segment segment) throws IOException {
+    final FileChannel channel = segment.getChannel();
+    final long size = channel.size();
+    final long lastModified = Files.getLastModifiedTime(segment.getPath()).toMillis();
+    final ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH);
+    final byte[] hash = new byte[HASH_LENGTH];
+    long position = 0L;
+    while (position + HEADER_LENGTH <= size) {
+      header.clear();
+      this.doReadFully(channel, header, position);
+      header.flip();
+      final int marker = header.getInt();
+      header.get(hash);
+      final int length = header.getInt();
+      if (marker != RECORD_MARKER
+          || length < REMOVED
+          || position + HEADER_LENGTH + Math.max(length, 0) > size) {
+        break;
+      }
+      final String key = new String(hash, StandardCharsets.US_ASCII);
+      this.doRemoveFromIndex(key);
+      if (length != REMOVED) {
+        this.index.put(key, new SegmentEntry(segment, position, length, lastModified));
+        segment.setLiveBytes(segment.getLiveBytes() + HEADER_LENGTH + length);
+      }
+      position += HEADER_LENGTH + Math.max(length, 0);
+    }
+    if (position < size) {
+      log.warn(
+          "Discarding damaged image cache segment records: {} from offset {}",
+          segment.getPath(),
+          position);
+      channel.truncate(position);
+    }
+    segment.setLength(position);
+  }
+
+  private void doReadFully(final FileChannel channel, final ByteBuffer buffer, final long offset)
+      throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, offset + buffer.position()) < 0) {
+        throw new EOFException("Unexpected end of image cache segment");
+      }
+    }
+  }
+
+  private Segment doCreateSegment() throws IOException {
+    final int id = this.segments.isEmpty() ? 1 : this.segments.lastKey() + 1;
+    final Path path =
+        this.getSegmentDirectory()
+            .resolve(String.format("%s%08d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+    log.debug("Creating image cache segment: {}", path);
+    final Segment result = new Segment(id, path, this.doOpenChannel(path));
+    this.segments.put(id, result);
+    return result;
+  }
+
+  private FileChannel doOpenChannel(final Path path) throws IOException {
+    return FileChannel.open(
+        path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+  }
+
+  private void doClose(final Segment segment) {
+    try {
+      segment.getChannel().close();
+    } catch (IOException error) {
+      log.error("Failed to close image cache segment: {}", segment.getPath(), error);
+    }
+  }
+
+  private Path getSegmentDirectory() {
+    return Path.of(this.cacheDirectory, SEGMENT_DIRECTORY);
+  }
+
+  private Integer getSegmentId(final Path path) {
+    final String filename = path.getFileName().toString();
+    try {
+      return Integer.parseInt(
+          filename.substring(
+              SEGMENT_PREFIX.length(), filename.length() - SEGMENT_SUFFIX.length()));
+    } catch (NumberFormatException | IndexOutOfBoundsException error) {
+      log.debug("Ignoring unexpected file in image cache segments: {}", filename);
+      return null;
+    }
+  }
+
+  @RequiredArgsConstructor
+  private static class Segment {
+    @Getter private final int id;
+    @Getter private final Path path;
+    @Getter private final FileChannel channel;
+    @Getter @Setter private long length;
+    @Getter @Setter private long liveBytes;
+  }
+
+  @AllArgsConstructor
+  private static class SegmentEntry {
+    @Getter private final Segment segment;
+    @Getter private final long offset;
+    @Getter private final int length;
+    @Getter @Setter private volatile long lastAccessed;
+  }
+}
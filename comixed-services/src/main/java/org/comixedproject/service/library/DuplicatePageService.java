@@ -23,7 +23,9 @@ import lombok.extern.log4j.Log4j2;
 import org.comixedproject.model.comicpages.ComicPage;
 import org.comixedproject.model.library.DuplicatePage;
 import org.comixedproject.repositories.comicpages.ComicPageRepository;
+import org.comixedproject.service.comicpages.PerceptualHashTree;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
@@ -42,6 +44,15 @@ import org.springframework.util.StringUtils;
 public class DuplicatePageService {
   @Autowired private ComicPageRepository comicPageRepository;
 
+  @Value("${comixed.pages.similar.maximum-distance:6}")
+  int maximumDistance = 6;
+
+  @Value("${comixed.pages.similar.index-refresh:900000}")
+  long indexRefresh = 900000L;
+
+  private PerceptualHashTree similarPageIndex;
+  private long similarPageIndexCreated;
+
   /**
    * Retrieves the list of all duplicate pages in the library.
    *
@@ -106,4 +117,47 @@ public class DuplicatePageService {
     log.trace("Returning duplicate page detail");
     return result;
   }
+
+  /**
+   * Returns the hashes of the pages whose content looks like the page with the given hash. Pages
+   * match when their perceptual hashes differ by no more than the configured number of bits, which
+   * finds copies that were re-encoded, resized or slightly cropped.
+   *
+   * <p>The search uses an in-memory index of every page's perceptual hash, which is rebuilt from
+   * the database once it is older than the configured refresh period.
+   *
+   * @param hash the page hash
+   * @return the similar page hashes, not including the given hash
+   */
+  @Transactional
+  public List<String> getSimilarPageHashes(final String hash) {
+    log.debug("Finding pages similar to hash: {}", hash);
+    final List<Long> perceptualHashes =
+        this.comicPageRepository.getPerceptualHashesForHash(hash, PageRequest.of(0, 1));
+    if (perceptualHashes.isEmpty()) {
+      log.debug("No perceptual hash recorded for page");
+      return Collections.emptyList();
+    }
+    final Set<String> result =
+        this.doGetSimilarPageIndex().search(perceptualHashes.get(0), this.maximumDistance);
+    result.remove(hash);
+    log.trace("Found {} similar page(s)", result.size());
+    return new ArrayList<>(result);
+  }
+
+  private synchronized PerceptualHashTree doGetSimilarPageIndex() {
+    final long now = System.currentTimeMillis();
+    if (Objects.isNull(this.similarPageIndex)
+        || now - this.similarPageIndexCreated > this.indexRefresh) {
+      log.debug("Building similar page index");
+      final PerceptualHashTree index = new PerceptualHashTree();
+      this.comicPageRepository
+          .getPerceptualHashes()
+          .forEach(entry -> index.add(entry.getPerceptualHash(), entry.getHash()));
+      log.debug("Similar page index contains {} perceptual hash(es)", index.getSize());
+      this.similarPageIndex = index;
+      this.similarPageIndexCreated = now;
+    }
+    return this.similarPageIndex;
+  }
 }
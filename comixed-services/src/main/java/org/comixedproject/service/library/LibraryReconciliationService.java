@@ -0,0 +1,162 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.library;
+
+import static org.comixedproject.model.messaging.batch.ProcessComicBooksStatus.RECONCILE_LIBRARY_STEP;
+
+import java.io.File;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import lombok.extern.log4j.Log4j2;
+import org.comixedproject.messaging.PublishingException;
+import org.comixedproject.messaging.comicbooks.PublishProcessComicBooksStatusAction;
+import org.comixedproject.model.messaging.batch.ProcessComicBooksStatus;
+import org.comixedproject.service.comicbooks.ComicBookService;
+import org.comixedproject.state.comicbooks.ComicBookStateAdaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * <code>LibraryReconciliationService</code> compares the comic files recorded in the database with
+ * those on disk, marking comic books as found or missing. Files are checked in parallel on virtual
+ * threads, since each check is mostly spent waiting on the file system, and the changes are then
+ * applied with bulk updates. Comic state listeners are notified once when done.
+ *
+ * @author Darryl L. Pierce
+ */
+@Service
+@Log4j2
+public class LibraryReconciliationService {
+  @Autowired private ComicBookService comicBookService;
+  @Autowired private ComicBookStateAdaptor comicBookStateAdaptor;
+  @Autowired private PublishProcessComicBooksStatusAction publishProcessComicBooksStatusAction;
+
+  @Value("${comixed.library.reconciliation.concurrency:32}")
+  int concurrency = 32;
+
+  @Value("${comixed.library.reconciliation.batch-size:1000}")
+  int batchSize = 1000;
+
+  @Value("${comixed.library.reconciliation.progress-period:1000}")
+  long progressPeriod = 1000L;
+
+  /**
+   * Checks every comic file in the library, marking missing comic books whose file exists as found
+   * and other comic books whose file does not exist as missing.
+   *
+   * @throws InterruptedException if interrupted while checking files
+   */
+  public void reconcile() throws InterruptedException {
+    final Set<String> missing = this.comicBookService.getAllComicDetails(true);
+    final Set<String> present = this.comicBookService.getAllComicDetails(false);
+    final long total = (long) missing.size() + present.size();
+    log.info("Checking {} comic file(s) with {} thread(s)", total, this.concurrency);
+
+    final Queue<String> found = new ConcurrentLinkedQueue<>();
+    final Queue<String> lost = new ConcurrentLinkedQueue<>();
+    final AtomicLong processed = new AtomicLong();
+    final Semaphore permits = new Semaphore(Math.max(1, this.concurrency));
+    this.doPublishStatus(true, total, 0L);
+    final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    try {
+      missing.forEach(
+          filename ->
+              executor.execute(
+                  () -> this.doCheckFile(filename, true, found, permits, processed)));
+      present.forEach(
+          filename ->
+              executor.execute(
+                  () -> this.doCheckFile(filename, false, lost, permits, processed)));
+      executor.shutdown();
+      while (!executor.awaitTermination(this.progressPeriod, TimeUnit.MILLISECONDS)) {
+        this.doPublishStatus(true, total, processed.get());
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+
+    log.info("Marking {} comic book(s) as found", found.size());
+    int updated = this.doApply(List.copyOf(found), true);
+    log.info("Marking {} comic book(s) as missing", lost.size());
+    updated += this.doApply(List.copyOf(lost), false);
+    if (updated > 0) {
+      this.comicBookStateAdaptor.fireBulkUpdate(updated);
+    }
+    this.doPublishStatus(false, total, processed.get());
+  }
+
+  private void doCheckFile(
+      final String filename,
+      final boolean exists,
+      final Queue<String> changed,
+      final Semaphore permits,
+      final AtomicLong processed) {
+    try {
+      permits.acquire();
+      try {
+        if (new File(filename).exists() == exists) {
+          log.trace("Comic file {}: {}", exists ? "found" : "missing", filename);
+          changed.add(filename);
+        }
+      } finally {
+        permits.release();
+      }
+    } catch (InterruptedException error) {
+      log.debug("Interrupted while checking comic file: {}", filename);
+      Thread.currentThread().interrupt();
+    } finally {
+      processed.incrementAndGet();
+    }
+  }
+
+  private int doApply(final List<String> filenames, final boolean found) {
+    int result = 0;
+    for (int start = 0; start < filenames.size(); start += this.batchSize) {
+      final List<String> batch =
+          filenames.subList(start, Math.min(start + this.batchSize, filenames.size()));
+      if (found) {
+        result += this.comicBookService.markComicsAsFound(batch);
+      } else {
+        result += this.comicBookService.markComicsAsMissing(batch);
+      }
+    }
+    return result;
+  }
+
+  private void doPublishStatus(final boolean active, final long total, final long processed) {
+    final ProcessComicBooksStatus status = new ProcessComicBooksStatus();
+    status.setActive(active);
+    status.setStepName(RECONCILE_LIBRARY_STEP);
+    status.setTotal(total);
+    status.setProcessed(processed);
+    try {
+      this.publishProcessComicBooksStatusAction.publish(status);
+    } catch (PublishingException error) {
+      log.error("Failed to publish library reconciliation status", error);
+    }
+  }
+}
@@ -25,9 +25,10 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
 import java.nio.file.attribute.BasicFileAttributes;
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Objects;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
 import lombok.extern.log4j.Log4j2;
 import org.apache.commons.io.FileUtils;
 import org.comixedproject.service.admin.ConfigurationChangedListener;
@@ -37,12 +38,17 @@ import org.comixedproject.service.comicbooks.ComicDetailService;
 import org.comixedproject.service.comicfiles.ComicFileService;
 import org.springframework.beans.factory.InitializingBean;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 /**
  * <code>LibraryScannerService</code> monitors the library directory, processing changes.
  *
+ * <p>The watcher blocks until the file system reports a change. Created and modified files are
+ * held until their size and modification time stop changing for the settle time, so that files
+ * still being copied are not imported. Settled files are then checked and imported in batches.
+ *
  * @author Darryl L. Pierce
  */
 @Component
@@ -52,12 +58,21 @@ public class LibraryScannerService implements InitializingBean, ConfigurationCha
   @Autowired private ComicBookService comicBookService;
   @Autowired private ComicDetailService comicDetailService;
   @Autowired private ComicFileService comicFileService;
+  @Autowired private LibraryReconciliationService libraryReconciliationService;
 
   private static final Object SEMAPHORE = new Object();
 
+  @Value("${comixed.library.scanner.settle-time:2000}")
+  long settleTime = 2000L;
+
+  @Value("${comixed.library.scanner.batch-size:500}")
+  int batchSize = 500;
+
   boolean active = false;
   WatchService watchService;
   Map<WatchKey, Path> keyMap = new HashMap<>();
+  Map<String, PendingFile> pendingFiles = new LinkedHashMap<>();
+  long lastPendingCheck = 0L;
 
   String rootDirectory = "";
 
@@ -114,14 +129,17 @@ public class LibraryScannerService implements InitializingBean, ConfigurationCha
 
     this.watchService = FileSystems.getDefault().newWatchService();
     this.keyMap.clear();
+    this.pendingFiles.clear();
     this.walkAndRegisterDirectories(Paths.get(this.rootDirectory));
+    final WatchService service = this.watchService;
     final Thread processingThread =
         new Thread() {
           @Override
           public void run() {
-            LibraryScannerService.this.processEvents();
+            LibraryScannerService.this.processEvents(service);
           }
         };
+    processingThread.setDaemon(true);
     processingThread.start();
   }
 
@@ -144,33 +162,59 @@ public class LibraryScannerService implements InitializingBean, ConfigurationCha
     this.keyMap.put(key, dir);
   }
 
-  public void processEvents() {
+  void processEvents(final WatchService service) {
     this.active = true;
     while (this.active) {
-      final WatchKey key;
-      key = this.watchService.poll();
-
-      if (Objects.nonNull(key)) {
-        for (WatchEvent<?> event : key.pollEvents()) {
-          this.processWatchEvent(key, event);
-          final boolean valid = key.reset();
-          if (!valid) {
-            this.keyMap.remove(key);
-            if (this.keyMap.isEmpty()) {
-              break;
-            }
-          }
+      try {
+        final WatchKey key =
+            this.pendingFiles.isEmpty()
+                ? service.take()
+                : service.poll(this.settleTime, TimeUnit.MILLISECONDS);
+        if (Objects.nonNull(key)) {
+          this.processWatchKey(key);
+        }
+        final boolean quiet = Objects.isNull(key);
+        if (quiet || System.currentTimeMillis() - this.lastPendingCheck >= this.settleTime) {
+          this.processPendingFiles(quiet);
         }
+      } catch (ClosedWatchServiceException error) {
+        log.debug("Watch service closed");
+        return;
+      } catch (InterruptedException error) {
+        log.debug("Watch service interrupted");
+        Thread.currentThread().interrupt();
+        return;
       }
     }
   }
 
+  private void processWatchKey(final WatchKey key) {
+    for (WatchEvent<?> event : key.pollEvents()) {
+      this.processWatchEvent(key, event);
+    }
+    if (!key.reset()) {
+      log.trace("Directory no longer watched: {}", key.watchable());
+      this.keyMap.remove(key);
+    }
+  }
+
   void processWatchEvent(final WatchKey key, final WatchEvent<?> event) {
     final Path dir = (Path) key.watchable();
+    if (event.kind() == OVERFLOW) {
+      log.debug("Watch events were lost, rescanning directory: {}", dir);
+      this.doRescanDirectory(dir);
+      return;
+    }
     final Path name = Path.of(((WatchEvent<Path>) event).context().toString());
-    final String filename = dir.resolve(name).toString();
+    final Path path = dir.resolve(name);
+    final String filename = path.toString();
     if (event.kind() == ENTRY_CREATE || event.kind() == ENTRY_MODIFY) {
-      this.doFileFound(filename);
+      if (event.kind() == ENTRY_CREATE && new File(filename).isDirectory()) {
+        log.debug("Directory created: {}", filename);
+        this.doRescanDirectory(path);
+      } else {
+        this.doFileChanged(filename);
+      }
     } else if (event.kind() == ENTRY_DELETE) {
       this.doFileDeleted(filename);
     } else {
@@ -178,18 +222,92 @@ public class LibraryScannerService implements InitializingBean, ConfigurationCha
     }
   }
 
-  private void doFileFound(final String filename) {
-    if (this.comicDetailService.filenameFound(filename)) {
-      log.debug("Missing file found: {}", filename);
-      this.comicBookService.markComicAsFound(filename);
-    } else {
-      log.debug("Comic book discovered: {}", filename);
-      this.comicFileService.discoverComicFile(filename);
+  private void doRescanDirectory(final Path directory) {
+    try {
+      Files.walkFileTree(
+          directory,
+          new SimpleFileVisitor<Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs)
+                throws IOException {
+              registerDirectory(dir);
+              return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+              if (attrs.isRegularFile()) {
+                doFileChanged(file.toString());
+              }
+              return FileVisitResult.CONTINUE;
+            }
+          });
+    } catch (IOException error) {
+      log.error("Failed to rescan directory: " + directory, error);
+    }
+  }
+
+  private void doFileChanged(final String filename) {
+    log.trace("File changed: {}", filename);
+    final File file = new File(filename);
+    this.pendingFiles.put(
+        filename, new PendingFile(file.length(), file.lastModified(), System.currentTimeMillis()));
+  }
+
+  void processPendingFiles(final boolean quiet) {
+    final long now = System.currentTimeMillis();
+    this.lastPendingCheck = now;
+    final List<String> settled = new ArrayList<>();
+    final Iterator<Map.Entry<String, PendingFile>> entries =
+        this.pendingFiles.entrySet().iterator();
+    while (entries.hasNext()) {
+      final Map.Entry<String, PendingFile> entry = entries.next();
+      final File file = new File(entry.getKey());
+      final PendingFile pendingFile = entry.getValue();
+      if (!file.isFile()) {
+        log.trace("Pending file is gone: {}", entry.getKey());
+        entries.remove();
+      } else if (file.length() != pendingFile.getLength()
+          || file.lastModified() != pendingFile.getLastModified()) {
+        log.trace("Pending file is still changing: {}", entry.getKey());
+        entry.setValue(new PendingFile(file.length(), file.lastModified(), now));
+      } else if (now - pendingFile.getChanged() >= this.settleTime) {
+        settled.add(entry.getKey());
+      }
+    }
+    if (settled.isEmpty() || (!quiet && settled.size() < this.batchSize)) {
+      return;
+    }
+    log.debug("Processing {} settled file(s)", settled.size());
+    for (int start = 0; start < settled.size(); start += this.batchSize) {
+      final List<String> batch =
+          settled.subList(start, Math.min(start + this.batchSize, settled.size()));
+      batch.forEach(this.pendingFiles::remove);
+      this.doFilesFound(batch);
+    }
+  }
+
+  private void doFilesFound(final List<String> filenames) {
+    final Set<String> existing = this.comicDetailService.filenamesFound(filenames);
+    final List<String> discovered = new ArrayList<>();
+    filenames.forEach(
+        filename -> {
+          if (existing.contains(filename)) {
+            log.debug("Missing file found: {}", filename);
+            this.comicBookService.markComicAsFound(filename);
+          } else {
+            discovered.add(filename);
+          }
+        });
+    if (!discovered.isEmpty()) {
+      log.debug("Comic books discovered: {}", discovered.size());
+      this.comicFileService.discoverComicFiles(discovered);
     }
   }
 
   private void doFileDeleted(final String filename) {
     log.debug("File deleted: {}", filename);
+    this.pendingFiles.remove(filename);
     this.comicBookService.markComicAsMissing(filename);
   }
 
@@ -197,32 +315,25 @@ public class LibraryScannerService implements InitializingBean, ConfigurationCha
     synchronized (SEMAPHORE) {
       if (!this.active) {
         this.active = true;
-        log.info("Updating currently missing comics");
-        this.comicBookService
-            .getAllComicDetails(true)
-            .forEach(
-                filename -> {
-                  final File file = new File(filename);
-                  if (file.exists()) {
-                    log.trace("Missing comic file was found: {}", filename);
-                    this.comicBookService.markComicAsFound(filename);
-                  }
-                });
-        log.info("Scanning remaining comics");
-        this.comicBookService
-            .getAllComicDetails(false)
-            .forEach(
-                filename -> {
-                  final File file = new File(filename);
-                  if (!file.exists()) {
-                    log.trace("Comic file is missing: {}", filename);
-                    this.comicBookService.markComicAsMissing(filename);
-                  }
-                });
+        log.info("Reconciling library with comic files");
+        try {
+          this.libraryReconciliationService.reconcile();
+        } catch (InterruptedException error) {
+          log.error("Library reconciliation interrupted", error);
+          Thread.currentThread().interrupt();
+        }
         this.active = false;
       } else {
         log.debug("Already scanning for missing files: ignoring request");
       }
     }
   }
+
+  @AllArgsConstructor
+  @Getter
+  static class PendingFile {
+    private long length;
+    private long lastModified;
+    private long changed;
+  }
 }
@@ -18,6 +18,7 @@
 
 package org.comixedproject.service.library;
 
+import java.util.List;
 import lombok.NonNull;
 import lombok.extern.log4j.Log4j2;
 import org.comixedproject.messaging.PublishingException;
@@ -54,11 +55,19 @@ public class RemoteLibraryStateService implements InitializingBean, ComicStateCh
   @Override
   public void onComicStateChanged(final @NonNull ComicBook comicBook) {
     log.debug("Publishing library state update");
-    try {
-      this.publishRemoteLibraryUpdateAction.publish(this.getLibraryState());
-    } catch (PublishingException error) {
-      log.error("Failed to publish library state update", error);
-    }
+    this.doPublishLibraryState();
+  }
+
+  @Override
+  public void onComicStatesChanged(final List<ComicBook> comicBooks) {
+    log.debug("Publishing library state update for {} comic(s)", comicBooks.size());
+    this.doPublishLibraryState();
+  }
+
+  @Override
+  public void onComicsBulkUpdated(final int count) {
+    log.debug("Publishing library state update for bulk update of {} comic(s)", count);
+    this.doPublishLibraryState();
   }
 
   /**
@@ -85,4 +94,12 @@ public class RemoteLibraryStateService implements InitializingBean, ComicStateCh
     result.setByPublisherAndYear(this.comicBookService.getByPublisherAndYear());
     return result;
   }
+
+  private void doPublishLibraryState() {
+    try {
+      this.publishRemoteLibraryUpdateAction.publish(this.getLibraryState());
+    } catch (PublishingException error) {
+      log.error("Failed to publish library state update", error);
+    }
+  }
 }
@@ -86,7 +86,19 @@ public class FilenameScrapingRuleService {
    */
   public FilenameMetadata loadFilenameMetadata(final String filename) {
     log.trace("Loading filename scraping rules");
-    final List<FilenameScrapingRule> rules = this.loadRules();
+    return this.loadFilenameMetadata(filename, this.loadRules());
+  }
+
+  /**
+   * Attempts to load metadata from a filename using rules that were already loaded, so that a
+   * batch of filenames can be scraped without reloading the rules for each one.
+   *
+   * @param filename the filename
+   * @param rules the filename scraping rules
+   * @return the metadata
+   */
+  public FilenameMetadata loadFilenameMetadata(
+      final String filename, final List<FilenameScrapingRule> rules) {
     for (FilenameScrapingRule rule : rules) {
       log.trace("Testing filename scraping rule: priority={}", rule.getPriority());
       final FilenameMetadata result = this.filenameScraperAdaptor.execute(filename, rule);
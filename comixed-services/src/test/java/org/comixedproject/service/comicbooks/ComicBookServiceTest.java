@@ -113,6 +113,7 @@ class ComicBookServiceTest {
   @Mock private ComicBookRepository comicBookRepository;
   @Mock private PublisherDetailRepository publisherDetailRepository;
   @Mock private ComicDetailRepository comicDetailRepository;
+  @Mock private ComicDetailService comicDetailService;
   @Mock private ComicTagRepository comicTagRepository;
   @Mock private ComicBookMetadataAdaptor comicBookMetadataAdaptor;
   @Mock private ComicFileAdaptor comicFileAdaptor;
@@ -399,6 +400,25 @@ class ComicBookServiceTest {
     verify(comicBookRepository).saveAndFlush(comicBook);
   }
 
+  @Test
+  void saveAll() {
+    comicBookList.add(comicBook);
+
+    Mockito.doNothing().when(comicDetail).setLastModifiedDate(dateArgumentCaptor.capture());
+    when(comicBookRepository.saveAllAndFlush(Mockito.anyList())).thenReturn(comicBookList);
+
+    final List<ComicBook> result = this.service.saveAll(comicBookList);
+
+    assertNotNull(result);
+    assertSame(comicBookList, result);
+
+    verify(imprintService).update(comicBook);
+    verify(comicFileAdaptor).standardizeFilename(TEST_COMIC_FILENAME);
+    verify(comicDetail).setLastModifiedDate(dateArgumentCaptor.getValue());
+    verify(comicBookRepository).saveAllAndFlush(comicBookList);
+    verify(comicBookRepository, never()).saveAndFlush(Mockito.any(ComicBook.class));
+  }
+
   @Test
   void delete() {
     Mockito.doNothing()
@@ -537,6 +557,19 @@ class ComicBookServiceTest {
         .fireEvent(comicBook, ComicEvent.rescanComicBookFile);
   }
 
+  @Test
+  void prepareForRescanFileUnchanged() {
+    for (long index = 0L; index < 25L; index++) idList.add(index + 100);
+
+    when(comicBookRepository.getById(Mockito.anyLong())).thenReturn(comicBook);
+    when(comicDetailService.isFileUnchanged(Mockito.any(ComicDetail.class))).thenReturn(true);
+
+    service.prepareForRescan(idList);
+
+    verify(comicDetailService, times(idList.size())).isFileUnchanged(comicDetail);
+    verify(comicBookStateAdaptor, never()).fireEvent(comicBook, ComicEvent.rescanComicBookFile);
+  }
+
   @Test
   void prepareForRescanNoSuchComic() {
     idList.add(TEST_COMIC_BOOK_ID);
@@ -1467,6 +1500,36 @@ class ComicBookServiceTest {
     verify(comicBookStateAdaptor).fireEvent(comicBook, ComicEvent.comicFileFound);
   }
 
+  @Test
+  void markComicsAsFound() {
+    final List<String> filenames = List.of(TEST_COMIC_FILENAME);
+    when(comicBookRepository.markFilenamesAsFound(Mockito.anyList())).thenReturn(1);
+
+    final int result = service.markComicsAsFound(filenames);
+
+    assertEquals(1, result);
+
+    verify(comicBookRepository)
+        .touchMissingFilenames(Mockito.eq(filenames), Mockito.any(Date.class));
+    verify(comicBookRepository).markFilenamesAsFound(filenames);
+    verify(comicBookStateAdaptor, never()).fireEvent(Mockito.any(), Mockito.any());
+  }
+
+  @Test
+  void markComicsAsMissing() {
+    final List<String> filenames = List.of(TEST_COMIC_FILENAME);
+    when(comicBookRepository.markFilenamesAsMissing(Mockito.anyList())).thenReturn(1);
+
+    final int result = service.markComicsAsMissing(filenames);
+
+    assertEquals(1, result);
+
+    verify(comicBookRepository)
+        .touchPresentFilenames(Mockito.eq(filenames), Mockito.any(Date.class));
+    verify(comicBookRepository).markFilenamesAsMissing(filenames);
+    verify(comicBookStateAdaptor, never()).fireEvent(Mockito.any(), Mockito.any());
+  }
+
   @Test
   void getBatchScrapingCount() {
     when(comicBookRepository.getBatchScrapingCount()).thenReturn(TEST_COMIC_COUNT);
@@ -20,10 +20,13 @@ package org.comixedproject.service.comicbooks;
 
 import static junit.framework.TestCase.*;
 
+import java.io.File;
+import java.io.IOException;
 import java.text.ParseException;
 import java.util.*;
 import org.apache.commons.lang.math.RandomUtils;
 import org.comixedproject.adaptors.comicbooks.ComicFileAdaptor;
+import org.comixedproject.adaptors.file.FileAdaptor;
 import org.comixedproject.model.collections.CollectionEntry;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicbooks.ComicDetail;
@@ -57,6 +60,9 @@ class ComicDetailServiceTest {
   private static final String TEST_COMIC_FILENAME = "src/test/resources/example.cbz";
   private static final String TEST_STANDARDIZED_FILENAME = "the-standardized-filename";
   private static final String TEST_COVER_DATE = "2026-01-17";
+  private static final String TEST_FINGERPRINT_FILENAME = "src/test/resources/example.jpg";
+  private static final String TEST_MISSING_FILENAME = "src/test/resources/missing-file.cbz";
+  private static final String TEST_FINGERPRINT = "0123456789abcdef0123456789abcdef";
   private final Set<Date> weeksList = new HashSet<>();
   private final List<String> sortFieldNames = new ArrayList<>();
   private final List<ComicDetail> comicDetailList = new ArrayList<>();
@@ -64,6 +70,8 @@ class ComicDetailServiceTest {
   @InjectMocks private ComicDetailService service;
   @Mock private ComicDetailRepository comicDetailRepository;
   @Mock private ComicFileAdaptor comicFileAdaptor;
+  @Mock private FileAdaptor fileAdaptor;
+  @Mock private ComicDetail comicDetail;
   @Mock private Set<String> publisherList;
   @Mock private Set<String> seriesList;
   @Mock private Set<String> volumeList;
@@ -132,6 +140,199 @@ class ComicDetailServiceTest {
     Mockito.verify(comicDetailRepository).existsByFilename(TEST_STANDARDIZED_FILENAME);
   }
 
+  @Test
+  void filenamesFound_noFilenames() {
+    final Set<String> result = service.filenamesFound(new ArrayList<>());
+
+    assertNotNull(result);
+    assertTrue(result.isEmpty());
+
+    Mockito.verify(comicDetailRepository, Mockito.never()).getExistingFilenames(Mockito.anyList());
+    Mockito.verify(comicDetailRepository, Mockito.never())
+        .getExistingFilenamesIgnoreCase(Mockito.anyList());
+  }
+
+  @Test
+  void filenamesFound_caseInsensitive() {
+    Mockito.when(comicFileAdaptor.standardizeFilename(Mockito.anyString()))
+        .thenReturn(TEST_STANDARDIZED_FILENAME);
+    Mockito.when(comicFileAdaptor.isCaseSensitiveFilenames()).thenReturn(false);
+    Mockito.when(comicDetailRepository.getExistingFilenamesIgnoreCase(Mockito.anyList()))
+        .thenReturn(Set.of(TEST_STANDARDIZED_FILENAME.toLowerCase()));
+
+    final Set<String> result = service.filenamesFound(List.of(TEST_COMIC_FILENAME));
+
+    assertNotNull(result);
+    assertEquals(Set.of(TEST_COMIC_FILENAME), result);
+
+    Mockito.verify(comicDetailRepository)
+        .getExistingFilenamesIgnoreCase(List.of(TEST_STANDARDIZED_FILENAME.toLowerCase()));
+  }
+
+  @Test
+  void filenamesFound_caseSensitive() {
+    Mockito.when(comicFileAdaptor.standardizeFilename(Mockito.anyString()))
+        .thenReturn(TEST_STANDARDIZED_FILENAME);
+    Mockito.when(comicFileAdaptor.isCaseSensitiveFilenames()).thenReturn(true);
+    Mockito.when(comicDetailRepository.getExistingFilenames(Mockito.anyList()))
+        .thenReturn(Set.of(TEST_STANDARDIZED_FILENAME));
+
+    final Set<String> result = service.filenamesFound(List.of(TEST_COMIC_FILENAME));
+
+    assertNotNull(result);
+    assertEquals(Set.of(TEST_COMIC_FILENAME), result);
+
+    Mockito.verify(comicDetailRepository).getExistingFilenames(List.of(TEST_STANDARDIZED_FILENAME));
+  }
+
+  @Test
+  void updateFileFingerprint() throws IOException {
+    final File file = new File(TEST_FINGERPRINT_FILENAME);
+    Mockito.when(comicDetail.getFilename()).thenReturn(TEST_FINGERPRINT_FILENAME);
+    Mockito.when(fileAdaptor.getFingerprint(Mockito.any(File.class))).thenReturn(TEST_FINGERPRINT);
+
+    service.updateFileFingerprint(comicDetail);
+
+    Mockito.verify(comicDetail).setFileSize(file.length());
+    Mockito.verify(comicDetail).setFileModified(file.lastModified());
+    Mockito.verify(comicDetail).setFileFingerprint(TEST_FINGERPRINT);
+  }
+
+  @Test
+  void updateFileFingerprint_failure() throws IOException {
+    Mockito.when(comicDetail.getFilename()).thenReturn(TEST_FINGERPRINT_FILENAME);
+    Mockito.when(fileAdaptor.getFingerprint(Mockito.any(File.class)))
+        .thenThrow(IOException.class);
+
+    service.updateFileFingerprint(comicDetail);
+
+    Mockito.verify(comicDetail).setFileFingerprint(null);
+  }
+
+  @Test
+  void isFileUnchanged_noFingerprint() throws IOException {
+    Mockito.when(comicDetail.getFileFingerprint()).thenReturn(null);
+
+    assertFalse(service.isFileUnchanged(comicDetail));
+
+    Mockito.verify(fileAdaptor, Mockito.never()).getFingerprint(Mockito.any(File.class));
+  }
+
+  @Test
+  void isFileUnchanged_sizeChanged() throws IOException {
+    final File file = new File(TEST_FINGERPRINT_FILENAME);
+    Mockito.when(comicDetail.getFilename()).thenReturn(TEST_FINGERPRINT_FILENAME);
+    Mockito.when(comicDetail.getFileFingerprint()).thenReturn(TEST_FINGERPRINT);
+    Mockito.when(comicDetail.getFileSize()).thenReturn(file.length() + 1L);
+
+    assertFalse(service.isFileUnchanged(comicDetail));
+
+    Mockito.verify(fileAdaptor, Mockito.never()).getFingerprint(Mockito.any(File.class));
+  }
+
+  @Test
+  void isFileUnchanged_contentChanged() throws IOException {
+    final File file = new File(TEST_FINGERPRINT_FILENAME);
+    Mockito.when(comicDetail.getFilename()).thenReturn(TEST_FINGERPRINT_FILENAME);
+    Mockito.when(comicDetail.getFileFingerprint()).thenReturn(TEST_FINGERPRINT);
+    Mockito.when(comicDetail.getFileSize()).thenReturn(file.length());
+    Mockito.when(comicDetail.getFileModified()).thenReturn(file.lastModified());
+    Mockito.when(fileAdaptor.getFingerprint(Mockito.any(File.class)))
+        .thenReturn(TEST_FINGERPRINT.toUpperCase());
+
+    assertFalse(service.isFileUnchanged(comicDetail));
+  }
+
+  @Test
+  void isFileUnchanged() throws IOException {
+    final File file = new File(TEST_FINGERPRINT_FILENAME);
+    Mockito.when(comicDetail.getFilename()).thenReturn(TEST_FINGERPRINT_FILENAME);
+    Mockito.when(comicDetail.getFileFingerprint()).thenReturn(TEST_FINGERPRINT);
+    Mockito.when(comicDetail.getFileSize()).thenReturn(file.length());
+    Mockito.when(comicDetail.getFileModified()).thenReturn(file.lastModified());
+    Mockito.when(fileAdaptor.getFingerprint(Mockito.any(File.class))).thenReturn(TEST_FINGERPRINT);
+
+    assertTrue(service.isFileUnchanged(comicDetail));
+  }
+
+  @Test
+  void findMovedComics_noFiles() {
+    final Map<String, ComicDetail> result = service.findMovedComics(List.of(TEST_MISSING_FILENAME));
+
+    assertNotNull(result);
+    assertTrue(result.isEmpty());
+
+    Mockito.verify(comicDetailRepository, Mockito.never())
+        .findMissingWithFingerprintBySize(Mockito.anySet());
+  }
+
+  @Test
+  void findMovedComics_noCandidates() throws IOException {
+    Mockito.when(comicDetailRepository.findMissingWithFingerprintBySize(Mockito.anySet()))
+        .thenReturn(comicDetailList);
+
+    final Map<String, ComicDetail> result =
+        service.findMovedComics(List.of(TEST_FINGERPRINT_FILENAME));
+
+    assertNotNull(result);
+    assertTrue(result.isEmpty());
+
+    Mockito.verify(fileAdaptor, Mockito.never()).getFingerprint(Mockito.any(File.class));
+  }
+
+  @Test
+  void findMovedComics_fingerprintDiffers() throws IOException {
+    comicDetailList.add(comicDetail);
+
+    Mockito.when(comicDetail.getFilename()).thenReturn(TEST_MISSING_FILENAME);
+    Mockito.when(comicDetail.getFileSize())
+        .thenReturn(new File(TEST_FINGERPRINT_FILENAME).length());
+    Mockito.when(comicDetail.getFileFingerprint()).thenReturn(TEST_FINGERPRINT);
+    Mockito.when(fileAdaptor.getFingerprint(Mockito.any(File.class)))
+        .thenReturn(TEST_FINGERPRINT.toUpperCase());
+    Mockito.when(comicDetailRepository.findMissingWithFingerprintBySize(Mockito.anySet()))
+        .thenReturn(comicDetailList);
+
+    final Map<String, ComicDetail> result =
+        service.findMovedComics(List.of(TEST_FINGERPRINT_FILENAME));
+
+    assertNotNull(result);
+    assertTrue(result.isEmpty());
+  }
+
+  @Test
+  void findMovedComics() throws IOException {
+    comicDetailList.add(comicDetail);
+    final long fileSize = new File(TEST_FINGERPRINT_FILENAME).length();
+
+    Mockito.when(comicDetail.getFilename()).thenReturn(TEST_MISSING_FILENAME);
+    Mockito.when(comicDetail.getFileSize()).thenReturn(fileSize);
+    Mockito.when(comicDetail.getFileFingerprint()).thenReturn(TEST_FINGERPRINT);
+    Mockito.when(fileAdaptor.getFingerprint(Mockito.any(File.class))).thenReturn(TEST_FINGERPRINT);
+    Mockito.when(comicDetailRepository.findMissingWithFingerprintBySize(Mockito.anySet()))
+        .thenReturn(comicDetailList);
+
+    final Map<String, ComicDetail> result =
+        service.findMovedComics(List.of(TEST_FINGERPRINT_FILENAME));
+
+    assertNotNull(result);
+    assertSame(comicDetail, result.get(TEST_FINGERPRINT_FILENAME));
+
+    Mockito.verify(comicDetailRepository).findMissingWithFingerprintBySize(Set.of(fileSize));
+  }
+
+  @Test
+  void relinkComic() {
+    Mockito.when(comicFileAdaptor.standardizeFilename(Mockito.anyString()))
+        .thenReturn(TEST_STANDARDIZED_FILENAME);
+
+    service.relinkComic(comicDetail, TEST_FINGERPRINT_FILENAME);
+
+    Mockito.verify(comicDetail).setFilename(TEST_STANDARDIZED_FILENAME);
+    Mockito.verify(comicDetail, Mockito.never()).setMissing(Mockito.anyBoolean());
+    Mockito.verify(comicDetailRepository).save(comicDetail);
+  }
+
   @Test
   void getAllCoverDates() {
     Mockito.when(comicDetailRepository.getAllCoverDates()).thenReturn(coverDateSet);
@@ -4,6 +4,7 @@ import static junit.framework.TestCase.assertNotNull;
 
 import java.util.Date;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.comixedproject.messaging.PublishingException;
 import org.comixedproject.messaging.comicbooks.PublishComicBookRemovalAction;
@@ -115,4 +116,27 @@ class ComicStateChangeAdaptorTest {
     Mockito.verify(comicBookService, Mockito.times(1)).save(comicBook);
     Mockito.verify(comicUpdatePublishAction, Mockito.times(1)).publish(comicBookData);
   }
+
+  @Test
+  void onComicStatesChanged() throws PublishingException {
+    Mockito.when(comicBook.getState()).thenReturn(TEST_STATE);
+
+    adaptor.onComicStatesChanged(List.of(comicBook, comicBook));
+
+    Mockito.verify(comicBook, Mockito.times(2)).setLastModifiedOn(Mockito.any(Date.class));
+    Mockito.verify(comicBookService, Mockito.times(1)).saveAll(List.of(comicBook, comicBook));
+    Mockito.verify(comicBookService, Mockito.never()).save(Mockito.any(ComicBook.class));
+    Mockito.verify(comicUpdatePublishAction, Mockito.never())
+        .publish(Mockito.any(ComicBookData.class));
+  }
+
+  @Test
+  void onComicStatesChanged_removed() throws PublishingException {
+    Mockito.when(comicBook.getState()).thenReturn(ComicState.REMOVED);
+
+    adaptor.onComicStatesChanged(List.of(comicBook));
+
+    Mockito.verify(comicRemovalPublishAction, Mockito.times(1)).publish(comicBook);
+    Mockito.verify(comicBookService, Mockito.never()).saveAll(Mockito.anyList());
+  }
 }
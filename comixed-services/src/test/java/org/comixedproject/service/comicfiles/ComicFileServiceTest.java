@@ -24,7 +24,10 @@ import java.io.File;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import org.apache.commons.lang.math.RandomUtils;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
@@ -35,6 +38,7 @@ import org.comixedproject.model.comicbooks.ComicDetail;
 import org.comixedproject.model.comicfiles.ComicFile;
 import org.comixedproject.model.comicfiles.ComicFileGroup;
 import org.comixedproject.model.metadata.FilenameMetadata;
+import org.comixedproject.model.metadata.FilenameScrapingRule;
 import org.comixedproject.service.comicbooks.ComicDetailService;
 import org.comixedproject.service.metadata.FilenameScrapingRuleService;
 import org.comixedproject.state.comicbooks.ComicBookStateAdaptor;
@@ -79,8 +83,10 @@ class ComicFileServiceTest {
   @Mock private ComicFile comicFile;
 
   @Captor private ArgumentCaptor<ComicBook> comicBookArgumentCaptor;
+  @Captor private ArgumentCaptor<List<String>> filenamesArgumentCaptor;
 
   private List<String> filenameList = new ArrayList<>();
+  private List<FilenameScrapingRule> filenameScrapingRuleList = new ArrayList<>();
   private List<ComicFileGroup> comicFileGroupList = new ArrayList<>();
   private ComicFileGroup comicFileGroup = new ComicFileGroup(TEST_ROOT_DIRECTORY);
 
@@ -95,7 +101,10 @@ class ComicFileServiceTest {
     Mockito.when(comicBook.getComicDetail()).thenReturn(comicDetail);
     Mockito.when(comicBookAdaptor.createComic(Mockito.anyString())).thenReturn(comicBook);
     Mockito.when(metadata.isFound()).thenReturn(false);
-    Mockito.when(filenameScrapingRuleService.loadFilenameMetadata(Mockito.anyString()))
+    Mockito.when(filenameScrapingRuleService.loadRules()).thenReturn(filenameScrapingRuleList);
+    Mockito.when(
+            filenameScrapingRuleService.loadFilenameMetadata(
+                Mockito.anyString(), Mockito.anyList()))
         .thenReturn(metadata);
 
     comicFileGroupList.add(comicFileGroup);
@@ -142,15 +151,23 @@ class ComicFileServiceTest {
   @Test
   void getAllComicsUnder_nothingNewFound() throws IOException {
     Mockito.when(comicFileAdaptor.isComicFile(Mockito.any(File.class))).thenReturn(true);
-    Mockito.when(comicDetailService.filenameFound(Mockito.anyString())).thenReturn(true);
+    Mockito.when(comicDetailService.filenamesFound(Mockito.anyList()))
+        .thenAnswer(input -> new HashSet<>(input.getArgument(0)));
 
     final List<ComicFileGroup> result = service.getAllComicsUnder(TEST_ROOT_DIRECTORY, TEST_LIMIT);
 
     assertNotNull(result);
     assertTrue(result.isEmpty());
 
-    Mockito.verify(comicDetailService, Mockito.times(1))
-        .filenameFound(new File(TEST_COMIC_ARCHIVE).getCanonicalPath().replace("\\", "/"));
+    Mockito.verify(comicDetailService, Mockito.atLeast(1))
+        .filenamesFound(filenamesArgumentCaptor.capture());
+    assertTrue(
+        filenamesArgumentCaptor.getAllValues().stream()
+            .anyMatch(
+                filenames ->
+                    filenames.contains(
+                        new File(TEST_COMIC_ARCHIVE).getCanonicalPath().replace("\\", "/"))));
+    Mockito.verify(comicDetailService, Mockito.never()).filenameFound(Mockito.anyString());
   }
 
   @Test
@@ -170,6 +187,26 @@ class ComicFileServiceTest {
             .intValue());
   }
 
+  @Test
+  void getAllComicsUnder_withLimitAcrossLookups() throws IOException {
+    Mockito.when(comicFileAdaptor.isComicFile(Mockito.any(File.class))).thenReturn(true);
+    service.lookupBatchSize = 1;
+
+    final List<ComicFileGroup> result = service.getAllComicsUnder(TEST_ROOT_DIRECTORY, TEST_LIMIT);
+
+    assertNotNull(result);
+    assertEquals(
+        TEST_LIMIT,
+        result.stream()
+            .map(comicFileGroup -> comicFileGroup.getFiles().size())
+            .reduce((sum, size) -> sum += size)
+            .get()
+            .intValue());
+
+    Mockito.verify(comicDetailService, Mockito.times(TEST_LIMIT))
+        .filenamesFound(Mockito.anyList());
+  }
+
   @Test
   void getAllComicsUnder() throws IOException {
     Mockito.when(comicFileAdaptor.isComicFile(Mockito.any(File.class))).thenCallRealMethod();
@@ -181,11 +218,14 @@ class ComicFileServiceTest {
     assertFalse(result.isEmpty());
     assertEquals(1, result.size());
     assertEquals(3, result.get(0).getFiles().size());
+
+    Mockito.verify(comicDetailService, Mockito.times(1)).filenamesFound(Mockito.anyList());
   }
 
   @Test
   void getAllComicsUnder_withExistingComicBook() throws IOException {
-    Mockito.when(comicDetailService.filenameFound(Mockito.anyString())).thenReturn(true);
+    Mockito.when(comicDetailService.filenamesFound(Mockito.anyList()))
+        .thenAnswer(input -> new HashSet<>(input.getArgument(0)));
     Mockito.when(comicFileAdaptor.isComicFile(Mockito.any(File.class))).thenCallRealMethod();
 
     final List<ComicFileGroup> result =
@@ -194,52 +234,101 @@ class ComicFileServiceTest {
     assertNotNull(result);
     assertTrue(result.isEmpty());
 
-    Mockito.verify(comicDetailService, Mockito.atLeast(1)).filenameFound(Mockito.anyString());
+    Mockito.verify(comicDetailService, Mockito.times(1)).filenamesFound(Mockito.anyList());
+    Mockito.verify(comicDetailService, Mockito.never()).filenameFound(Mockito.anyString());
   }
 
   @Test
   void importComicFiles_alreadyFound() {
-    Mockito.when(comicDetailService.filenameFound(Mockito.anyString())).thenReturn(true);
+    Mockito.when(comicDetailService.filenamesFound(Mockito.anyList()))
+        .thenReturn(Set.of(TEST_COMIC_ARCHIVE));
 
     service.importComicFiles(filenameList);
 
-    Mockito.verify(comicDetailService, Mockito.times(1)).filenameFound(TEST_COMIC_ARCHIVE);
-    Mockito.verify(comicBookStateAdaptor, Mockito.never()).fireEvent(Mockito.any(), Mockito.any());
+    Mockito.verify(comicDetailService, Mockito.times(1)).filenamesFound(filenameList);
+    Mockito.verify(comicDetailService, Mockito.never()).filenameFound(Mockito.anyString());
+    Mockito.verify(comicBookAdaptor, Mockito.never()).createComic(Mockito.anyString());
+    Mockito.verify(comicBookStateAdaptor, Mockito.never())
+        .fireEvents(Mockito.anyList(), Mockito.any());
     Mockito.verify(applicationEventPublisher, Mockito.times(1))
         .publishEvent(LoadComicBooksEvent.instance);
   }
 
   @Test
   void importComicFiles() throws AdaptorException {
-    Mockito.when(comicDetailService.filenameFound(Mockito.anyString())).thenReturn(false);
+    Mockito.when(comicDetailService.filenamesFound(Mockito.anyList())).thenReturn(Set.of());
 
     service.importComicFiles(filenameList);
 
-    Mockito.verify(comicDetailService, Mockito.times(1)).filenameFound(TEST_COMIC_ARCHIVE);
+    Mockito.verify(filenameScrapingRuleService, Mockito.times(1)).loadRules();
+    Mockito.verify(comicDetailService, Mockito.times(1)).filenamesFound(filenameList);
     Mockito.verify(comicBookAdaptor, Mockito.times(filenameList.size()))
         .createComic(TEST_COMIC_ARCHIVE);
     Mockito.verify(filenameScrapingRuleService, Mockito.times(filenameList.size()))
-        .loadFilenameMetadata(TEST_ARCHIVE_FILENAME);
+        .loadFilenameMetadata(TEST_ARCHIVE_FILENAME, filenameScrapingRuleList);
     Mockito.verify(comicBookStateAdaptor, Mockito.times(1))
-        .fireEvent(comicBook, ComicEvent.comicBookImported);
+        .fireEvents(List.of(comicBook), ComicEvent.comicBookImported);
+    Mockito.verify(comicBookStateAdaptor, Mockito.never())
+        .fireEvent(Mockito.any(ComicBook.class), Mockito.any(ComicEvent.class));
     Mockito.verify(applicationEventPublisher, Mockito.times(1))
         .publishEvent(LoadComicBooksEvent.instance);
   }
 
+  @Test
+  void importComicFiles_inBatches() throws AdaptorException {
+    filenameList.clear();
+    for (int index = 0; index < 5; index++) filenameList.add(TEST_COMIC_ARCHIVE + index);
+    filenameList.add(TEST_COMIC_ARCHIVE + 0);
+    service.importBatchSize = 2;
+
+    Mockito.when(comicDetailService.filenamesFound(Mockito.anyList())).thenReturn(Set.of());
+
+    service.importComicFiles(filenameList);
+
+    Mockito.verify(filenameScrapingRuleService, Mockito.times(1)).loadRules();
+    Mockito.verify(comicDetailService, Mockito.times(3)).filenamesFound(Mockito.anyList());
+    Mockito.verify(comicDetailService, Mockito.times(3)).findMovedComics(Mockito.anyList());
+    Mockito.verify(comicBookAdaptor, Mockito.times(5)).createComic(Mockito.anyString());
+    Mockito.verify(comicBookStateAdaptor, Mockito.times(2))
+        .fireEvents(List.of(comicBook, comicBook), ComicEvent.comicBookImported);
+    Mockito.verify(comicBookStateAdaptor, Mockito.times(1))
+        .fireEvents(List.of(comicBook), ComicEvent.comicBookImported);
+  }
+
+  @Test
+  void importComicFiles_movedComic() throws AdaptorException {
+    Mockito.when(comicDetailService.filenamesFound(Mockito.anyList())).thenReturn(Set.of());
+    Mockito.when(comicDetailService.findMovedComics(Mockito.anyList()))
+        .thenReturn(Map.of(TEST_COMIC_ARCHIVE, comicDetail));
+    Mockito.when(comicDetail.getComicBook()).thenReturn(comicBook);
+
+    service.importComicFiles(filenameList);
+
+    Mockito.verify(comicDetailService, Mockito.times(1)).findMovedComics(filenameList);
+    Mockito.verify(comicDetailService, Mockito.times(1))
+        .relinkComic(comicDetail, TEST_COMIC_ARCHIVE);
+    Mockito.verify(comicBookStateAdaptor, Mockito.times(1))
+        .fireEvent(comicBook, ComicEvent.comicFileFound);
+    Mockito.verify(comicBookAdaptor, Mockito.never()).createComic(Mockito.anyString());
+    Mockito.verify(comicBookStateAdaptor, Mockito.never())
+        .fireEvents(Mockito.anyList(), Mockito.any());
+  }
+
   @Test
   void importComicFiles_comicBookAdaptorException() throws AdaptorException {
-    Mockito.when(comicDetailService.filenameFound(Mockito.anyString())).thenReturn(false);
+    Mockito.when(comicDetailService.filenamesFound(Mockito.anyList())).thenReturn(Set.of());
     Mockito.when(comicBookAdaptor.createComic(Mockito.anyString()))
         .thenThrow(AdaptorException.class);
 
     service.importComicFiles(filenameList);
 
-    Mockito.verify(comicDetailService, Mockito.times(1)).filenameFound(TEST_COMIC_ARCHIVE);
+    Mockito.verify(comicDetailService, Mockito.times(1)).filenamesFound(filenameList);
     Mockito.verify(comicBookAdaptor, Mockito.times(filenameList.size()))
         .createComic(TEST_COMIC_ARCHIVE);
     Mockito.verify(filenameScrapingRuleService, Mockito.never())
-        .loadFilenameMetadata(Mockito.anyString());
-    Mockito.verify(comicBookStateAdaptor, Mockito.never()).fireEvent(Mockito.any(), Mockito.any());
+        .loadFilenameMetadata(Mockito.anyString(), Mockito.anyList());
+    Mockito.verify(comicBookStateAdaptor, Mockito.never())
+        .fireEvents(Mockito.anyList(), Mockito.any());
     Mockito.verify(applicationEventPublisher, Mockito.times(1))
         .publishEvent(LoadComicBooksEvent.instance);
   }
@@ -251,21 +340,21 @@ class ComicFileServiceTest {
     Mockito.when(metadata.getVolume()).thenReturn(TEST_VOLUME);
     Mockito.when(metadata.getIssueNumber()).thenReturn(TEST_ISSUE_NUMBER);
     Mockito.when(metadata.getCoverDate()).thenReturn(TEST_COVER_DATE);
-    Mockito.when(comicDetailService.filenameFound(Mockito.anyString())).thenReturn(false);
+    Mockito.when(comicDetailService.filenamesFound(Mockito.anyList())).thenReturn(Set.of());
 
     service.importComicFiles(filenameList);
 
-    Mockito.verify(comicDetailService, Mockito.times(1)).filenameFound(TEST_COMIC_ARCHIVE);
+    Mockito.verify(comicDetailService, Mockito.times(1)).filenamesFound(filenameList);
     Mockito.verify(comicBookAdaptor, Mockito.times(filenameList.size()))
         .createComic(TEST_COMIC_ARCHIVE);
     Mockito.verify(filenameScrapingRuleService, Mockito.times(filenameList.size()))
-        .loadFilenameMetadata(TEST_ARCHIVE_FILENAME);
+        .loadFilenameMetadata(TEST_ARCHIVE_FILENAME, filenameScrapingRuleList);
     Mockito.verify(comicDetail, Mockito.times(1)).setSeries(TEST_SERIES_NAME);
     Mockito.verify(comicDetail, Mockito.times(1)).setVolume(TEST_VOLUME);
     Mockito.verify(comicDetail, Mockito.times(1)).setIssueNumber(TEST_ISSUE_NUMBER);
     Mockito.verify(comicDetail, Mockito.times(1)).setCoverDate(TEST_COVER_DATE);
     Mockito.verify(comicBookStateAdaptor, Mockito.times(1))
-        .fireEvent(comicBook, ComicEvent.comicBookImported);
+        .fireEvents(List.of(comicBook), ComicEvent.comicBookImported);
     Mockito.verify(applicationEventPublisher, Mockito.times(1))
         .publishEvent(LoadComicBooksEvent.instance);
   }
@@ -278,8 +367,40 @@ class ComicFileServiceTest {
 
     Mockito.verify(comicBookAdaptor, Mockito.times(1)).createComic(TEST_ARCHIVE_FILENAME);
     Mockito.verify(filenameScrapingRuleService, Mockito.times(1))
-        .loadFilenameMetadata(TEST_ARCHIVE_FILENAME);
+        .loadFilenameMetadata(TEST_ARCHIVE_FILENAME, filenameScrapingRuleList);
+    Mockito.verify(comicBookStateAdaptor, Mockito.times(1))
+        .fireEvent(comicBook, ComicEvent.comicFileDiscovered);
+  }
+
+  @Test
+  void discoverComicFile_movedComic() throws AdaptorException {
+    Mockito.when(comicDetailService.findMovedComics(Mockito.anyList()))
+        .thenReturn(Map.of(TEST_ARCHIVE_FILENAME, comicDetail));
+    Mockito.when(comicDetail.getComicBook()).thenReturn(comicBook);
+
+    service.discoverComicFile(TEST_ARCHIVE_FILENAME);
+
+    Mockito.verify(comicDetailService, Mockito.times(1))
+        .findMovedComics(List.of(TEST_ARCHIVE_FILENAME));
+    Mockito.verify(comicDetailService, Mockito.times(1))
+        .relinkComic(comicDetail, TEST_ARCHIVE_FILENAME);
+    Mockito.verify(comicBookAdaptor, Mockito.never()).createComic(Mockito.anyString());
     Mockito.verify(comicBookStateAdaptor, Mockito.times(1))
+        .fireEvent(comicBook, ComicEvent.comicFileFound);
+    Mockito.verify(comicBookStateAdaptor, Mockito.never())
+        .fireEvent(Mockito.any(ComicBook.class), Mockito.eq(ComicEvent.comicFileDiscovered));
+  }
+
+  @Test
+  void discoverComicFiles() throws AdaptorException {
+    final List<String> filenames = List.of(TEST_ARCHIVE_FILENAME, TEST_ARCHIVE_FILENAME);
+
+    service.discoverComicFiles(filenames);
+
+    Mockito.verify(comicDetailService, Mockito.times(1)).findMovedComics(filenames);
+    Mockito.verify(comicBookAdaptor, Mockito.times(filenames.size()))
+        .createComic(TEST_ARCHIVE_FILENAME);
+    Mockito.verify(comicBookStateAdaptor, Mockito.times(filenames.size()))
         .fireEvent(comicBook, ComicEvent.comicFileDiscovered);
   }
 
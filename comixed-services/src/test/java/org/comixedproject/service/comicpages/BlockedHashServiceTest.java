@@ -45,14 +45,18 @@ import org.comixedproject.messaging.PublishingException;
 import org.comixedproject.messaging.comicpages.PublishBlockedPageRemovalAction;
 import org.comixedproject.messaging.comicpages.PublishBlockedPageUpdateAction;
 import org.comixedproject.messaging.library.PublishDuplicatePageListUpdateAction;
+import org.comixedproject.model.batch.MarkBlockedPagesEvent;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicpages.BlockedHash;
 import org.comixedproject.model.comicpages.ComicPage;
+import org.comixedproject.model.comicpages.ComicPageType;
+import org.comixedproject.model.comicpages.PerceptualHashEntry;
 import org.comixedproject.model.library.DuplicatePage;
 import org.comixedproject.model.net.DownloadDocument;
 import org.comixedproject.model.net.library.DuplicatePageUpdate;
 import org.comixedproject.model.net.library.LoadDuplicatePageListResponse;
 import org.comixedproject.repositories.comicpages.BlockedHashRepository;
+import org.comixedproject.service.admin.ConfigurationService;
 import org.comixedproject.service.library.DuplicatePageException;
 import org.comixedproject.service.library.DuplicatePageService;
 import org.junit.jupiter.api.BeforeEach;
@@ -66,6 +70,9 @@ import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 @ExtendWith(MockitoExtension.class)
 @MockitoSettings(strictness = Strictness.LENIENT)
@@ -80,6 +87,8 @@ class BlockedHashServiceTest {
   private static final String TEST_ENCODED_PAGE = "This is the encoded page.";
   private static final byte[] TEST_DECODED_PAGE = "This is the decoded page".getBytes();
   private static final long TEST_TOTAL_DUPLICATE_PAGES = 320L;
+  private static final String TEST_OTHER_PAGE_HASH = "The other page hash";
+  private static final long TEST_PERCEPTUAL_HASH = 0x0123456789ABCDEFL;
 
   @InjectMocks private BlockedHashService service;
   @Mock private DuplicatePageService duplicatePageService;
@@ -102,6 +111,11 @@ class BlockedHashServiceTest {
   @Mock private LoadDuplicatePageListResponse loadDuplicatePageListResponse;
   @Mock private DuplicatePageUpdate duplicatePageUpdate;
   @Mock private DuplicatePage savedDuplicatePage;
+  @Mock private ConfigurationService configurationService;
+  @Mock private ApplicationEventPublisher applicationEventPublisher;
+  @Mock private ComicPage blockedPage;
+  @Mock private ComicPage deletedPage;
+  @Mock private ComicPage unblockedPage;
 
   @Captor private ArgumentCaptor<BlockedHash> blockedPageArgumentCaptor;
   @Captor private ArgumentCaptor<CsvRowEncoder> csvRowHandlerArgumentCaptor;
@@ -109,6 +123,9 @@ class BlockedHashServiceTest {
   @Captor private ArgumentCaptor<DuplicatePageUpdate> duplicatePageUpdateArgumentCaptor;
 
   private List<String> blockedPageHashList = new ArrayList<>();
+  private List<PerceptualHashEntry> perceptualHashEntryList = new ArrayList<>();
+  private List<String> storedBlockedHashList = new ArrayList<>();
+  private List<ComicPage> comicPageList = new ArrayList<>();
 
   @BeforeEach
   public void setUp() throws AdaptorException, DuplicatePageException, PublishingException {
@@ -121,6 +138,21 @@ class BlockedHashServiceTest {
     Mockito.when(page.getComicBook()).thenReturn(comicBook);
     Mockito.when(page.getPageNumber()).thenReturn(TEST_PAGE_NUMBER);
     Mockito.when(comicPageService.getOneForHash(Mockito.anyString())).thenReturn(page);
+    Mockito.when(comicPageService.getBlockedPerceptualHashes()).thenReturn(perceptualHashEntryList);
+    Mockito.when(blockedHashRepository.getHashes()).thenReturn(storedBlockedHashList);
+    Mockito.when(
+            configurationService.isFeatureEnabled(ConfigurationService.CFG_MANAGE_BLOCKED_PAGES))
+        .thenReturn(true);
+    Mockito.when(blockedPage.getHash()).thenReturn(TEST_PAGE_HASH);
+    Mockito.when(blockedPage.isDeleted()).thenReturn(false);
+    Mockito.when(deletedPage.getHash()).thenReturn(TEST_PAGE_HASH);
+    Mockito.when(deletedPage.isDeleted()).thenReturn(true);
+    Mockito.when(unblockedPage.getHash()).thenReturn(TEST_OTHER_PAGE_HASH);
+    Mockito.when(unblockedPage.isDeleted()).thenReturn(false);
+    comicPageList.add(blockedPage);
+    comicPageList.add(deletedPage);
+    comicPageList.add(unblockedPage);
+    Mockito.when(comicBook.getPages()).thenReturn(comicPageList);
     Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
         .thenReturn(TEST_PAGE_CONTENT);
     Mockito.when(dataEncoder.encode(Mockito.any(byte[].class))).thenReturn(TEST_ENCODED_PAGE);
@@ -206,6 +238,7 @@ class BlockedHashServiceTest {
 
     assertNotNull(blockedPageArgumentCaptor.getValue());
     assertEquals(TEST_PAGE_HASH, blockedPageArgumentCaptor.getValue().getHash());
+    assertTrue(service.isHashBlocked(TEST_PAGE_HASH));
 
     Mockito.verify(blockedHashRepository, Mockito.times(blockedPageHashList.size()))
         .findByHash(TEST_PAGE_HASH);
@@ -228,6 +261,7 @@ class BlockedHashServiceTest {
 
     assertNotNull(blockedPageArgumentCaptor.getValue());
     assertEquals(TEST_PAGE_HASH, blockedPageArgumentCaptor.getValue().getHash());
+    assertTrue(service.isHashBlocked(TEST_PAGE_HASH));
 
     final DuplicatePageUpdate publishedDuplicatePageUpdate =
         duplicatePageUpdateArgumentCaptor.getValue();
@@ -241,6 +275,31 @@ class BlockedHashServiceTest {
         .save(blockedPageArgumentCaptor.getValue());
     Mockito.verify(publishDuplicatePageListUpdateAction, Mockito.times(blockedPageHashList.size()))
         .publish(publishedDuplicatePageUpdate);
+    Mockito.verify(applicationEventPublisher, Mockito.times(1))
+        .publishEvent(MarkBlockedPagesEvent.instance);
+  }
+
+  @Test
+  void blockPages_transactionNotCommitted() {
+    blockedPageHashList.add(TEST_PAGE_HASH);
+
+    Mockito.when(blockedHashRepository.findByHash(Mockito.anyString())).thenReturn(null);
+    Mockito.when(blockedHashRepository.save(Mockito.any(BlockedHash.class)))
+        .thenReturn(blockedHashRecord);
+
+    TransactionSynchronizationManager.initSynchronization();
+    try {
+      service.blockPages(blockedPageHashList);
+
+      assertFalse(service.isHashBlocked(TEST_PAGE_HASH));
+
+      TransactionSynchronizationManager.getSynchronizations()
+          .forEach(TransactionSynchronization::afterCommit);
+    } finally {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+
+    assertTrue(service.isHashBlocked(TEST_PAGE_HASH));
   }
 
   @Test
@@ -314,6 +373,8 @@ class BlockedHashServiceTest {
     Mockito.verify(publishBlockedPageUpdateAction, Mockito.times(1)).publish(savedBlockedHash);
     Mockito.verify(publishDuplicatePageListUpdateAction, Mockito.times(1))
         .publish(publishedDuplicatePageUpdate);
+    Mockito.verify(applicationEventPublisher, Mockito.times(1))
+        .publishEvent(MarkBlockedPagesEvent.instance);
   }
 
   @Test
@@ -347,6 +408,7 @@ class BlockedHashServiceTest {
 
   @Test
   void unblockPages() throws PublishingException {
+    storedBlockedHashList.add(TEST_PAGE_HASH);
     blockedPageHashList.add(TEST_PAGE_HASH);
 
     Mockito.when(blockedHashRepository.findByHash(Mockito.anyString()))
@@ -355,6 +417,8 @@ class BlockedHashServiceTest {
 
     service.unblockPages(blockedPageHashList);
 
+    assertFalse(service.isHashBlocked(TEST_PAGE_HASH));
+
     final DuplicatePageUpdate publishedDuplicatePageUpdate =
         duplicatePageUpdateArgumentCaptor.getValue();
     assertSame(savedDuplicatePage, publishedDuplicatePageUpdate.getPage());
@@ -400,7 +464,12 @@ class BlockedHashServiceTest {
   @Test
   void uploadFile() throws IOException {
     Mockito.when(blockedHashRepository.findAll()).thenReturn(blockedHashList);
-    Mockito.doNothing()
+    Mockito.doAnswer(
+            invocation -> {
+              final CsvRowDecoder decoder = invocation.getArgument(2);
+              decoder.processRow(1, TEST_DECODED_ROW);
+              return null;
+            })
         .when(csvAdaptor)
         .decodeRecords(
             Mockito.any(InputStream.class), Mockito.any(), csvRowDecoderArgumentCaptor.capture());
@@ -413,11 +482,11 @@ class BlockedHashServiceTest {
     assertSame(blockedHashList, result);
     assertNotNull(csvRowDecoderArgumentCaptor.getValue());
 
-    csvRowDecoderArgumentCaptor.getValue().processRow(1, TEST_DECODED_ROW);
     assertNotNull(blockedPageArgumentCaptor.getValue());
     assertEquals(TEST_PAGE_LABEL, blockedPageArgumentCaptor.getValue().getLabel());
     assertEquals(TEST_PAGE_HASH, blockedPageArgumentCaptor.getValue().getHash());
     assertEquals(TEST_PAGE_THUMBNAIL, blockedPageArgumentCaptor.getValue().getThumbnail());
+    assertTrue(service.isHashBlocked(TEST_PAGE_HASH));
 
     Mockito.verify(blockedHashRepository, Mockito.times(1)).findAll();
     Mockito.verify(csvAdaptor, Mockito.times(1))
@@ -427,6 +496,8 @@ class BlockedHashServiceTest {
             csvRowDecoderArgumentCaptor.getValue());
     Mockito.verify(blockedHashRepository, Mockito.times(1))
         .save(blockedPageArgumentCaptor.getValue());
+    Mockito.verify(applicationEventPublisher, Mockito.times(1))
+        .publishEvent(MarkBlockedPagesEvent.instance);
   }
 
   @Test
@@ -435,6 +506,7 @@ class BlockedHashServiceTest {
     for (int index = 0; index < 25; index++) {
       blockedPageHashes.add(RandomStringUtils.random(32, true, true));
     }
+    storedBlockedHashList.addAll(blockedPageHashes);
 
     Mockito.when(blockedHashRepository.findByHash(Mockito.anyString()))
         .thenReturn(blockedHashRecord);
@@ -446,6 +518,7 @@ class BlockedHashServiceTest {
     assertNotNull(result);
     assertEquals(blockedPageHashes.size(), result.size());
     result.forEach(hash -> assertEquals(TEST_PAGE_HASH, hash));
+    blockedPageHashes.forEach(hash -> assertFalse(service.isHashBlocked(hash)));
 
     blockedPageHashes.forEach(
         hash -> Mockito.verify(blockedHashRepository, Mockito.times(1)).findByHash(hash));
@@ -461,6 +534,7 @@ class BlockedHashServiceTest {
     for (int index = 0; index < 25; index++) {
       blockedPageHashes.add(RandomStringUtils.random(32, true, true));
     }
+    storedBlockedHashList.addAll(blockedPageHashes);
 
     Mockito.when(blockedHashRepository.findByHash(Mockito.anyString()))
         .thenReturn(blockedHashRecord);
@@ -475,6 +549,7 @@ class BlockedHashServiceTest {
     assertNotNull(result);
     assertEquals(blockedPageHashes.size(), result.size());
     result.forEach(hash -> assertEquals(TEST_PAGE_HASH, hash));
+    blockedPageHashes.forEach(hash -> assertFalse(service.isHashBlocked(hash)));
 
     blockedPageHashes.forEach(
         hash -> Mockito.verify(blockedHashRepository, Mockito.times(1)).findByHash(hash));
@@ -486,25 +561,144 @@ class BlockedHashServiceTest {
 
   @Test
   void isHashBlocked_whenFound() {
-    Mockito.when(blockedHashRepository.findByHash(Mockito.anyString()))
-        .thenReturn(blockedHashRecord);
+    storedBlockedHashList.add(TEST_PAGE_HASH);
 
     final boolean result = service.isHashBlocked(TEST_PAGE_HASH);
 
     assertTrue(result);
 
-    Mockito.verify(blockedHashRepository, Mockito.times(1)).findByHash(TEST_PAGE_HASH);
+    Mockito.verify(blockedHashRepository, Mockito.never()).findByHash(Mockito.anyString());
   }
 
   @Test
   void isHashBlocked_whenNotFound() {
-    Mockito.when(blockedHashRepository.findByHash(Mockito.anyString())).thenReturn(null);
-
     final boolean result = service.isHashBlocked(TEST_PAGE_HASH);
 
     assertFalse(result);
 
-    Mockito.verify(blockedHashRepository, Mockito.times(1)).findByHash(TEST_PAGE_HASH);
+    Mockito.verify(blockedHashRepository, Mockito.never()).findByHash(Mockito.anyString());
+  }
+
+  @Test
+  void isHashBlocked_loadsHashesOnce() {
+    storedBlockedHashList.add(TEST_PAGE_HASH);
+
+    for (int index = 0; index < 25; index++) {
+      assertTrue(service.isHashBlocked(TEST_PAGE_HASH));
+    }
+
+    Mockito.verify(blockedHashRepository, Mockito.times(1)).getHashes();
+  }
+
+  @Test
+  void reloadBlockedHashes() {
+    assertFalse(service.isHashBlocked(TEST_PAGE_HASH));
+
+    storedBlockedHashList.add(TEST_PAGE_HASH);
+    service.reloadBlockedHashes();
+
+    assertTrue(service.isHashBlocked(TEST_PAGE_HASH));
+
+    Mockito.verify(blockedHashRepository, Mockito.times(2)).getHashes();
+  }
+
+  @Test
+  void markBlockedPages_featureDisabled() {
+    storedBlockedHashList.add(TEST_PAGE_HASH);
+    Mockito.when(
+            configurationService.isFeatureEnabled(ConfigurationService.CFG_MANAGE_BLOCKED_PAGES))
+        .thenReturn(false);
+
+    final int result = service.markBlockedPages(comicBook);
+
+    assertEquals(0, result);
+
+    Mockito.verify(blockedPage, Mockito.never()).setPageType(Mockito.any(ComicPageType.class));
+    Mockito.verify(blockedHashRepository, Mockito.never()).getHashes();
+  }
+
+  @Test
+  void markBlockedPages_noneBlocked() {
+    final int result = service.markBlockedPages(comicBook);
+
+    assertEquals(0, result);
+
+    Mockito.verify(blockedPage, Mockito.never()).setPageType(Mockito.any(ComicPageType.class));
+    Mockito.verify(unblockedPage, Mockito.never()).setPageType(Mockito.any(ComicPageType.class));
+  }
+
+  @Test
+  void markBlockedPages() {
+    storedBlockedHashList.add(TEST_PAGE_HASH);
+
+    final int result = service.markBlockedPages(comicBook);
+
+    assertEquals(1, result);
+
+    Mockito.verify(blockedPage, Mockito.times(1)).setPageType(ComicPageType.DELETED);
+    Mockito.verify(deletedPage, Mockito.never()).setPageType(Mockito.any(ComicPageType.class));
+    Mockito.verify(unblockedPage, Mockito.never()).setPageType(Mockito.any(ComicPageType.class));
+  }
+
+  @Test
+  void getBlockedHashesSimilarTo() {
+    perceptualHashEntryList.add(new PerceptualHashEntry(TEST_PAGE_HASH, TEST_PERCEPTUAL_HASH));
+    perceptualHashEntryList.add(
+        new PerceptualHashEntry(TEST_OTHER_PAGE_HASH, ~TEST_PERCEPTUAL_HASH));
+
+    final List<String> result = service.getBlockedHashesSimilarTo(TEST_PERCEPTUAL_HASH ^ 0x0101L);
+
+    assertNotNull(result);
+    assertEquals(List.of(TEST_PAGE_HASH), result);
+  }
+
+  @Test
+  void getBlockedHashesSimilarToPage_noPerceptualHash() {
+    Mockito.when(comicPageService.getPerceptualHashForHash(Mockito.anyString())).thenReturn(null);
+
+    final List<String> result = service.getBlockedHashesSimilarToPage(TEST_PAGE_HASH);
+
+    assertNotNull(result);
+    assertTrue(result.isEmpty());
+
+    Mockito.verify(comicPageService, Mockito.never()).getBlockedPerceptualHashes();
+  }
+
+  @Test
+  void getBlockedHashesSimilarToPage() {
+    perceptualHashEntryList.add(new PerceptualHashEntry(TEST_PAGE_HASH, TEST_PERCEPTUAL_HASH));
+
+    Mockito.when(comicPageService.getPerceptualHashForHash(Mockito.anyString()))
+        .thenReturn(TEST_PERCEPTUAL_HASH);
+
+    final List<String> result = service.getBlockedHashesSimilarToPage(TEST_OTHER_PAGE_HASH);
+
+    assertNotNull(result);
+    assertEquals(List.of(TEST_PAGE_HASH), result);
+
+    Mockito.verify(comicPageService, Mockito.times(1))
+        .getPerceptualHashForHash(TEST_OTHER_PAGE_HASH);
+  }
+
+  @Test
+  void getBlockedHashesSimilarTo_reusesIndex() {
+    service.getBlockedHashesSimilarTo(TEST_PERCEPTUAL_HASH);
+    service.getBlockedHashesSimilarTo(TEST_PERCEPTUAL_HASH);
+
+    Mockito.verify(comicPageService, Mockito.times(1)).getBlockedPerceptualHashes();
+  }
+
+  @Test
+  void getBlockedHashesSimilarTo_afterUnblocking() {
+    blockedPageHashList.add(TEST_PAGE_HASH);
+    Mockito.when(blockedHashRepository.findByHash(Mockito.anyString()))
+        .thenReturn(blockedHashRecord);
+
+    service.getBlockedHashesSimilarTo(TEST_PERCEPTUAL_HASH);
+    service.unblockPages(blockedPageHashList);
+    service.getBlockedHashesSimilarTo(TEST_PERCEPTUAL_HASH);
+
+    Mockito.verify(comicPageService, Mockito.times(2)).getBlockedPerceptualHashes();
   }
 
   @Test
@@ -26,10 +26,12 @@ import java.io.File;
 import java.io.IOException;
 import java.util.*;
 import org.apache.commons.io.FileUtils;
-import org.comixedproject.adaptors.GenericUtilitiesAdaptor;
+import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicpages.ComicPage;
 import org.comixedproject.model.comicpages.ComicPageType;
+import org.comixedproject.model.comicpages.PageContentDetails;
+import org.comixedproject.model.comicpages.PerceptualHashEntry;
 import org.comixedproject.repositories.comicpages.ComicPageRepository;
 import org.comixedproject.service.comicbooks.ComicBookException;
 import org.comixedproject.service.comicbooks.ComicBookService;
@@ -56,17 +58,21 @@ class ComicPageServiceTest {
   private static final int TEST_BATCH_SIZE = 129;
   private static final String TEST_COMIC_FILENAME = "example-comic.cbz";
   private static final long TEST_PAGE_COUNT = 273L;
+  private static final int TEST_PAGE_WIDTH = 338;
+  private static final String TEST_PAGE_MIME_TYPE = "image/jpeg";
+  private static final Long TEST_PERCEPTUAL_HASH = 0x0123456789ABCDEFL;
 
   @InjectMocks private ComicPageService service;
   @Mock private ComicPageRepository comicPageRepository;
   @Mock private ComicBookService comicBookService;
   @Mock private ComicBookStateAdaptor comicBookStateAdaptor;
-  @Mock private GenericUtilitiesAdaptor genericUtilitiesAdaptor;
+  @Mock private ComicBookAdaptor comicBookAdaptor;
   @Mock private ComicPage page;
   @Mock private ComicPage savedPage;
   @Mock private ComicPage pageRecord;
   @Mock private ComicBook comicBook;
   @Mock private List<String> duplicateHashList;
+  @Mock private List<PerceptualHashEntry> perceptualHashEntryList;
 
   @Captor private ArgumentCaptor<Pageable> argumentCaptorPageable;
 
@@ -107,6 +113,42 @@ class ComicPageServiceTest {
     verify(comicPageRepository).findByHash(TEST_PAGE_HASH);
   }
 
+  @Test
+  void getPerceptualHashForHash() {
+    when(comicPageRepository.getPerceptualHashesForHash(
+            Mockito.anyString(), Mockito.any(Pageable.class)))
+        .thenReturn(List.of(TEST_PERCEPTUAL_HASH));
+
+    final Long result = service.getPerceptualHashForHash(TEST_PAGE_HASH);
+
+    assertEquals(TEST_PERCEPTUAL_HASH, result);
+
+    verify(comicPageRepository)
+        .getPerceptualHashesForHash(Mockito.eq(TEST_PAGE_HASH), argumentCaptorPageable.capture());
+    assertEquals(1, argumentCaptorPageable.getValue().getPageSize());
+  }
+
+  @Test
+  void getPerceptualHashForHash_noneFound() {
+    when(comicPageRepository.getPerceptualHashesForHash(
+            Mockito.anyString(), Mockito.any(Pageable.class)))
+        .thenReturn(Collections.emptyList());
+
+    assertNull(service.getPerceptualHashForHash(TEST_PAGE_HASH));
+  }
+
+  @Test
+  void getBlockedPerceptualHashes() {
+    when(comicPageRepository.getBlockedPerceptualHashes()).thenReturn(perceptualHashEntryList);
+
+    final List<PerceptualHashEntry> result = service.getBlockedPerceptualHashes();
+
+    assertNotNull(result);
+    assertSame(perceptualHashEntryList, result);
+
+    verify(comicPageRepository).getBlockedPerceptualHashes();
+  }
+
   @Test
   void getPageInComicByIndex_noSuchComic() throws ComicBookException {
     when(comicBookService.getComic(Mockito.anyLong())).thenThrow(ComicBookException.class);
@@ -278,6 +320,18 @@ class ComicPageServiceTest {
     verify(comicPageRepository).findAllCoverPageHashes();
   }
 
+  @Test
+  void findAllCoverPageHashesWiderThan() {
+    when(comicPageRepository.findAllCoverPageHashesWiderThan(Mockito.anyInt())).thenReturn(hashSet);
+
+    final Set<String> result = service.findAllCoverPageHashesWiderThan(TEST_PAGE_WIDTH);
+
+    assertNotNull(result);
+    assertSame(hashSet, result);
+
+    verify(comicPageRepository).findAllCoverPageHashesWiderThan(TEST_PAGE_WIDTH);
+  }
+
   @Test
   void markCoverPagesToHaveCacheEntryCreated() {
     service.markCoverPagesToHaveCacheEntryCreated(TEST_PAGE_HASH);
@@ -286,24 +340,20 @@ class ComicPageServiceTest {
   }
 
   @Test
-  void updatePageContent_noImageContent() {
-    final byte[] content = "Invalid image content".getBytes();
-    when(genericUtilitiesAdaptor.createHash(Mockito.any(byte[].class))).thenReturn(TEST_PAGE_HASH);
-    when(comicPageRepository.save(Mockito.any(ComicPage.class))).thenReturn(savedPage);
+  void markAllCoverPagesToHaveCacheEntryCreated() {
+    final List<String> hashes = new ArrayList<>();
+    for (int index = 0; index < 1200; index++) hashes.add(TEST_PAGE_HASH);
 
-    final ComicPage result = service.updatePageContent(page, content);
+    service.markAllCoverPagesToHaveCacheEntryCreated(hashes);
 
-    assertNotNull(result);
-    assertSame(savedPage, result);
-
-    verify(genericUtilitiesAdaptor).createHash(content);
-    verify(page).setHash(TEST_PAGE_HASH);
-    verify(comicPageRepository).save(page);
+    verify(comicPageRepository, Mockito.times(2))
+        .markAllCoverPagesToHaveCacheEntryCreated(hashes.subList(0, 500));
+    verify(comicPageRepository, Mockito.times(1))
+        .markAllCoverPagesToHaveCacheEntryCreated(hashes.subList(1000, 1200));
   }
 
   @Test
   void updatePageContent() {
-    when(genericUtilitiesAdaptor.createHash(Mockito.any(byte[].class))).thenReturn(TEST_PAGE_HASH);
     when(comicPageRepository.save(Mockito.any(ComicPage.class))).thenReturn(savedPage);
 
     final ComicPage result = service.updatePageContent(page, pageContent);
@@ -311,8 +361,7 @@ class ComicPageServiceTest {
     assertNotNull(result);
     assertSame(savedPage, result);
 
-    verify(genericUtilitiesAdaptor).createHash(pageContent);
-    verify(page).setHash(TEST_PAGE_HASH);
+    verify(comicBookAdaptor).setPageDetails(page, pageContent);
     verify(comicPageRepository).save(page);
   }
 
@@ -406,6 +455,19 @@ class ComicPageServiceTest {
     verify(comicPageRepository).getPageIdForComicBookCover(TEST_COMIC_ID);
   }
 
+  @Test
+  void getHashForComicBookCover() {
+    when(comicPageRepository.getHashForComicBookCover(Mockito.anyLong()))
+        .thenReturn(TEST_PAGE_HASH);
+
+    final String result = service.getHashForComicBookCover(TEST_COMIC_ID);
+
+    assertNotNull(result);
+    assertEquals(TEST_PAGE_HASH, result);
+
+    verify(comicPageRepository).getHashForComicBookCover(TEST_COMIC_ID);
+  }
+
   @Test
   void getComicFilenameForPage_noComicBookFound() {
     when(comicPageRepository.getComicFilenameForPage(Mockito.anyLong())).thenReturn(null);
@@ -445,6 +507,24 @@ class ComicPageServiceTest {
     verify(comicPageRepository).getPageFilename(TEST_PAGE_ID);
   }
 
+  @Test
+  void findPagesFollowing() {
+    when(comicPageRepository.findPagesFollowing(
+            Mockito.anyLong(), argumentCaptorPageable.capture()))
+        .thenReturn(pageList);
+
+    final List<ComicPage> result = service.findPagesFollowing(TEST_PAGE_ID, (int) TEST_MAX_ENTRIES);
+
+    assertNotNull(result);
+    assertSame(pageList, result);
+
+    final Pageable pageable = argumentCaptorPageable.getValue();
+    assertEquals(TEST_MAX_ENTRIES, pageable.getPageSize());
+    assertEquals(0, pageable.getPageNumber());
+
+    verify(comicPageRepository).findPagesFollowing(TEST_PAGE_ID, pageable);
+  }
+
   @Test
   void getHashForPage_noSuchPage() {
     when(comicPageRepository.getHashForPage(Mockito.anyLong())).thenReturn(null);
@@ -468,6 +548,28 @@ class ComicPageServiceTest {
     verify(comicPageRepository).getHashForPage(TEST_PAGE_ID);
   }
 
+  @Test
+  void getPageContentDetails_pageNotFound() {
+    when(comicPageRepository.getPageContentDetails(Mockito.anyLong())).thenReturn(null);
+
+    assertThrows(ComicPageException.class, () -> service.getPageContentDetails(TEST_PAGE_ID));
+  }
+
+  @Test
+  void getPageContentDetails() throws ComicPageException {
+    final PageContentDetails details =
+        new PageContentDetails(
+            TEST_COMIC_FILENAME, TEST_PAGE_FILENAME, TEST_PAGE_HASH, TEST_PAGE_MIME_TYPE);
+    when(comicPageRepository.getPageContentDetails(Mockito.anyLong())).thenReturn(details);
+
+    final PageContentDetails result = service.getPageContentDetails(TEST_PAGE_ID);
+
+    assertNotNull(result);
+    assertSame(details, result);
+
+    verify(comicPageRepository).getPageContentDetails(TEST_PAGE_ID);
+  }
+
   @Test
   void getAllDuplicateHashes() {
     when(comicPageRepository.getAllDuplicateHashes()).thenReturn(duplicateHashList);
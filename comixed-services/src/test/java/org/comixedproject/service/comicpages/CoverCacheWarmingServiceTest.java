@@ -0,0 +1,178 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+
+package org.comixedproject.service.comicpages;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import org.comixedproject.adaptors.AdaptorException;
+import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
+import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.model.comicbooks.ComicDetail;
+import org.comixedproject.model.comicpages.ComicPage;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class CoverCacheWarmingServiceTest {
+  private static final String TEST_PAGE_HASH = "0123456789ABCDEF0123456789ABCDEF";
+  private static final String TEST_COMIC_FILENAME = "/Users/comixed/Library/comic.cbz";
+  private static final String TEST_PAGE_FILENAME = "page-001.jpg";
+  private static final byte[] TEST_PAGE_CONTENT = "page content".getBytes();
+
+  @InjectMocks private CoverCacheWarmingService service;
+  @Mock private PageCacheService pageCacheService;
+  @Mock private ComicBookAdaptor comicBookAdaptor;
+  @Mock private ExecutorService executor;
+  @Mock private ComicBook comicBook;
+  @Mock private ComicDetail comicDetail;
+  @Mock private ComicPage cover;
+
+  @Captor private ArgumentCaptor<Runnable> runnableArgumentCaptor;
+
+  private final List<ComicPage> pageList = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() throws AdaptorException {
+    service.executor = executor;
+    pageList.add(cover);
+    Mockito.when(comicBook.getPages()).thenReturn(pageList);
+    Mockito.when(comicBook.getComicDetail()).thenReturn(comicDetail);
+    Mockito.when(comicDetail.getFilename()).thenReturn(TEST_COMIC_FILENAME);
+    Mockito.when(cover.getHash()).thenReturn(TEST_PAGE_HASH);
+    Mockito.when(cover.getFilename()).thenReturn(TEST_PAGE_FILENAME);
+    Mockito.when(pageCacheService.isCached(TEST_PAGE_HASH)).thenReturn(false);
+    Mockito.doNothing().when(executor).execute(runnableArgumentCaptor.capture());
+    Mockito.when(comicBookAdaptor.loadPageContent(TEST_COMIC_FILENAME, TEST_PAGE_FILENAME))
+        .thenReturn(TEST_PAGE_CONTENT);
+  }
+
+  @Test
+  void afterPropertiesSet() {
+    service.executor = null;
+    service.workers = 0;
+    service.queueSize = 0;
+
+    service.afterPropertiesSet();
+
+    assertNotNull(service.executor);
+    assertNotSame(executor, service.executor);
+
+    service.destroy();
+
+    assertTrue(service.executor.isShutdown());
+  }
+
+  @Test
+  void queueCover_noPages() {
+    pageList.clear();
+
+    service.queueCover(comicBook);
+
+    Mockito.verify(executor, Mockito.never()).execute(Mockito.any());
+  }
+
+  @Test
+  void queueCover_noHash() {
+    Mockito.when(cover.getHash()).thenReturn("");
+
+    service.queueCover(comicBook);
+
+    Mockito.verify(executor, Mockito.never()).execute(Mockito.any());
+  }
+
+  @Test
+  void queueCover_alreadyCached() {
+    Mockito.when(pageCacheService.isCached(TEST_PAGE_HASH)).thenReturn(true);
+
+    service.queueCover(comicBook);
+
+    Mockito.verify(executor, Mockito.never()).execute(Mockito.any());
+  }
+
+  @Test
+  void queueCover_alreadyQueued() {
+    service.queueCover(comicBook);
+    service.queueCover(comicBook);
+
+    Mockito.verify(executor, Mockito.times(1)).execute(Mockito.any());
+  }
+
+  @Test
+  void queueCover_queueFull() {
+    Mockito.doThrow(RejectedExecutionException.class)
+        .doNothing()
+        .when(executor)
+        .execute(Mockito.any());
+
+    service.queueCover(comicBook);
+    service.queueCover(comicBook);
+
+    Mockito.verify(executor, Mockito.times(2)).execute(Mockito.any());
+  }
+
+  @Test
+  void queueCover() {
+    service.queueCover(comicBook);
+    runnableArgumentCaptor.getValue().run();
+
+    Mockito.verify(pageCacheService, Mockito.times(1))
+        .saveByHash(TEST_PAGE_HASH, TEST_PAGE_CONTENT);
+  }
+
+  @Test
+  void queueCover_cachedWhileQueued() throws AdaptorException {
+    service.queueCover(comicBook);
+    Mockito.when(pageCacheService.isCached(TEST_PAGE_HASH)).thenReturn(true);
+    runnableArgumentCaptor.getValue().run();
+
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .loadPageContent(Mockito.anyString(), Mockito.anyString());
+    Mockito.verify(pageCacheService, Mockito.never())
+        .saveByHash(Mockito.anyString(), Mockito.any(byte[].class));
+  }
+
+  @Test
+  void queueCover_loadFails() throws AdaptorException {
+    Mockito.when(comicBookAdaptor.loadPageContent(TEST_COMIC_FILENAME, TEST_PAGE_FILENAME))
+        .thenThrow(AdaptorException.class);
+
+    service.queueCover(comicBook);
+    runnableArgumentCaptor.getValue().run();
+    service.queueCover(comicBook);
+
+    Mockito.verify(executor, Mockito.times(2)).execute(Mockito.any());
+    Mockito.verify(pageCacheService, Mockito.never())
+        .saveByHash(Mockito.anyString(), Mockito.any(byte[].class));
+  }
+}
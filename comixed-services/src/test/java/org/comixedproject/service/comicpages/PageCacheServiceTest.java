@@ -25,16 +25,22 @@ import static org.junit.Assert.assertThrows;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
 import org.apache.commons.io.FileUtils;
 import org.apache.commons.lang3.StringUtils;
 import org.comixedproject.adaptors.AdaptorException;
 import org.comixedproject.adaptors.GenericUtilitiesAdaptor;
+import org.comixedproject.adaptors.archive.ArchiveEntryProcessor;
+import org.comixedproject.adaptors.archive.model.ArchiveEntryRegion;
+import org.comixedproject.adaptors.archive.model.ComicArchiveEntry;
 import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
 import org.comixedproject.adaptors.file.FileTypeAdaptor;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicpages.ComicPage;
+import org.comixedproject.model.comicpages.PageContentDetails;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -42,6 +48,10 @@ import org.mockito.*;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.mockito.junit.jupiter.MockitoSettings;
 import org.mockito.quality.Strictness;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 
 @ExtendWith(MockitoExtension.class)
@@ -55,8 +65,15 @@ class PageCacheServiceTest {
   private static final String TEST_PAGE_FILENAME = "src/test/resources/" + TEST_PAGE_BASE_FILENAME;
   private static final String TEST_MISSING_FILENAME = "/example.jpg";
   private static final String TEST_COMIC_FILENAME = "example-comic.cbz";
-  private static final String TEST_CONTENT_TYPE = "application";
-  private static final String TEST_CONTENT_SUBTYPE = "binary";
+  private static final String TEST_MIME_TYPE = "application/binary";
+  private static final String TEST_STORED_MIME_TYPE = "image/png";
+  private static final String TEST_TRIM_CACHE_DIRECTORY = "target/test-classes/trim-image-cache";
+  private static final String TEST_OLDEST_HASH = "00000000000000000000000000000001";
+  private static final String TEST_OLDER_HASH = "00000000000000000000000000000002";
+  private static final String TEST_NEWEST_HASH = "00000000000000000000000000000003";
+  private static final int TEST_ENTRY_LENGTH = 100;
+  private static final long TEST_NEXT_PAGE_ID = 718L;
+  private static final String TEST_USER = "reader@comixedproject.org";
 
   @InjectMocks private PageCacheService service;
   @Mock private ComicPageService comicPageService;
@@ -66,12 +83,20 @@ class PageCacheServiceTest {
   @Mock private ComicBook comicBook;
   @Mock private ComicPage page;
   @Mock private ComicPage savedPage;
+  @Mock private PageMemoryCache pageMemoryCache;
+  @Mock private SegmentImageCacheStore segmentImageCacheStore;
+  @Mock private ComicPage nextPage;
+  @Mock private ComicArchiveEntry archiveEntry;
 
   @Captor private ArgumentCaptor<byte[]> contentArgumentCaptor;
   @Captor private ArgumentCaptor<InputStream> inputStreamArgumentCaptor;
+  @Captor private ArgumentCaptor<CachedPageContent> cachedPageContentArgumentCaptor;
 
   private byte[] pageContent;
   private Set<String> pageHashList = new HashSet<>();
+  private List<Runnable> readAheadTasks = new ArrayList<>();
+  private String pageHash;
+  private String pageMimeType;
 
   @BeforeEach
   public void setUp() throws ComicPageException, AdaptorException, IOException {
@@ -79,10 +104,8 @@ class PageCacheServiceTest {
     Mockito.when(page.getHash()).thenReturn(TEST_PAGE_HASH);
     Mockito.when(page.getComicBook()).thenReturn(comicBook);
     Mockito.when(page.getPageNumber()).thenReturn(TEST_PAGE_NUMBER);
-    Mockito.when(fileTypeAdaptor.getType(inputStreamArgumentCaptor.capture()))
-        .thenReturn(TEST_CONTENT_TYPE);
-    Mockito.when(fileTypeAdaptor.getSubtype(inputStreamArgumentCaptor.capture()))
-        .thenReturn(TEST_CONTENT_SUBTYPE);
+    Mockito.when(fileTypeAdaptor.getMimeTypeFor(inputStreamArgumentCaptor.capture()))
+        .thenReturn(TEST_MIME_TYPE);
 
     // clean up any remnant
     final File file = service.getFileForHash(TEST_MISSING_PAGE_HASH);
@@ -99,8 +122,27 @@ class PageCacheServiceTest {
     Mockito.when(page.getFilename()).thenReturn(TEST_PAGE_BASE_FILENAME);
     Mockito.when(comicPageService.getComicFilenameForPage(Mockito.anyLong()))
         .thenReturn(TEST_COMIC_FILENAME);
-    Mockito.when(comicPageService.getPageFilename(Mockito.anyLong()))
-        .thenReturn(TEST_PAGE_FILENAME);
+    Mockito.when(comicPageService.getPageContentDetails(Mockito.anyLong()))
+        .thenAnswer(
+            invocation ->
+                new PageContentDetails(
+                    TEST_COMIC_FILENAME, TEST_PAGE_FILENAME, pageHash, pageMimeType));
+
+    service.readAheadExecutor = readAheadTasks::add;
+    Mockito.when(nextPage.getComicPageId()).thenReturn(TEST_NEXT_PAGE_ID);
+    Mockito.when(nextPage.getHash()).thenReturn(TEST_MISSING_PAGE_HASH);
+    Mockito.when(nextPage.getFilename()).thenReturn(TEST_PAGE_BASE_FILENAME);
+    Mockito.when(comicPageService.findPagesFollowing(Mockito.anyLong(), Mockito.anyInt()))
+        .thenReturn(List.of(nextPage));
+    Mockito.when(archiveEntry.getFilename()).thenReturn(TEST_PAGE_BASE_FILENAME);
+    Mockito.doAnswer(
+            invocation -> {
+              final ArchiveEntryProcessor processor = invocation.getArgument(2);
+              processor.process(archiveEntry, pageContent);
+              return null;
+            })
+        .when(comicBookAdaptor)
+        .loadPageContents(Mockito.anyString(), Mockito.anySet(), Mockito.any());
   }
 
   @Test
@@ -129,6 +171,8 @@ class PageCacheServiceTest {
     service.saveByHash(TEST_MISSING_PAGE_HASH, TEST_MISSING_PAGE_HASH.getBytes());
 
     assertTrue(service.getFileForHash(TEST_MISSING_PAGE_HASH).exists());
+
+    Mockito.verify(pageMemoryCache, Mockito.times(1)).remove(TEST_MISSING_PAGE_HASH);
   }
 
   @Test
@@ -165,6 +209,16 @@ class PageCacheServiceTest {
     Mockito.verify(comicBookAdaptor, Mockito.times(1)).loadPageContent(comicBook, TEST_PAGE_NUMBER);
   }
 
+  @Test
+  void isCached() {
+    assertTrue(service.isCached(TEST_PAGE_HASH));
+  }
+
+  @Test
+  void isCached_notCached() {
+    assertFalse(service.isCached(StringUtils.reverse(TEST_PAGE_HASH)));
+  }
+
   @Test
   void prepareCoverPagesWithoutCacheEntries() {
     final String missingHash = StringUtils.reverse(TEST_PAGE_HASH);
@@ -182,9 +236,386 @@ class PageCacheServiceTest {
     service.prepareCoverPagesWithoutCacheEntries();
 
     Mockito.verify(comicPageService, Mockito.times(1))
-        .markCoverPagesToHaveCacheEntryCreated(missingHash);
+        .markAllCoverPagesToHaveCacheEntryCreated(List.of(missingHash));
+  }
+
+  @Test
+  void prepareCoverPagesWithoutCacheEntries_noneMissing() {
+    pageHashList.clear();
+    pageHashList.add(TEST_PAGE_HASH);
+
+    Mockito.when(comicPageService.findAllCoverPageHashes()).thenReturn(pageHashList);
+
+    service.prepareCoverPagesWithoutCacheEntries();
+
+    Mockito.verify(comicPageService, Mockito.never())
+        .markAllCoverPagesToHaveCacheEntryCreated(Mockito.anyList());
+  }
+
+  @Test
+  void readAhead_disabled() {
+    service.readAheadMaximumPages = 0;
+
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+
+    assertTrue(readAheadTasks.isEmpty());
+    Mockito.verify(comicPageService, Mockito.never())
+        .findPagesFollowing(Mockito.anyLong(), Mockito.anyInt());
+  }
+
+  @Test
+  void readAhead_noComicBook() {
+    Mockito.when(comicPageService.getComicFilenameForPage(Mockito.anyLong())).thenReturn(null);
+
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+
+    assertEquals(1, readAheadTasks.size());
+    readAheadTasks.get(0).run();
+
+    Mockito.verify(comicPageService, Mockito.never())
+        .findPagesFollowing(Mockito.anyLong(), Mockito.anyInt());
+  }
+
+  @Test
+  void readAhead_alreadyCached() throws AdaptorException {
+    Mockito.when(nextPage.getHash()).thenReturn(TEST_PAGE_HASH);
+
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+
+    assertEquals(1, readAheadTasks.size());
+    readAheadTasks.get(0).run();
+
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .loadPageContents(Mockito.anyString(), Mockito.anySet(), Mockito.any());
+  }
+
+  @Test
+  void readAhead_setupRunsInTask() {
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+
+    assertEquals(1, readAheadTasks.size());
+    Mockito.verify(comicPageService, Mockito.never()).getComicFilenameForPage(Mockito.anyLong());
     Mockito.verify(comicPageService, Mockito.never())
-        .markCoverPagesToHaveCacheEntryCreated(TEST_PAGE_HASH);
+        .findPagesFollowing(Mockito.anyLong(), Mockito.anyInt());
+  }
+
+  @Test
+  void readAhead() throws AdaptorException {
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+
+    assertEquals(1, readAheadTasks.size());
+    readAheadTasks.get(0).run();
+
+    assertTrue(service.getFileForHash(TEST_MISSING_PAGE_HASH).exists());
+
+    Mockito.verify(comicPageService, Mockito.times(1))
+        .findPagesFollowing(TEST_PAGE_ID, service.readAheadMinimumPages);
+    Mockito.verify(comicBookAdaptor, Mockito.times(1))
+        .loadPageContents(
+            Mockito.eq(TEST_COMIC_FILENAME),
+            Mockito.eq(Set.of(TEST_PAGE_BASE_FILENAME)),
+            Mockito.any());
+  }
+
+  @Test
+  void readAhead_alreadyRunningForUser() {
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+    service.readAhead(TEST_USER, TEST_NEXT_PAGE_ID);
+
+    assertEquals(1, readAheadTasks.size());
+  }
+
+  @Test
+  void readAhead_tooManyActive() {
+    service.readAheadMaximumActive = 1;
+
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+    service.readAhead(TEST_USER.toUpperCase(), TEST_PAGE_ID);
+
+    assertEquals(1, readAheadTasks.size());
+  }
+
+  @Test
+  void readAhead_sequentialPagesReadFurtherAhead() {
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+    readAheadTasks.get(0).run();
+    service.getFileForHash(TEST_MISSING_PAGE_HASH).delete();
+    service.readAhead(TEST_USER, TEST_NEXT_PAGE_ID);
+
+    assertEquals(2, readAheadTasks.size());
+    readAheadTasks.get(1).run();
+
+    Mockito.verify(comicPageService, Mockito.times(1))
+        .findPagesFollowing(TEST_NEXT_PAGE_ID, service.readAheadMinimumPages * 2);
+  }
+
+  @Test
+  void readAhead_otherPageRestartsAtMinimum() {
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+    readAheadTasks.get(0).run();
+    service.getFileForHash(TEST_MISSING_PAGE_HASH).delete();
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+    readAheadTasks.get(1).run();
+
+    Mockito.verify(comicPageService, Mockito.times(2))
+        .findPagesFollowing(TEST_PAGE_ID, service.readAheadMinimumPages);
+  }
+
+  @Test
+  void readAhead_idleReaderIsForgotten() {
+    service.readAheadIdleTimeout = 0L;
+
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+    readAheadTasks.get(0).run();
+    service.getFileForHash(TEST_MISSING_PAGE_HASH).delete();
+    service.readAhead(TEST_USER, TEST_NEXT_PAGE_ID);
+    readAheadTasks.get(1).run();
+
+    Mockito.verify(comicPageService, Mockito.times(1))
+        .findPagesFollowing(TEST_NEXT_PAGE_ID, service.readAheadMinimumPages);
+  }
+
+  @Test
+  void readAhead_loadFails() throws AdaptorException {
+    Mockito.doThrow(AdaptorException.class)
+        .when(comicBookAdaptor)
+        .loadPageContents(Mockito.anyString(), Mockito.anySet(), Mockito.any());
+
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+    readAheadTasks.get(0).run();
+    service.readAhead(TEST_USER, TEST_PAGE_ID);
+
+    assertEquals(2, readAheadTasks.size());
+    assertFalse(service.getFileForHash(TEST_MISSING_PAGE_HASH).exists());
+  }
+
+  @Test
+  void isImageCacheOverBudget_unlimited() {
+    service.maximumCacheBytes = 0L;
+
+    assertFalse(service.isImageCacheOverBudget());
+  }
+
+  @Test
+  void isImageCacheOverBudget_notScanned() {
+    assertTrue(service.isImageCacheOverBudget());
+  }
+
+  @Test
+  void findImageCacheEntriesToEvict_underBudget() throws IOException {
+    this.doCreateTrimCacheEntries();
+    service.maximumCacheBytes = 3L * TEST_ENTRY_LENGTH;
+
+    final List<String> result = service.findImageCacheEntriesToEvict();
+
+    assertNotNull(result);
+    assertTrue(result.isEmpty());
+    assertFalse(service.isImageCacheOverBudget());
+    assertEquals(3L * TEST_ENTRY_LENGTH, service.getImageCacheSize());
+    assertEquals(3L, service.getImageCacheEntryCount());
+  }
+
+  @Test
+  void findImageCacheEntriesToEvict_leastRecentlyUsedFirst() throws IOException {
+    this.doCreateTrimCacheEntries();
+    service.maximumCacheBytes = 5L * TEST_ENTRY_LENGTH / 2L;
+
+    final List<String> result = service.findImageCacheEntriesToEvict();
+
+    assertEquals(List.of(TEST_OLDEST_HASH), result);
+  }
+
+  @Test
+  void findImageCacheEntriesToEvict_coversEvictedLast() throws IOException {
+    this.doCreateTrimCacheEntries();
+    pageHashList.add(TEST_OLDEST_HASH);
+    Mockito.when(comicPageService.findAllCoverPageHashes()).thenReturn(pageHashList);
+    service.maximumCacheBytes = TEST_ENTRY_LENGTH / 2L;
+
+    final List<String> result = service.findImageCacheEntriesToEvict();
+
+    assertEquals(List.of(TEST_OLDER_HASH, TEST_NEWEST_HASH, TEST_OLDEST_HASH), result);
+  }
+
+  @Test
+  void findImageCacheEntriesToEvict_includesRenditions() throws IOException {
+    this.doCreateTrimCacheEntries();
+    final File rendition =
+        new File(
+            service.cacheDirectory,
+            PageRenditionService.RENDITION_DIRECTORY + "/160/00/" + TEST_NEWEST_HASH + ".jpg");
+    FileUtils.writeByteArrayToFile(rendition, new byte[2 * TEST_ENTRY_LENGTH]);
+    service.maximumCacheBytes = 4L * TEST_ENTRY_LENGTH;
+
+    final List<String> result = service.findImageCacheEntriesToEvict();
+
+    assertEquals(List.of(TEST_OLDEST_HASH, TEST_OLDER_HASH), result);
+    assertEquals(5L * TEST_ENTRY_LENGTH, service.getImageCacheSize());
+    assertEquals(3L, service.getImageCacheEntryCount());
+  }
+
+  @Test
+  void updateRenditionSize() throws IOException {
+    this.doCreateTrimCacheEntries();
+    service.findImageCacheEntriesToEvict();
+
+    service.updateRenditionSize(TEST_ENTRY_LENGTH);
+
+    assertEquals(4L * TEST_ENTRY_LENGTH, service.getImageCacheSize());
+    assertEquals(3L, service.getImageCacheEntryCount());
+  }
+
+  @Test
+  void evictByHash() throws IOException {
+    this.doCreateTrimCacheEntries();
+    service.findImageCacheEntriesToEvict();
+
+    service.evictByHash(TEST_OLDEST_HASH);
+
+    assertFalse(service.getFileForHash(TEST_OLDEST_HASH).exists());
+    assertEquals(2L * TEST_ENTRY_LENGTH, service.getImageCacheSize());
+    assertEquals(2L, service.getImageCacheEntryCount());
+  }
+
+  @Test
+  void evictByHash_notCached() throws IOException {
+    this.doCreateTrimCacheEntries();
+    service.findImageCacheEntriesToEvict();
+
+    service.evictByHash(TEST_MISSING_PAGE_HASH);
+
+    assertEquals(3L, service.getImageCacheEntryCount());
+  }
+
+  @Test
+  void findByHash_segments() {
+    Mockito.when(segmentImageCacheStore.isEnabled()).thenReturn(true);
+    Mockito.when(segmentImageCacheStore.load(Mockito.anyString())).thenReturn(pageContent);
+
+    final byte[] result = service.findByHash(TEST_MISSING_PAGE_HASH);
+
+    assertSame(pageContent, result);
+
+    Mockito.verify(segmentImageCacheStore, Mockito.times(1)).load(TEST_MISSING_PAGE_HASH);
+  }
+
+  @Test
+  void saveByHash_segments() throws IOException {
+    Mockito.when(segmentImageCacheStore.isEnabled()).thenReturn(true);
+
+    service.saveByHash(TEST_MISSING_PAGE_HASH, pageContent);
+
+    assertFalse(service.getFileForHash(TEST_MISSING_PAGE_HASH).exists());
+    assertEquals(1L, service.getImageCacheEntryCount());
+
+    Mockito.verify(segmentImageCacheStore, Mockito.times(1))
+        .save(TEST_MISSING_PAGE_HASH, pageContent);
+  }
+
+  @Test
+  void evictByHash_segments() throws IOException {
+    Mockito.when(segmentImageCacheStore.isEnabled()).thenReturn(true);
+    Mockito.when(segmentImageCacheStore.remove(Mockito.anyString()))
+        .thenReturn((long) TEST_ENTRY_LENGTH);
+    Mockito.when(segmentImageCacheStore.getEntries())
+        .thenReturn(
+            new ArrayList<>(List.of(new ImageCacheEntry(TEST_PAGE_HASH, TEST_ENTRY_LENGTH, 1L))));
+    service.findImageCacheEntriesToEvict();
+
+    service.evictByHash(TEST_PAGE_HASH);
+
+    assertEquals(0L, service.getImageCacheSize());
+    assertEquals(0L, service.getImageCacheEntryCount());
+    assertTrue(service.getFileForHash(TEST_PAGE_HASH).exists());
+
+    Mockito.verify(segmentImageCacheStore, Mockito.times(1)).remove(TEST_PAGE_HASH);
+  }
+
+  @Test
+  void findImageCacheEntriesToEvict_segments() {
+    Mockito.when(segmentImageCacheStore.isEnabled()).thenReturn(true);
+    Mockito.when(segmentImageCacheStore.getEntries())
+        .thenReturn(
+            new ArrayList<>(
+                List.of(
+                    new ImageCacheEntry(TEST_NEWEST_HASH, TEST_ENTRY_LENGTH, 2L),
+                    new ImageCacheEntry(TEST_OLDEST_HASH, TEST_ENTRY_LENGTH, 1L))));
+    service.maximumCacheBytes = TEST_ENTRY_LENGTH;
+
+    final List<String> result = service.findImageCacheEntriesToEvict();
+
+    assertEquals(List.of(TEST_OLDEST_HASH), result);
+  }
+
+  @Test
+  void hasImageCacheEntriesToMigrate_notEnabled() throws IOException {
+    this.doCreateTrimCacheEntries();
+
+    assertFalse(service.hasImageCacheEntriesToMigrate());
+  }
+
+  @Test
+  void hasImageCacheEntriesToMigrate() throws IOException {
+    this.doCreateTrimCacheEntries();
+    Mockito.when(segmentImageCacheStore.isEnabled()).thenReturn(true);
+
+    assertTrue(service.hasImageCacheEntriesToMigrate());
+  }
+
+  @Test
+  void findImageCacheEntriesToMigrate() throws IOException {
+    this.doCreateTrimCacheEntries();
+    Mockito.when(segmentImageCacheStore.isEnabled()).thenReturn(true);
+
+    final List<String> result = service.findImageCacheEntriesToMigrate(2);
+
+    assertEquals(2, result.size());
+  }
+
+  @Test
+  void migrateImageCacheEntry() throws IOException {
+    this.doCreateTrimCacheEntries();
+    Mockito.when(segmentImageCacheStore.isEnabled()).thenReturn(true);
+
+    service.migrateImageCacheEntry(TEST_OLDEST_HASH);
+    service.migrateImageCacheEntry(TEST_OLDER_HASH);
+    service.migrateImageCacheEntry(TEST_NEWEST_HASH);
+
+    assertFalse(service.hasImageCacheEntriesToMigrate());
+    assertTrue(new File(TEST_TRIM_CACHE_DIRECTORY).isDirectory());
+
+    Mockito.verify(segmentImageCacheStore, Mockito.times(3))
+        .save(Mockito.anyString(), contentArgumentCaptor.capture());
+    assertEquals(TEST_ENTRY_LENGTH, contentArgumentCaptor.getValue().length);
+  }
+
+  @Test
+  void getPageResource_segments() throws ComicPageException, AdaptorException {
+    Mockito.when(segmentImageCacheStore.isEnabled()).thenReturn(true);
+    pageHash = TEST_MISSING_PAGE_HASH;
+    Mockito.when(segmentImageCacheStore.load(Mockito.anyString())).thenReturn(pageContent);
+
+    final ResponseEntity<Resource> result =
+        service.getPageResource(TEST_PAGE_ID, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+    assertTrue(result.getBody() instanceof ByteArrayResource);
+
+    Mockito.verify(segmentImageCacheStore, Mockito.times(1)).load(TEST_MISSING_PAGE_HASH);
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .getPageRegion(Mockito.anyString(), Mockito.anyString());
+  }
+
+  @Test
+  void getCachedContent_updatesAccessTime() throws IOException {
+    this.doCreateTrimCacheEntries();
+    final File file = service.getFileForHash(TEST_OLDEST_HASH);
+    final long lastModified = file.lastModified();
+
+    final CachedPageContent result = service.getCachedContent(TEST_OLDEST_HASH);
+
+    assertNotNull(result);
+    assertTrue(file.lastModified() > lastModified);
   }
 
   @Test
@@ -197,6 +628,79 @@ class PageCacheServiceTest {
     this.doCommonChecks(result, pageContent);
   }
 
+  @Test
+  void getPageContent_foundInMemoryCache() throws ComicPageException, AdaptorException {
+    pageHash = TEST_PAGE_HASH;
+    Mockito.when(pageMemoryCache.get(Mockito.anyString()))
+        .thenReturn(new CachedPageContent(pageContent, TEST_MIME_TYPE));
+
+    final ResponseEntity<byte[]> result =
+        service.getPageContent(TEST_PAGE_ID, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+    assertSame(pageContent, result.getBody());
+
+    this.doCommonChecks(result, pageContent);
+
+    Mockito.verify(pageMemoryCache, Mockito.times(1)).get(TEST_PAGE_HASH);
+    Mockito.verify(fileTypeAdaptor, Mockito.never()).getMimeTypeFor(Mockito.any());
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .loadPageContent(Mockito.anyString(), Mockito.anyString());
+  }
+
+  @Test
+  void getPageContent_foundInPageCache_addedToMemoryCache() throws ComicPageException {
+    pageHash = TEST_PAGE_HASH;
+    Mockito.doNothing()
+        .when(pageMemoryCache)
+        .put(Mockito.anyString(), cachedPageContentArgumentCaptor.capture());
+
+    final ResponseEntity<byte[]> result =
+        service.getPageContent(TEST_PAGE_ID, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+
+    final CachedPageContent cached = cachedPageContentArgumentCaptor.getValue();
+    assertEquals(pageContent.length, cached.getContent().length);
+    assertEquals(TEST_MIME_TYPE, cached.getMimeType());
+
+    Mockito.verify(pageMemoryCache, Mockito.times(1)).put(TEST_PAGE_HASH, cached);
+  }
+
+  @Test
+  void getPageContent_foundInPageCache_usesStoredMimeType() throws ComicPageException {
+    pageHash = TEST_PAGE_HASH;
+    pageMimeType = TEST_STORED_MIME_TYPE;
+
+    final ResponseEntity<byte[]> result =
+        service.getPageContent(TEST_PAGE_ID, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+    assertEquals(MediaType.valueOf(TEST_STORED_MIME_TYPE), result.getHeaders().getContentType());
+
+    Mockito.verify(fileTypeAdaptor, Mockito.never()).getMimeTypeFor(Mockito.any());
+  }
+
+  @Test
+  void getPageContent_loadedFromComicFile_addedToMemoryCache()
+      throws ComicPageException, AdaptorException {
+    pageHash = TEST_MISSING_PAGE_HASH;
+    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(pageContent);
+    Mockito.doNothing()
+        .when(pageMemoryCache)
+        .put(Mockito.anyString(), cachedPageContentArgumentCaptor.capture());
+
+    final ResponseEntity<byte[]> result =
+        service.getPageContent(TEST_PAGE_ID, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+    assertSame(pageContent, cachedPageContentArgumentCaptor.getValue().getContent());
+
+    Mockito.verify(pageMemoryCache, Mockito.times(1))
+        .put(TEST_MISSING_PAGE_HASH, cachedPageContentArgumentCaptor.getValue());
+  }
+
   @Test
   void getPageContent_pageNotFoundInCache() throws ComicPageException {
     final ResponseEntity<byte[]> result =
@@ -258,6 +762,20 @@ class PageCacheServiceTest {
     Mockito.verify(comicPageService, Mockito.times(1)).updatePageContent(page, content);
   }
 
+  @Test
+  void getPageContent_pageHashUsesStoredMimeType() throws ComicPageException {
+    Mockito.when(page.getHash()).thenReturn(TEST_MISSING_PAGE_HASH);
+    Mockito.when(page.getMimeType()).thenReturn(TEST_STORED_MIME_TYPE);
+
+    final ResponseEntity<byte[]> result =
+        service.getPageContent(TEST_PAGE_HASH, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+    assertEquals(MediaType.valueOf(TEST_STORED_MIME_TYPE), result.getHeaders().getContentType());
+
+    Mockito.verify(fileTypeAdaptor, Mockito.never()).getMimeTypeFor(Mockito.any());
+  }
+
   @Test
   void getPageContent_adaptorThrowsException() throws AdaptorException {
     Mockito.when(comicBookAdaptor.loadPageContent(Mockito.anyString(), Mockito.anyString()))
@@ -291,6 +809,159 @@ class PageCacheServiceTest {
         () -> service.getPageContent(TEST_PAGE_ID, TEST_MISSING_FILENAME.substring(1)));
   }
 
+  @Test
+  void getPageResource_pageNotFound() throws ComicPageException {
+    Mockito.when(comicPageService.getPageContentDetails(Mockito.anyLong()))
+        .thenThrow(ComicPageException.class);
+
+    assertThrows(
+        ComicPageException.class,
+        () -> service.getPageResource(TEST_PAGE_ID, TEST_MISSING_FILENAME));
+  }
+
+  @Test
+  void getPageResource_foundInPageCache() throws ComicPageException, AdaptorException {
+    pageHash = TEST_PAGE_HASH;
+
+    final ResponseEntity<Resource> result =
+        service.getPageResource(TEST_PAGE_ID, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+    assertTrue(result.getBody() instanceof FileSystemResource);
+
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .getPageRegion(Mockito.anyString(), Mockito.anyString());
+  }
+
+  @Test
+  void getPageResource_foundInPageCache_addedToMemoryCache()
+      throws ComicPageException, AdaptorException {
+    pageHash = TEST_PAGE_HASH;
+    Mockito.when(pageMemoryCache.isCacheable(Mockito.anyLong())).thenReturn(true);
+    Mockito.doNothing()
+        .when(pageMemoryCache)
+        .put(Mockito.anyString(), cachedPageContentArgumentCaptor.capture());
+
+    final ResponseEntity<Resource> result =
+        service.getPageResource(TEST_PAGE_ID, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+    assertTrue(result.getBody() instanceof ByteArrayResource);
+    assertEquals(pageContent.length, result.getHeaders().getContentLength());
+
+    Mockito.verify(pageMemoryCache, Mockito.times(1))
+        .put(TEST_PAGE_HASH, cachedPageContentArgumentCaptor.getValue());
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .getPageRegion(Mockito.anyString(), Mockito.anyString());
+  }
+
+  @Test
+  void getPageResource_foundInPageCache_usesStoredMimeType()
+      throws ComicPageException, AdaptorException {
+    pageHash = TEST_PAGE_HASH;
+    pageMimeType = TEST_STORED_MIME_TYPE;
+
+    final ResponseEntity<Resource> result =
+        service.getPageResource(TEST_PAGE_ID, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+    assertEquals(MediaType.valueOf(TEST_STORED_MIME_TYPE), result.getHeaders().getContentType());
+
+    Mockito.verify(fileTypeAdaptor, Mockito.never()).getMimeTypeFor(Mockito.any());
+  }
+
+  @Test
+  void getPageResource_foundInMemoryCache() throws ComicPageException, AdaptorException {
+    pageHash = TEST_PAGE_HASH;
+    Mockito.when(pageMemoryCache.get(Mockito.anyString()))
+        .thenReturn(new CachedPageContent(pageContent, TEST_MIME_TYPE));
+
+    final ResponseEntity<Resource> result =
+        service.getPageResource(TEST_PAGE_ID, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+    assertTrue(result.getBody() instanceof ByteArrayResource);
+    assertEquals(pageContent.length, result.getHeaders().getContentLength());
+
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .getPageRegion(Mockito.anyString(), Mockito.anyString());
+  }
+
+  @Test
+  void getPageResource_streamedFromComicFile() throws ComicPageException, AdaptorException {
+    pageHash = TEST_MISSING_PAGE_HASH;
+    Mockito.when(comicBookAdaptor.getPageRegion(Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(
+            new ArchiveEntryRegion(
+                TEST_PAGE_FILENAME,
+                TEST_PAGE_BASE_FILENAME,
+                0L,
+                pageContent.length,
+                pageContent.length,
+                false));
+
+    final ResponseEntity<Resource> result =
+        service.getPageResource(TEST_PAGE_ID, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+    assertTrue(result.getBody() instanceof ArchiveEntryResource);
+    assertEquals(pageContent.length, result.getHeaders().getContentLength());
+    assertNotEquals(
+        -1, result.getHeaders().get("Content-Disposition").get(0).indexOf(TEST_PAGE_BASE_FILENAME));
+
+    Mockito.verify(comicBookAdaptor, Mockito.times(1))
+        .getPageRegion(TEST_COMIC_FILENAME, TEST_PAGE_FILENAME);
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .loadPageContent(Mockito.anyString(), Mockito.anyString());
+  }
+
+  @Test
+  void getPageResource_cannotBeStreamed() throws ComicPageException, AdaptorException {
+    pageHash = TEST_MISSING_PAGE_HASH;
+    Mockito.when(comicBookAdaptor.getPageRegion(Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(null);
+    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(pageContent);
+
+    final ResponseEntity<Resource> result =
+        service.getPageResource(TEST_PAGE_ID, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+    assertTrue(result.getBody() instanceof ByteArrayResource);
+    assertEquals(pageContent.length, result.getHeaders().getContentLength());
+
+    Mockito.verify(comicBookAdaptor, Mockito.times(1))
+        .loadPageContent(TEST_COMIC_FILENAME, TEST_PAGE_FILENAME);
+  }
+
+  @Test
+  void getPageResource_adaptorThrowsException() throws ComicPageException, AdaptorException {
+    pageHash = TEST_MISSING_PAGE_HASH;
+    Mockito.when(comicBookAdaptor.getPageRegion(Mockito.anyString(), Mockito.anyString()))
+        .thenThrow(AdaptorException.class);
+    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.anyString(), Mockito.anyString()))
+        .thenReturn(pageContent);
+
+    final ResponseEntity<Resource> result =
+        service.getPageResource(TEST_PAGE_ID, TEST_MISSING_FILENAME);
+
+    assertNotNull(result);
+    assertTrue(result.getBody() instanceof ByteArrayResource);
+  }
+
+  private void doCreateTrimCacheEntries() throws IOException {
+    final File root = new File(TEST_TRIM_CACHE_DIRECTORY);
+    FileUtils.deleteDirectory(root);
+    service.cacheDirectory = root.getAbsolutePath();
+    final long now = System.currentTimeMillis();
+    final String[] hashes = {TEST_OLDEST_HASH, TEST_OLDER_HASH, TEST_NEWEST_HASH};
+    for (int index = 0; index < hashes.length; index++) {
+      final File file = service.getFileForHash(hashes[index]);
+      FileUtils.writeByteArrayToFile(file, new byte[TEST_ENTRY_LENGTH]);
+      file.setLastModified(now - (hashes.length - index) * 2L * service.accessUpdatePeriod);
+    }
+  }
+
   private void doCommonChecks(final ResponseEntity<byte[]> result, final byte[] content) {
     assertEquals(content.length, result.getBody().length);
     assertNotEquals(
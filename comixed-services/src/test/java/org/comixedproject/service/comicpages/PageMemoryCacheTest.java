@@ -0,0 +1,125 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicpages;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class PageMemoryCacheTest {
+  private static final String TEST_PAGE_HASH = "0123456789ABCDEF0123456789ABCDEF";
+  private static final String TEST_OTHER_PAGE_HASH = "FEDCBA9876543210FEDCBA9876543210";
+  private static final String TEST_MIME_TYPE = "image/jpeg";
+
+  @InjectMocks private PageMemoryCache cache;
+
+  private final CachedPageContent content = new CachedPageContent(new byte[64], TEST_MIME_TYPE);
+  private final CachedPageContent otherContent =
+      new CachedPageContent(new byte[64], TEST_MIME_TYPE);
+  private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+  @BeforeEach
+  void setUp() {
+    cache.maximumCachedBytes = 100L;
+    cache.maximumEntryBytes = 100L;
+    cache.bindTo(registry);
+  }
+
+  @Test
+  void get_notCached() {
+    assertNull(cache.get(TEST_PAGE_HASH));
+    assertEquals(1.0, this.getRequestCount("miss"));
+  }
+
+  @Test
+  void get() {
+    cache.put(TEST_PAGE_HASH, content);
+
+    assertSame(content, cache.get(TEST_PAGE_HASH));
+    assertEquals(64L, cache.getCachedBytes());
+    assertEquals(1.0, this.getRequestCount("hit"));
+  }
+
+  @Test
+  void put_entryTooLarge() {
+    cache.maximumEntryBytes = 32L;
+
+    cache.put(TEST_PAGE_HASH, content);
+
+    assertNull(cache.get(TEST_PAGE_HASH));
+    assertEquals(0L, cache.getCachedBytes());
+  }
+
+  @Test
+  void isCacheable() {
+    cache.maximumEntryBytes = 32L;
+
+    assertTrue(cache.isCacheable(32L));
+    assertFalse(cache.isCacheable(33L));
+  }
+
+  @Test
+  void put_replacesEntry() {
+    cache.put(TEST_PAGE_HASH, content);
+    cache.put(TEST_PAGE_HASH, otherContent);
+
+    assertSame(otherContent, cache.get(TEST_PAGE_HASH));
+    assertEquals(64L, cache.getCachedBytes());
+    assertEquals(1, cache.getEntryCount());
+  }
+
+  @Test
+  void put_evictsLeastRecentlyUsed() {
+    cache.put(TEST_PAGE_HASH, content);
+    cache.put(TEST_OTHER_PAGE_HASH, otherContent);
+
+    assertNull(cache.get(TEST_PAGE_HASH));
+    assertSame(otherContent, cache.get(TEST_OTHER_PAGE_HASH));
+    assertEquals(64L, cache.getCachedBytes());
+    assertEquals(
+        1.0, registry.get("comixed.image-cache.memory.evictions").functionCounter().count());
+    assertEquals(64.0, registry.get("comixed.image-cache.memory.size").gauge().value());
+    assertEquals(1.0, registry.get("comixed.image-cache.memory.entries").gauge().value());
+  }
+
+  @Test
+  void remove() {
+    cache.put(TEST_PAGE_HASH, content);
+
+    cache.remove(TEST_PAGE_HASH);
+
+    assertNull(cache.get(TEST_PAGE_HASH));
+    assertEquals(0L, cache.getCachedBytes());
+    assertEquals(0, cache.getEntryCount());
+  }
+
+  private double getRequestCount(final String result) {
+    return registry
+        .get("comixed.image-cache.memory.requests")
+        .tag("result", result)
+        .functionCounter()
+        .count();
+  }
+}
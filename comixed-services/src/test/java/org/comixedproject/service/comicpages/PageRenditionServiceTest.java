@@ -0,0 +1,300 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+
+package org.comixedproject.service.comicpages;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.List;
+import java.util.Set;
+import javax.imageio.ImageIO;
+import org.apache.commons.io.FileUtils;
+import org.comixedproject.adaptors.AdaptorException;
+import org.comixedproject.adaptors.comicbooks.ComicBookAdaptor;
+import org.comixedproject.model.comicbooks.ComicBook;
+import org.comixedproject.model.comicpages.ComicPage;
+import org.imgscalr.Scalr;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class PageRenditionServiceTest {
+  private static final String TEST_CACHE_DIRECTORY = "target/test-classes/rendition-cache";
+  private static final String TEST_PAGE_FILENAME = "src/test/resources/page-7.jpg";
+  private static final String TEST_PAGE_HASH = "D5397C1B6053B093CB133CA3B7081C9E";
+  private static final String TEST_OTHER_PAGE_HASH = "4C6DD238138491B89A3DB9BC6E3A3E2D";
+  private static final int TEST_PAGE_WIDTH = 338;
+  private static final int TEST_PAGE_NUMBER = 0;
+  private static final int TEST_RENDITION_WIDTH = 160;
+  private static final int TEST_LARGE_RENDITION_WIDTH = 240;
+
+  @InjectMocks private PageRenditionService service;
+  @Mock private PageCacheService pageCacheService;
+  @Mock private ComicPageService comicPageService;
+  @Mock private ComicBookAdaptor comicBookAdaptor;
+  @Mock private ComicPage page;
+  @Mock private ComicBook comicBook;
+
+  private byte[] pageContent;
+
+  @BeforeEach
+  void setUp() throws IOException, AdaptorException {
+    final File cacheDirectory = new File(TEST_CACHE_DIRECTORY);
+    FileUtils.deleteDirectory(cacheDirectory);
+    pageContent = FileUtils.readFileToByteArray(new File(TEST_PAGE_FILENAME));
+
+    Mockito.when(pageCacheService.getRootDirectory()).thenReturn(cacheDirectory.getAbsolutePath());
+    Mockito.when(page.getHash()).thenReturn(TEST_PAGE_HASH);
+    Mockito.when(page.getWidth()).thenReturn(TEST_PAGE_WIDTH);
+    Mockito.when(page.getComicBook()).thenReturn(comicBook);
+    Mockito.when(page.getPageNumber()).thenReturn(TEST_PAGE_NUMBER);
+    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
+        .thenReturn(pageContent);
+    Mockito.when(comicPageService.getOneForHash(Mockito.anyString())).thenReturn(page);
+  }
+
+  @Test
+  void isScaled() {
+    assertTrue(service.isScaled(page, TEST_RENDITION_WIDTH));
+    assertFalse(service.isScaled(page, TEST_PAGE_WIDTH));
+    assertFalse(service.isScaled(page, 0));
+  }
+
+  @Test
+  void getRendition() throws ComicPageException, IOException {
+    final byte[] result = service.getRendition(page, TEST_RENDITION_WIDTH);
+
+    assertNotNull(result);
+    final BufferedImage image = ImageIO.read(new ByteArrayInputStream(result));
+    assertEquals(TEST_RENDITION_WIDTH, image.getWidth());
+    assertTrue(service.hasRendition(TEST_PAGE_HASH, TEST_RENDITION_WIDTH));
+    assertArrayEquals(
+        result,
+        FileUtils.readFileToByteArray(
+            service.getFileForRendition(TEST_PAGE_HASH, TEST_RENDITION_WIDTH)));
+
+    Mockito.verify(comicBookAdaptor, Mockito.times(1))
+        .loadPageContent(comicBook, TEST_PAGE_NUMBER);
+    Mockito.verify(pageCacheService, Mockito.times(1)).updateRenditionSize(result.length);
+  }
+
+  @Test
+  void getRendition_uncachedWidth() throws ComicPageException, IOException {
+    final byte[] result = service.getRendition(page, TEST_LARGE_RENDITION_WIDTH);
+
+    assertNotNull(result);
+    final BufferedImage image = ImageIO.read(new ByteArrayInputStream(result));
+    assertEquals(TEST_LARGE_RENDITION_WIDTH, image.getWidth());
+    assertFalse(service.hasRendition(TEST_PAGE_HASH, TEST_LARGE_RENDITION_WIDTH));
+    assertFalse(new File(TEST_CACHE_DIRECTORY).exists());
+
+    Mockito.verify(pageCacheService, Mockito.never()).updateRenditionSize(Mockito.anyLong());
+  }
+
+  @Test
+  void getRendition_cachedWidth() throws ComicPageException {
+    service.cachedWidths = "100, " + TEST_LARGE_RENDITION_WIDTH;
+
+    service.getRendition(page, TEST_LARGE_RENDITION_WIDTH);
+
+    assertTrue(service.hasRendition(TEST_PAGE_HASH, TEST_LARGE_RENDITION_WIDTH));
+  }
+
+  @Test
+  void isCachedWidth() {
+    service.thumbnailWidth = TEST_PAGE_WIDTH;
+    service.coverWidths = String.valueOf(TEST_RENDITION_WIDTH);
+    service.cachedWidths = String.valueOf(TEST_LARGE_RENDITION_WIDTH);
+
+    assertTrue(service.isCachedWidth(TEST_PAGE_WIDTH));
+    assertTrue(service.isCachedWidth(TEST_RENDITION_WIDTH));
+    assertTrue(service.isCachedWidth(TEST_LARGE_RENDITION_WIDTH));
+    assertFalse(service.isCachedWidth(TEST_LARGE_RENDITION_WIDTH + 1));
+    assertFalse(service.isCachedWidth(0));
+  }
+
+  @Test
+  void getRendition_fromImageCache() throws ComicPageException, AdaptorException {
+    Mockito.when(pageCacheService.getCachedContent(Mockito.anyString()))
+        .thenReturn(new CachedPageContent(pageContent, "image/jpeg"));
+
+    final byte[] result = service.getRendition(page, TEST_RENDITION_WIDTH);
+
+    assertNotNull(result);
+
+    Mockito.verify(pageCacheService, Mockito.times(1)).getCachedContent(TEST_PAGE_HASH);
+    Mockito.verify(comicBookAdaptor, Mockito.never())
+        .loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt());
+  }
+
+  @Test
+  void getRendition_cached() throws ComicPageException, AdaptorException {
+    final byte[] rendition = service.getRendition(page, TEST_RENDITION_WIDTH);
+
+    final byte[] result = service.getRendition(page, TEST_RENDITION_WIDTH);
+
+    assertArrayEquals(rendition, result);
+
+    Mockito.verify(comicBookAdaptor, Mockito.times(1))
+        .loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt());
+  }
+
+  @Test
+  void getRendition_cacheDisabled() throws ComicPageException {
+    service.enabled = false;
+
+    final byte[] result = service.getRendition(page, TEST_RENDITION_WIDTH);
+
+    assertNotNull(result);
+    assertFalse(service.hasRendition(TEST_PAGE_HASH, TEST_RENDITION_WIDTH));
+  }
+
+  @Test
+  void getRendition_noHash() throws ComicPageException {
+    Mockito.when(page.getHash()).thenReturn(null);
+
+    final byte[] result = service.getRendition(page, TEST_RENDITION_WIDTH);
+
+    assertNotNull(result);
+    assertFalse(new File(TEST_CACHE_DIRECTORY).exists());
+  }
+
+  @Test
+  void getRendition_thumbnailMethod() throws ComicPageException {
+    service.thumbnailMethod = Scalr.Method.SPEED;
+    service.method = Scalr.Method.ULTRA_QUALITY;
+    service.thumbnailWidth = TEST_RENDITION_WIDTH;
+
+    assertNotNull(service.getRendition(page, TEST_RENDITION_WIDTH));
+    assertNotNull(service.getRendition(page, TEST_LARGE_RENDITION_WIDTH));
+  }
+
+  @Test
+  void getRendition_loadFails() throws AdaptorException {
+    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
+        .thenThrow(AdaptorException.class);
+
+    assertThrows(ComicPageException.class, () -> service.getRendition(page, TEST_RENDITION_WIDTH));
+  }
+
+  @Test
+  void getRendition_notAnImage() throws AdaptorException {
+    Mockito.when(comicBookAdaptor.loadPageContent(Mockito.any(ComicBook.class), Mockito.anyInt()))
+        .thenReturn("Not an image".getBytes());
+
+    assertThrows(ComicPageException.class, () -> service.getRendition(page, TEST_RENDITION_WIDTH));
+    assertFalse(service.hasRendition(TEST_PAGE_HASH, TEST_RENDITION_WIDTH));
+  }
+
+  @Test
+  void getCoverWidths() {
+    service.coverWidths = "160, 320,invalid,,-5";
+
+    final List<Integer> result = service.getCoverWidths();
+
+    assertEquals(List.of(160, 320), result);
+  }
+
+  @Test
+  void getCoverWidths_none() {
+    service.coverWidths = "";
+
+    assertTrue(service.getCoverWidths().isEmpty());
+  }
+
+  @Test
+  void findCoverPagesWithoutRenditions() throws ComicPageException {
+    service.coverWidths = String.valueOf(TEST_RENDITION_WIDTH);
+    service.getRendition(page, TEST_RENDITION_WIDTH);
+    Mockito.when(comicPageService.findAllCoverPageHashesWiderThan(Mockito.anyInt()))
+        .thenReturn(Set.of(TEST_PAGE_HASH, TEST_OTHER_PAGE_HASH));
+
+    final List<String> result = service.findCoverPagesWithoutRenditions();
+
+    assertEquals(List.of(TEST_OTHER_PAGE_HASH), result);
+
+    Mockito.verify(comicPageService, Mockito.times(1))
+        .findAllCoverPageHashesWiderThan(TEST_RENDITION_WIDTH);
+  }
+
+  @Test
+  void findCoverPagesWithoutRenditions_disabled() {
+    service.enabled = false;
+
+    assertTrue(service.findCoverPagesWithoutRenditions().isEmpty());
+
+    Mockito.verify(comicPageService, Mockito.never())
+        .findAllCoverPageHashesWiderThan(Mockito.anyInt());
+  }
+
+  @Test
+  void generateCoverRenditions() {
+    service.coverWidths = TEST_RENDITION_WIDTH + "," + TEST_PAGE_WIDTH;
+
+    service.generateCoverRenditions(TEST_PAGE_HASH);
+
+    assertTrue(service.hasRendition(TEST_PAGE_HASH, TEST_RENDITION_WIDTH));
+    assertFalse(service.hasRendition(TEST_PAGE_HASH, TEST_PAGE_WIDTH));
+
+    Mockito.verify(comicPageService, Mockito.times(1)).getOneForHash(TEST_PAGE_HASH);
+  }
+
+  @Test
+  void generateCoverRenditions_noPage() {
+    Mockito.when(comicPageService.getOneForHash(Mockito.anyString())).thenReturn(null);
+
+    service.generateCoverRenditions(TEST_PAGE_HASH);
+
+    assertFalse(service.hasRendition(TEST_PAGE_HASH, TEST_RENDITION_WIDTH));
+  }
+
+  @Test
+  void evictRenditions() throws ComicPageException {
+    service.cachedWidths = String.valueOf(TEST_LARGE_RENDITION_WIDTH);
+    final byte[] small = service.getRendition(page, TEST_RENDITION_WIDTH);
+    final byte[] large = service.getRendition(page, TEST_LARGE_RENDITION_WIDTH);
+
+    service.evictRenditions(TEST_PAGE_HASH);
+
+    assertFalse(service.hasRendition(TEST_PAGE_HASH, TEST_RENDITION_WIDTH));
+    assertFalse(service.hasRendition(TEST_PAGE_HASH, TEST_LARGE_RENDITION_WIDTH));
+
+    Mockito.verify(pageCacheService, Mockito.times(1)).updateRenditionSize(-small.length);
+    Mockito.verify(pageCacheService, Mockito.times(1)).updateRenditionSize(-large.length);
+  }
+
+  @Test
+  void evictRenditions_noRenditions() {
+    service.evictRenditions(TEST_PAGE_HASH);
+
+    assertFalse(new File(TEST_CACHE_DIRECTORY).exists());
+  }
+}
@@ -0,0 +1,94 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicpages;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import org.comixedproject.adaptors.images.PerceptualHashAdaptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class PerceptualHashTreeTest {
+  private static final long TEST_PERCEPTUAL_HASH = 0x0123456789ABCDEFL;
+  private static final String TEST_HASH = "0123456789ABCDEF0123456789ABCDEF";
+  private static final String TEST_OTHER_HASH = "FEDCBA9876543210FEDCBA9876543210";
+  private static final int TEST_ENTRY_COUNT = 5000;
+  private static final int TEST_MAXIMUM_DISTANCE = 12;
+
+  private PerceptualHashTree tree;
+
+  @BeforeEach
+  void setUp() {
+    tree = new PerceptualHashTree();
+  }
+
+  @Test
+  void search_emptyTree() {
+    assertTrue(tree.search(TEST_PERCEPTUAL_HASH, TEST_MAXIMUM_DISTANCE).isEmpty());
+  }
+
+  @Test
+  void add_samePerceptualHash() {
+    tree.add(TEST_PERCEPTUAL_HASH, TEST_HASH);
+    tree.add(TEST_PERCEPTUAL_HASH, TEST_OTHER_HASH);
+
+    assertEquals(1, tree.getSize());
+    assertEquals(Set.of(TEST_HASH, TEST_OTHER_HASH), tree.search(TEST_PERCEPTUAL_HASH, 0));
+  }
+
+  @Test
+  void search_nearbyHash() {
+    tree.add(TEST_PERCEPTUAL_HASH, TEST_HASH);
+    tree.add(~TEST_PERCEPTUAL_HASH, TEST_OTHER_HASH);
+
+    assertEquals(Set.of(TEST_HASH), tree.search(TEST_PERCEPTUAL_HASH ^ 0x0101L, 2));
+    assertTrue(tree.search(TEST_PERCEPTUAL_HASH ^ 0x0101L, 1).isEmpty());
+  }
+
+  @Test
+  void search_matchesLinearScan() {
+    final Random random = new Random(TEST_PERCEPTUAL_HASH);
+    final Map<String, Long> entries = new HashMap<>();
+    for (int index = 0; index < TEST_ENTRY_COUNT; index++) {
+      // cluster the hashes so that searches have something to find
+      final long value = TEST_PERCEPTUAL_HASH ^ (random.nextLong() & random.nextLong());
+      final String hash = String.valueOf(index);
+      entries.put(hash, value);
+      tree.add(value, hash);
+    }
+
+    for (int search = 0; search < 25; search++) {
+      final long target = TEST_PERCEPTUAL_HASH ^ (random.nextLong() & random.nextLong());
+      final Set<String> expected = new HashSet<>();
+      entries.forEach(
+          (hash, value) -> {
+            if (PerceptualHashAdaptor.distance(value, target) <= TEST_MAXIMUM_DISTANCE) {
+              expected.add(hash);
+            }
+          });
+
+      assertEquals(expected, tree.search(target, TEST_MAXIMUM_DISTANCE));
+    }
+  }
+}
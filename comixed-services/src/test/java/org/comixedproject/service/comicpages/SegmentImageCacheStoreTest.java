@@ -0,0 +1,197 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.comicpages;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class SegmentImageCacheStoreTest {
+  private static final String TEST_CACHE_DIRECTORY = "target/test-classes/segment-image-cache";
+  private static final String TEST_PAGE_HASH = "0123456789ABCDEF0123456789ABCDEF";
+  private static final String TEST_OTHER_PAGE_HASH = "FEDCBA9876543210FEDCBA9876543210";
+
+  @InjectMocks private SegmentImageCacheStore store;
+
+  private final byte[] content = "The page content".getBytes();
+  private final byte[] otherContent = "The other page content".getBytes();
+  private final File segmentDirectory =
+      new File(TEST_CACHE_DIRECTORY, SegmentImageCacheStore.SEGMENT_DIRECTORY);
+
+  @BeforeEach
+  void setUp() throws IOException {
+    FileUtils.deleteDirectory(new File(TEST_CACHE_DIRECTORY));
+    store.cacheDirectory = TEST_CACHE_DIRECTORY;
+    store.storage = SegmentImageCacheStore.STORAGE_SEGMENTS;
+    store.afterPropertiesSet();
+  }
+
+  @AfterEach
+  void tearDown() {
+    store.destroy();
+  }
+
+  @Test
+  void isEnabled_directoryStorage() {
+    store.storage = "directory";
+
+    assertFalse(store.isEnabled());
+  }
+
+  @Test
+  void load_notStored() {
+    assertNull(store.load(TEST_PAGE_HASH));
+    assertFalse(store.contains(TEST_PAGE_HASH));
+  }
+
+  @Test
+  void save_invalidHash() {
+    assertThrows(IOException.class, () -> store.save(TEST_PAGE_HASH.substring(1), content));
+  }
+
+  @Test
+  void save() throws IOException {
+    store.save(TEST_PAGE_HASH, content);
+    store.save(TEST_OTHER_PAGE_HASH, otherContent);
+
+    assertTrue(store.contains(TEST_PAGE_HASH));
+    assertArrayEquals(content, store.load(TEST_PAGE_HASH));
+    assertArrayEquals(otherContent, store.load(TEST_OTHER_PAGE_HASH));
+    assertEquals(1, store.getSegmentCount());
+  }
+
+  @Test
+  void save_replacesImage() throws IOException {
+    store.save(TEST_PAGE_HASH, content);
+    store.save(TEST_PAGE_HASH, otherContent);
+
+    assertArrayEquals(otherContent, store.load(TEST_PAGE_HASH));
+    assertEquals(1, store.getEntries().size());
+  }
+
+  @Test
+  void save_segmentFull() throws IOException {
+    store.maximumSegmentBytes = 64L;
+
+    store.save(TEST_PAGE_HASH, content);
+    store.save(TEST_OTHER_PAGE_HASH, otherContent);
+
+    assertEquals(2, store.getSegmentCount());
+    assertArrayEquals(content, store.load(TEST_PAGE_HASH));
+    assertArrayEquals(otherContent, store.load(TEST_OTHER_PAGE_HASH));
+  }
+
+  @Test
+  void remove() throws IOException {
+    store.save(TEST_PAGE_HASH, content);
+
+    assertEquals(content.length, store.remove(TEST_PAGE_HASH));
+    assertFalse(store.contains(TEST_PAGE_HASH));
+    assertNull(store.load(TEST_PAGE_HASH));
+  }
+
+  @Test
+  void remove_notStored() throws IOException {
+    assertEquals(-1L, store.remove(TEST_PAGE_HASH));
+  }
+
+  @Test
+  void getEntries() throws IOException {
+    store.save(TEST_PAGE_HASH, content);
+
+    final List<ImageCacheEntry> result = store.getEntries();
+
+    assertEquals(1, result.size());
+    assertEquals(TEST_PAGE_HASH, result.get(0).getHash());
+    assertEquals(content.length, result.get(0).getLength());
+  }
+
+  @Test
+  void open_rebuildsIndex() throws IOException {
+    store.save(TEST_PAGE_HASH, content);
+    store.save(TEST_OTHER_PAGE_HASH, otherContent);
+    store.remove(TEST_OTHER_PAGE_HASH);
+    store.destroy();
+
+    store.open();
+
+    assertArrayEquals(content, store.load(TEST_PAGE_HASH));
+    assertFalse(store.contains(TEST_OTHER_PAGE_HASH));
+  }
+
+  @Test
+  void open_discardsDamagedRecords() throws IOException {
+    store.save(TEST_PAGE_HASH, content);
+    store.destroy();
+    final File segment = segmentDirectory.listFiles()[0];
+    final long length = segment.length();
+    Files.write(segment.toPath(), "damaged".getBytes(), StandardOpenOption.APPEND);
+
+    store.open();
+    store.save(TEST_OTHER_PAGE_HASH, otherContent);
+
+    assertArrayEquals(content, store.load(TEST_PAGE_HASH));
+    assertArrayEquals(otherContent, store.load(TEST_OTHER_PAGE_HASH));
+    assertTrue(segment.length() > length);
+  }
+
+  @Test
+  void compact() throws IOException {
+    store.maximumSegmentBytes = 160L;
+    store.save(TEST_PAGE_HASH, content);
+    store.save(TEST_OTHER_PAGE_HASH, otherContent);
+    store.save(TEST_PAGE_HASH.toLowerCase(), otherContent);
+    store.remove(TEST_OTHER_PAGE_HASH);
+    final int segmentCount = store.getSegmentCount();
+
+    store.compact();
+
+    assertEquals(segmentCount - 1, store.getSegmentCount());
+    assertArrayEquals(content, store.load(TEST_PAGE_HASH));
+    assertArrayEquals(otherContent, store.load(TEST_PAGE_HASH.toLowerCase()));
+    assertFalse(store.contains(TEST_OTHER_PAGE_HASH));
+
+    store.destroy();
+    store.open();
+
+    assertArrayEquals(content, store.load(TEST_PAGE_HASH));
+  }
+
+  @Test
+  void compact_notEnabled() throws IOException {
+    store.save(TEST_PAGE_HASH, content);
+    store.storage = "directory";
+
+    store.compact();
+
+    assertEquals(1, store.getSegmentCount());
+  }
+}
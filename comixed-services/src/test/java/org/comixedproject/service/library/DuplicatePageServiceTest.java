@@ -10,6 +10,7 @@ import java.util.Set;
 import org.comixedproject.model.comicbooks.ComicBook;
 import org.comixedproject.model.comicbooks.ComicDetail;
 import org.comixedproject.model.comicpages.ComicPage;
+import org.comixedproject.model.comicpages.PerceptualHashEntry;
 import org.comixedproject.model.library.DuplicatePage;
 import org.comixedproject.repositories.comicpages.ComicPageRepository;
 import org.junit.jupiter.api.BeforeEach;
@@ -29,6 +30,9 @@ class DuplicatePageServiceTest {
   private static final int TEST_PAGE_SIZE = 10;
   private static final String TEST_SORT_BY = "hash";
   private static final String TEST_SORT_DIRECTION = "desc";
+  private static final String TEST_SIMILAR_HASH = "234567890ABCDEF1";
+  private static final String TEST_DIFFERENT_HASH = "34567890ABCDEF12";
+  private static final long TEST_PERCEPTUAL_HASH = 0x0123456789ABCDEFL;
 
   @InjectMocks private DuplicatePageService service;
   @Mock private ComicPageRepository comicPageRepository;
@@ -42,11 +46,17 @@ class DuplicatePageServiceTest {
 
   private List<DuplicatePage> duplicatePageList = new ArrayList<>();
   private List<ComicPage> comicPageList = new ArrayList<>();
+  private List<PerceptualHashEntry> perceptualHashEntryList = new ArrayList<>();
 
   @BeforeEach
   public void setUp() {
     Mockito.when(comicBook.getComicDetail()).thenReturn(comicDetail);
     Mockito.when(comicPage.getComicBook()).thenReturn(comicBook);
+    Mockito.when(
+            comicPageRepository.getPerceptualHashesForHash(
+                Mockito.anyString(), Mockito.any(PageRequest.class)))
+        .thenReturn(List.of(TEST_PERCEPTUAL_HASH));
+    Mockito.when(comicPageRepository.getPerceptualHashes()).thenReturn(perceptualHashEntryList);
   }
 
   @Test
@@ -92,4 +102,56 @@ class DuplicatePageServiceTest {
 
     Mockito.verify(comicPageRepository, Mockito.times(1)).findByHash(TEST_PAGE_HASH);
   }
+
+  @Test
+  void getSimilarPageHashes_noPerceptualHash() {
+    Mockito.when(
+            comicPageRepository.getPerceptualHashesForHash(
+                Mockito.anyString(), Mockito.any(PageRequest.class)))
+        .thenReturn(new ArrayList<>());
+
+    final List<String> result = service.getSimilarPageHashes(TEST_PAGE_HASH);
+
+    assertNotNull(result);
+    assertTrue(result.isEmpty());
+
+    Mockito.verify(comicPageRepository, Mockito.never()).getPerceptualHashes();
+  }
+
+  @Test
+  void getSimilarPageHashes() {
+    perceptualHashEntryList.add(new PerceptualHashEntry(TEST_PAGE_HASH, TEST_PERCEPTUAL_HASH));
+    perceptualHashEntryList.add(
+        new PerceptualHashEntry(TEST_SIMILAR_HASH, TEST_PERCEPTUAL_HASH ^ 0x0111L));
+    perceptualHashEntryList.add(
+        new PerceptualHashEntry(TEST_DIFFERENT_HASH, ~TEST_PERCEPTUAL_HASH));
+
+    final List<String> result = service.getSimilarPageHashes(TEST_PAGE_HASH);
+
+    assertNotNull(result);
+    assertEquals(List.of(TEST_SIMILAR_HASH), result);
+
+    Mockito.verify(comicPageRepository, Mockito.times(1))
+        .getPerceptualHashesForHash(
+            Mockito.eq(TEST_PAGE_HASH), pageRequestArgumentCaptor.capture());
+    assertEquals(1, pageRequestArgumentCaptor.getValue().getPageSize());
+  }
+
+  @Test
+  void getSimilarPageHashes_reusesIndex() {
+    service.getSimilarPageHashes(TEST_PAGE_HASH);
+    service.getSimilarPageHashes(TEST_PAGE_HASH);
+
+    Mockito.verify(comicPageRepository, Mockito.times(1)).getPerceptualHashes();
+  }
+
+  @Test
+  void getSimilarPageHashes_refreshesIndex() {
+    service.indexRefresh = -1L;
+
+    service.getSimilarPageHashes(TEST_PAGE_HASH);
+    service.getSimilarPageHashes(TEST_PAGE_HASH);
+
+    Mockito.verify(comicPageRepository, Mockito.times(2)).getPerceptualHashes();
+  }
 }
@@ -0,0 +1,153 @@
+/*
+ * ComiXed - A digital comic book library management application.
+ * Copyright (C) 2026, The ComiXed Project
+ *
+ * This program is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * This program is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE. See the
+ * GNU General Public License for more details.
+ *
+ * You should have received a copy of the GNU General Public License
+ * along with this program. If not, see <http://www.gnu.org/licenses>
+ */
+
+package org.comixedproject.service.library;
+
+import static org.comixedproject.model.messaging.batch.ProcessComicBooksStatus.RECONCILE_LIBRARY_STEP;
+import static org.junit.Assert.*;
+
+import java.io.File;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.comixedproject.messaging.PublishingException;
+import org.comixedproject.messaging.comicbooks.PublishProcessComicBooksStatusAction;
+import org.comixedproject.model.messaging.batch.ProcessComicBooksStatus;
+import org.comixedproject.service.comicbooks.ComicBookService;
+import org.comixedproject.state.comicbooks.ComicBookStateAdaptor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+class LibraryReconciliationServiceTest {
+  private static final String TEST_COMIC_FILENAME =
+      new File("target/test-classes/example.cbz").getAbsolutePath();
+  private static final String TEST_MISSING_COMIC_FILENAME = TEST_COMIC_FILENAME + "-not-found";
+
+  @InjectMocks private LibraryReconciliationService service;
+  @Mock private ComicBookService comicBookService;
+  @Mock private ComicBookStateAdaptor comicBookStateAdaptor;
+  @Mock private PublishProcessComicBooksStatusAction publishProcessComicBooksStatusAction;
+
+  @Captor private ArgumentCaptor<ProcessComicBooksStatus> statusArgumentCaptor;
+
+  private Set<String> missingComicDetailSet = new HashSet<>();
+  private Set<String> notMissingComicDetailSet = new HashSet<>();
+
+  @BeforeEach
+  void setUp() throws PublishingException {
+    Mockito.when(comicBookService.getAllComicDetails(true)).thenReturn(missingComicDetailSet);
+    Mockito.when(comicBookService.getAllComicDetails(false)).thenReturn(notMissingComicDetailSet);
+    Mockito.doNothing()
+        .when(publishProcessComicBooksStatusAction)
+        .publish(statusArgumentCaptor.capture());
+  }
+
+  @Test
+  void reconcile_nothingChanged() throws InterruptedException {
+    missingComicDetailSet.add(TEST_MISSING_COMIC_FILENAME);
+    notMissingComicDetailSet.add(TEST_COMIC_FILENAME);
+
+    service.reconcile();
+
+    Mockito.verify(comicBookService, Mockito.never()).markComicsAsFound(Mockito.anyList());
+    Mockito.verify(comicBookService, Mockito.never()).markComicsAsMissing(Mockito.anyList());
+    Mockito.verify(comicBookStateAdaptor, Mockito.never()).fireBulkUpdate(Mockito.anyInt());
+  }
+
+  @Test
+  void reconcile() throws InterruptedException {
+    missingComicDetailSet.add(TEST_COMIC_FILENAME);
+    notMissingComicDetailSet.add(TEST_MISSING_COMIC_FILENAME);
+    Mockito.when(comicBookService.markComicsAsFound(Mockito.anyList())).thenReturn(1);
+    Mockito.when(comicBookService.markComicsAsMissing(Mockito.anyList())).thenReturn(1);
+
+    service.reconcile();
+
+    Mockito.verify(comicBookService, Mockito.times(1))
+        .markComicsAsFound(List.of(TEST_COMIC_FILENAME));
+    Mockito.verify(comicBookService, Mockito.times(1))
+        .markComicsAsMissing(List.of(TEST_MISSING_COMIC_FILENAME));
+    Mockito.verify(comicBookStateAdaptor, Mockito.times(1)).fireBulkUpdate(2);
+  }
+
+  @Test
+  void reconcile_noComicsUpdated() throws InterruptedException {
+    notMissingComicDetailSet.add(TEST_MISSING_COMIC_FILENAME);
+    Mockito.when(comicBookService.markComicsAsMissing(Mockito.anyList())).thenReturn(0);
+
+    service.reconcile();
+
+    Mockito.verify(comicBookStateAdaptor, Mockito.never()).fireBulkUpdate(Mockito.anyInt());
+  }
+
+  @Test
+  void reconcile_inBatches() throws InterruptedException {
+    for (int index = 0; index < 25; index++) {
+      notMissingComicDetailSet.add(TEST_MISSING_COMIC_FILENAME + index);
+    }
+    service.batchSize = 10;
+    service.concurrency = 4;
+
+    service.reconcile();
+
+    Mockito.verify(comicBookService, Mockito.times(3)).markComicsAsMissing(Mockito.anyList());
+    Mockito.verify(comicBookStateAdaptor, Mockito.never()).fireBulkUpdate(Mockito.anyInt());
+  }
+
+  @Test
+  void reconcile_publishesStatus() throws InterruptedException {
+    missingComicDetailSet.add(TEST_COMIC_FILENAME);
+    notMissingComicDetailSet.add(TEST_MISSING_COMIC_FILENAME);
+
+    service.reconcile();
+
+    final List<ProcessComicBooksStatus> statuses = statusArgumentCaptor.getAllValues();
+    assertFalse(statuses.isEmpty());
+    assertTrue(statuses.get(0).isActive());
+
+    final ProcessComicBooksStatus finalStatus = statuses.get(statuses.size() - 1);
+    assertFalse(finalStatus.isActive());
+    assertEquals(RECONCILE_LIBRARY_STEP, finalStatus.getStepName());
+    assertEquals(2L, finalStatus.getTotal());
+    assertEquals(2L, finalStatus.getProcessed());
+  }
+
+  @Test
+  void reconcile_publishingException() throws PublishingException, InterruptedException {
+    notMissingComicDetailSet.add(TEST_MISSING_COMIC_FILENAME);
+    Mockito.doThrow(PublishingException.class)
+        .when(publishProcessComicBooksStatusAction)
+        .publish(Mockito.any(ProcessComicBooksStatus.class));
+
+    service.reconcile();
+
+    Mockito.verify(comicBookService, Mockito.times(1))
+        .markComicsAsMissing(List.of(TEST_MISSING_COMIC_FILENAME));
+  }
+}
@@ -25,8 +25,9 @@ import static org.junit.Assert.*;
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.*;
-import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 import org.comixedproject.service.admin.ConfigurationService;
 import org.comixedproject.service.comicbooks.ComicBookService;
 import org.comixedproject.service.comicbooks.ComicDetailService;
@@ -57,6 +58,7 @@ class LibraryScannerServiceTest {
   @Mock private ComicBookService comicBookService;
   @Mock private ComicDetailService comicDetailService;
   @Mock private ComicFileService comicFileService;
+  @Mock private LibraryReconciliationService libraryReconciliationService;
   @Mock private WatchService watchService;
   @Mock private WatchKey key;
   @Mock private Path watchEventPath;
@@ -64,25 +66,15 @@ class LibraryScannerServiceTest {
   @Mock private Path keyWatchablePath;
   @Mock private Path resolvedPath;
 
-  private Set<String> missingComicDetailSet = new HashSet<>();
-  private Set<String> notMissingComicDetailSet = new HashSet<>();
-
   @BeforeEach
   void setUp() {
     Mockito.when(configurationService.getOptionValue(Mockito.anyString()))
         .thenReturn(TEST_ROOT_DIRECTORY);
-    missingComicDetailSet.add(TEST_COMIC_FILENAME);
-    missingComicDetailSet.add(TEST_MISSING_COMIC_FILENAME);
-    Mockito.when(comicBookService.getAllComicDetails(true)).thenReturn(missingComicDetailSet);
-    notMissingComicDetailSet.add(TEST_COMIC_FILENAME);
-    notMissingComicDetailSet.add(TEST_MISSING_COMIC_FILENAME);
-    Mockito.when(comicBookService.getAllComicDetails(false)).thenReturn(notMissingComicDetailSet);
     Mockito.when(resolvedPath.toString()).thenReturn(TEST_COMIC_FILENAME);
     Mockito.when(keyWatchablePath.resolve(Mockito.any(Path.class))).thenReturn(resolvedPath);
     Mockito.when(key.watchable()).thenReturn(keyWatchablePath);
     Mockito.when(watchEventPath.toString()).thenReturn(TEST_RELATIVE_FILENAME);
     Mockito.when(watchEvent.context()).thenReturn(watchEventPath);
-    Mockito.when(comicDetailService.filenameFound(Mockito.anyString())).thenReturn(true);
   }
 
   @AfterEach
@@ -102,7 +94,7 @@ class LibraryScannerServiceTest {
   }
 
   @Test
-  void optionChanged_directoryIsEmpty() {
+  void optionChanged_directoryIsEmpty() throws InterruptedException {
     scanner.rootDirectory = null;
 
     scanner.optionChanged(CFG_LIBRARY_ROOT_DIRECTORY, "");
@@ -110,12 +102,11 @@ class LibraryScannerServiceTest {
     assertNull(scanner.rootDirectory);
     assertNull(scanner.watchService);
 
-    Mockito.verify(comicBookService, Mockito.never()).markComicAsFound(Mockito.anyString());
-    Mockito.verify(comicBookService, Mockito.never()).markComicAsMissing(Mockito.anyString());
+    Mockito.verify(libraryReconciliationService, Mockito.never()).reconcile();
   }
 
   @Test
-  void optionChanged_fileNotDirectory() {
+  void optionChanged_fileNotDirectory() throws InterruptedException {
     scanner.rootDirectory = null;
 
     scanner.optionChanged(CFG_LIBRARY_ROOT_DIRECTORY, TEST_COMIC_FILENAME);
@@ -123,12 +114,11 @@ class LibraryScannerServiceTest {
     assertNull(scanner.rootDirectory);
     assertNull(scanner.watchService);
 
-    Mockito.verify(comicBookService, Mockito.never()).markComicAsFound(Mockito.anyString());
-    Mockito.verify(comicBookService, Mockito.never()).markComicAsMissing(Mockito.anyString());
+    Mockito.verify(libraryReconciliationService, Mockito.never()).reconcile();
   }
 
   @Test
-  void optionChanged() {
+  void optionChanged() throws InterruptedException {
     scanner.rootDirectory = null;
 
     scanner.optionChanged(CFG_LIBRARY_ROOT_DIRECTORY, TEST_ROOT_DIRECTORY);
@@ -136,9 +126,7 @@ class LibraryScannerServiceTest {
     assertEquals(TEST_ROOT_DIRECTORY, scanner.rootDirectory);
     assertNotNull(scanner.watchService);
 
-    Mockito.verify(comicBookService, Mockito.times(1)).markComicAsFound(TEST_COMIC_FILENAME);
-    Mockito.verify(comicBookService, Mockito.times(1))
-        .markComicAsMissing(TEST_MISSING_COMIC_FILENAME);
+    Mockito.verify(libraryReconciliationService, Mockito.times(1)).reconcile();
   }
 
   @Test
@@ -152,34 +140,83 @@ class LibraryScannerServiceTest {
     Mockito.verify(watchService, Mockito.times(1)).close();
   }
 
+  @Test
+  void processEvents_watchServiceClosed() throws InterruptedException {
+    Mockito.when(watchService.take()).thenThrow(ClosedWatchServiceException.class);
+
+    scanner.processEvents(watchService);
+
+    Mockito.verify(watchService, Mockito.times(1)).take();
+  }
+
+  @Test
+  void processEvents_interrupted() throws InterruptedException {
+    Mockito.when(watchService.take()).thenThrow(InterruptedException.class);
+
+    scanner.processEvents(watchService);
+
+    assertTrue(Thread.interrupted());
+  }
+
+  @Test
+  void processEvents_waitsForPendingFilesToSettle() throws InterruptedException {
+    scanner.pendingFiles.put(
+        TEST_MISSING_COMIC_FILENAME, new LibraryScannerService.PendingFile(0L, 0L, 0L));
+    Mockito.when(watchService.poll(Mockito.anyLong(), Mockito.any(TimeUnit.class)))
+        .thenThrow(ClosedWatchServiceException.class);
+
+    scanner.processEvents(watchService);
+
+    Mockito.verify(watchService, Mockito.never()).take();
+    Mockito.verify(watchService, Mockito.times(1))
+        .poll(scanner.settleTime, TimeUnit.MILLISECONDS);
+  }
+
   @Test
   void processWatchEvent_entrycreate_notInLibrary() {
     Mockito.when(watchEvent.kind()).thenReturn(ENTRY_CREATE);
-    Mockito.when(comicDetailService.filenameFound(Mockito.anyString())).thenReturn(false);
+    Mockito.when(comicDetailService.filenamesFound(Mockito.anyList())).thenReturn(Set.of());
 
     scanner.processWatchEvent(key, watchEvent);
 
-    Mockito.verify(comicDetailService, Mockito.times(1)).filenameFound(TEST_COMIC_FILENAME);
-    Mockito.verify(comicFileService, Mockito.times(1)).discoverComicFile(TEST_COMIC_FILENAME);
+    assertTrue(scanner.pendingFiles.containsKey(TEST_COMIC_FILENAME));
+
+    scanner.settleTime = 0L;
+    scanner.processPendingFiles(true);
+
+    assertTrue(scanner.pendingFiles.isEmpty());
+
+    Mockito.verify(comicDetailService, Mockito.times(1))
+        .filenamesFound(List.of(TEST_COMIC_FILENAME));
+    Mockito.verify(comicFileService, Mockito.times(1))
+        .discoverComicFiles(List.of(TEST_COMIC_FILENAME));
+    Mockito.verify(comicBookService, Mockito.never()).markComicAsFound(Mockito.anyString());
   }
 
   @Test
   void processWatchEvent_entrycreate_inLibrary() {
     Mockito.when(watchEvent.kind()).thenReturn(ENTRY_CREATE);
-    Mockito.when(comicDetailService.filenameFound(Mockito.anyString())).thenReturn(true);
+    Mockito.when(comicDetailService.filenamesFound(Mockito.anyList()))
+        .thenReturn(Set.of(TEST_COMIC_FILENAME));
 
     scanner.processWatchEvent(key, watchEvent);
+    scanner.settleTime = 0L;
+    scanner.processPendingFiles(true);
 
-    Mockito.verify(comicDetailService, Mockito.times(1)).filenameFound(TEST_COMIC_FILENAME);
     Mockito.verify(comicBookService, Mockito.times(1)).markComicAsFound(TEST_COMIC_FILENAME);
+    Mockito.verify(comicFileService, Mockito.never()).discoverComicFiles(Mockito.anyList());
   }
 
   @Test
   void processWatchEvent_fileDeleted() {
+    scanner.pendingFiles.put(
+        TEST_COMIC_FILENAME, new LibraryScannerService.PendingFile(0L, 0L, 0L));
     Mockito.when(watchEvent.kind()).thenReturn(ENTRY_DELETE);
 
     scanner.processWatchEvent(key, watchEvent);
 
+    assertTrue(scanner.pendingFiles.isEmpty());
+
     Mockito.verify(comicBookService, Mockito.times(1)).markComicAsMissing(TEST_COMIC_FILENAME);
   }
 
@@ -189,17 +226,124 @@ class LibraryScannerServiceTest {
 
     scanner.processWatchEvent(key, watchEvent);
 
-    Mockito.verify(comicDetailService, Mockito.times(1)).filenameFound(TEST_COMIC_FILENAME);
-    Mockito.verify(comicBookService, Mockito.times(1)).markComicAsFound(TEST_COMIC_FILENAME);
+    assertTrue(scanner.pendingFiles.containsKey(TEST_COMIC_FILENAME));
+
+    Mockito.verify(comicDetailService, Mockito.never()).filenamesFound(Mockito.anyList());
   }
 
   @Test
-  void processWatchEvent_fileCreated() {
+  void processWatchEvent_fileModifiedRepeatedly() {
+    Mockito.when(watchEvent.kind()).thenReturn(ENTRY_MODIFY);
+
+    for (int index = 0; index < 25; index++) {
+      scanner.processWatchEvent(key, watchEvent);
+    }
+
+    assertEquals(1, scanner.pendingFiles.size());
+  }
+
+  @Test
+  void processWatchEvent_directoryCreated() throws IOException {
+    scanner.watchService = FileSystems.getDefault().newWatchService();
+    final Path directory = Paths.get(TEST_ROOT_DIRECTORY);
+    Mockito.when(key.watchable()).thenReturn(directory.getParent());
+    Mockito.when(watchEventPath.toString()).thenReturn(directory.getFileName().toString());
     Mockito.when(watchEvent.kind()).thenReturn(ENTRY_CREATE);
 
     scanner.processWatchEvent(key, watchEvent);
 
-    Mockito.verify(comicDetailService, Mockito.times(1)).filenameFound(TEST_COMIC_FILENAME);
-    Mockito.verify(comicBookService, Mockito.times(1)).markComicAsFound(TEST_COMIC_FILENAME);
+    assertTrue(scanner.keyMap.containsValue(directory));
+    assertTrue(scanner.pendingFiles.containsKey(TEST_COMIC_FILENAME));
+  }
+
+  @Test
+  void processWatchEvent_overflow() throws IOException {
+    scanner.watchService = FileSystems.getDefault().newWatchService();
+    final Path directory = Paths.get(TEST_ROOT_DIRECTORY);
+    Mockito.when(key.watchable()).thenReturn(directory);
+    Mockito.doReturn(OVERFLOW).when(watchEvent).kind();
+
+    scanner.processWatchEvent(key, watchEvent);
+
+    assertTrue(scanner.keyMap.containsValue(directory));
+    assertTrue(scanner.pendingFiles.containsKey(TEST_COMIC_FILENAME));
+  }
+
+  @Test
+  void processPendingFiles_fileNotSettled() {
+    final File file = new File(TEST_COMIC_FILENAME);
+    scanner.pendingFiles.put(
+        TEST_COMIC_FILENAME,
+        new LibraryScannerService.PendingFile(
+            file.length(), file.lastModified(), System.currentTimeMillis()));
+    scanner.settleTime = 60000L;
+
+    scanner.processPendingFiles(true);
+
+    assertTrue(scanner.pendingFiles.containsKey(TEST_COMIC_FILENAME));
+
+    Mockito.verify(comicDetailService, Mockito.never()).filenamesFound(Mockito.anyList());
+  }
+
+  @Test
+  void processPendingFiles_fileStillChanging() {
+    scanner.pendingFiles.put(
+        TEST_COMIC_FILENAME, new LibraryScannerService.PendingFile(0L, 0L, 0L));
+    scanner.settleTime = 0L;
+
+    scanner.processPendingFiles(true);
+
+    assertTrue(scanner.pendingFiles.containsKey(TEST_COMIC_FILENAME));
+    assertEquals(
+        new File(TEST_COMIC_FILENAME).length(),
+        scanner.pendingFiles.get(TEST_COMIC_FILENAME).getLength());
+
+    Mockito.verify(comicDetailService, Mockito.never()).filenamesFound(Mockito.anyList());
+  }
+
+  @Test
+  void processPendingFiles_fileRemoved() {
+    scanner.pendingFiles.put(
+        TEST_MISSING_COMIC_FILENAME, new LibraryScannerService.PendingFile(0L, 0L, 0L));
+    scanner.settleTime = 0L;
+
+    scanner.processPendingFiles(true);
+
+    assertTrue(scanner.pendingFiles.isEmpty());
+
+    Mockito.verify(comicDetailService, Mockito.never()).filenamesFound(Mockito.anyList());
+  }
+
+  @Test
+  void processPendingFiles_stillReceivingEvents() {
+    final File file = new File(TEST_COMIC_FILENAME);
+    scanner.pendingFiles.put(
+        TEST_COMIC_FILENAME,
+        new LibraryScannerService.PendingFile(file.length(), file.lastModified(), 0L));
+    scanner.settleTime = 0L;
+
+    scanner.processPendingFiles(false);
+
+    assertTrue(scanner.pendingFiles.containsKey(TEST_COMIC_FILENAME));
+
+    Mockito.verify(comicDetailService, Mockito.never()).filenamesFound(Mockito.anyList());
+  }
+
+  @Test
+  void processPendingFiles_stillReceivingEventsWithFullBatch() {
+    final File file = new File(TEST_COMIC_FILENAME);
+    scanner.pendingFiles.put(
+        TEST_COMIC_FILENAME,
+        new LibraryScannerService.PendingFile(file.length(), file.lastModified(), 0L));
+    scanner.settleTime = 0L;
+    scanner.batchSize = 1;
+    Mockito.when(comicDetailService.filenamesFound(Mockito.anyList())).thenReturn(Set.of());
+
+    scanner.processPendingFiles(false);
+
+    assertTrue(scanner.pendingFiles.isEmpty());
+
+    Mockito.verify(comicFileService, Mockito.times(1))
+        .discoverComicFiles(List.of(TEST_COMIC_FILENAME));
   }
 }
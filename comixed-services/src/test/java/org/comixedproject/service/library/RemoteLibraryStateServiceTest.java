@@ -125,6 +125,34 @@ class RemoteLibraryStateServiceTest {
     Mockito.verify(publishRemoteLibraryUpdateAction).publish(libraryState);
   }
 
+  @Test
+  void onComicStatesChanged() throws PublishingException {
+    Mockito.doNothing()
+        .when(publishRemoteLibraryUpdateAction)
+        .publish(libraryStateArgumentCaptor.capture());
+
+    service.onComicStatesChanged(List.of(comicBook, comicBook, comicBook));
+
+    final RemoteLibraryState libraryState = libraryStateArgumentCaptor.getValue();
+    assertNotNull(libraryState);
+
+    Mockito.verify(publishRemoteLibraryUpdateAction, Mockito.times(1)).publish(libraryState);
+  }
+
+  @Test
+  void onComicsBulkUpdated() throws PublishingException {
+    Mockito.doNothing()
+        .when(publishRemoteLibraryUpdateAction)
+        .publish(libraryStateArgumentCaptor.capture());
+
+    service.onComicsBulkUpdated(3);
+
+    final RemoteLibraryState libraryState = libraryStateArgumentCaptor.getValue();
+    assertNotNull(libraryState);
+
+    Mockito.verify(publishRemoteLibraryUpdateAction, Mockito.times(1)).publish(libraryState);
+  }
+
   @Test
   void getLibraryState() {
     final RemoteLibraryState result = service.getLibraryState();
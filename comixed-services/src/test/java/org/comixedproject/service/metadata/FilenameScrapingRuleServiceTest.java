@@ -173,6 +173,25 @@ class FilenameScrapingRuleServiceTest {
         .execute(TEST_FILENAME, filenameScrapingRule);
   }
 
+  @Test
+  void loadFilenameMetadata_withRules() {
+    Mockito.when(
+            filenameScraperAdaptor.execute(
+                Mockito.anyString(), Mockito.any(FilenameScrapingRule.class)))
+        .thenReturn(filenameMetadata);
+    Mockito.when(filenameMetadata.isFound()).thenReturn(true);
+
+    final FilenameMetadata result =
+        service.loadFilenameMetadata(TEST_FILENAME, filenameScrapingRuleList);
+
+    assertNotNull(result);
+    assertSame(filenameMetadata, result);
+
+    Mockito.verify(filenameScrapingRuleRepository, Mockito.never()).findAll();
+    Mockito.verify(filenameScraperAdaptor, Mockito.times(1))
+        .execute(TEST_FILENAME, filenameScrapingRule);
+  }
+
   @Test
   void getFilenameRulesFile_encodeRecordThrowsException() throws IOException {
     filenameScrapingRuleList.add(filenameScrapingRule);
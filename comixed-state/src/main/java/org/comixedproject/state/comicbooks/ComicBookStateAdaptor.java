@@ -59,4 +59,33 @@ public class ComicBookStateAdaptor {
       listener.onComicStateChanged(comicBook);
     }
   }
+
+  /**
+   * Fires the same event for a batch of comics, notifying the listeners once for the whole batch.
+   *
+   * @param comicBooks the comic books
+   * @param event the event
+   */
+  public void fireEvents(
+      @NonNull final List<ComicBook> comicBooks, @NonNull final ComicEvent event) {
+    log.debug("Firing comic book event for {} comic(s): {}", comicBooks.size(), event);
+    comicBooks.forEach(comicBook -> this.stateMachine.processEvent(comicBook, event));
+    for (int index = 0; index < this.listeners.size(); index++) {
+      final ComicStateChangeListener listener = this.listeners.get(index);
+      listener.onComicStatesChanged(comicBooks);
+    }
+  }
+
+  /**
+   * Notifies the listeners once that comics were changed by a bulk update.
+   *
+   * @param count the number of comics changed
+   */
+  public void fireBulkUpdate(final int count) {
+    log.debug("Notifying listeners of bulk update: {} comic(s)", count);
+    for (int index = 0; index < this.listeners.size(); index++) {
+      final ComicStateChangeListener listener = this.listeners.get(index);
+      listener.onComicsBulkUpdated(count);
+    }
+  }
 }
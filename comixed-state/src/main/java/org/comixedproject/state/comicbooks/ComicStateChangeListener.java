@@ -18,6 +18,7 @@
 
 package org.comixedproject.state.comicbooks;
 
+import java.util.List;
 import org.comixedproject.model.comicbooks.ComicBook;
 
 /**
@@ -33,4 +34,22 @@ public interface ComicStateChangeListener {
    * @param comicBook the comic book
    */
   void onComicStateChanged(final ComicBook comicBook);
+
+  /**
+   * Invoked when the state has changed for a batch of comics. By default, each comic is handled
+   * individually.
+   *
+   * @param comicBooks the comic books
+   */
+  default void onComicStatesChanged(final List<ComicBook> comicBooks) {
+    comicBooks.forEach(this::onComicStateChanged);
+  }
+
+  /**
+   * Invoked when comics were changed by a bulk update that bypassed the state machine. The changes
+   * are already saved. By default, nothing is done.
+   *
+   * @param count the number of comics changed
+   */
+  default void onComicsBulkUpdated(final int count) {}
 }